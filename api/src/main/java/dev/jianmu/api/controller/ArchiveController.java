@@ -0,0 +1,42 @@
+package dev.jianmu.api.controller;
+
+import dev.jianmu.application.service.ArchiveApplication;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * @author Daihw
+ * @class ArchiveController
+ * @description 执行记录归档API
+ * @create 2026/10/18 8:00 下午
+ */
+@RestController
+@RequestMapping("archive")
+@Tag(name = "执行记录归档API", description = "执行记录归档API")
+@SecurityRequirement(name = "bearerAuth")
+public class ArchiveController {
+    private final ArchiveApplication archiveApplication;
+
+    public ArchiveController(ArchiveApplication archiveApplication) {
+        this.archiveApplication = archiveApplication;
+    }
+
+    @GetMapping("/rows")
+    @Operation(summary = "查询在线表与归档表行数", description = "查询在线表与归档表行数")
+    public Map<String, Long> countRows() {
+        return this.archiveApplication.countRows();
+    }
+
+    @PostMapping
+    @Operation(summary = "立即归档", description = "归档超过保留天数的已结束流程实例，返回归档的流程实例数")
+    public int archive() {
+        return this.archiveApplication.archive();
+    }
+}
@@ -67,7 +67,9 @@ public class ProjectController {
     @PostMapping
     @Operation(summary = "创建项目", description = "上传DSL并创建项目")
     public ProjectIdVo createProject(@RequestBody @Valid DslTextDto dslTextDto) {
-        var project = this.projectApplication.createProject(dslTextDto.getDslText(), dslTextDto.getProjectGroupId());
+        // 节点定义下载在创建项目的事务之外进行
+        var prefetched = this.projectApplication.prefetchNodeDefs(dslTextDto.getDslText());
+        var project = this.projectApplication.createProject(dslTextDto.getDslText(), dslTextDto.getProjectGroupId(), prefetched);
         return ProjectIdVo.builder().id(project.getId()).build();
     }
 
@@ -75,13 +77,15 @@ public class ProjectController {
 //    @Operation(summary = "导入DSL", description = "导入Git库中的DSL文件创建项目")
     public void importDsl(@RequestBody @Validated(AddGroup.class) GitRepoDto gitRepoDto) {
         var gitRepo = GitRepoMapper.INSTANCE.toGitRepo(gitRepoDto);
-        this.projectApplication.importProject(gitRepo, gitRepoDto.getProjectGroupId());
+        var prefetched = this.projectApplication.prefetchNodeDefs(gitRepo);
+        this.projectApplication.importProject(gitRepo, gitRepoDto.getProjectGroupId(), prefetched);
     }
 
     @PutMapping("/{projectId}")
     @Operation(summary = "更新项目", description = "根据ID更新项目DSL定义")
     public void updateProject(@PathVariable String projectId, @RequestBody @Valid DslTextDto dslTextDto) {
-        this.projectApplication.updateProject(projectId, dslTextDto.getDslText(), dslTextDto.getProjectGroupId());
+        var prefetched = this.projectApplication.prefetchNodeDefs(dslTextDto.getDslText());
+        this.projectApplication.updateProject(projectId, dslTextDto.getDslText(), dslTextDto.getProjectGroupId(), prefetched);
     }
 
     @PutMapping("/sync/{projectId}")
@@ -3,6 +3,7 @@ package dev.jianmu.api.controller;
 import dev.jianmu.api.vo.ErrorMessage;
 import dev.jianmu.application.exception.DataNotFoundException;
 import dev.jianmu.infrastructure.exception.DBException;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
 import jakarta.validation.ConstraintViolationException;
 import org.apache.catalina.connector.ClientAbortException;
 import org.slf4j.Logger;
@@ -116,6 +117,18 @@ public class RestExceptionHandler {
                 .build();
     }
 
+    @ExceptionHandler(CursorPage.InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorMessage invalidCursorException(CursorPage.InvalidCursorException ex, WebRequest request) {
+        logger.warn("invalid cursor: {}", request.getDescription(false));
+        return ErrorMessage.builder()
+                .statusCode(HttpStatus.BAD_REQUEST.value())
+                .timestamp(LocalDateTime.now())
+                .message(ex.getMessage())
+                .description(request.getDescription(false))
+                .build();
+    }
+
     @ExceptionHandler(ClientAbortException.class)
     public void clientAbortException(Exception ex, HandlerMethod handlerMethod, WebRequest request) {
         logger.error("client abort: class:{} params:{}", handlerMethod.getBeanType(), handlerMethod.getMethodParameters());
@@ -0,0 +1,70 @@
+package dev.jianmu.api.controller;
+
+import dev.jianmu.api.mapper.ProjectVoMapper;
+import dev.jianmu.api.mapper.WorkflowInstanceMapper;
+import dev.jianmu.api.vo.ProjectVo;
+import dev.jianmu.api.vo.WorkflowInstanceVo;
+import dev.jianmu.application.service.ProjectApplication;
+import dev.jianmu.application.service.WorkflowInstanceApplication;
+import dev.jianmu.infrastructure.search.ProjectSearchIndex;
+import dev.jianmu.infrastructure.search.WorkflowInstanceSearchIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class SearchController
+ * @description 项目与流程实例搜索API
+ * @create 2026/10/18 7:00 下午
+ */
+@RestController
+@RequestMapping("search")
+@Tag(name = "搜索API", description = "搜索API")
+@SecurityRequirement(name = "bearerAuth")
+public class SearchController {
+    private static final int MAX_LIMIT = 100;
+
+    private final ProjectApplication projectApplication;
+    private final WorkflowInstanceApplication workflowInstanceApplication;
+    private final ProjectSearchIndex projectSearchIndex;
+    private final WorkflowInstanceSearchIndex workflowInstanceSearchIndex;
+
+    public SearchController(
+            ProjectApplication projectApplication,
+            WorkflowInstanceApplication workflowInstanceApplication,
+            ProjectSearchIndex projectSearchIndex,
+            WorkflowInstanceSearchIndex workflowInstanceSearchIndex
+    ) {
+        this.projectApplication = projectApplication;
+        this.workflowInstanceApplication = workflowInstanceApplication;
+        this.projectSearchIndex = projectSearchIndex;
+        this.workflowInstanceSearchIndex = workflowInstanceSearchIndex;
+    }
+
+    @GetMapping("/projects")
+    @Operation(summary = "搜索项目", description = "按名称、Ref与描述搜索，结果按匹配程度排序")
+    public List<ProjectVo> searchProjects(@RequestParam String keyword, @RequestParam(defaultValue = "20") int limit) {
+        return this.projectApplication.search(keyword, Math.min(limit, MAX_LIMIT)).stream()
+                .map(ProjectVoMapper.INSTANCE::toProjectVo)
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping("/workflow_instances")
+    @Operation(summary = "搜索流程实例", description = "按ID、名称、版本与触发参数搜索最近的流程实例，结果按匹配程度排序")
+    public List<WorkflowInstanceVo> searchWorkflowInstances(@RequestParam String keyword, @RequestParam(defaultValue = "20") int limit) {
+        return WorkflowInstanceMapper.INSTANCE.toWorkflowInstanceVoList(
+                this.workflowInstanceApplication.search(keyword, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "重建搜索索引", description = "从数据库重建本节点的项目与流程实例搜索索引")
+    public void rebuild() {
+        this.projectSearchIndex.rebuild();
+        this.workflowInstanceSearchIndex.rebuild();
+    }
+}
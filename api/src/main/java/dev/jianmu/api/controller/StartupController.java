@@ -0,0 +1,35 @@
+package dev.jianmu.api.controller;
+
+import dev.jianmu.api.runner.StartupOrchestrator;
+import dev.jianmu.api.vo.StartupVo;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * @author Daihw
+ * @class StartupController
+ * @description 启动进度API
+ * @create 2026/10/19 2:20 上午
+ */
+@RestController
+@RequestMapping("startup")
+@Tag(name = "启动进度API", description = "启动进度API")
+public class StartupController {
+    private final StartupOrchestrator startupOrchestrator;
+
+    public StartupController(StartupOrchestrator startupOrchestrator) {
+        this.startupOrchestrator = startupOrchestrator;
+    }
+
+    @GetMapping
+    @Operation(summary = "查询启动进度", description = "关键阶段完成后服务就绪，非关键阶段在就绪后于后台执行")
+    public StartupVo find() {
+        return StartupVo.builder()
+                .status(this.startupOrchestrator.getStatus())
+                .phases(this.startupOrchestrator.getProgresses())
+                .build();
+    }
+}
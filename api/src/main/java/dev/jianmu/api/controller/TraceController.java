@@ -0,0 +1,42 @@
+package dev.jianmu.api.controller;
+
+import dev.jianmu.infrastructure.trace.EngineTraceRecorder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * @author Daihw
+ * @class TraceController
+ * @description 引擎执行耗时API
+ * @create 2026/10/18 4:20 下午
+ */
+@RestController
+@RequestMapping("trace")
+@Tag(name = "引擎执行耗时API", description = "引擎执行耗时API")
+@SecurityRequirement(name = "bearerAuth")
+public class TraceController {
+    private final EngineTraceRecorder engineTraceRecorder;
+
+    public TraceController(EngineTraceRecorder engineTraceRecorder) {
+        this.engineTraceRecorder = engineTraceRecorder;
+    }
+
+    @GetMapping("/runs/{triggerId}")
+    @Operation(summary = "查询单次运行的执行耗时", description = "返回事件处理记录、各节点耗时与关键路径")
+    public EngineTraceRecorder.RunTrace findRun(@PathVariable String triggerId) {
+        return this.engineTraceRecorder.findRun(triggerId);
+    }
+
+    @GetMapping("/handlers")
+    @Operation(summary = "查询事件处理器耗时统计", description = "按事件与处理器汇总的调用次数、平均与最大耗时")
+    public List<EngineTraceRecorder.HandlerStat> findHandlers() {
+        return this.engineTraceRecorder.findHandlerStats();
+    }
+}
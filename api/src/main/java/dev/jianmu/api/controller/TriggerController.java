@@ -1,10 +1,12 @@
 package dev.jianmu.api.controller;
 
 import com.github.pagehelper.PageInfo;
+import dev.jianmu.api.dto.CursorPageDto;
 import dev.jianmu.api.dto.WebRequestDto;
 import dev.jianmu.api.vo.WebRequestPayloadVo;
 import dev.jianmu.api.vo.WebhookParamVo;
 import dev.jianmu.application.service.TriggerApplication;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
 import dev.jianmu.infrastructure.storage.StorageService;
 import dev.jianmu.trigger.aggregate.WebRequest;
 import io.swagger.v3.oas.annotations.Operation;
@@ -39,6 +41,12 @@ public class TriggerController {
         return this.triggerApplication.findWebRequestPage(dto.getProjectId(), dto.getPageNum(), dto.getPageSize());
     }
 
+    @GetMapping("/v2/web_requests")
+    @Operation(summary = "游标分页返回Webhook请求列表", description = "按请求时间倒序翻页，nextCursor为空表示没有更多数据")
+    public CursorPage<WebRequest> listWebRequestCursor(@RequestParam String projectId, CursorPageDto dto) {
+        return this.triggerApplication.findWebRequestCursor(projectId, dto.getCursor(), dto.getPageSize(), dto.isTotal());
+    }
+
     @GetMapping("/web_requests/{webRequestId}/payload")
     @Operation(summary = "获取payload", description = "获取webhook请求的payload")
     public WebRequestPayloadVo getPayload(@PathVariable String webRequestId) {
@@ -9,8 +9,10 @@ import dev.jianmu.application.exception.DataNotFoundException;
 import dev.jianmu.application.service.*;
 import dev.jianmu.application.service.internal.WorkerInternalApplication;
 import dev.jianmu.application.service.internal.WorkflowInternalApplication;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
 import dev.jianmu.infrastructure.storage.StorageService;
 import dev.jianmu.infrastructure.storage.vo.LogVo;
+import dev.jianmu.node.definition.aggregate.NodeDefinition;
 import dev.jianmu.node.definition.aggregate.NodeDefinitionVersion;
 import dev.jianmu.secret.aggregate.KVPair;
 import dev.jianmu.secret.aggregate.Namespace;
@@ -18,7 +20,6 @@ import dev.jianmu.task.aggregate.InstanceParameter;
 import dev.jianmu.task.aggregate.Volume;
 import dev.jianmu.trigger.event.TriggerEvent;
 import dev.jianmu.worker.aggregate.Worker;
-import dev.jianmu.workflow.aggregate.definition.Workflow;
 import dev.jianmu.workflow.aggregate.parameter.Parameter;
 import dev.jianmu.workflow.aggregate.process.ProcessStatus;
 import io.swagger.v3.oas.annotations.Operation;
@@ -28,13 +29,17 @@ import jakarta.validation.Valid;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static dev.jianmu.application.service.ProjectGroupApplication.DEFAULT_PROJECT_GROUP_NAME;
@@ -144,31 +149,51 @@ public class ViewController {
                 dto.getName()
         );
         var nodes = page.getList();
-        List<NodeDefVo> nodeDefVos = nodes.stream().map(nodeDefinition -> {
-            var versions = this.hubApplication.findByOwnerRefAndRef(nodeDefinition.getOwnerRef(), nodeDefinition.getRef()).stream()
-                    .map(NodeDefinitionVersion::getVersion).collect(Collectors.toList());
-            return NodeDefVo.builder()
-                    .icon(nodeDefinition.getIcon())
-                    .name(nodeDefinition.getName())
-                    .ownerName(nodeDefinition.getOwnerName())
-                    .ownerType(nodeDefinition.getOwnerType())
-                    .ownerRef(nodeDefinition.getOwnerRef())
-                    .creatorName(nodeDefinition.getCreatorName())
-                    .creatorRef(nodeDefinition.getCreatorRef())
-                    .type(nodeDefinition.getType())
-                    .description(nodeDefinition.getDescription())
-                    .ref(nodeDefinition.getRef())
-                    .sourceLink(nodeDefinition.getSourceLink())
-                    .documentLink(nodeDefinition.getDocumentLink())
-                    .versions(versions)
-                    .deprecated(nodeDefinition.getDeprecated())
-                    .build();
-        }).collect(Collectors.toList());
+        var versions = this.findVersions(nodes);
+        List<NodeDefVo> nodeDefVos = nodes.stream()
+                .map(nodeDefinition -> this.toNodeDefVo(nodeDefinition, versions))
+                .collect(Collectors.toList());
         PageInfo<NodeDefVo> newPage = PageUtils.pageInfo2PageInfoVo(page);
         newPage.setList(nodeDefVos);
         return newPage;
     }
 
+    @GetMapping("/v2/nodes")
+    @Operation(summary = "游标分页查询节点定义列表", description = "按节点ID顺序翻页，名称按前缀匹配，nextCursor为空表示没有更多数据")
+    public CursorPage<NodeDefVo> findNodeCursor(CursorPageDto dto, NodeDefViewingDto filter) {
+        var page = this.hubApplication.findCursor(dto.getCursor(), dto.getPageSize(), dto.isTotal(), filter.getType(), filter.getName());
+        var versions = this.findVersions(page.getList());
+        return page.map(nodeDefinition -> this.toNodeDefVo(nodeDefinition, versions));
+    }
+
+    // 一次查询当前页全部节点的版本，按节点ID分组
+    private Map<String, List<String>> findVersions(List<NodeDefinition> nodeDefinitions) {
+        return this.hubApplication.findByNodeDefinitions(nodeDefinitions).stream()
+                .collect(Collectors.groupingBy(
+                        version -> version.getOwnerRef() + "/" + version.getRef(),
+                        Collectors.mapping(NodeDefinitionVersion::getVersion, Collectors.toList())
+                ));
+    }
+
+    private NodeDefVo toNodeDefVo(NodeDefinition nodeDefinition, Map<String, List<String>> versions) {
+        return NodeDefVo.builder()
+                .icon(nodeDefinition.getIcon())
+                .name(nodeDefinition.getName())
+                .ownerName(nodeDefinition.getOwnerName())
+                .ownerType(nodeDefinition.getOwnerType())
+                .ownerRef(nodeDefinition.getOwnerRef())
+                .creatorName(nodeDefinition.getCreatorName())
+                .creatorRef(nodeDefinition.getCreatorRef())
+                .type(nodeDefinition.getType())
+                .description(nodeDefinition.getDescription())
+                .ref(nodeDefinition.getRef())
+                .sourceLink(nodeDefinition.getSourceLink())
+                .documentLink(nodeDefinition.getDocumentLink())
+                .versions(versions.getOrDefault(nodeDefinition.getOwnerRef() + "/" + nodeDefinition.getRef(), List.of()))
+                .deprecated(nodeDefinition.getDeprecated())
+                .build();
+    }
+
     @GetMapping("nodes/{ownerRef}/{ref}")
     @Operation(summary = "获取节点定义", description = "获取节点定义")
     public NodeDefVo findNode(@PathVariable String ownerRef, @PathVariable String ref) {
@@ -225,35 +250,14 @@ public class ViewController {
 
     @GetMapping("/projects")
     @Operation(summary = "查询项目列表", description = "查询项目列表")
-    public List<ProjectVo> findAll() {
-        var projects = this.projectApplication.findAll();
-        return projects.stream().map(project -> this.instanceApplication
-                .findByRefAndSerialNoMax(project.getWorkflowRef())
-                .map(workflowInstance -> {
-                    var projectVo = ProjectMapper.INSTANCE.toProjectVo(project);
-                    projectVo.setLatestTime(workflowInstance.getEndTime());
-                    projectVo.setSuspendedTime(workflowInstance.getSuspendedTime());
-                    projectVo.setNextTime(this.triggerApplication.getNextFireTime(project.getId()));
-                    if (workflowInstance.getStatus().equals(ProcessStatus.TERMINATED)) {
-                        projectVo.setStatus("FAILED");
-                    }
-                    if (workflowInstance.getStatus() == ProcessStatus.SUSPENDED) {
-                        projectVo.setStatus("SUSPENDED");
-                    }
-                    if (workflowInstance.getStatus().equals(ProcessStatus.FINISHED)) {
-                        projectVo.setStatus("SUCCEEDED");
-                    }
-                    if (workflowInstance.getStatus().equals(ProcessStatus.RUNNING)) {
-                        projectVo.setStartTime(workflowInstance.getStartTime());
-                        projectVo.setStatus("RUNNING");
-                    }
-                    return projectVo;
-                })
-                .orElseGet(() -> {
-                    var projectVo = ProjectMapper.INSTANCE.toProjectVo(project);
-                    projectVo.setNextTime(this.triggerApplication.getNextFireTime(project.getId()));
-                    return projectVo;
-                })).collect(Collectors.toList());
+    public List<ProjectVo> findAll(WebRequest request) {
+        var projects = this.projectApplication.findAllVo();
+        if (request.checkNotModified(etag(projects, projects.size()))) {
+            return null;
+        }
+        return this.withNextFireTime(projects.stream()
+                .map(this::toProjectVo)
+                .collect(Collectors.toList()));
     }
 
     @GetMapping("/projects/{projectId}")
@@ -293,6 +297,13 @@ public class ViewController {
         return pageInfo;
     }
 
+    @GetMapping("/v2/workflow_instances/{workflowRef}")
+    @Operation(summary = "根据workflowRef游标分页查询流程实例列表", description = "按序号倒序翻页，nextCursor为空表示没有更多数据")
+    public CursorPage<WorkflowInstanceVo> findCursorByWorkflowRef(@PathVariable String workflowRef, CursorPageDto dto) {
+        return this.instanceApplication.findCursorByWorkflowRef(dto.getCursor(), dto.getPageSize(), workflowRef, dto.isTotal())
+                .map(WorkflowInstanceMapper.INSTANCE::toWorkflowInstanceVo);
+    }
+
     @GetMapping("/workflow_instance/{triggerId}")
     @Operation(summary = "根据triggerId查询流程实例", description = "根据triggerId查询流程实例")
     public WorkflowInstanceVo findByTriggerId(@PathVariable String triggerId) {
@@ -330,7 +341,7 @@ public class ViewController {
     @GetMapping("/v2/task_instances/{businessId}")
     @Operation(summary = "任务实例列表接口", description = "根据异步任务实例ID查询")
     public List<TaskInstanceVo> findByBusinessId(@PathVariable String businessId) {
-        var taskInstances = this.taskInstanceApplication.findByBusinessId(businessId);
+        var taskInstances = this.taskInstanceApplication.findSummaryByBusinessId(businessId);
         if (taskInstances.isEmpty()) {
             return List.of();
         }
@@ -473,45 +484,44 @@ public class ViewController {
 
     @GetMapping("/v2/projects")
     @Operation(summary = "查询项目列表", description = "查询项目列表")
-    public PageInfo<ProjectVo> findProjectPage(@Valid ProjectViewingDto dto) {
+    public PageInfo<ProjectVo> findProjectPage(@Valid ProjectViewingDto dto, WebRequest request) {
         var projects = this.projectApplication.findPageByGroupId(dto.getPageNum(), dto.getPageSize(), dto.getProjectGroupId(), dto.getName(), dto.getSortTypeName());
+        if (request.checkNotModified(etag(projects.getList(), projects.getTotal()))) {
+            return null;
+        }
         var refVersions = projects.getList().stream()
                 .map(t -> t.getWorkflowRef() + t.getWorkflowVersion())
                 .collect(Collectors.toList());
-        var workflows = this.workflowInternalApplication.findByRefVersions(refVersions);
+        var caches = this.workflowInternalApplication.findCachesByRefVersions(refVersions);
         var projectVos = projects.getList().stream().map(project -> {
-            var projectVo = ProjectVoMapper.INSTANCE.toProjectVo(project);
-            projectVo.setNextTime(this.triggerApplication.getNextFireTime(project.getId()));
-            projectVo.setCaches(workflows.stream()
-                    .filter(workflow -> workflow.getRef().equals(projectVo.getWorkflowRef()))
-                    .findFirst()
-                    .map(Workflow::getCaches)
-                    .orElse(null)
-            );
-            if (project.getStatus() == null) {
-                return projectVo;
-            }
-            if (project.getStatus().equals(ProcessStatus.TERMINATED.name())) {
-                projectVo.setStatus("FAILED");
-            }
-            if (project.getStatus().equals(ProcessStatus.FINISHED.name())) {
-                projectVo.setStatus("SUCCEEDED");
-            }
-            if (project.getStatus().equals(ProcessStatus.SUSPENDED.name())) {
-                projectVo.setSuspendedTime(project.getSuspendedTime());
-                projectVo.setStatus("SUSPENDED");
-            }
-            if (project.getStatus().equals(ProcessStatus.RUNNING.name())) {
-                projectVo.setStartTime(project.getStartTime());
-                projectVo.setStatus("RUNNING");
-            }
+            var projectVo = this.toProjectVo(project);
+            projectVo.setCaches(caches.get(project.getWorkflowRef()));
             return projectVo;
         }).collect(Collectors.toList());
         PageInfo<ProjectVo> pageInfo = PageUtils.pageInfo2PageInfoVo(projects);
-        pageInfo.setList(projectVos);
+        pageInfo.setList(this.withNextFireTime(projectVos));
         return pageInfo;
     }
 
+    @GetMapping("/v2/projects/cursor")
+    @Operation(summary = "游标分页查询项目列表", description = "按项目组内排序翻页")
+    public CursorPage<ProjectVo> findProjectCursor(CursorPageDto dto,
+                                                   @RequestParam(required = false) String projectGroupId,
+                                                   @RequestParam(required = false) String name) {
+        var projects = this.projectApplication.findCursorByGroupId(dto.getCursor(), dto.getPageSize(), projectGroupId, name, dto.isTotal());
+        var refVersions = projects.getList().stream()
+                .map(t -> t.getWorkflowRef() + t.getWorkflowVersion())
+                .collect(Collectors.toList());
+        var caches = this.workflowInternalApplication.findCachesByRefVersions(refVersions);
+        var page = projects.map(project -> {
+            var projectVo = this.toProjectVo(project);
+            projectVo.setCaches(caches.get(project.getWorkflowRef()));
+            return projectVo;
+        });
+        this.withNextFireTime(page.getList());
+        return page;
+    }
+
     @PostMapping("/caches/{workflowRef}")
     @Operation(summary = "获取项目缓存", description = "获取项目缓存")
     public List<ProjectCacheVo> getProjectCache(@PathVariable String workflowRef) {
@@ -573,30 +583,60 @@ public class ViewController {
 
     @GetMapping("/v2/projects/ids")
     @Operation(summary = "通过id查询项目列表", description = "通过id查询项目列表")
-    public List<ProjectVo> findProjectByIds(@Valid ProjectViewingIdsDto dto) {
+    public List<ProjectVo> findProjectByIds(@Valid ProjectViewingIdsDto dto, WebRequest request) {
         var projects = this.projectApplication.findByIds(dto.getIds());
-        return projects.stream().map(project -> {
-            var projectVo = ProjectVoMapper.INSTANCE.toProjectVo(project);
-            projectVo.setNextTime(this.triggerApplication.getNextFireTime(project.getId()));
-            if (project.getStatus() == null) {
-                return projectVo;
-            }
-            if (project.getStatus().equals(ProcessStatus.TERMINATED.name())) {
-                projectVo.setStatus("FAILED");
-            }
-            if (project.getStatus().equals(ProcessStatus.FINISHED.name())) {
-                projectVo.setStatus("SUCCEEDED");
-            }
-            if (project.getStatus().equals(ProcessStatus.SUSPENDED.name())) {
-                projectVo.setSuspendedTime(project.getSuspendedTime());
-                projectVo.setStatus("SUSPENDED");
-            }
-            if (project.getStatus().equals(ProcessStatus.RUNNING.name())) {
-                projectVo.setStartTime(project.getStartTime());
-                projectVo.setStatus("RUNNING");
-            }
+        if (request.checkNotModified(etag(projects, projects.size()))) {
+            return null;
+        }
+        return this.withNextFireTime(projects.stream()
+                .map(this::toProjectVo)
+                .collect(Collectors.toList()));
+    }
+
+    // 本节点触发器索引中的下次触发时间比最后执行记录更新，命中时覆盖
+    private List<ProjectVo> withNextFireTime(List<ProjectVo> projectVos) {
+        var nextFireTimes = this.triggerApplication.getNextFireTimes(projectVos.stream()
+                .map(ProjectVo::getId)
+                .collect(Collectors.toList()));
+        projectVos.stream()
+                .filter(projectVo -> nextFireTimes.containsKey(projectVo.getId()))
+                .forEach(projectVo -> projectVo.setNextTime(nextFireTimes.get(projectVo.getId())));
+        return projectVos;
+    }
+
+    private ProjectVo toProjectVo(dev.jianmu.project.query.ProjectVo project) {
+        var projectVo = ProjectVoMapper.INSTANCE.toProjectVo(project);
+        if (project.getStatus() == null) {
             return projectVo;
-        }).collect(Collectors.toList());
+        }
+        if (project.getStatus().equals(ProcessStatus.TERMINATED.name())) {
+            projectVo.setStatus("FAILED");
+        }
+        if (project.getStatus().equals(ProcessStatus.FINISHED.name())) {
+            projectVo.setStatus("SUCCEEDED");
+        }
+        if (project.getStatus().equals(ProcessStatus.SUSPENDED.name())) {
+            projectVo.setSuspendedTime(project.getSuspendedTime());
+            projectVo.setStatus("SUSPENDED");
+        }
+        if (project.getStatus().equals(ProcessStatus.RUNNING.name())) {
+            projectVo.setStartTime(project.getStartTime());
+            projectVo.setStatus("RUNNING");
+        }
+        return projectVo;
+    }
+
+    // 项目与最后执行记录的任一变更都会改变版本，未变化的页面返回304
+    private static String etag(List<dev.jianmu.project.query.ProjectVo> projects, long total) {
+        var sb = new StringBuilder().append(total);
+        projects.forEach(project -> sb.append('|').append(project.getId())
+                .append(':').append(project.getWorkflowVersion())
+                .append(':').append(project.getLastModifiedTime())
+                .append(':').append(project.isEnabled())
+                .append(':').append(project.isMutable())
+                .append(':').append(project.getConcurrent())
+                .append(':').append(project.getVersion()));
+        return "\"" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 
     @GetMapping("/projects/groups")
@@ -4,7 +4,6 @@ import dev.jianmu.api.dto.*;
 import dev.jianmu.api.vo.Auth;
 import dev.jianmu.api.vo.VolumeVo;
 import dev.jianmu.api.vo.WorkerTaskVo;
-import dev.jianmu.application.query.NodeDefApi;
 import dev.jianmu.application.service.TaskInstanceApplication;
 import dev.jianmu.application.service.internal.WorkerInternalApplication;
 import dev.jianmu.infrastructure.GlobalProperties;
@@ -44,21 +43,18 @@ import java.io.IOException;
 public class WorkerApi {
     private final WorkerInternalApplication workerApplication;
     private final DeferredResultService deferredResultService;
-    private final NodeDefApi nodeDefApi;
     private final StorageService storageService;
     private final TaskInstanceApplication taskInstanceApplication;
     private final GlobalProperties globalProperties;
 
     public WorkerApi(WorkerInternalApplication workerApplication,
                      DeferredResultService deferredResultService,
-                     NodeDefApi nodeDefApi,
                      StorageService storageService,
                      TaskInstanceApplication taskInstanceApplication,
                      GlobalProperties globalProperties
     ) {
         this.workerApplication = workerApplication;
         this.deferredResultService = deferredResultService;
-        this.nodeDefApi = nodeDefApi;
         this.storageService = storageService;
         this.taskInstanceApplication = taskInstanceApplication;
         this.globalProperties = globalProperties;
@@ -146,14 +142,15 @@ public class WorkerApi {
                                 .build()
                         ));
             } else {
+                var payload = this.workerApplication.findDispatchPayload(taskInstance);
                 deferredResult.setResult(ResponseEntity
                         .status(HttpStatus.OK)
                         .body(WorkerTaskVo.builder()
                                 .type(WorkerTaskVo.Type.TASK)
                                 .taskInstanceId(taskInstance.getBusinessId())
                                 .pullStrategy(this.globalProperties.getWorker().getImagePullPolicy())
-                                .containerSpec(this.workerApplication.getContainerSpec(taskInstance))
-                                .resultFile(this.nodeDefApi.findByType(taskInstance.getDefKey()).getResultFile())
+                                .containerSpec(this.workerApplication.getContainerSpec(taskInstance, payload))
+                                .resultFile(payload.getResultFile())
                                 .auth(this.getTaskAuth())
                                 .version(taskInstance.getVersion())
                                 .build()
@@ -183,12 +180,13 @@ public class WorkerApi {
                     .version(taskInstance.getVersion())
                     .build();
         } else {
+            var payload = this.workerApplication.findDispatchPayload(taskInstance);
             return WorkerTaskVo.builder()
                     .type(WorkerTaskVo.Type.TASK)
                     .taskInstanceId(taskInstance.getBusinessId())
                     .pullStrategy(this.globalProperties.getWorker().getImagePullPolicy())
-                    .containerSpec(this.workerApplication.getContainerSpec(taskInstance))
-                    .resultFile(this.nodeDefApi.findByType(taskInstance.getDefKey()).getResultFile())
+                    .containerSpec(this.workerApplication.getContainerSpec(taskInstance, payload))
+                    .resultFile(payload.getResultFile())
                     .auth(this.getTaskAuth())
                     .version(taskInstance.getVersion())
                     .build();
@@ -213,7 +211,7 @@ public class WorkerApi {
         var exist = this.deferredResultService.existWatchDeferredResult(workerId, businessId);
         var deferredResult = this.deferredResultService.newWatchDeferredResult(workerId, businessId);
         if (!exist) {
-            var taskInstance = this.taskInstanceApplication.findByBusinessIdAndMaxSerialNo(businessId)
+            var taskInstance = this.taskInstanceApplication.findSummaryByBusinessIdAndMaxSerialNo(businessId)
                     .orElseThrow(() -> new RuntimeException("未找到任务实例，businessId: " + businessId));
             if (taskInstance.getStatus() == InstanceStatus.EXECUTION_FAILED) {
                 deferredResult.setResult(ResponseEntity.status(HttpStatus.OK).body(businessId));
@@ -253,12 +251,13 @@ public class WorkerApi {
                     .version(taskInstance.getVersion() + 1)
                     .build();
         } else {
+            var payload = this.workerApplication.findDispatchPayload(taskInstance);
             return WorkerTaskVo.builder()
                     .type(WorkerTaskVo.Type.TASK)
                     .taskInstanceId(taskInstance.getBusinessId())
                     .pullStrategy(this.globalProperties.getWorker().getImagePullPolicy())
-                    .containerSpec(this.workerApplication.getContainerSpec(taskInstance))
-                    .resultFile(this.nodeDefApi.findByType(taskInstance.getDefKey()).getResultFile())
+                    .containerSpec(this.workerApplication.getContainerSpec(taskInstance, payload))
+                    .resultFile(payload.getResultFile())
                     .auth(this.getTaskAuth())
                     .version(taskInstance.getVersion() + 1)
                     .build();
@@ -286,7 +285,7 @@ public class WorkerApi {
             @Parameter(name = "X-Jianmu-Token", in = ParameterIn.HEADER, description = "认证token")
     })
     public void writeTaskLog(HttpServletRequest request, @PathVariable("workerId") String workerId, @PathVariable("businessId") String businessId) {
-        var taskInstance = this.taskInstanceApplication.findByBusinessIdAndMaxSerialNo(businessId)
+        var taskInstance = this.taskInstanceApplication.findSummaryByBusinessIdAndMaxSerialNo(businessId)
                 .orElseThrow(() -> new RuntimeException("未找到任务实例, businessId：" + businessId));
         try (var writer = this.storageService.writeLog(taskInstance.getId(), false)) {
             var reader = request.getReader();
@@ -308,7 +307,7 @@ public class WorkerApi {
             @Parameter(name = "X-Jianmu-Token", in = ParameterIn.HEADER, description = "认证token")
     })
     public void batchWriteTaskLog(HttpServletRequest request, @PathVariable("workerId") String workerId, @PathVariable("businessId") String businessId) {
-        var taskInstance = this.taskInstanceApplication.findByBusinessIdAndMaxSerialNo(businessId)
+        var taskInstance = this.taskInstanceApplication.findSummaryByBusinessIdAndMaxSerialNo(businessId)
                 .orElseThrow(() -> new RuntimeException("未找到任务实例, businessId：" + businessId));
         try (var writer = this.storageService.writeLog(taskInstance.getId(), true)) {
             var reader = request.getReader();
@@ -0,0 +1,27 @@
+package dev.jianmu.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * @author Daihw
+ * @class CursorPageDto
+ * @description 游标分页DTO
+ * @create 2026/10/18 6:05 下午
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "游标分页DTO")
+public class CursorPageDto {
+    @Schema(description = "上一页返回的nextCursor，首页为空")
+    private String cursor;
+    @Schema(required = true)
+    private int pageSize = 20;
+    @Schema(description = "是否返回总数")
+    private boolean total;
+}
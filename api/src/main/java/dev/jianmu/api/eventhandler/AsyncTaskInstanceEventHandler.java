@@ -48,13 +48,11 @@ public class AsyncTaskInstanceEventHandler {
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleAggregateRootEvents(AsyncTaskInstance asyncTaskInstance) {
-        log.info("Get AsyncTaskInstance here -------------------------");
         asyncTaskInstance.getUncommittedDomainEvents().forEach(event -> {
-            log.info("publish {} here", event.getClass().getSimpleName());
+            log.debug("publish {}", event.getClass().getSimpleName());
             this.publisher.publishEvent(event);
         });
         asyncTaskInstance.clear();
-        log.info("-----------------------------------------------------");
     }
 
     @Retryable(
@@ -67,8 +65,7 @@ public class AsyncTaskInstanceEventHandler {
     @EventListener
     public void handleTaskActivatingEvent(TaskActivatingEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get TaskActivatingEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         var cmd = TaskActivatingCmd.builder()
                 .workflowRef(event.getWorkflowRef())
                 .workflowVersion(event.getWorkflowVersion())
@@ -79,13 +76,11 @@ public class AsyncTaskInstanceEventHandler {
                 .asyncTaskInstanceId(event.getAsyncTaskInstanceId())
                 .build();
         this.taskInstanceInternalApplication.create(cmd);
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleTaskRetryEvent(TaskRetryEvent event) {
-        log.info("Get TaskRetryEvent here -------------------------");
         var cmd = TaskActivatingCmd.builder()
                 .workflowRef(event.getWorkflowRef())
                 .workflowVersion(event.getWorkflowVersion())
@@ -95,37 +90,31 @@ public class AsyncTaskInstanceEventHandler {
                 .nodeType(event.getNodeType())
                 .asyncTaskInstanceId(event.getAsyncTaskInstanceId())
                 .build();
-        log.info(event.toString());
+        log.debug("{}", event);
         this.taskInstanceInternalApplication.create(cmd);
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleTaskTerminatingEvent(TaskTerminatingEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get TaskTerminatingEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.taskInstanceInternalApplication.terminate(event.getAsyncTaskInstanceId());
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleTaskRunningEvent(TaskRunningEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get TaskRunningEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.workflowInstanceInternalApplication.resume(event.getWorkflowInstanceId(), event.getNodeRef());
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleTaskSucceededEvent(TaskSucceededEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get TaskSucceededEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         var cmd = NextNodeCmd.builder()
                 .triggerId(event.getTriggerId())
                 .workflowRef(event.getWorkflowRef())
@@ -133,15 +122,13 @@ public class AsyncTaskInstanceEventHandler {
                 .nodeRef(event.getNodeRef())
                 .build();
         this.workflowInternalApplication.next(cmd);
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleTaskIgnoredEvent(TaskIgnoredEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get TaskIgnoredEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         var cmd = NextNodeCmd.builder()
                 .triggerId(event.getTriggerId())
                 .workflowRef(event.getWorkflowRef())
@@ -149,16 +136,13 @@ public class AsyncTaskInstanceEventHandler {
                 .nodeRef(event.getNodeRef())
                 .build();
         this.workflowInternalApplication.next(cmd);
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleTaskSuspendedEvent(TaskSuspendedEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get TaskSuspendedEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.workflowInstanceInternalApplication.suspend(event.getWorkflowInstanceId());
-        log.info("-----------------------------------------------------");
     }
 }
@@ -0,0 +1,30 @@
+package dev.jianmu.api.eventhandler;
+
+import dev.jianmu.event.Subscriber;
+import dev.jianmu.event.impl.CronTriggerUpdatedEvent;
+import dev.jianmu.infrastructure.quartz.NextFireTimeIndex;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author Daihw
+ * @class CronTriggerUpdatedEventHandler
+ * @description 其他节点变更定时触发器后失效本地下次触发时间索引，单节点部署时索引由本地Scheduler回调维护
+ * @create 2026/10/18 5:10 下午
+ */
+@Slf4j
+public class CronTriggerUpdatedEventHandler implements Subscriber<CronTriggerUpdatedEvent> {
+    private final NextFireTimeIndex nextFireTimeIndex;
+
+    public CronTriggerUpdatedEventHandler(NextFireTimeIndex nextFireTimeIndex) {
+        this.nextFireTimeIndex = nextFireTimeIndex;
+    }
+
+    @Override
+    public void subscribe(CronTriggerUpdatedEvent event) {
+        log.debug("{}", event);
+        if (this.nextFireTimeIndex.getInstanceId().equals(event.getSource())) {
+            return;
+        }
+        this.nextFireTimeIndex.invalidate(event.getProjectId());
+    }
+}
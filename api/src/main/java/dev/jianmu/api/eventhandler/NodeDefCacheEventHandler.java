@@ -0,0 +1,46 @@
+package dev.jianmu.api.eventhandler;
+
+import dev.jianmu.application.query.NodeDefCache;
+import dev.jianmu.event.Publisher;
+import dev.jianmu.event.impl.NodeDefinitionUpdatedEvent;
+import dev.jianmu.node.definition.event.NodeDeletedEvent;
+import dev.jianmu.node.definition.event.NodeUpdatedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * @author Daihw
+ * @class NodeDefCacheEventHandler
+ * @description 节点定义变更提交后失效本节点缓存，并通知其他节点
+ * @create 2026/10/18 11:40 下午
+ */
+@Component
+public class NodeDefCacheEventHandler {
+    private final NodeDefCache nodeDefCache;
+    private final Publisher publisher;
+
+    public NodeDefCacheEventHandler(NodeDefCache nodeDefCache, Publisher publisher) {
+        this.nodeDefCache = nodeDefCache;
+        this.publisher = publisher;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleNodeUpdated(NodeUpdatedEvent event) {
+        this.invalidate(event.getOwnerRef(), event.getRef());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleNodeDeleted(NodeDeletedEvent event) {
+        this.invalidate(event.getOwnerRef(), event.getRef());
+    }
+
+    private void invalidate(String ownerRef, String ref) {
+        this.nodeDefCache.invalidate(ownerRef, ref);
+        this.publisher.publish(NodeDefinitionUpdatedEvent.builder()
+                .ownerRef(ownerRef)
+                .ref(ref)
+                .source(this.nodeDefCache.getInstanceId())
+                .build());
+    }
+}
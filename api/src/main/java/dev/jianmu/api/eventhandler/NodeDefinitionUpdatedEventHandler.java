@@ -0,0 +1,30 @@
+package dev.jianmu.api.eventhandler;
+
+import dev.jianmu.application.query.NodeDefCache;
+import dev.jianmu.event.Subscriber;
+import dev.jianmu.event.impl.NodeDefinitionUpdatedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author Daihw
+ * @class NodeDefinitionUpdatedEventHandler
+ * @description 其他节点变更节点定义后失效本地节点定义缓存
+ * @create 2026/10/18 11:40 下午
+ */
+@Slf4j
+public class NodeDefinitionUpdatedEventHandler implements Subscriber<NodeDefinitionUpdatedEvent> {
+    private final NodeDefCache nodeDefCache;
+
+    public NodeDefinitionUpdatedEventHandler(NodeDefCache nodeDefCache) {
+        this.nodeDefCache = nodeDefCache;
+    }
+
+    @Override
+    public void subscribe(NodeDefinitionUpdatedEvent event) {
+        log.debug("{}", event);
+        if (this.nodeDefCache.getInstanceId().equals(event.getSource())) {
+            return;
+        }
+        this.nodeDefCache.invalidate(event.getOwnerRef(), event.getRef());
+    }
+}
@@ -1,6 +1,7 @@
 package dev.jianmu.api.eventhandler;
 
 import dev.jianmu.application.command.WorkflowStartCmd;
+import dev.jianmu.application.service.CleanupApplication;
 import dev.jianmu.application.service.ProjectApplication;
 import dev.jianmu.application.service.ProjectGroupApplication;
 import dev.jianmu.application.service.TriggerApplication;
@@ -28,19 +29,22 @@ public class ProjectEventHandler {
     private final TriggerApplication triggerApplication;
     private final ProjectGroupApplication projectGroupApplication;
     private final DistributedLock distributedLock;
+    private final CleanupApplication cleanupApplication;
 
     public ProjectEventHandler(
         WorkflowInstanceInternalApplication workflowInstanceInternalApplication,
         ProjectApplication projectApplication,
         TriggerApplication triggerApplication,
         ProjectGroupApplication projectGroupApplication,
-        DistributedLock distributedLock
+        DistributedLock distributedLock,
+        CleanupApplication cleanupApplication
     ) {
         this.workflowInstanceInternalApplication = workflowInstanceInternalApplication;
         this.projectApplication = projectApplication;
         this.triggerApplication = triggerApplication;
         this.projectGroupApplication = projectGroupApplication;
         this.distributedLock = distributedLock;
+        this.cleanupApplication = cleanupApplication;
     }
 
     @EventListener
@@ -65,7 +69,9 @@ public class ProjectEventHandler {
     @EventListener
     // TODO 不要直接用基本类型传递事件
     public void handleGitRepoSyncEvent(String projectId) {
-        this.projectApplication.syncProject(projectId);
+        // 节点定义下载在同步项目的事务之外进行
+        var prefetched = this.projectApplication.prefetchSyncNodeDefs(projectId);
+        this.projectApplication.syncProject(projectId, prefetched);
     }
 
     @EventListener
@@ -88,7 +94,7 @@ public class ProjectEventHandler {
     @Async
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handlerFileDelete(TrashEvent event) {
-        // 清理项目数据
-        this.projectApplication.trashProject(event.getProjectId());
+        // 清理项目数据，失败时由CleanUpRunner在下次启动时重试
+        this.cleanupApplication.purgeTrashedProject(event.getProjectId());
     }
 }
@@ -0,0 +1,75 @@
+package dev.jianmu.api.eventhandler;
+
+import dev.jianmu.event.Publisher;
+import dev.jianmu.event.impl.SearchIndexUpdatedEvent;
+import dev.jianmu.infrastructure.search.ProjectSearchIndex;
+import dev.jianmu.infrastructure.search.WorkflowInstanceSearchIndex;
+import dev.jianmu.project.event.CreatedEvent;
+import dev.jianmu.project.event.DeletedEvent;
+import dev.jianmu.project.event.UpdatedEvent;
+import dev.jianmu.workflow.event.process.ProcessInitializedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * @author Daihw
+ * @class SearchIndexEventHandler
+ * @description 根据项目与流程实例领域事件维护本节点搜索索引，并通知其他节点
+ * @create 2026/10/18 7:00 下午
+ */
+@Component
+@Slf4j
+public class SearchIndexEventHandler {
+    private final ProjectSearchIndex projectSearchIndex;
+    private final WorkflowInstanceSearchIndex workflowInstanceSearchIndex;
+    private final Publisher publisher;
+
+    public SearchIndexEventHandler(
+            ProjectSearchIndex projectSearchIndex,
+            WorkflowInstanceSearchIndex workflowInstanceSearchIndex,
+            Publisher publisher
+    ) {
+        this.projectSearchIndex = projectSearchIndex;
+        this.workflowInstanceSearchIndex = workflowInstanceSearchIndex;
+        this.publisher = publisher;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProjectCreated(CreatedEvent event) {
+        this.refreshProject(event.getProjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProjectUpdated(UpdatedEvent event) {
+        this.refreshProject(event.getProjectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProjectDeleted(DeletedEvent event) {
+        this.refreshProject(event.getProjectId());
+    }
+
+    @Async
+    @EventListener
+    public void handleProcessInitializedEvent(ProcessInitializedEvent event) {
+        this.workflowInstanceSearchIndex.refresh(event.getWorkflowInstanceId());
+        this.publisher.publish(SearchIndexUpdatedEvent.builder()
+                .index(SearchIndexUpdatedEvent.WORKFLOW_INSTANCE)
+                .documentId(event.getWorkflowInstanceId())
+                .source(this.workflowInstanceSearchIndex.getInstanceId())
+                .build());
+    }
+
+    private void refreshProject(String projectId) {
+        this.projectSearchIndex.refresh(projectId);
+        this.publisher.publish(SearchIndexUpdatedEvent.builder()
+                .index(SearchIndexUpdatedEvent.PROJECT)
+                .documentId(projectId)
+                .source(this.projectSearchIndex.getInstanceId())
+                .build());
+    }
+}
@@ -0,0 +1,37 @@
+package dev.jianmu.api.eventhandler;
+
+import dev.jianmu.event.Subscriber;
+import dev.jianmu.event.impl.SearchIndexUpdatedEvent;
+import dev.jianmu.infrastructure.search.ProjectSearchIndex;
+import dev.jianmu.infrastructure.search.WorkflowInstanceSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author Daihw
+ * @class SearchIndexUpdatedEventHandler
+ * @description 其他节点的索引变更后，从数据库重新加载本节点索引中的对应文档
+ * @create 2026/10/18 7:00 下午
+ */
+@Slf4j
+public class SearchIndexUpdatedEventHandler implements Subscriber<SearchIndexUpdatedEvent> {
+    private final ProjectSearchIndex projectSearchIndex;
+    private final WorkflowInstanceSearchIndex workflowInstanceSearchIndex;
+
+    public SearchIndexUpdatedEventHandler(ProjectSearchIndex projectSearchIndex, WorkflowInstanceSearchIndex workflowInstanceSearchIndex) {
+        this.projectSearchIndex = projectSearchIndex;
+        this.workflowInstanceSearchIndex = workflowInstanceSearchIndex;
+    }
+
+    @Override
+    public void subscribe(SearchIndexUpdatedEvent event) {
+        log.debug("{}", event);
+        if (SearchIndexUpdatedEvent.PROJECT.equals(event.getIndex())
+                && !this.projectSearchIndex.getInstanceId().equals(event.getSource())) {
+            this.projectSearchIndex.refresh(event.getDocumentId());
+        }
+        if (SearchIndexUpdatedEvent.WORKFLOW_INSTANCE.equals(event.getIndex())
+                && !this.workflowInstanceSearchIndex.getInstanceId().equals(event.getSource())) {
+            this.workflowInstanceSearchIndex.refresh(event.getDocumentId());
+        }
+    }
+}
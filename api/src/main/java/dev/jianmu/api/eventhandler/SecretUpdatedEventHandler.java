@@ -0,0 +1,30 @@
+package dev.jianmu.api.eventhandler;
+
+import dev.jianmu.event.Subscriber;
+import dev.jianmu.event.impl.SecretUpdatedEvent;
+import dev.jianmu.infrastructure.credential.SecretCache;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author Daihw
+ * @class SecretUpdatedEventHandler
+ * @description 其他节点变更密钥后失效本地密钥缓存，发布节点已在变更时自行失效
+ * @create 2026/10/18 11:00 下午
+ */
+@Slf4j
+public class SecretUpdatedEventHandler implements Subscriber<SecretUpdatedEvent> {
+    private final SecretCache secretCache;
+
+    public SecretUpdatedEventHandler(SecretCache secretCache) {
+        this.secretCache = secretCache;
+    }
+
+    @Override
+    public void subscribe(SecretUpdatedEvent event) {
+        log.debug("{}", event);
+        if (this.secretCache.getInstanceId().equals(event.getSource())) {
+            return;
+        }
+        this.secretCache.invalidate(event.getNamespaceName());
+    }
+}
@@ -96,7 +96,7 @@ public class TaskInstanceEventHandler {
     public void handleTaskInstanceWaitingEvent(TaskInstanceWaitingEvent event) {
         // 任务上下文抛出事件通知流程上下文
         MDC.put("triggerId", event.getTriggerId());
-        logger.info("get TaskInstanceWaitingEvent: {}", event);
+        logger.debug("get TaskInstanceWaitingEvent: {}", event);
         this.asyncTaskInstanceInternalApplication.waiting(event.getBusinessId());
     }
 
@@ -104,7 +104,7 @@ public class TaskInstanceEventHandler {
     public void handleTaskInstanceRunningEvent(TaskInstanceRunningEvent event) {
         // 任务上下文抛出事件通知流程上下文
         MDC.put("triggerId", event.getTriggerId());
-        logger.info("get TaskInstanceRunningEvent: {}", event);
+        logger.debug("get TaskInstanceRunningEvent: {}", event);
         this.asyncTaskInstanceInternalApplication.run(event.getBusinessId());
     }
 
@@ -112,7 +112,7 @@ public class TaskInstanceEventHandler {
     public void handleTaskInstanceSucceedEvent(TaskInstanceSucceedEvent event) {
         // 任务上下文抛出事件通知流程上下文
         MDC.put("triggerId", event.getTriggerId());
-        logger.info("get TaskInstanceSucceedEvent: {}", event);
+        logger.debug("get TaskInstanceSucceedEvent: {}", event);
         if (event.isVolume()) {
             this.cacheApplication.executeSucceeded(event.getTaskInstanceId());
         }
@@ -126,7 +126,7 @@ public class TaskInstanceEventHandler {
     public void handleTaskInstanceFailedEvent(TaskInstanceFailedEvent event) {
         // 任务上下文抛出事件通知流程上下文
         MDC.put("triggerId", event.getTriggerId());
-        logger.info("get TaskInstanceFailedEvent: {}", event);
+        logger.debug("get TaskInstanceFailedEvent: {}", event);
         if (event.isVolume()) {
             this.cacheApplication.executeFailed(event.getTaskInstanceId());
         }
@@ -140,7 +140,7 @@ public class TaskInstanceEventHandler {
     public void handleTaskInstanceDispatchFailedEvent(TaskInstanceDispatchFailedEvent event) {
         // 任务上下文抛出事件通知流程上下文
         MDC.put("triggerId", event.getTriggerId());
-        logger.info("get TaskInstanceDispatchFailedEvent: {}", event);
+        logger.debug("get TaskInstanceDispatchFailedEvent: {}", event);
         this.workflowInstanceInternalApplication.terminateByTriggerId(event.getTriggerId());
     }
 }
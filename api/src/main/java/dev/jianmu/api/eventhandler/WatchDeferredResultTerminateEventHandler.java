@@ -21,9 +21,7 @@ public class WatchDeferredResultTerminateEventHandler implements Subscriber<Watc
 
     @Override
     public void subscribe(WatchDeferredResultTerminateEvent event) {
-        log.info("Get WatchDeferredResultTerminateEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.deferredResultService.terminateDeferredResult(event.getWorkerId(), event.getBusinessId());
-        log.info("-----------------------------------------------------");
     }
 }
@@ -21,9 +21,7 @@ public class WorkerDeferredResultClearEventHandler implements Subscriber<WorkerD
 
     @Override
     public void subscribe(WorkerDeferredResultClearEvent event) {
-        log.info("Get WorkerDeferredResultClearEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.deferredResultService.clearWorker(event.getWorkerId());
-        log.info("-----------------------------------------------------");
     }
 }
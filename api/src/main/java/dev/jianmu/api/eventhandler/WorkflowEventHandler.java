@@ -45,36 +45,30 @@ public class WorkflowEventHandler {
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleProcessEvents(Workflow workflow) {
-        log.info("Get Workflow Events here -------------------------");
         workflow.getUncommittedDomainEvents().forEach(event -> {
-            log.info("publish {} here", event.getClass().getSimpleName());
+            log.debug("publish {}", event.getClass().getSimpleName());
             this.publisher.publishEvent(event);
         });
         workflow.clear();
-        log.info("-----------------------------------------------------");
     }
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
     public void handleWorkflowException(WorkflowErrorEvent event) {
-        log.info("Get WorkflowErrorEvent here, because something wrong -------------------------");
-        log.info(event.toString());
+        log.warn("Get WorkflowErrorEvent: {}", event);
         this.workflowInstanceInternalApplication.terminateByTriggerId(event.getTriggerId());
     }
 
     @EventListener
     public void handleWorkflowStartEvent(WorkflowStartEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get WorkflowStartEvent here -------------------------");
-        log.info(event.toString());
-        log.info("handle WorkflowStartEvent end-----------------------------------------------------");
+        log.debug("{}", event);
     }
 
     @Async
     @EventListener
     public void handleNodeActivatingEvent(NodeActivatingEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get NodeActivatingEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         var cmd = ActivateNodeCmd.builder()
                 .triggerId(event.getTriggerId())
                 .workflowRef(event.getWorkflowRef())
@@ -84,15 +78,13 @@ public class WorkflowEventHandler {
                 .build();
         this.workflowInstanceInternalApplication.statusCheck(event.getTriggerId());
         this.workflowInternalApplication.activateNode(cmd);
-        log.info("handle NodeActivatingEvent end-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleAsyncTaskActivatingEvent(AsyncTaskActivatingEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get AsyncTaskActivatingEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         var cmd = AsyncTaskActivatingCmd.builder()
                 .triggerId(event.getTriggerId())
                 .workflowRef(event.getWorkflowRef())
@@ -102,25 +94,21 @@ public class WorkflowEventHandler {
                 .version(event.getVersion())
                 .build();
         this.asyncTaskInstanceInternalApplication.activate(cmd);
-        log.info("handle AsyncTaskActivatingEvent end-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleNodeSucceedEvent(NodeSucceedEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get NodeSucceedEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.asyncTaskInstanceInternalApplication.nodeSucceed(event.getTriggerId(), event.getNodeRef(), event.getNextTarget(), event.getVersion());
-        log.info("handle NodeSucceedEvent end-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleNodeSkipEvent(NodeSkipEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get NodeSkipEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         var cmd = SkipNodeCmd.builder()
                 .triggerId(event.getTriggerId())
                 .workflowRef(event.getWorkflowRef())
@@ -129,16 +117,13 @@ public class WorkflowEventHandler {
                 .sender(event.getSender())
                 .build();
         this.workflowInternalApplication.skipNode(cmd);
-        log.info("handle NodeSkipEvent end-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleWorkflowEndEvent(WorkflowEndEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get WorkflowEndEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.workflowInstanceInternalApplication.end(event.getTriggerId());
-        log.info("handle WorkflowEndEvent end-----------------------------------------------------");
     }
 }
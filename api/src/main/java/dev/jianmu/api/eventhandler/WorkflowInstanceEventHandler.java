@@ -46,32 +46,27 @@ public class WorkflowInstanceEventHandler {
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleAggregateRootEvents(WorkflowInstance workflowInstance) {
-        log.info("Get workflowInstance here -------------------------");
         workflowInstance.getUncommittedDomainEvents().forEach(event -> {
-            log.info("publish {} here", event.getClass().getSimpleName());
+            log.debug("publish {}", event.getClass().getSimpleName());
             this.publisher.publishEvent(event);
         });
         workflowInstance.clear();
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleProcessInitializedEvent(ProcessInitializedEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get ProcessInitializedEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         // 执行流程实例
         this.workflowInstanceInternalApplication.start(event.getWorkflowRef(), event.getTriggerId());
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleProcessStartedEvent(ProcessStartedEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get ProcessStartedEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         var workflowStartCmd = WorkflowStartCmd.builder()
                 .triggerId(event.getTriggerId())
                 .workflowRef(event.getWorkflowRef())
@@ -81,42 +76,35 @@ public class WorkflowInstanceEventHandler {
         this.workflowInternalApplication.init(workflowStartCmd);
         // 创建start、end任务
         this.taskInstanceInternalApplication.createVolumeTask(event.getTriggerId());
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleProcessTerminatedEvent(ProcessTerminatedEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get ProcessTerminatedEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.asyncTaskInstanceInternalApplication.terminateByTriggerId(event.getTriggerId());
         this.taskInstanceInternalApplication.activeEndTask(event.getTriggerId());
         // 执行流程实例
         this.workflowInstanceInternalApplication.start(event.getWorkflowRef(), event.getTriggerId());
-        log.info("-----------------------------------------------------");
     }
 
     @Async
     @EventListener
     public void handleProcessEndedEvent(ProcessEndedEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get ProcessEndedEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.taskInstanceInternalApplication.activeEndTask(event.getTriggerId());
         // 执行流程实例
         this.workflowInstanceInternalApplication.start(event.getWorkflowRef(), event.getTriggerId());
-        log.info("-----------------------------------------------------");
     }
 
     @EventListener
     public void handleProcessNotRunningEvent(ProcessNotRunningEvent event) {
         MDC.put("triggerId", event.getTriggerId());
-        log.info("Get ProcessNotRunningEvent here -------------------------");
-        log.info(event.toString());
+        log.debug("{}", event);
         this.taskInstanceInternalApplication.activeEndTask(event.getTriggerId());
         // 执行流程实例
         this.workflowInstanceInternalApplication.start(event.getWorkflowRef(), event.getTriggerId());
-        log.info("-----------------------------------------------------");
     }
 }
@@ -0,0 +1,29 @@
+package dev.jianmu.api.eventhandler.redis;
+
+import dev.jianmu.api.eventhandler.CronTriggerUpdatedEventHandler;
+import dev.jianmu.event.impl.CronTriggerUpdatedEvent;
+import dev.jianmu.infrastructure.quartz.NextFireTimeIndex;
+import dev.jianmu.infrastructure.redis.RedisSubscriber;
+import dev.jianmu.infrastructure.redis.annotation.ConditionalOnRedisEvent;
+import dev.jianmu.infrastructure.redis.annotation.RedisEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Daihw
+ * @class CronTriggerUpdatedEventHandlerImpl
+ * @description CronTriggerUpdatedEventHandlerImpl
+ * @create 2026/10/18 5:10 下午
+ */
+@Component
+@ConditionalOnRedisEvent
+public class CronTriggerUpdatedEventHandlerImpl extends CronTriggerUpdatedEventHandler implements RedisSubscriber<CronTriggerUpdatedEvent> {
+    public CronTriggerUpdatedEventHandlerImpl(NextFireTimeIndex nextFireTimeIndex) {
+        super(nextFireTimeIndex);
+    }
+
+    @RedisEventListener
+    @Override
+    public void subscribe(CronTriggerUpdatedEvent event) {
+        super.subscribe(event);
+    }
+}
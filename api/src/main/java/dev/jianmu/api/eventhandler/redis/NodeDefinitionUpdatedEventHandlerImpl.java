@@ -0,0 +1,29 @@
+package dev.jianmu.api.eventhandler.redis;
+
+import dev.jianmu.api.eventhandler.NodeDefinitionUpdatedEventHandler;
+import dev.jianmu.application.query.NodeDefCache;
+import dev.jianmu.event.impl.NodeDefinitionUpdatedEvent;
+import dev.jianmu.infrastructure.redis.RedisSubscriber;
+import dev.jianmu.infrastructure.redis.annotation.ConditionalOnRedisEvent;
+import dev.jianmu.infrastructure.redis.annotation.RedisEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Daihw
+ * @class NodeDefinitionUpdatedEventHandlerImpl
+ * @description NodeDefinitionUpdatedEventHandlerImpl
+ * @create 2026/10/18 11:40 下午
+ */
+@Component
+@ConditionalOnRedisEvent
+public class NodeDefinitionUpdatedEventHandlerImpl extends NodeDefinitionUpdatedEventHandler implements RedisSubscriber<NodeDefinitionUpdatedEvent> {
+    public NodeDefinitionUpdatedEventHandlerImpl(NodeDefCache nodeDefCache) {
+        super(nodeDefCache);
+    }
+
+    @RedisEventListener
+    @Override
+    public void subscribe(NodeDefinitionUpdatedEvent event) {
+        super.subscribe(event);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.jianmu.api.eventhandler.redis;
+
+import dev.jianmu.api.eventhandler.SearchIndexUpdatedEventHandler;
+import dev.jianmu.event.impl.SearchIndexUpdatedEvent;
+import dev.jianmu.infrastructure.redis.RedisSubscriber;
+import dev.jianmu.infrastructure.redis.annotation.ConditionalOnRedisEvent;
+import dev.jianmu.infrastructure.redis.annotation.RedisEventListener;
+import dev.jianmu.infrastructure.search.ProjectSearchIndex;
+import dev.jianmu.infrastructure.search.WorkflowInstanceSearchIndex;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Daihw
+ * @class SearchIndexUpdatedEventHandlerImpl
+ * @description SearchIndexUpdatedEventHandlerImpl
+ * @create 2026/10/18 7:00 下午
+ */
+@Component
+@ConditionalOnRedisEvent
+public class SearchIndexUpdatedEventHandlerImpl extends SearchIndexUpdatedEventHandler implements RedisSubscriber<SearchIndexUpdatedEvent> {
+    public SearchIndexUpdatedEventHandlerImpl(ProjectSearchIndex projectSearchIndex, WorkflowInstanceSearchIndex workflowInstanceSearchIndex) {
+        super(projectSearchIndex, workflowInstanceSearchIndex);
+    }
+
+    @RedisEventListener
+    @Override
+    public void subscribe(SearchIndexUpdatedEvent event) {
+        super.subscribe(event);
+    }
+}
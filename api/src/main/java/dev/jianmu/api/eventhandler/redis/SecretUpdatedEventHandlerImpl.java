@@ -0,0 +1,29 @@
+package dev.jianmu.api.eventhandler.redis;
+
+import dev.jianmu.api.eventhandler.SecretUpdatedEventHandler;
+import dev.jianmu.event.impl.SecretUpdatedEvent;
+import dev.jianmu.infrastructure.credential.SecretCache;
+import dev.jianmu.infrastructure.redis.RedisSubscriber;
+import dev.jianmu.infrastructure.redis.annotation.ConditionalOnRedisEvent;
+import dev.jianmu.infrastructure.redis.annotation.RedisEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Daihw
+ * @class SecretUpdatedEventHandlerImpl
+ * @description SecretUpdatedEventHandlerImpl
+ * @create 2026/10/18 11:00 下午
+ */
+@Component
+@ConditionalOnRedisEvent
+public class SecretUpdatedEventHandlerImpl extends SecretUpdatedEventHandler implements RedisSubscriber<SecretUpdatedEvent> {
+    public SecretUpdatedEventHandlerImpl(SecretCache secretCache) {
+        super(secretCache);
+    }
+
+    @RedisEventListener
+    @Override
+    public void subscribe(SecretUpdatedEvent event) {
+        super.subscribe(event);
+    }
+}
@@ -0,0 +1,77 @@
+package dev.jianmu.api.interceptor;
+
+import dev.jianmu.infrastructure.trace.EngineSpan;
+import dev.jianmu.infrastructure.trace.EngineTraceRecorder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Daihw
+ * @class EngineTraceAspect
+ * @description 记录事件处理器的执行耗时，替代处理器中的入口日志
+ * @create 2026/10/18 4:20 下午
+ */
+@Aspect
+@Component
+public class EngineTraceAspect {
+    private final EngineTraceRecorder recorder;
+
+    public EngineTraceAspect(EngineTraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Around("execution(* dev.jianmu.api.eventhandler..*(..)) && " +
+            "(@annotation(org.springframework.context.event.EventListener) || " +
+            "@annotation(org.springframework.transaction.event.TransactionalEventListener))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!this.recorder.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        var args = joinPoint.getArgs();
+        var event = args.length > 0 ? args[0] : null;
+        var startMillis = System.currentTimeMillis();
+        var start = System.nanoTime();
+        String error = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            throw e;
+        } finally {
+            var duration = System.nanoTime() - start;
+            this.recorder.record(new EngineSpan(
+                    triggerId(event),
+                    nodeRef(event),
+                    event == null ? "" : event.getClass().getSimpleName(),
+                    joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName(),
+                    start,
+                    startMillis,
+                    duration,
+                    Thread.currentThread().getName(),
+                    error
+            ));
+        }
+    }
+
+    private static String triggerId(Object event) {
+        if (event instanceof dev.jianmu.workflow.event.BaseEvent) {
+            return ((dev.jianmu.workflow.event.BaseEvent) event).getTriggerId();
+        }
+        if (event instanceof dev.jianmu.task.event.BaseEvent) {
+            return ((dev.jianmu.task.event.BaseEvent) event).getTriggerId();
+        }
+        return null;
+    }
+
+    private static String nodeRef(Object event) {
+        if (event instanceof dev.jianmu.workflow.event.BaseEvent) {
+            return ((dev.jianmu.workflow.event.BaseEvent) event).getNodeRef();
+        }
+        if (event instanceof dev.jianmu.task.event.BaseEvent) {
+            return ((dev.jianmu.task.event.BaseEvent) event).getAsyncTaskRef();
+        }
+        return null;
+    }
+}
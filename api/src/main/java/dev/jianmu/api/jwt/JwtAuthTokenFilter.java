@@ -3,6 +3,7 @@ package dev.jianmu.api.jwt;
 import dev.jianmu.infrastructure.jackson2.JsonUtil;
 import dev.jianmu.infrastructure.jwt.JwtProperties;
 import dev.jianmu.oauth2.api.config.OAuth2Properties;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,11 +28,18 @@ public class JwtAuthTokenFilter extends OncePerRequestFilter {
     private final JwtProvider jwtProvider;
     private final OAuth2Properties oAuth2Properties;
     private final JwtProperties jwtProperties;
+    private final JwtTokenCache jwtTokenCache;
 
-    public JwtAuthTokenFilter(JwtProvider jwtProvider, OAuth2Properties oAuth2Properties, JwtProperties jwtProperties) {
+    public JwtAuthTokenFilter(
+            JwtProvider jwtProvider,
+            OAuth2Properties oAuth2Properties,
+            JwtProperties jwtProperties,
+            JwtTokenCache jwtTokenCache
+    ) {
         this.jwtProvider = jwtProvider;
         this.oAuth2Properties = oAuth2Properties;
         this.jwtProperties = jwtProperties;
+        this.jwtTokenCache = jwtTokenCache;
     }
 
     @Override
@@ -39,16 +47,18 @@ public class JwtAuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && this.jwtProvider.validateJwtToken(jwt)) {
-                String jwtSession = this.jwtProvider.getUsernameFromToken(jwt);
-                JwtUserDetails userDetails = new JwtUserDetails(JsonUtil.stringToJson(jwtSession, JwtSession.class),
-                        this.jwtProperties.getEncryptedPassword(this.oAuth2Properties.getClientSecret()));
+            JwtTokenCache.Entry entry = jwt == null ? null : this.verify(jwt);
+            if (entry != null) {
+                JwtUserDetails userDetails = entry.getUserDetails();
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                String newJwt = this.jwtProvider.generateJwtToken(authentication);
-                response.setHeader("X-Authorization-Token", newJwt);
+                // 临近过期时才签发新Token
+                if (entry.getExpiration() - System.currentTimeMillis() < this.jwtProperties.getRefreshWindowMs()) {
+                    String newJwt = this.jwtProvider.generateJwtToken(authentication);
+                    response.setHeader("X-Authorization-Token", newJwt);
+                }
             }
         } catch (RuntimeException e) {
             logger.error("Cannot set user authentication: {}", e);
@@ -56,6 +66,21 @@ public class JwtAuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private JwtTokenCache.Entry verify(String jwt) {
+        JwtTokenCache.Entry entry = this.jwtTokenCache.get(jwt);
+        if (entry != null) {
+            return entry;
+        }
+        Claims claims = this.jwtProvider.parseClaims(jwt);
+        if (claims == null) {
+            return null;
+        }
+        JwtUserDetails userDetails = new JwtUserDetails(JsonUtil.stringToJson(claims.getSubject(), JwtSession.class),
+                this.jwtProperties.getEncryptedPassword(this.oAuth2Properties.getClientSecret()));
+        long expiration = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+        return this.jwtTokenCache.put(jwt, userDetails, expiration);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
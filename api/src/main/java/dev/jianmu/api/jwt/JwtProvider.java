@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
@@ -22,28 +23,41 @@ import java.util.Date;
 public class JwtProvider {
     private static final Logger logger = LoggerFactory.getLogger(JwtProvider.class);
     private final JwtProperties jwtProperties;
+    private volatile Signer signer;
 
     public JwtProvider(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
     }
 
+    // 密钥变更后重新生成签名密钥与解析器
+    private Signer getSigner() {
+        var secret = this.jwtProperties.getJwtSecret();
+        var current = this.signer;
+        if (current == null || !current.secret.equals(secret)) {
+            current = new Signer(secret);
+            this.signer = current;
+        }
+        return current;
+    }
+
     public String generateJwtToken(Authentication authentication) {
         JwtUserDetails userPrincipal = (JwtUserDetails) authentication.getPrincipal();
         return Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtProperties.getJwtExpirationMs()))
-                .signWith(Keys.hmacShaKeyFor(this.jwtProperties.getJwtSecret().getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .signWith(this.getSigner().key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public boolean validateJwtToken(String token) {
+    /**
+     * 校验并解析Token，校验失败时返回null
+     */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(this.jwtProperties.getJwtSecret().getBytes(StandardCharsets.UTF_8))
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return this.getSigner().parser
+                    .parseClaimsJws(token)
+                    .getBody();
         } catch (SignatureException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -55,15 +69,20 @@ public class JwtProvider {
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(this.jwtProperties.getJwtSecret().getBytes(StandardCharsets.UTF_8))
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    private static class Signer {
+        private final String secret;
+        private final SecretKey key;
+        private final JwtParser parser;
+
+        private Signer(String secret) {
+            this.secret = secret;
+            this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            this.parser = Jwts.parserBuilder()
+                    .setSigningKey(this.key)
+                    .build();
+        }
     }
 }
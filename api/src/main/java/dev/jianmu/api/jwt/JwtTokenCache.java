@@ -0,0 +1,84 @@
+package dev.jianmu.api.jwt;
+
+import dev.jianmu.infrastructure.jwt.JwtProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author Daihw
+ * @class JwtTokenCache
+ * @description 已校验Token缓存，以签名密钥与Token的摘要为键，密钥变更后旧Token不再命中，缓存至Token过期，超出容量时淘汰最久未使用的Token
+ * @create 2026/10/18 10:40 下午
+ */
+@Component
+public class JwtTokenCache {
+    private final JwtProperties jwtProperties;
+    private final Map<String, Entry> entries;
+
+    public JwtTokenCache(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        var capacity = jwtProperties.getTokenCacheSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return this.size() > capacity;
+            }
+        };
+    }
+
+    public synchronized Entry get(String token) {
+        var key = this.digest(token);
+        var entry = this.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.getExpiration() <= System.currentTimeMillis()) {
+            this.entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    public synchronized Entry put(String token, JwtUserDetails userDetails, long expiration) {
+        var entry = new Entry(userDetails, expiration);
+        this.entries.put(this.digest(token), entry);
+        return entry;
+    }
+
+    private String digest(String token) {
+        try {
+            var messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(this.jwtProperties.getJwtSecret().getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            var bytes = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Entry {
+        private final JwtUserDetails userDetails;
+        // Token过期时间戳
+        private final long expiration;
+
+        private Entry(JwtUserDetails userDetails, long expiration) {
+            this.userDetails = userDetails;
+            this.expiration = expiration;
+        }
+
+        public JwtUserDetails getUserDetails() {
+            return userDetails;
+        }
+
+        public long getExpiration() {
+            return expiration;
+        }
+    }
+}
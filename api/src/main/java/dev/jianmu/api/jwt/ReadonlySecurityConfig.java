@@ -38,6 +38,7 @@ public class ReadonlySecurityConfig {
             "/v2/api-docs",
             "/v3/api-docs/**",
             "/view/**",
+            "/startup",
             "/webhook/**",
             "/webjars/**",
             "/workers/**"
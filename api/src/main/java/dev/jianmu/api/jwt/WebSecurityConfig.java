@@ -38,6 +38,7 @@ public class WebSecurityConfig {
             "/swagger-resources/**",
             "/v2/api-docs",
             "/v3/api-docs/**",
+            "/startup",
             "/webhook/**",
             "/webjars/**",
             "/workers/**",
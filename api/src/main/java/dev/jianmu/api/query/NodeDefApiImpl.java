@@ -2,6 +2,7 @@ package dev.jianmu.api.query;
 
 import dev.jianmu.application.query.NodeDef;
 import dev.jianmu.application.query.NodeDefApi;
+import dev.jianmu.application.query.PrefetchedNodeDefs;
 import dev.jianmu.application.service.HubApplication;
 import dev.jianmu.node.definition.aggregate.ShellNode;
 import org.springframework.stereotype.Component;
@@ -33,6 +34,16 @@ public class NodeDefApiImpl implements NodeDefApi {
         return this.hubApplication.getByTypes(types);
     }
 
+    @Override
+    public List<NodeDef> getByTypes(Set<String> types, PrefetchedNodeDefs prefetched) {
+        return this.hubApplication.getByTypes(types, prefetched);
+    }
+
+    @Override
+    public PrefetchedNodeDefs prefetch(Set<String> types) {
+        return this.hubApplication.prefetch(types);
+    }
+
     @Override
     public NodeDef findByType(String type) {
         return this.hubApplication.findByType(type);
@@ -0,0 +1,65 @@
+package dev.jianmu.api.runner;
+
+import dev.jianmu.application.service.ArchiveApplication;
+import dev.jianmu.infrastructure.GlobalProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * @author Daihw
+ * @class ArchiveRunner
+ * @description 开启归档后按固定间隔归档执行记录
+ * @create 2026/10/18 8:00 下午
+ */
+@Component
+@Slf4j
+public class ArchiveRunner implements StartupPhase {
+    public static final String NAME = "archive";
+
+    private final ArchiveApplication archiveApplication;
+    private final GlobalProperties globalProperties;
+    private final TaskScheduler taskScheduler;
+
+    public ArchiveRunner(
+            ArchiveApplication archiveApplication,
+            GlobalProperties globalProperties,
+            @Qualifier("archiveTaskScheduler") TaskScheduler taskScheduler
+    ) {
+        this.archiveApplication = archiveApplication;
+        this.globalProperties = globalProperties;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // 归档不影响服务，就绪后开始调度
+    @Override
+    public boolean isCritical() {
+        return false;
+    }
+
+    @Override
+    public void start() {
+        var archive = this.globalProperties.getArchive();
+        if (!archive.getEnabled()) {
+            return;
+        }
+        log.info("执行记录归档已开启，将定期归档{}天前结束的流程实例", archive.getRetentionDays());
+        var interval = Duration.ofMinutes(archive.getIntervalMinutes());
+        this.taskScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                this.archiveApplication.archive();
+            } catch (Exception e) {
+                log.warn("执行记录归档失败", e);
+            }
+        }, Instant.now().plus(Duration.ofMinutes(1)), interval);
+    }
+}
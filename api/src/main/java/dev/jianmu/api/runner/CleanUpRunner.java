@@ -1,9 +1,7 @@
 package dev.jianmu.api.runner;
 
-import dev.jianmu.application.service.ProjectApplication;
+import dev.jianmu.application.service.CleanupApplication;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
 import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.dao.DeadlockLoserDataAccessException;
 import org.springframework.retry.annotation.Backoff;
@@ -18,11 +16,24 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @Slf4j
-public class CleanUpRunner implements ApplicationRunner {
-    private final ProjectApplication projectApplication;
+public class CleanUpRunner implements StartupPhase {
+    public static final String NAME = "cleanup";
 
-    public CleanUpRunner(ProjectApplication projectApplication) {
-        this.projectApplication = projectApplication;
+    private final CleanupApplication cleanupApplication;
+
+    public CleanUpRunner(CleanupApplication cleanupApplication) {
+        this.cleanupApplication = cleanupApplication;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // 清理历史执行记录不影响服务，就绪后执行
+    @Override
+    public boolean isCritical() {
+        return false;
     }
 
     @Retryable(
@@ -32,7 +43,8 @@ public class CleanUpRunner implements ApplicationRunner {
             listeners = "retryListener"
     )
     @Override
-    public void run(ApplicationArguments args) throws Exception {
-        this.projectApplication.autoClean();
+    public void start() {
+        this.cleanupApplication.autoClean();
+        this.cleanupApplication.purgeTrashedProjects();
     }
 }
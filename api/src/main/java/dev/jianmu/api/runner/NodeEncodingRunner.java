@@ -0,0 +1,69 @@
+package dev.jianmu.api.runner;
+
+import dev.jianmu.application.service.ProjectApplication;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.lock.DistributedLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * @author Daihw
+ * @class NodeEncodingRunner
+ * @description 开启jianmu.node-encoding.rewrite-legacy时，就绪后在后台将旧版JSON格式的流程节点重写为二进制编码，不阻塞启动，多节点部署时只有一个节点执行
+ * @create 2026/10/18 10:10 下午
+ */
+@Component
+@Slf4j
+public class NodeEncodingRunner implements StartupPhase {
+    public static final String NAME = "node-encoding";
+    private static final String LOCK_KEY = "jianmu:node-encoding";
+
+    private final ProjectApplication projectApplication;
+    private final GlobalProperties globalProperties;
+    private final DistributedLock distributedLock;
+
+    public NodeEncodingRunner(ProjectApplication projectApplication, GlobalProperties globalProperties, DistributedLock distributedLock) {
+        this.projectApplication = projectApplication;
+        this.globalProperties = globalProperties;
+        this.distributedLock = distributedLock;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<String> getDependsOn() {
+        return Set.of(UpgradeRunner.NAME);
+    }
+
+    @Override
+    public boolean isCritical() {
+        return false;
+    }
+
+    @Override
+    public void start() {
+        if (!this.globalProperties.getNodeEncoding().getRewriteLegacy()) {
+            return;
+        }
+        var lock = this.distributedLock.getLock(LOCK_KEY);
+        if (!lock.tryLock()) {
+            log.info("其他节点正在重写流程节点编码，跳过");
+            return;
+        }
+        try {
+            var count = this.projectApplication.rewriteLegacyWorkflowNodes();
+            if (count > 0) {
+                log.info("已将{}个流程定义的节点重写为二进制编码", count);
+            }
+        } catch (Exception e) {
+            log.warn("流程节点编码重写失败", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
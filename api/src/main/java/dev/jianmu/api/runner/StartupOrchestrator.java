@@ -0,0 +1,184 @@
+package dev.jianmu.api.runner;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class StartupOrchestrator
+ * @description 启动编排，按依赖关系并行执行启动阶段，关键阶段阻塞就绪，非关键阶段就绪后执行
+ * @create 2026/10/19 2:10 上午
+ */
+@Component
+@Slf4j
+public class StartupOrchestrator implements ApplicationRunner {
+    private final Map<String, StartupPhase> phases = new LinkedHashMap<>();
+    private final Map<String, PhaseProgress> progresses = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+    private final ThreadPoolTaskExecutor executor;
+
+    public StartupOrchestrator(List<StartupPhase> phases, @Qualifier("startupTaskExecutor") ThreadPoolTaskExecutor executor) {
+        phases.forEach(phase -> {
+            if (this.phases.put(phase.getName(), phase) != null) {
+                throw new IllegalStateException("启动阶段名称重复: " + phase.getName());
+            }
+            this.progresses.put(phase.getName(), new PhaseProgress(phase.getName(), phase.isCritical()));
+        });
+        this.phases.values().forEach(phase -> this.validate(phase, new HashSet<>()));
+        this.executor = executor;
+    }
+
+    // 依赖必须存在且无环，关键阶段不能依赖非关键阶段
+    private void validate(StartupPhase phase, Set<String> path) {
+        if (!path.add(phase.getName())) {
+            throw new IllegalStateException("启动阶段存在循环依赖: " + path);
+        }
+        phase.getDependsOn().forEach(name -> {
+            var dependency = this.phases.get(name);
+            if (dependency == null) {
+                throw new IllegalStateException("启动阶段" + phase.getName() + "依赖的阶段不存在: " + name);
+            }
+            if (phase.isCritical() && !dependency.isCritical()) {
+                throw new IllegalStateException("关键启动阶段" + phase.getName() + "不能依赖非关键阶段: " + name);
+            }
+            this.validate(dependency, path);
+        });
+        path.remove(phase.getName());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var start = System.currentTimeMillis();
+        var critical = this.phases.values().stream()
+                .filter(StartupPhase::isCritical)
+                .map(this::schedule)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(critical).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("启动阶段执行失败", e.getCause());
+        }
+        log.info("关键启动阶段完成，耗时{}ms", System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void handleReady(ApplicationReadyEvent event) {
+        var all = this.phases.values().stream()
+                .map(this::schedule)
+                .toArray(CompletableFuture[]::new);
+        // 全部阶段结束后关闭线程池，不再占用线程
+        CompletableFuture.allOf(all).whenComplete((v, e) -> this.executor.shutdown());
+    }
+
+    public synchronized List<PhaseProgress> getProgresses() {
+        return this.progresses.values().stream()
+                .map(PhaseProgress::copy)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 关键阶段失败或跳过为DOWN，全部阶段结束为UP，非关键阶段失败只体现在阶段进度中，否则为STARTING
+     */
+    public synchronized String getStatus() {
+        var critical = this.progresses.values().stream()
+                .filter(PhaseProgress::isCritical)
+                .map(PhaseProgress::getState)
+                .collect(Collectors.toSet());
+        if (critical.contains(PhaseState.FAILED) || critical.contains(PhaseState.SKIPPED)) {
+            return "DOWN";
+        }
+        var finished = this.progresses.values().stream()
+                .allMatch(progress -> progress.state == PhaseState.DONE
+                        || (!progress.critical && (progress.state == PhaseState.FAILED || progress.state == PhaseState.SKIPPED)));
+        return finished ? "UP" : "STARTING";
+    }
+
+    private synchronized CompletableFuture<Void> schedule(StartupPhase phase) {
+        var future = this.futures.get(phase.getName());
+        if (future != null) {
+            return future;
+        }
+        var dependencies = phase.getDependsOn().stream()
+                .map(name -> this.schedule(this.phases.get(name)))
+                .toArray(CompletableFuture[]::new);
+        future = CompletableFuture.allOf(dependencies)
+                .thenRunAsync(() -> this.execute(phase), this.executor)
+                .whenComplete((v, e) -> {
+                    if (e != null) {
+                        this.update(phase.getName(), PhaseState.SKIPPED, null);
+                    }
+                });
+        this.futures.put(phase.getName(), future);
+        return future;
+    }
+
+    private void execute(StartupPhase phase) {
+        var start = System.currentTimeMillis();
+        this.update(phase.getName(), PhaseState.RUNNING, null);
+        try {
+            phase.start();
+            var elapsed = System.currentTimeMillis() - start;
+            this.update(phase.getName(), PhaseState.DONE, elapsed);
+            log.info("启动阶段{}完成，耗时{}ms", phase.getName(), elapsed);
+        } catch (Exception e) {
+            this.update(phase.getName(), PhaseState.FAILED, System.currentTimeMillis() - start);
+            log.error("启动阶段{}执行失败: {}", phase.getName(), e.getMessage());
+            throw new CompletionException(e);
+        }
+    }
+
+    // 依赖失败而未执行的阶段记为SKIPPED，已记录的结果不覆盖
+    private synchronized void update(String name, PhaseState state, Long elapsed) {
+        var progress = this.progresses.get(name);
+        if (state == PhaseState.SKIPPED && progress.state != PhaseState.PENDING) {
+            return;
+        }
+        progress.state = state;
+        progress.elapsedMillis = elapsed;
+    }
+
+    public enum PhaseState {
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED,
+        SKIPPED
+    }
+
+    @Getter
+    public static class PhaseProgress {
+        private final String name;
+        private final boolean critical;
+        private PhaseState state = PhaseState.PENDING;
+        private Long elapsedMillis;
+
+        private PhaseProgress(String name, boolean critical) {
+            this.name = name;
+            this.critical = critical;
+        }
+
+        private PhaseProgress copy() {
+            var copy = new PhaseProgress(this.name, this.critical);
+            copy.state = this.state;
+            copy.elapsedMillis = this.elapsedMillis;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package dev.jianmu.api.runner;
+
+import java.util.Set;
+
+/**
+ * @author Daihw
+ * @class StartupPhase
+ * @description 启动阶段，由StartupOrchestrator按依赖关系并行执行
+ * @create 2026/10/19 2:10 上午
+ */
+public interface StartupPhase {
+    String getName();
+
+    /**
+     * 依赖的阶段名称，依赖全部成功后才执行
+     */
+    default Set<String> getDependsOn() {
+        return Set.of();
+    }
+
+    /**
+     * 关键阶段在应用就绪前完成，失败时启动失败；非关键阶段在就绪后于后台执行
+     */
+    default boolean isCritical() {
+        return true;
+    }
+
+    void start() throws Exception;
+}
@@ -2,10 +2,10 @@ package dev.jianmu.api.runner;
 
 import dev.jianmu.application.service.TriggerApplication;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 /**
  * @author Ethan Liu
  * @class TriggerRunner
@@ -14,7 +14,9 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @Slf4j
-public class TriggerRunner implements ApplicationRunner {
+public class TriggerRunner implements StartupPhase {
+    public static final String NAME = "trigger";
+
     private final TriggerApplication triggerApplication;
 
     public TriggerRunner(TriggerApplication triggerApplication) {
@@ -22,7 +24,18 @@ public class TriggerRunner implements ApplicationRunner {
     }
 
     @Override
-    public void run(ApplicationArguments args) throws Exception {
+    public String getName() {
+        return NAME;
+    }
+
+    // 升级项目时会重新发布Cron触发器事件，升级完成后再加载
+    @Override
+    public Set<String> getDependsOn() {
+        return Set.of(UpgradeRunner.NAME);
+    }
+
+    @Override
+    public void start() {
         this.triggerApplication.startTriggers();
     }
 }
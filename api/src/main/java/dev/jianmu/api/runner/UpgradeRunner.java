@@ -4,11 +4,10 @@ import dev.jianmu.application.exception.DataNotFoundException;
 import dev.jianmu.application.service.ProjectApplication;
 import dev.jianmu.project.aggregate.Project;
 import dev.jianmu.project.repository.ProjectLinkGroupRepository;
+import dev.jianmu.project.repository.StartupMarkerRepository;
 import dev.jianmu.workflow.aggregate.definition.Condition;
 import dev.jianmu.workflow.repository.WorkflowRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
 import java.util.stream.Collectors;
@@ -21,19 +20,34 @@ import java.util.stream.Collectors;
  */
 @Component
 @Slf4j
-public class UpgradeRunner implements ApplicationRunner {
+public class UpgradeRunner implements StartupPhase {
+    public static final String NAME = "upgrade";
+    // 升级逻辑变更时递增，已执行过当前版本的数据库启动时跳过
+    private static final String VERSION = "1";
+
     private final WorkflowRepository workflowRepository;
     private final ProjectApplication projectApplication;
     private final ProjectLinkGroupRepository projectLinkGroupRepository;
+    private final StartupMarkerRepository startupMarkerRepository;
 
-    public UpgradeRunner(WorkflowRepository workflowRepository, ProjectApplication projectApplication, ProjectLinkGroupRepository projectLinkGroupRepository) {
+    public UpgradeRunner(WorkflowRepository workflowRepository, ProjectApplication projectApplication, ProjectLinkGroupRepository projectLinkGroupRepository, StartupMarkerRepository startupMarkerRepository) {
         this.workflowRepository = workflowRepository;
         this.projectApplication = projectApplication;
         this.projectLinkGroupRepository = projectLinkGroupRepository;
+        this.startupMarkerRepository = startupMarkerRepository;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
     }
 
     @Override
-    public void run(ApplicationArguments args) throws Exception {
+    public void start() {
+        if (this.startupMarkerRepository.isApplied(NAME, VERSION)) {
+            log.info("项目升级版本{}已执行，跳过", VERSION);
+            return;
+        }
         // 查找需要升级的项目
         var projects = this.projectApplication.findAll().stream()
                 .filter(project -> project.getDslType() == Project.DslType.WORKFLOW)
@@ -55,8 +69,10 @@ public class UpgradeRunner implements ApplicationRunner {
             var group = this.projectLinkGroupRepository.findByProjectId(project.getId())
                     .orElseThrow(() -> new DataNotFoundException("未找到归属的项目组"));
             var text = project.getDslText() + "\n";
-            this.projectApplication.updateProject(project.getId(), text, group.getProjectGroupId());
+            var prefetched = this.projectApplication.prefetchNodeDefs(text);
+            this.projectApplication.updateProject(project.getId(), text, group.getProjectGroupId(), prefetched);
             log.info("项目- {} -升级成功", project.getWorkflowName());
         });
+        this.startupMarkerRepository.markApplied(NAME, VERSION);
     }
 }
@@ -0,0 +1,31 @@
+package dev.jianmu.api.vo;
+
+import dev.jianmu.api.runner.StartupOrchestrator;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * @author Daihw
+ * @class StartupVo
+ * @description 启动进度的vo
+ * @create 2026/10/19 2:20 上午
+ */
+@Getter
+@Builder
+@Setter
+public class StartupVo {
+    /**
+     * 启动状态，STARTING/UP/DOWN
+     */
+    @Schema(required = true)
+    private String status;
+    /**
+     * 各启动阶段的执行进度
+     */
+    @Schema(required = true)
+    private List<StartupOrchestrator.PhaseProgress> phases;
+}
@@ -0,0 +1,20 @@
+CREATE TABLE `jm_workflow_admission`
+(
+    `workflow_ref`  varchar(45) NOT NULL COMMENT '流程定义Ref',
+    `init_count`    int         NOT NULL DEFAULT 0 COMMENT '待执行流程实例数',
+    `running_count` int         NOT NULL DEFAULT 0 COMMENT '执行中(含挂起)流程实例数',
+    PRIMARY KEY (`workflow_ref`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_0900_ai_ci COMMENT ='流程实例准入计数';
+
+ALTER TABLE `workflow_instance`
+    ADD INDEX `idx_ref_status_serial_no` (`workflow_ref`, `status`, `serial_no`);
+
+INSERT INTO `jm_workflow_admission` (`workflow_ref`, `init_count`, `running_count`)
+SELECT `workflow_ref`,
+       COUNT(CASE WHEN `status` = 'INIT' THEN 1 END),
+       COUNT(CASE WHEN `status` IN ('RUNNING', 'SUSPENDED') THEN 1 END)
+FROM `workflow_instance`
+WHERE `status` IN ('INIT', 'RUNNING', 'SUSPENDED')
+GROUP BY `workflow_ref`;
@@ -0,0 +1,13 @@
+CREATE TABLE `jm_workflow_sequence`
+(
+    `workflow_ref` varchar(45) NOT NULL COMMENT '流程定义Ref',
+    `serial_no`    int         NOT NULL DEFAULT 0 COMMENT '最后分配的流程实例序号',
+    PRIMARY KEY (`workflow_ref`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_0900_ai_ci COMMENT ='流程实例序号分配';
+
+INSERT INTO `jm_workflow_sequence` (`workflow_ref`, `serial_no`)
+SELECT `workflow_ref`, MAX(`serial_no`)
+FROM `workflow_instance`
+GROUP BY `workflow_ref`;
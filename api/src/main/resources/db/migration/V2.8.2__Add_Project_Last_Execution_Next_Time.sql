@@ -0,0 +1,3 @@
+ALTER TABLE `jm_project_last_execution`
+    ADD `next_time` datetime DEFAULT NULL COMMENT '下次触发时间' AFTER `end_time`,
+    ADD `version`   bigint   NOT NULL DEFAULT 0 COMMENT '版本号，每次变更递增' AFTER `next_time`;
@@ -0,0 +1,8 @@
+ALTER TABLE `workflow_instance`
+    ADD INDEX `idx_workflow_ref_serial_no` (`workflow_ref`, `serial_no`),
+    DROP INDEX `idx_workflowref`;
+ALTER TABLE `jianmu_web_request`
+    ADD INDEX `idx_project_id_request_time` (`project_id`, `request_time`, `id`),
+    DROP INDEX `idx_project_id`;
+ALTER TABLE `hub_node_definition`
+    ADD INDEX `idx_owner_ref_id` (`owner_ref`, `id`);
@@ -0,0 +1,12 @@
+ALTER TABLE `workflow_instance`
+    ADD INDEX `idx_status_end_time` (`status`, `end_time`);
+ALTER TABLE `jianmu_web_request`
+    ADD INDEX `idx_trigger_id` (`trigger_id`);
+
+CREATE TABLE IF NOT EXISTS `workflow_instance_archive` LIKE `workflow_instance`;
+CREATE TABLE IF NOT EXISTS `async_task_instance_archive` LIKE `async_task_instance`;
+CREATE TABLE IF NOT EXISTS `task_instance_archive` LIKE `task_instance`;
+CREATE TABLE IF NOT EXISTS `task_instance_parameter_archive` LIKE `task_instance_parameter`;
+CREATE TABLE IF NOT EXISTS `jianmu_trigger_event_archive` LIKE `jianmu_trigger_event`;
+CREATE TABLE IF NOT EXISTS `jianmu_trigger_event_parameter_archive` LIKE `jianmu_trigger_event_parameter`;
+CREATE TABLE IF NOT EXISTS `jianmu_web_request_archive` LIKE `jianmu_web_request`;
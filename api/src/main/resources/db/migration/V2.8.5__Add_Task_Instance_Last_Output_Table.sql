@@ -0,0 +1,42 @@
+CREATE TABLE `jm_task_instance_last_output`
+(
+    `trigger_id`     varchar(255) NOT NULL COMMENT '外部触发ID，流程实例唯一',
+    `async_task_ref` varchar(45)  NOT NULL COMMENT '任务节点ref',
+    `ref`            varchar(45)  NOT NULL COMMENT '参数ref',
+    `instance_id`    varchar(45)  NOT NULL COMMENT '任务实例ID',
+    `serial_no`      int          NOT NULL COMMENT '执行序号',
+    `def_key`        varchar(45)  NOT NULL COMMENT '任务定义Key（类型）',
+    `business_id`    varchar(45)  NOT NULL COMMENT '流程实例ID',
+    `type`           varchar(45)  NOT NULL COMMENT '参数类型',
+    `workflow_type`  varchar(45)  NOT NULL COMMENT '流程类型',
+    `parameter_id`   varchar(45)  NOT NULL COMMENT '参数引用ID',
+    `required`       bit(1)       NOT NULL COMMENT '是否必填',
+    PRIMARY KEY (`trigger_id`, `async_task_ref`, `ref`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_0900_ai_ci COMMENT ='任务节点最新输出参数表';
+
+INSERT IGNORE INTO `jm_task_instance_last_output` (`trigger_id`, `async_task_ref`, `ref`, `instance_id`, `serial_no`,
+                                                   `def_key`, `business_id`, `type`, `workflow_type`, `parameter_id`,
+                                                   `required`)
+SELECT `T`.`trigger_id`,
+       `T`.`async_task_ref`,
+       `T`.`ref`,
+       `T`.`instance_id`,
+       `T`.`serial_no`,
+       `T`.`def_key`,
+       `T`.`business_id`,
+       `T`.`type`,
+       `T`.`workflow_type`,
+       `T`.`parameter_id`,
+       `T`.`required`
+FROM `task_instance_parameter` `T`,
+     (SELECT MAX(`serial_no`) AS `max_no`, `trigger_id`, `async_task_ref`, `ref`
+      FROM `task_instance_parameter`
+      WHERE `type` = 'OUTPUT'
+      GROUP BY `trigger_id`, `async_task_ref`, `ref`) `B`
+WHERE `T`.`trigger_id` = `B`.`trigger_id`
+  AND `T`.`async_task_ref` = `B`.`async_task_ref`
+  AND `T`.`ref` = `B`.`ref`
+  AND `T`.`serial_no` = `B`.`max_no`
+  AND `T`.`type` = 'OUTPUT';
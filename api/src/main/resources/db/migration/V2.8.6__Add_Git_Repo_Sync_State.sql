@@ -0,0 +1,5 @@
+ALTER TABLE `git_repo`
+    add `last_commit_id` varchar(64) DEFAULT NULL COMMENT '最近同步的提交ID';
+
+ALTER TABLE `git_repo`
+    add `last_dsl_blob_id` varchar(64) DEFAULT NULL COMMENT '最近同步的DSL文件Blob ID';
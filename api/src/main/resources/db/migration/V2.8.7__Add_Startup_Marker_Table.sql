@@ -0,0 +1,9 @@
+CREATE TABLE `jm_startup_marker`
+(
+    `name`         varchar(64) NOT NULL COMMENT '启动阶段名称',
+    `version`      varchar(45) NOT NULL COMMENT '已执行的版本',
+    `applied_time` datetime    NOT NULL COMMENT '执行时间',
+    PRIMARY KEY (`name`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_0900_ai_ci COMMENT ='启动升级标记表';
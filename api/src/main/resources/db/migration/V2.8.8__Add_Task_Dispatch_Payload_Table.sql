@@ -0,0 +1,10 @@
+CREATE TABLE `jm_task_dispatch_payload`
+(
+    `task_instance_id` varchar(45) NOT NULL COMMENT '任务实例ID',
+    `trigger_id`       varchar(45) NOT NULL COMMENT 'Trigger ID',
+    `payload`          mediumtext  NOT NULL COMMENT '下发载荷，不含密钥值',
+    PRIMARY KEY (`task_instance_id`),
+    KEY `idx_trigger_id` (`trigger_id`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_0900_ai_ci COMMENT ='任务下发载荷表';
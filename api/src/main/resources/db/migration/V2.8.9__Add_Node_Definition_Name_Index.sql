@@ -0,0 +1,2 @@
+ALTER TABLE `hub_node_definition`
+    ADD INDEX `idx_name` (`name`);
@@ -0,0 +1,196 @@
+package dev.jianmu.api;
+
+import dev.jianmu.application.exception.DataNotFoundException;
+import dev.jianmu.application.service.AsyncTaskInstanceApplication;
+import dev.jianmu.application.service.CleanupApplication;
+import dev.jianmu.application.service.TaskInstanceApplication;
+import dev.jianmu.application.service.TriggerApplication;
+import dev.jianmu.application.service.WorkflowInstanceApplication;
+import dev.jianmu.infrastructure.mapper.task.TaskInstanceMapper;
+import dev.jianmu.infrastructure.mybatis.archive.ArchiveRepositoryImpl;
+import dev.jianmu.infrastructure.mybatis.cleanup.CleanupRepositoryImpl;
+import dev.jianmu.task.aggregate.InstanceParameter;
+import dev.jianmu.task.aggregate.NodeInfo;
+import dev.jianmu.task.aggregate.TaskInstance;
+import dev.jianmu.task.repository.InstanceParameterRepository;
+import dev.jianmu.trigger.aggregate.WebRequest;
+import dev.jianmu.trigger.event.TriggerEvent;
+import dev.jianmu.trigger.event.TriggerEventParameter;
+import dev.jianmu.trigger.repository.TriggerEventRepository;
+import dev.jianmu.trigger.repository.WebRequestRepository;
+import dev.jianmu.workflow.aggregate.parameter.Parameter;
+import dev.jianmu.workflow.aggregate.process.AsyncTaskInstance;
+import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
+import dev.jianmu.workflow.repository.AsyncTaskInstanceRepository;
+import dev.jianmu.workflow.repository.ParameterRepository;
+import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Daihw
+ * @class ArchiveIntegrationTest
+ * @description 执行记录归档、归档表回退查询与归档保留期清理集成测试
+ * @create 2026/10/19 5:10 上午
+ */
+@SpringBootTest(classes = SpringbootApp.class)
+@ActiveProfiles("test")
+public class ArchiveIntegrationTest {
+    private static final String WORKFLOW_REF = "archive_test";
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+    @Resource
+    private WorkflowInstanceRepository workflowInstanceRepository;
+    @Resource
+    private AsyncTaskInstanceRepository asyncTaskInstanceRepository;
+    @Resource
+    private TaskInstanceMapper taskInstanceMapper;
+    @Resource
+    private InstanceParameterRepository instanceParameterRepository;
+    @Resource
+    private ParameterRepository parameterRepository;
+    @Resource
+    private TriggerEventRepository triggerEventRepository;
+    @Resource
+    private WebRequestRepository webRequestRepository;
+    @Resource
+    private ArchiveRepositoryImpl archiveRepository;
+    @Resource
+    private CleanupRepositoryImpl cleanupRepository;
+    @Resource
+    private CleanupApplication cleanupApplication;
+    @Resource
+    private WorkflowInstanceApplication workflowInstanceApplication;
+    @Resource
+    private AsyncTaskInstanceApplication asyncTaskInstanceApplication;
+    @Resource
+    private TaskInstanceApplication taskInstanceApplication;
+    @Resource
+    private TriggerApplication triggerApplication;
+
+    @Test
+    void archiveAndPurge() {
+        var parameter = Parameter.Type.STRING.newParameter("archived", false);
+        var triggerEvent = TriggerEvent.Builder.aTriggerEvent()
+                .projectId("archive-project")
+                .triggerId("archive-trigger")
+                .triggerType("MANUAL")
+                .parameters(List.of(TriggerEventParameter.Builder.aTriggerParameter()
+                        .name("name")
+                        .type("STRING")
+                        .value("archived")
+                        .parameterId(parameter.getId())
+                        .build()))
+                .build();
+        var triggerId = triggerEvent.getId();
+        var workflowInstance = WorkflowInstance.Builder.aWorkflowInstance()
+                .serialNo(1)
+                .triggerId(triggerId)
+                .triggerType("MANUAL")
+                .name(WORKFLOW_REF)
+                .workflowRef(WORKFLOW_REF)
+                .workflowVersion("v1")
+                .build();
+        var asyncTaskInstance = AsyncTaskInstance.Builder.anAsyncTaskInstance()
+                .triggerId(triggerId)
+                .workflowRef(WORKFLOW_REF)
+                .workflowVersion("v1")
+                .workflowInstanceId(workflowInstance.getId())
+                .name("build")
+                .description("build")
+                .asyncTaskRef("build")
+                .asyncTaskType("shell:test")
+                .build();
+        asyncTaskInstance.activating();
+        var taskInstance = TaskInstance.Builder.anInstance()
+                .serialNo(1)
+                .defKey("shell:test")
+                .nodeInfo(NodeInfo.Builder.aNodeDef().name("build").type("shell:test").build())
+                .asyncTaskRef("build")
+                .workflowRef(WORKFLOW_REF)
+                .workflowVersion("v1")
+                .businessId(asyncTaskInstance.getId())
+                .triggerId(triggerId)
+                .build();
+        var instanceParameter = InstanceParameter.Builder.anInstanceParameter()
+                .instanceId(taskInstance.getId())
+                .serialNo(1)
+                .defKey("shell:test")
+                .asyncTaskRef("build")
+                .businessId(asyncTaskInstance.getId())
+                .triggerId(triggerId)
+                .ref("name")
+                .type(InstanceParameter.Type.INPUT)
+                .workflowType("WORKFLOW")
+                .parameterId(parameter.getId())
+                .required(false)
+                .build();
+        var webRequest = WebRequest.Builder.aWebRequest()
+                .userAgent("test")
+                .statusCode(WebRequest.StatusCode.OK)
+                .build();
+        webRequest.setProjectId("archive-project");
+        webRequest.setWorkflowRef(WORKFLOW_REF);
+        webRequest.setWorkflowVersion("v1");
+        webRequest.setTriggerId(triggerId);
+
+        this.transactionTemplate.execute(status -> {
+            workflowInstance.start();
+            workflowInstance.end();
+            // 只验证归档，不触发流程执行
+            workflowInstance.clear();
+            asyncTaskInstance.clear();
+            this.workflowInstanceRepository.add(workflowInstance);
+            this.asyncTaskInstanceRepository.addAll(List.of(asyncTaskInstance));
+            this.taskInstanceMapper.add(taskInstance);
+            this.parameterRepository.addAll(List.of(parameter));
+            this.instanceParameterRepository.addAll(Set.of(instanceParameter));
+            this.triggerEventRepository.save(triggerEvent);
+            this.webRequestRepository.add(webRequest);
+            return null;
+        });
+
+        assertTrue(this.archiveRepository.archiveBefore(LocalDateTime.now().plusMinutes(1), 1000) >= 1);
+
+        // 在线表中已删除，查询回退到归档表
+        assertTrue(this.workflowInstanceRepository.findByTriggerId(triggerId).isEmpty());
+        assertEquals(workflowInstance.getId(), this.workflowInstanceApplication.findByTriggerId(triggerId).orElseThrow().getId());
+        assertEquals(List.of(asyncTaskInstance.getId()), this.asyncTaskInstanceApplication.findByTriggerId(triggerId).stream()
+                .map(AsyncTaskInstance::getId)
+                .toList());
+        assertEquals(List.of(taskInstance.getId()), this.taskInstanceApplication.findSummaryByBusinessId(asyncTaskInstance.getId()).stream()
+                .map(TaskInstance::getId)
+                .toList());
+        assertEquals("build", this.taskInstanceApplication.findById(taskInstance.getId()).orElseThrow().getNodeInfo().getName());
+        assertEquals(List.of(parameter.getId()), this.taskInstanceApplication.findParameters(taskInstance.getId()).stream()
+                .map(InstanceParameter::getParameterId)
+                .toList());
+        assertEquals(1, this.triggerApplication.findTriggerEvent(triggerId).getParameters().size());
+
+        // 未超过归档保留天数时不清理
+        this.cleanupApplication.purgeArchive();
+        assertTrue(this.workflowInstanceApplication.findByTriggerId(triggerId).isPresent());
+
+        assertTrue(this.cleanupRepository.findArchivedTriggerIds(LocalDateTime.now().plusMinutes(1), 1000).contains(triggerId));
+        this.cleanupRepository.purgeArchived(List.of(triggerId));
+
+        assertTrue(this.workflowInstanceApplication.findByTriggerId(triggerId).isEmpty());
+        assertTrue(this.asyncTaskInstanceApplication.findByTriggerId(triggerId).isEmpty());
+        assertTrue(this.taskInstanceApplication.findById(taskInstance.getId()).isEmpty());
+        assertTrue(this.taskInstanceApplication.findParameters(taskInstance.getId()).isEmpty());
+        assertThrows(DataNotFoundException.class, () -> this.triggerApplication.findTriggerEvent(triggerId));
+        assertTrue(this.parameterRepository.findByIds(Set.of(parameter.getId())).isEmpty());
+    }
+}
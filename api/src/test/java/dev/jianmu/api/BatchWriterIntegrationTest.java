@@ -0,0 +1,139 @@
+package dev.jianmu.api;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.mapper.parameter.ParameterMapper;
+import dev.jianmu.workflow.aggregate.parameter.Parameter;
+import dev.jianmu.workflow.repository.ParameterRepository;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Daihw
+ * @class BatchWriterIntegrationTest
+ * @description 批量写入随外层事务提交或回滚的集成测试
+ * @create 2026/10/19 5:30 上午
+ */
+@SpringBootTest(classes = SpringbootApp.class)
+@ActiveProfiles("test")
+public class BatchWriterIntegrationTest {
+    private static final int PARAMETERS = 25;
+
+    @Resource
+    private ParameterRepository parameterRepository;
+    @Resource
+    private ParameterMapper parameterMapper;
+    @Resource
+    private TransactionTemplate transactionTemplate;
+    @Resource
+    private GlobalProperties globalProperties;
+
+    private Integer batchSize;
+
+    @BeforeEach
+    void setUp() {
+        // 分多块发送，验证已发送的块同样回滚
+        this.batchSize = this.globalProperties.getBatch().getSize();
+        this.globalProperties.getBatch().setSize(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.globalProperties.getBatch().setSize(this.batchSize);
+    }
+
+    private List<Parameter> parameters() {
+        return this.parameters(PARAMETERS);
+    }
+
+    private List<Parameter> parameters(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> Parameter.Type.STRING.newParameter("value-" + i, false))
+                .collect(Collectors.toList());
+    }
+
+    private int count(List<Parameter> parameters) {
+        return this.parameterRepository.findByIds(parameters.stream().map(Parameter::getId).collect(Collectors.toSet())).size();
+    }
+
+    @Test
+    void rollbackWithOuterTransaction() {
+        var parameters = this.parameters();
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.parameterRepository.addAll(parameters);
+            // 同一事务内可以读到批量写入的数据
+            assertEquals(PARAMETERS, this.count(parameters));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, this.count(parameters));
+    }
+
+    @Test
+    void commitWithOuterTransaction() {
+        var parameters = this.parameters();
+        this.transactionTemplate.executeWithoutResult(status -> this.parameterRepository.addAll(parameters));
+        assertEquals(PARAMETERS, this.count(parameters));
+    }
+
+    @Test
+    void atomicWithoutOuterTransaction() {
+        var parameters = new ArrayList<>(this.parameters());
+        // 最后一块中的主键冲突，前两块已发送的语句也不能保留
+        parameters.add(parameters.get(0));
+        assertThrows(DataAccessException.class, () -> this.parameterRepository.addAll(parameters));
+        assertEquals(0, this.count(parameters));
+        assertTrue(this.parameterRepository.findByIds(Set.of(parameters.get(PARAMETERS - 1).getId())).isEmpty());
+    }
+
+    /**
+     * 在H2上对比同一事务内逐条插入与BATCH执行器批量插入的耗时，mvn test -Djianmu.benchmark=true时运行，
+     * H2没有rewriteBatchedStatements，结果只反映减少的语句往返，不代表MySQL上合并为多行插入后的收益
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "jianmu.benchmark", matches = "true")
+    void benchmarkAddAll() {
+        var size = 20000;
+        this.globalProperties.getBatch().setSize(this.batchSize);
+        // 预热
+        this.transactionTemplate.executeWithoutResult(status -> {
+            this.parameterRepository.addAll(this.parameters(size));
+            this.parameters(size).forEach(this.parameterMapper::add);
+            status.setRollbackOnly();
+        });
+        var results = new StringBuilder();
+        for (var round = 0; round < 3; round++) {
+            var single = this.parameters(size);
+            var start = System.nanoTime();
+            this.transactionTemplate.executeWithoutResult(status -> {
+                single.forEach(this.parameterMapper::add);
+                status.setRollbackOnly();
+            });
+            var singleMillis = (System.nanoTime() - start) / 1_000_000;
+            var batch = this.parameters(size);
+            start = System.nanoTime();
+            this.transactionTemplate.executeWithoutResult(status -> {
+                this.parameterRepository.addAll(batch);
+                status.setRollbackOnly();
+            });
+            var batchMillis = (System.nanoTime() - start) / 1_000_000;
+            results.append(String.format("%d rows single %d ms, batch-size %d %d ms; ", size, singleMillis, this.batchSize, batchMillis));
+        }
+        System.out.println(results);
+    }
+}
@@ -0,0 +1,50 @@
+package dev.jianmu.api;
+
+import dev.jianmu.application.dsl.DslParser;
+import dev.jianmu.node.definition.repository.ShellNodeRepository;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Daihw
+ * @class DslParserIntegrationTest
+ * @description 相同DSL重复解析后保存Shell节点集成测试
+ * @create 2026/10/19 5:50 上午
+ */
+@SpringBootTest(classes = SpringbootApp.class)
+@ActiveProfiles("test")
+public class DslParserIntegrationTest {
+    private static final String DSL = "name: shell_twice\n" +
+            "pipeline:\n" +
+            "  shell_a:\n" +
+            "    image: alpine:3.13\n" +
+            "    script:\n" +
+            "      - echo a\n";
+
+    @Resource
+    private ShellNodeRepository shellNodeRepository;
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void persistSameDslTwice() {
+        // 第二次解析命中缓存，两次保存都不能主键冲突
+        var first = DslParser.parse(DSL);
+        this.transactionTemplate.executeWithoutResult(status -> this.shellNodeRepository.addAll(first.getShellNodes()));
+        var second = DslParser.parse(DSL);
+        this.transactionTemplate.executeWithoutResult(status -> this.shellNodeRepository.addAll(second.getShellNodes()));
+
+        for (var parser : new DslParser[]{first, second}) {
+            var shellNode = parser.getShellNodes().get(0);
+            var saved = this.shellNodeRepository.findById(shellNode.getId());
+            assertTrue(saved.isPresent());
+            assertEquals("alpine:3.13", saved.get().getImage());
+        }
+    }
+}
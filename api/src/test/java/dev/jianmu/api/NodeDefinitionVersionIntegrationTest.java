@@ -0,0 +1,73 @@
+package dev.jianmu.api;
+
+import dev.jianmu.node.definition.aggregate.NodeDefinition;
+import dev.jianmu.node.definition.aggregate.NodeDefinitionVersion;
+import dev.jianmu.node.definition.repository.NodeDefinitionVersionRepository;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Daihw
+ * @class NodeDefinitionVersionIntegrationTest
+ * @description 按页批量查询节点定义版本的集成测试
+ * @create 2026/10/19 7:40 上午
+ */
+@SpringBootTest(classes = SpringbootApp.class)
+@ActiveProfiles("test")
+public class NodeDefinitionVersionIntegrationTest {
+    private static final String OWNER_REF = "version_batch_test";
+
+    @Resource
+    private NodeDefinitionVersionRepository nodeDefinitionVersionRepository;
+
+    @AfterEach
+    void tearDown() {
+        this.nodeDefinitionVersionRepository.deleteByOwnerRefAndRef(OWNER_REF, "a");
+        this.nodeDefinitionVersionRepository.deleteByOwnerRefAndRef(OWNER_REF, "b");
+        this.nodeDefinitionVersionRepository.deleteByOwnerRefAndRef(OWNER_REF, "c");
+    }
+
+    @Test
+    void findByNodeDefinitions() {
+        this.add("a", "1.0.0");
+        this.add("a", "1.1.0");
+        this.add("b", "2.0.0");
+        this.add("c", "3.0.0");
+
+        var versions = this.nodeDefinitionVersionRepository.findByNodeDefinitions(List.of(this.node("a"), this.node("b")));
+
+        assertEquals(List.of("1.0.0", "1.1.0", "2.0.0"), versions.stream()
+                .map(NodeDefinitionVersion::getVersion)
+                .sorted()
+                .collect(Collectors.toList()));
+        assertTrue(this.nodeDefinitionVersionRepository.findByNodeDefinitions(List.of()).isEmpty());
+    }
+
+    private NodeDefinition node(String ref) {
+        return NodeDefinition.Builder.aNodeDefinition()
+                .id(OWNER_REF + "/" + ref)
+                .ownerRef(OWNER_REF)
+                .ref(ref)
+                .build();
+    }
+
+    private void add(String ref, String version) {
+        this.nodeDefinitionVersionRepository.saveOrUpdate(NodeDefinitionVersion.Builder.aNodeDefinitionVersion()
+                .id(OWNER_REF + "/" + ref + ":" + version)
+                .ownerRef(OWNER_REF)
+                .ref(ref)
+                .version(version)
+                .inputParameters(List.of())
+                .outputParameters(List.of())
+                .build());
+    }
+}
@@ -0,0 +1,55 @@
+package dev.jianmu.api;
+
+import dev.jianmu.project.aggregate.ProjectLastExecution;
+import dev.jianmu.project.repository.ProjectLastExecutionRepository;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Daihw
+ * @class ProjectLastExecutionIntegrationTest
+ * @description 下次触发时间只在变化时更新的集成测试，覆盖空值比较
+ * @create 2026/10/19 7:00 上午
+ */
+@SpringBootTest(classes = SpringbootApp.class)
+@ActiveProfiles("test")
+public class ProjectLastExecutionIntegrationTest {
+    private static final String WORKFLOW_REF = "last_execution_test";
+
+    @Resource
+    private ProjectLastExecutionRepository projectLastExecutionRepository;
+
+    @AfterEach
+    void tearDown() {
+        this.projectLastExecutionRepository.deleteByRef(WORKFLOW_REF);
+    }
+
+    @Test
+    void updateNextTimeOnlyWhenChanged() {
+        this.projectLastExecutionRepository.add(new ProjectLastExecution(WORKFLOW_REF));
+        var nextTime = LocalDateTime.of(2099, 1, 1, 3, 0);
+
+        // 空值 -> 时间
+        assertTrue(this.projectLastExecutionRepository.updateNextTime(WORKFLOW_REF, nextTime));
+        assertFalse(this.projectLastExecutionRepository.updateNextTime(WORKFLOW_REF, nextTime));
+        assertEquals(nextTime, this.projectLastExecutionRepository.findByRef(WORKFLOW_REF).orElseThrow().getNextTime());
+
+        // 时间 -> 时间
+        assertTrue(this.projectLastExecutionRepository.updateNextTime(WORKFLOW_REF, nextTime.plusDays(1)));
+
+        // 时间 -> 空值
+        assertTrue(this.projectLastExecutionRepository.updateNextTime(WORKFLOW_REF, null));
+        assertFalse(this.projectLastExecutionRepository.updateNextTime(WORKFLOW_REF, null));
+        assertNull(this.projectLastExecutionRepository.findByRef(WORKFLOW_REF).orElseThrow().getNextTime());
+    }
+}
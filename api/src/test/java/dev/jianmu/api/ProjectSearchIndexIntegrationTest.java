@@ -0,0 +1,148 @@
+package dev.jianmu.api;
+
+import dev.jianmu.infrastructure.mapper.project.ProjectMapper;
+import dev.jianmu.infrastructure.mybatis.project.ProjectRepositoryImpl;
+import dev.jianmu.infrastructure.search.ProjectSearchIndex;
+import dev.jianmu.project.aggregate.Project;
+import dev.jianmu.project.aggregate.ProjectLastExecution;
+import dev.jianmu.project.aggregate.ProjectLinkGroup;
+import dev.jianmu.project.event.CreatedEvent;
+import dev.jianmu.project.event.DeletedEvent;
+import dev.jianmu.project.event.UpdatedEvent;
+import dev.jianmu.project.query.ProjectVo;
+import dev.jianmu.project.repository.ProjectLastExecutionRepository;
+import dev.jianmu.project.repository.ProjectLinkGroupRepository;
+import dev.jianmu.project.repository.TrashProjectRepository;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Daihw
+ * @class ProjectSearchIndexIntegrationTest
+ * @description 项目搜索索引随项目增删改同步，且分组查询结果与原模糊查询一致的集成测试
+ * @create 2026/10/19 7:50 上午
+ */
+@SpringBootTest(classes = SpringbootApp.class)
+@ActiveProfiles("test")
+public class ProjectSearchIndexIntegrationTest {
+    private static final String PROJECT_GROUP_ID = "search_index_group";
+    private static final List<String> KEYWORDS = List.of("alpha", "search", "nightly", "ref", "a", "z");
+
+    @Resource
+    private ProjectRepositoryImpl projectRepository;
+    @Resource
+    private ProjectMapper projectMapper;
+    @Resource
+    private ProjectLinkGroupRepository projectLinkGroupRepository;
+    @Resource
+    private ProjectLastExecutionRepository projectLastExecutionRepository;
+    @Resource
+    private TrashProjectRepository trashProjectRepository;
+    @Resource
+    private ProjectSearchIndex projectSearchIndex;
+    @Resource
+    private ApplicationEventPublisher publisher;
+
+    private final List<Project> projects = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        this.projects.forEach(project -> {
+            this.projectRepository.deleteByWorkflowRef(project.getWorkflowRef());
+            this.trashProjectRepository.deleteById(project.getId());
+            this.projectLastExecutionRepository.deleteByRef(project.getWorkflowRef());
+            this.projectSearchIndex.refresh(project.getId());
+        });
+        this.projectLinkGroupRepository.deleteByProjectGroupId(PROJECT_GROUP_ID);
+    }
+
+    @Test
+    void syncOnCreateUpdateDeleteAndTrash() {
+        this.projectSearchIndex.rebuild();
+        var build = this.create("search alpha build", "nightly", "search_index_build");
+        var deploy = this.create("deploy", "search alpha deploy", "search_index_deploy");
+        var other = this.create("other", null, "search_index_alpha_ref");
+
+        // 创建
+        assertEquals(Set.of(build.getId(), deploy.getId()), this.search("alpha"));
+        this.assertMatchesLikeQuery();
+
+        // 更新
+        other.setWorkflowName("alpha other");
+        this.projectRepository.updateByWorkflowRef(other);
+        this.publisher.publishEvent(new UpdatedEvent(other.getId()));
+        assertEquals(Set.of(build.getId(), deploy.getId(), other.getId()), this.search("alpha"));
+        this.assertMatchesLikeQuery();
+
+        // 删除并放入回收站
+        this.projectRepository.deleteByWorkflowRef(build.getWorkflowRef());
+        this.trashProjectRepository.add(build);
+        this.publisher.publishEvent(new DeletedEvent(build.getId()));
+        assertFalse(this.projectSearchIndex.search("alpha").contains(build.getId()));
+        assertEquals(Set.of(deploy.getId(), other.getId()), this.search("alpha"));
+        this.assertMatchesLikeQuery();
+    }
+
+    @Test
+    void shortKeywordFallsBackToLikeQuery() {
+        this.create("x build", null, "search_index_short");
+        assertFalse(this.projectSearchIndex.supports("x"));
+        assertEquals(1, this.projectRepository.findPageByGroupId(1, 10, PROJECT_GROUP_ID, "x", "DEFAULT_SORT").getList().size());
+        assertEquals(1, this.projectRepository.findCursorByGroupId(PROJECT_GROUP_ID, "x", null, 10, true).getTotal());
+        assertTrue(this.projectRepository.findPageByGroupId(1, 10, PROJECT_GROUP_ID, "y", "DEFAULT_SORT").getList().isEmpty());
+    }
+
+    private Project create(String name, String description, String ref) {
+        var project = Project.Builder.aReference()
+                .gitRepoId(ref)
+                .workflowName(name)
+                .workflowDescription(description)
+                .workflowRef(ref)
+                .workflowVersion("v1")
+                .steps(1)
+                .enabled(true)
+                .mutable(true)
+                .dslText("name: " + name)
+                .build();
+        this.projectRepository.add(project);
+        this.projectLinkGroupRepository.add(ProjectLinkGroup.Builder.aReference()
+                .projectId(project.getId())
+                .projectGroupId(PROJECT_GROUP_ID)
+                .sort(this.projects.size())
+                .build());
+        this.projectLastExecutionRepository.add(new ProjectLastExecution(ref));
+        this.publisher.publishEvent(new CreatedEvent(project.getId()));
+        this.projects.add(project);
+        return project;
+    }
+
+    private Set<String> search(String keyword) {
+        return this.projectRepository.findPageByGroupId(1, 10, PROJECT_GROUP_ID, keyword, "DEFAULT_SORT").getList().stream()
+                .map(ProjectVo::getId)
+                .collect(Collectors.toSet());
+    }
+
+    // 原查询按名称与描述模糊匹配，不匹配Ref
+    private void assertMatchesLikeQuery() {
+        KEYWORDS.forEach(keyword -> {
+            var expected = this.projectMapper.findAllByGroupId(PROJECT_GROUP_ID, keyword, null, "DEFAULT_SORT").stream()
+                    .map(ProjectVo::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(expected, this.search(keyword), keyword);
+            assertEquals(expected.size(), this.projectRepository.findCursorByGroupId(PROJECT_GROUP_ID, keyword, null, 10, true).getTotal(), keyword);
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package dev.jianmu.api;
+
+import dev.jianmu.workflow.aggregate.process.ProcessStatus;
+import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
+import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Daihw
+ * @class WorkflowAdmissionIntegrationTest
+ * @description 流程实例准入计数并发调整集成测试
+ * @create 2026/10/19 4:50 上午
+ */
+@SpringBootTest(classes = SpringbootApp.class)
+@ActiveProfiles("test")
+public class WorkflowAdmissionIntegrationTest {
+    private static final int INSTANCES = 400;
+    private static final String WORKFLOW_REF = "admission_test";
+
+    @Resource
+    private WorkflowInstanceRepository workflowInstanceRepository;
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    private void invokeAll(ExecutorService executor, List<Callable<Object>> tasks) throws Exception {
+        for (Future<Object> future : executor.invokeAll(tasks)) {
+            future.get();
+        }
+    }
+
+    private List<Callable<Object>> tasks(List<WorkflowInstance> instances, java.util.function.Consumer<WorkflowInstance> action) {
+        return instances.stream()
+                .<Callable<Object>>map(instance -> () -> this.transactionTemplate.execute(status -> {
+                    action.accept(instance);
+                    // 只验证计数，不触发流程执行
+                    instance.clear();
+                    return null;
+                }))
+                .collect(Collectors.toList());
+    }
+
+    private int count(ProcessStatus... statuses) {
+        return this.workflowInstanceRepository.findByRefAndStatuses(WORKFLOW_REF, List.of(statuses)).size();
+    }
+
+    @Test
+    void concurrentTransitions() throws Exception {
+        var instances = IntStream.range(0, INSTANCES)
+                .mapToObj(i -> WorkflowInstance.Builder.aWorkflowInstance()
+                        .serialNo(i + 1)
+                        .triggerId("admission-" + i)
+                        .triggerType("MANUAL")
+                        .name(WORKFLOW_REF)
+                        .workflowRef(WORKFLOW_REF)
+                        .workflowVersion("v1")
+                        .build())
+                .collect(Collectors.toList());
+        var executor = Executors.newFixedThreadPool(16);
+        this.invokeAll(executor, this.tasks(instances, this.workflowInstanceRepository::add));
+        assertEquals(INSTANCES, this.workflowInstanceRepository.countInitByRef(WORKFLOW_REF));
+
+        // 一半实例开始执行，其中一半执行结束，另取50个待执行实例删除
+        var started = instances.subList(0, INSTANCES / 2);
+        this.invokeAll(executor, this.tasks(started, instance -> {
+            instance.start();
+            this.workflowInstanceRepository.running(instance);
+        }));
+        this.invokeAll(executor, this.tasks(started.subList(0, INSTANCES / 4), instance -> {
+            instance.end();
+            this.workflowInstanceRepository.save(instance);
+        }));
+        this.invokeAll(executor, this.tasks(instances.subList(INSTANCES - 50, INSTANCES),
+                instance -> this.workflowInstanceRepository.deleteById(instance.getId())));
+        executor.shutdown();
+
+        assertEquals(INSTANCES / 2 - 50, this.workflowInstanceRepository.countInitByRef(WORKFLOW_REF));
+        assertEquals(INSTANCES / 4, this.workflowInstanceRepository.countRunningByRef(WORKFLOW_REF));
+        assertEquals(this.count(ProcessStatus.INIT), this.workflowInstanceRepository.countInitByRef(WORKFLOW_REF));
+        assertEquals(this.count(ProcessStatus.RUNNING, ProcessStatus.SUSPENDED), this.workflowInstanceRepository.countRunningByRef(WORKFLOW_REF));
+    }
+}
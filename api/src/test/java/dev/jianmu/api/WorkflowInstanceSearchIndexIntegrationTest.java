@@ -0,0 +1,101 @@
+package dev.jianmu.api;
+
+import dev.jianmu.infrastructure.mapper.workflow.WorkflowInstanceMapper;
+import dev.jianmu.infrastructure.search.WorkflowInstanceSearchIndex;
+import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
+import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Daihw
+ * @class WorkflowInstanceSearchIndexIntegrationTest
+ * @description 流程实例搜索索引随实例创建与删除同步，且按名称的搜索结果与原模糊查询一致的集成测试
+ * @create 2026/10/19 7:50 上午
+ */
+@SpringBootTest(classes = SpringbootApp.class)
+@ActiveProfiles("test")
+public class WorkflowInstanceSearchIndexIntegrationTest {
+    private static final String WORKFLOW_REF = "instance_search_test";
+    private static final List<String> KEYWORDS = List.of("kappa", "lambda", "kappa lambda", "zeta");
+
+    @Resource
+    private WorkflowInstanceRepository workflowInstanceRepository;
+    @Resource
+    private WorkflowInstanceMapper workflowInstanceMapper;
+    @Resource
+    private WorkflowInstanceSearchIndex workflowInstanceSearchIndex;
+
+    private final List<WorkflowInstance> instances = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        this.instances.forEach(instance -> {
+            this.workflowInstanceRepository.deleteById(instance.getId());
+            this.workflowInstanceSearchIndex.refresh(instance.getId());
+        });
+    }
+
+    @Test
+    void syncOnCreateAndDelete() {
+        this.workflowInstanceSearchIndex.rebuild();
+        var first = this.create("kappa lambda", 1);
+        var second = this.create("lambda", 2);
+
+        // 创建
+        assertEquals(Set.of(first.getId(), second.getId()), this.search("lambda"));
+        this.assertMatchesLikeQuery();
+
+        // 删除
+        this.workflowInstanceRepository.deleteById(first.getId());
+        this.workflowInstanceSearchIndex.refresh(first.getId());
+        assertEquals(Set.of(second.getId()), this.search("lambda"));
+        this.assertMatchesLikeQuery();
+    }
+
+    private WorkflowInstance create(String name, int serialNo) {
+        var instance = WorkflowInstance.Builder.aWorkflowInstance()
+                .serialNo(serialNo)
+                .triggerId("trigger_" + serialNo)
+                .triggerType("MANUAL")
+                .name(name)
+                .workflowRef(WORKFLOW_REF)
+                .workflowVersion("v1")
+                .build();
+        this.workflowInstanceRepository.add(instance);
+        // 与ProcessInitializedEvent的处理一致
+        this.workflowInstanceSearchIndex.refresh(instance.getId());
+        this.instances.add(instance);
+        return instance;
+    }
+
+    private Set<String> search(String keyword) {
+        var ids = new HashSet<>(this.workflowInstanceSearchIndex.search(keyword, Integer.MAX_VALUE));
+        return this.instances.stream()
+                .map(WorkflowInstance::getId)
+                .filter(ids::contains)
+                .collect(Collectors.toSet());
+    }
+
+    // 关键字只出现在名称中，结果应与按名称模糊查询一致
+    private void assertMatchesLikeQuery() {
+        KEYWORDS.forEach(keyword -> {
+            var expected = this.workflowInstanceMapper.findAllPage("", keyword, "", null).stream()
+                    .filter(instance -> WORKFLOW_REF.equals(instance.getWorkflowRef()))
+                    .map(WorkflowInstance::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(expected, this.search(keyword), keyword);
+        });
+    }
+}
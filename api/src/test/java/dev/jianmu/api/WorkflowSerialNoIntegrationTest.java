@@ -0,0 +1,55 @@
+package dev.jianmu.api;
+
+import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Daihw
+ * @class WorkflowSerialNoIntegrationTest
+ * @description 流程实例序号并发分配集成测试
+ * @create 2026/10/18 3:10 下午
+ */
+@SpringBootTest(classes = SpringbootApp.class)
+@ActiveProfiles("test")
+public class WorkflowSerialNoIntegrationTest {
+    private static final int TRIGGERS = 2000;
+
+    @Resource
+    private WorkflowInstanceRepository workflowInstanceRepository;
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentTriggers() throws Exception {
+        var workflowRef = "serial_no_test";
+        var executor = Executors.newFixedThreadPool(16);
+        List<Callable<Integer>> triggers = IntStream.range(0, TRIGGERS)
+                .<Callable<Integer>>mapToObj(i -> () -> this.transactionTemplate.execute(status ->
+                        this.workflowInstanceRepository.nextSerialNo(workflowRef)))
+                .collect(Collectors.toList());
+        var serialNos = new ArrayList<Integer>();
+        for (Future<Integer> future : executor.invokeAll(triggers)) {
+            serialNos.add(future.get());
+        }
+        executor.shutdown();
+
+        var expected = IntStream.rangeClosed(1, TRIGGERS).boxed().collect(Collectors.toList());
+        assertEquals(expected, serialNos.stream().sorted().collect(Collectors.toList()));
+        Integer next = this.transactionTemplate.execute(status -> this.workflowInstanceRepository.nextSerialNo(workflowRef));
+        assertEquals(TRIGGERS + 1, next);
+    }
+}
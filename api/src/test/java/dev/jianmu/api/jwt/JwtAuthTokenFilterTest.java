@@ -0,0 +1,105 @@
+package dev.jianmu.api.jwt;
+
+import dev.jianmu.infrastructure.jwt.JwtProperties;
+import dev.jianmu.oauth2.api.config.OAuth2Properties;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+
+/**
+ * @author Daihw
+ * @class JwtAuthTokenFilterTest
+ * @description Token校验过滤器测试
+ * @create 2026/10/18 10:50 下午
+ */
+@DisplayName("Token校验过滤器测试")
+public class JwtAuthTokenFilterTest {
+    private JwtProperties jwtProperties;
+    private PasswordEncoder passwordEncoder;
+    private JwtProvider jwtProvider;
+    private JwtAuthTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        this.passwordEncoder = Mockito.spy(new BCryptPasswordEncoder(4));
+        this.jwtProperties = new JwtProperties();
+        this.jwtProperties.setPasswordEncoder(this.passwordEncoder);
+        this.jwtProperties.setJwtSecret("A1KLCSAFHCASLHVCAHVKJAHSVWGEEQKWBY3CJBTI9G20ZPXYFGAVEHQUTPWOURHOO5CKVOIE2RYMP4L9JRG3ZROS");
+        this.jwtProperties.setJwtExpirationMs(86400000);
+        this.jwtProperties.setAdminPasswd("123456");
+        this.jwtProvider = new JwtProvider(this.jwtProperties);
+        this.filter = new JwtAuthTokenFilter(this.jwtProvider, Mockito.mock(OAuth2Properties.class), this.jwtProperties, new JwtTokenCache(this.jwtProperties));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String token() {
+        var userDetails = JwtUserDetails.build(JwtSession.builder().id("u1").username("admin").build(), "");
+        return this.jwtProvider.generateJwtToken(new UsernamePasswordAuthenticationToken(userDetails, null, null));
+    }
+
+    private MockHttpServletResponse filter(String token) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        var response = new MockHttpServletResponse();
+        this.filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void testCachedVerification() throws ServletException, IOException {
+        var token = this.token();
+        for (int i = 0; i < 10; i++) {
+            var response = this.filter(token);
+            var principal = (JwtUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            Assertions.assertEquals("u1", principal.getId());
+            Assertions.assertNull(response.getHeader("X-Authorization-Token"));
+        }
+        Mockito.verify(this.passwordEncoder, Mockito.times(1)).encode(Mockito.any());
+    }
+
+    @Test
+    void testRefreshWindow() throws ServletException, IOException {
+        this.jwtProperties.setJwtRefreshMs(this.jwtProperties.getJwtExpirationMs() + 1);
+        var response = this.filter(this.token());
+        Assertions.assertNotNull(response.getHeader("X-Authorization-Token"));
+    }
+
+    @Test
+    void testInvalidToken() throws ServletException, IOException {
+        var token = this.token();
+        this.filter(token.substring(0, token.length() - 2) + "xx");
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testSecretChangeInvalidatesCache() throws ServletException, IOException {
+        var token = this.token();
+        this.filter(token);
+        Assertions.assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+
+        this.jwtProperties.setJwtSecret("B2KLCSAFHCASLHVCAHVKJAHSVWGEEQKWBY3CJBTI9G20ZPXYFGAVEHQUTPWOURHOO5CKVOIE2RYMP4L9JRG3ZROS");
+        this.filter(token);
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        this.filter(this.token());
+        Assertions.assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,187 @@
+package dev.jianmu.api.runner;
+
+import dev.jianmu.infrastructure.AppConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class StartupOrchestratorTest
+ * @description 启动编排测试
+ * @create 2026/10/19 2:30 上午
+ */
+@DisplayName("启动编排测试")
+public class StartupOrchestratorTest {
+    private static final long DELAY_MILLIS = 200;
+
+    private final ConcurrentLinkedQueue<String> finished = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private final ThreadPoolTaskExecutor executor = new AppConfig().startupTaskExecutor();
+
+    @BeforeEach
+    void setUp() {
+        this.executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdown();
+    }
+
+    private StartupOrchestrator orchestrator(List<StartupPhase> phases) {
+        return new StartupOrchestrator(phases, this.executor);
+    }
+
+    private StartupPhase phase(String name, Set<String> dependsOn, boolean critical, boolean fail) {
+        return new StartupPhase() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Set<String> getDependsOn() {
+                return dependsOn;
+            }
+
+            @Override
+            public boolean isCritical() {
+                return critical;
+            }
+
+            @Override
+            public void start() throws Exception {
+                var current = concurrent.incrementAndGet();
+                maxConcurrent.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(DELAY_MILLIS);
+                    if (fail) {
+                        throw new IllegalStateException(name);
+                    }
+                    finished.add(name);
+                } finally {
+                    concurrent.decrementAndGet();
+                }
+            }
+        };
+    }
+
+    private StartupOrchestrator.PhaseState state(StartupOrchestrator orchestrator, String name) {
+        return orchestrator.getProgresses().stream()
+                .filter(progress -> progress.getName().equals(name))
+                .findFirst()
+                .orElseThrow()
+                .getState();
+    }
+
+    @Test
+    void testRunIndependentPhasesInParallel() {
+        var orchestrator = this.orchestrator(List.of(
+                this.phase("c", Set.of("a", "b"), true, false),
+                this.phase("a", Set.of(), true, false),
+                this.phase("b", Set.of(), true, false),
+                this.phase("background", Set.of("a"), false, false)
+        ));
+        var start = System.currentTimeMillis();
+        orchestrator.run(null);
+        var elapsed = System.currentTimeMillis() - start;
+
+        Assertions.assertEquals(2, this.maxConcurrent.get());
+        Assertions.assertTrue(elapsed < DELAY_MILLIS * 3, "elapsed: " + elapsed);
+        Assertions.assertEquals("c", List.copyOf(this.finished).get(2));
+        // 非关键阶段在就绪前不执行
+        Assertions.assertEquals(StartupOrchestrator.PhaseState.PENDING, this.state(orchestrator, "background"));
+        Assertions.assertEquals("STARTING", orchestrator.getStatus());
+
+        orchestrator.handleReady(null);
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (!"UP".equals(orchestrator.getStatus())) {
+                Thread.sleep(10);
+            }
+        });
+        Assertions.assertEquals(Set.of("a", "b", "c", "background"), Set.copyOf(this.finished));
+        // 全部阶段结束后关闭线程池
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (!this.executor.getThreadPoolExecutor().isShutdown()) {
+                Thread.sleep(10);
+            }
+        });
+    }
+
+    @Test
+    void testNonCriticalFailureKeepsUp() {
+        var orchestrator = this.orchestrator(List.of(
+                this.phase("a", Set.of(), true, false),
+                this.phase("background", Set.of("a"), false, true),
+                this.phase("after_background", Set.of("background"), false, false)
+        ));
+        orchestrator.run(null);
+        orchestrator.handleReady(null);
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (this.state(orchestrator, "after_background") == StartupOrchestrator.PhaseState.PENDING) {
+                Thread.sleep(10);
+            }
+        });
+        Assertions.assertEquals(StartupOrchestrator.PhaseState.FAILED, this.state(orchestrator, "background"));
+        Assertions.assertEquals(StartupOrchestrator.PhaseState.SKIPPED, this.state(orchestrator, "after_background"));
+        Assertions.assertEquals("UP", orchestrator.getStatus());
+    }
+
+    @Test
+    void testFailedPhaseSkipsDependents() throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        var orchestrator = this.orchestrator(List.of(
+                this.phase("a", Set.of(), true, true),
+                this.phase("b", Set.of("a"), true, false),
+                new StartupPhase() {
+                    @Override
+                    public String getName() {
+                        return "c";
+                    }
+
+                    @Override
+                    public void start() {
+                        latch.countDown();
+                    }
+                }
+        ));
+        Assertions.assertThrows(IllegalStateException.class, () -> orchestrator.run(null));
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(StartupOrchestrator.PhaseState.FAILED, this.state(orchestrator, "a"));
+        Assertions.assertEquals(StartupOrchestrator.PhaseState.SKIPPED, this.state(orchestrator, "b"));
+        Assertions.assertEquals("DOWN", orchestrator.getStatus());
+    }
+
+    @Test
+    void testInvalidDependencies() {
+        Assertions.assertThrows(IllegalStateException.class, () -> this.orchestrator(List.of(
+                this.phase("a", Set.of("missing"), true, false)
+        )));
+        Assertions.assertThrows(IllegalStateException.class, () -> this.orchestrator(List.of(
+                this.phase("a", Set.of("b"), true, false),
+                this.phase("b", Set.of("a"), true, false)
+        )));
+        Assertions.assertThrows(IllegalStateException.class, () -> this.orchestrator(List.of(
+                this.phase("a", Set.of("b"), true, false),
+                this.phase("b", Set.of(), false, false)
+        )));
+        Assertions.assertEquals(List.of("a", "b"), this.orchestrator(List.of(
+                this.phase("a", Set.of(), true, false),
+                this.phase("b", Set.of("a"), false, false)
+        )).getProgresses().stream().map(StartupOrchestrator.PhaseProgress::getName).collect(Collectors.toList()));
+    }
+}
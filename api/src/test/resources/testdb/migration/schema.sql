@@ -20,6 +20,28 @@ CREATE TABLE `jianmu_project`
     PRIMARY KEY (`id`)
 );
 
+CREATE TABLE `jianmu_trash_project`
+(
+    `id`                   varchar(45)  NOT NULL COMMENT 'ID',
+    `dsl_source`           varchar(45)  DEFAULT NULL COMMENT 'DSL来源',
+    `dsl_type`             varchar(45)  DEFAULT NULL COMMENT 'DSL 类型',
+    `trigger_type`         varchar(45)  DEFAULT NULL COMMENT '触发类型',
+    `git_repo_id`          varchar(150) NOT NULL COMMENT 'Git仓库ID',
+    `workflow_name`        varchar(45)  NOT NULL COMMENT '流程定义显示名称',
+    `workflow_ref`         varchar(45)  NOT NULL COMMENT '流程定义Ref',
+    `workflow_version`     varchar(45)  NOT NULL COMMENT '流程定义版本',
+    `steps`                int          NOT NULL COMMENT '步骤数量',
+    `dsl_text`             longtext     NOT NULL COMMENT 'DSL内容文本',
+    `created_time`         datetime     DEFAULT NULL COMMENT '创建时间',
+    `last_modified_by`     varchar(45)  DEFAULT NULL COMMENT '最后修改人',
+    `last_modified_time`   datetime     NOT NULL COMMENT '最后修改时间',
+    `workflow_description` varchar(255) DEFAULT NULL COMMENT '描述',
+    `enabled`              tinyint(1)   DEFAULT NULL COMMENT '项目是否可触发',
+    `mutable`              tinyint(1)   DEFAULT NULL COMMENT '项目状态是否可变',
+    `concurrent`           int          NOT NULL COMMENT '并发执行数',
+    PRIMARY KEY (`id`)
+);
+
 CREATE TABLE `project_group`
 (
     `id`                 varchar(45) NOT NULL COMMENT 'ID',
@@ -43,6 +65,21 @@ CREATE TABLE `project_link_group`
     PRIMARY KEY (`id`)
 );
 
+CREATE TABLE `jm_project_last_execution`
+(
+    `workflow_ref`         varchar(45) NOT NULL COMMENT 'ID',
+    `workflow_instance_id` varchar(45) DEFAULT NULL COMMENT '流程实例ID',
+    `serial_no`            int         DEFAULT NULL COMMENT '流程实例序号',
+    `status`               varchar(45) DEFAULT NULL COMMENT '运行状态',
+    `occurred_time`        datetime    DEFAULT NULL COMMENT '触发时间',
+    `start_time`           datetime    DEFAULT NULL COMMENT '开始时间',
+    `suspended_time`       datetime    DEFAULT NULL COMMENT '挂起时间',
+    `end_time`             datetime    DEFAULT NULL COMMENT '结束时间',
+    `next_time`            datetime    DEFAULT NULL COMMENT '下次触发时间',
+    `version`              bigint      NOT NULL DEFAULT 0 COMMENT '版本号，每次变更递增',
+    PRIMARY KEY (`workflow_ref`)
+);
+
 CREATE TABLE `jianmu_trigger`
 (
     `id`         varchar(45) NOT NULL COMMENT 'ID',
@@ -98,6 +135,8 @@ CREATE TABLE `git_repo`
     `branch`                varchar(45)  DEFAULT NULL COMMENT '分支名',
     `is_clone_all_branches` tinyint(1)   DEFAULT NULL COMMENT '是否Clone全部分支',
     `dsl_path`              varchar(100) DEFAULT NULL COMMENT 'dsl文件路径',
+    `last_commit_id`        varchar(64)  DEFAULT NULL COMMENT '最近同步的提交ID',
+    `last_dsl_blob_id`      varchar(64)  DEFAULT NULL COMMENT '最近同步的DSL文件Blob ID',
     PRIMARY KEY (`id`)
 );
 
@@ -131,6 +170,7 @@ CREATE TABLE `workflow_instance`
     `status`           varchar(45)  NOT NULL COMMENT '运行状态',
     `workflow_ref`     varchar(45)  NOT NULL COMMENT '流程定义唯一引用名称',
     `workflow_version` varchar(45)  NOT NULL COMMENT '流程定义版本',
+    `occurred_time`    datetime     DEFAULT NULL COMMENT '触发时间',
     `task_instances`   blob COMMENT '任务实例列表',
     `start_time`       datetime     DEFAULT NULL COMMENT '开始时间',
     `suspended_time`   datetime     DEFAULT NULL COMMENT '挂起时间',
@@ -139,6 +179,21 @@ CREATE TABLE `workflow_instance`
     PRIMARY KEY (`id`)
 );
 
+CREATE TABLE `jm_workflow_admission`
+(
+    `workflow_ref`  varchar(45) NOT NULL COMMENT '流程定义Ref',
+    `init_count`    int         NOT NULL DEFAULT 0 COMMENT '待执行流程实例数',
+    `running_count` int         NOT NULL DEFAULT 0 COMMENT '执行中(含挂起)流程实例数',
+    PRIMARY KEY (`workflow_ref`)
+);
+
+CREATE TABLE `jm_workflow_sequence`
+(
+    `workflow_ref` varchar(45) NOT NULL COMMENT '流程定义Ref',
+    `serial_no`    int         NOT NULL DEFAULT 0 COMMENT '最后分配的流程实例序号',
+    PRIMARY KEY (`workflow_ref`)
+);
+
 CREATE TABLE `async_task_instance`
 (
     `id`                   varchar(45)  NOT NULL,
@@ -149,6 +204,7 @@ CREATE TABLE `async_task_instance`
     `name`                 varchar(45)  NOT NULL COMMENT '名称',
     `description`          varchar(255) NOT NULL COMMENT '描述',
     `status`               varchar(45)  NOT NULL COMMENT '状态',
+    `failure_mode`         varchar(45) DEFAULT 'SUSPEND' COMMENT '错误处理模式',
     `async_task_ref`       varchar(45)  NOT NULL COMMENT '任务定义Ref',
     `async_task_type`      varchar(45)  NOT NULL COMMENT '任务定义类型',
     `activating_time`      datetime     NOT NULL COMMENT '激活时间',
@@ -174,6 +230,8 @@ CREATE TABLE `task_instance`
     `start_time`       datetime    DEFAULT NULL COMMENT '开始时间',
     `end_time`         datetime    DEFAULT NULL COMMENT '结束时间',
     `status`           varchar(45)  NOT NULL COMMENT '任务运行状态',
+    `worker_id`        varchar(45) DEFAULT NULL COMMENT 'Worker ID',
+    `_version`         int          NOT NULL COMMENT '乐观锁版本字段',
     PRIMARY KEY (`id`)
 );
 
@@ -184,11 +242,12 @@ CREATE TABLE `task_instance_parameter`
     `def_key`        varchar(45)  NOT NULL COMMENT '任务定义Key（类型）',
     `async_task_ref` varchar(45)  NOT NULL COMMENT '任务节点ref',
     `business_id`    varchar(45)  NOT NULL COMMENT '流程实例ID',
-    `project_id`     varchar(255) NOT NULL COMMENT '项目ID',
+    `trigger_id`     varchar(255) NOT NULL COMMENT '外部触发ID，流程实例唯一',
     `ref`            varchar(45)  NOT NULL COMMENT '参数ref',
     `type`           varchar(45)  NOT NULL COMMENT '参数类型',
     `workflow_type`  varchar(45)  NOT NULL COMMENT '流程类型',
-    `parameter_id`   varchar(45)  NOT NULL COMMENT '参数引用ID'
+    `parameter_id`   varchar(45)  NOT NULL COMMENT '参数引用ID',
+    `required`       bit(1)       NOT NULL COMMENT '是否必填'
 );
 
 CREATE TABLE `parameter`
@@ -196,6 +255,7 @@ CREATE TABLE `parameter`
     `id`    varchar(50) NOT NULL COMMENT '参数ID',
     `type`  varchar(45) NOT NULL COMMENT '参数类型',
     `value` blob        NOT NULL COMMENT '参数值',
+    `default` bit(1)    NOT NULL DEFAULT 1 COMMENT '是否为默认值',
     PRIMARY KEY (`id`)
 );
 
@@ -250,6 +310,7 @@ CREATE TABLE `hub_node_definition_version`
     `creator_name`      varchar(45) DEFAULT NULL COMMENT '创建者名称',
     `creator_ref`       varchar(45) DEFAULT NULL COMMENT '创建者唯一引用',
     `version`           varchar(45) DEFAULT NULL COMMENT '版本',
+    `description`       varchar(200) DEFAULT NULL COMMENT '描述',
     `result_file`       varchar(45) DEFAULT NULL COMMENT '结果文件',
     `type`              varchar(45) DEFAULT NULL COMMENT '类型',
     `input_parameters`  blob COMMENT '输入参数列表',
@@ -266,4 +327,44 @@ CREATE TABLE `shell_node_def`
 );
 
 ALTER TABLE `workflow`
-    ADD COLUMN `caches` blob COMMENT '缓存' AFTER `tag`;
\ No newline at end of file
+    ADD COLUMN `caches` blob COMMENT '缓存' AFTER `tag`;
+
+CREATE TABLE `jm_startup_marker`
+(
+    `name`         varchar(64) NOT NULL COMMENT '启动阶段名称',
+    `version`      varchar(45) NOT NULL COMMENT '已执行的版本',
+    `applied_time` datetime    NOT NULL COMMENT '执行时间',
+    PRIMARY KEY (`name`)
+);
+
+CREATE TABLE `jm_task_dispatch_payload`
+(
+    `task_instance_id` varchar(45) NOT NULL COMMENT '任务实例ID',
+    `trigger_id`       varchar(45) NOT NULL COMMENT 'Trigger ID',
+    `payload`          longtext    NOT NULL COMMENT '下发载荷，不含密钥值',
+    PRIMARY KEY (`task_instance_id`)
+);
+
+CREATE TABLE `jm_task_instance_last_output`
+(
+    `trigger_id`     varchar(255) NOT NULL COMMENT '外部触发ID，流程实例唯一',
+    `async_task_ref` varchar(45)  NOT NULL COMMENT '任务节点ref',
+    `ref`            varchar(45)  NOT NULL COMMENT '参数ref',
+    `instance_id`    varchar(45)  NOT NULL COMMENT '任务实例ID',
+    `serial_no`      int          NOT NULL COMMENT '执行序号',
+    `def_key`        varchar(45)  NOT NULL COMMENT '任务定义Key（类型）',
+    `business_id`    varchar(45)  NOT NULL COMMENT '流程实例ID',
+    `type`           varchar(45)  NOT NULL COMMENT '参数类型',
+    `workflow_type`  varchar(45)  NOT NULL COMMENT '流程类型',
+    `parameter_id`   varchar(45)  NOT NULL COMMENT '参数引用ID',
+    `required`       bit(1)       NOT NULL COMMENT '是否必填',
+    PRIMARY KEY (`trigger_id`, `async_task_ref`, `ref`)
+);
+
+CREATE TABLE `workflow_instance_archive` AS SELECT * FROM `workflow_instance` WITH NO DATA;
+CREATE TABLE `async_task_instance_archive` AS SELECT * FROM `async_task_instance` WITH NO DATA;
+CREATE TABLE `task_instance_archive` AS SELECT * FROM `task_instance` WITH NO DATA;
+CREATE TABLE `task_instance_parameter_archive` AS SELECT * FROM `task_instance_parameter` WITH NO DATA;
+CREATE TABLE `jianmu_trigger_event_archive` AS SELECT * FROM `jianmu_trigger_event` WITH NO DATA;
+CREATE TABLE `jianmu_trigger_event_parameter_archive` AS SELECT * FROM `jianmu_trigger_event_parameter` WITH NO DATA;
+CREATE TABLE `jianmu_web_request_archive` AS SELECT * FROM `jianmu_web_request` WITH NO DATA;
@@ -1,7 +1,6 @@
 package dev.jianmu.application.dsl;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.jianmu.application.exception.DataNotFoundException;
 import dev.jianmu.application.exception.DslException;
 import dev.jianmu.application.query.NodeDef;
@@ -17,11 +16,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.jgrapht.alg.cycle.JohnsonSimpleCycles;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.builder.GraphTypeBuilder;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.DuplicateKeyException;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
@@ -38,6 +37,16 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class DslParser {
+    // 解析结果缓存数量
+    private static final int CACHE_SIZE = 128;
+    // DSL文本摘要 -> 校验通过的解析结果，只作为模板，不直接返回给调用方
+    private static final Map<String, DslParser> CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DslParser> eldest) {
+            return this.size() > CACHE_SIZE;
+        }
+    });
+
     private Map<String, Object> trigger;
     private Project.TriggerType triggerType = Project.TriggerType.MANUAL;
     private Webhook webhook;
@@ -59,30 +68,60 @@ public class DslParser {
     private Set<GlobalParameter> globalParameters = new HashSet<>();
     private List<String> caches;
 
-    private Map<String, Node> symbolTable = new HashMap<>();
-
-    private final Yaml yaml;
-    ObjectMapper mapper = new ObjectMapper();
-
-    public DslParser() {
-        LoaderOptions loaderOptions = new LoaderOptions();
-        loaderOptions.setAllowDuplicateKeys(false);
-        yaml = new Yaml(loaderOptions);
-    }
-
+    /**
+     * 相同DSL文本复用缓存的解析与校验结果，每次返回新的解析器，Shell节点与节点列表不在调用方之间共享
+     */
     public static DslParser parse(String dslText) {
-        var parser = new DslParser();
+        var key = digest(dslText);
+        var cached = CACHE.get(key);
+        if (cached != null) {
+            return cached.copy();
+        }
+        DslParser parser;
         try {
-            Map<String, Object> yamlMap = parser.yaml.load(dslText);
-            String yamlJson = parser.mapper.writeValueAsString(yamlMap);
-            parser = parser.mapper.readValue(yamlJson, DslParser.class);
-            parser.syntaxCheck();
-        } catch (IOException | DuplicateKeyException e) {
+            Map<String, Object> yamlMap = DslYaml.load(dslText);
+            parser = DslYaml.MAPPER.convertValue(yamlMap, DslParser.class);
+        } catch (IllegalArgumentException | DuplicateKeyException e) {
             throw new DslException("DSL解析异常: " + e.getMessage());
         }
+        parser.syntaxCheck();
+        CACHE.put(key, parser);
+        return parser.copy();
+    }
+
+    // 复制YAML解析结果，重新生成节点列表与Shell节点，Shell节点每次使用新的ID
+    private DslParser copy() {
+        var parser = new DslParser();
+        parser.trigger = this.trigger;
+        parser.triggerType = this.triggerType;
+        parser.webhook = this.webhook;
+        parser.cron = this.cron;
+        parser.global.putAll(this.global);
+        parser.workflow = this.workflow;
+        parser.pipeline = this.pipeline;
+        parser.enabled = this.enabled;
+        parser.mutable = this.mutable;
+        parser.concurrent = this.concurrent;
+        parser.tag = this.tag;
+        parser.name = this.name;
+        parser.description = this.description;
+        parser.rawData = this.rawData;
+        parser.type = this.type;
+        parser.globalParameters = new HashSet<>(this.globalParameters);
+        parser.caches = this.caches;
+        parser.createDslNodes(this.type == Workflow.Type.WORKFLOW ? this.workflow : this.pipeline);
         return parser;
     }
 
+    private static String digest(String dslText) {
+        try {
+            var bytes = MessageDigest.getInstance("SHA-256").digest(dslText.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public Set<Node> createNodes(List<NodeDef> nodeDefs) {
         if (type.equals(Workflow.Type.WORKFLOW)) {
             return this.calculateWorkflowNodes(nodeDefs);
@@ -99,7 +138,7 @@ public class DslParser {
         }
     }
 
-    private void calculateLoop(Node node, Branch branch, String targetRef) {
+    private void calculateLoop(Map<String, Node> symbolTable, Node node, Branch branch, String targetRef) {
         var target = symbolTable.get(targetRef);
         if (target.getRef().equals(node.getRef())) {
             branch.setLoop(true);
@@ -108,7 +147,7 @@ public class DslParser {
         if (target instanceof End) {
             return;
         }
-        target.getTargets().forEach(nextTargetRef -> this.calculateLoop(node, branch, nextTargetRef));
+        target.getTargets().forEach(nextTargetRef -> this.calculateLoop(symbolTable, node, branch, nextTargetRef));
     }
 
     private List<List<String>> findCycles(Set<Node> nodes) {
@@ -125,7 +164,8 @@ public class DslParser {
     }
 
     private Set<Node> calculateWorkflowNodes(List<NodeDef> nodeDefs) {
-        // 创建节点
+        // 创建节点，解析结果会被缓存复用，节点与分支每次重新创建
+        Map<String, Node> symbolTable = new HashMap<>();
         dslNodes.forEach(dslNode -> {
             if (dslNode.getType().equals("start")) {
                 var start = Start.Builder.aStart().name(dslNode.getName()).ref(dslNode.getName()).build();
@@ -138,7 +178,13 @@ public class DslParser {
                 return;
             }
             if (dslNode.getType().equals("condition")) {
-                var branches = dslNode.getBranches();
+                var branches = dslNode.getBranches().stream()
+                        .map(branch -> Branch.Builder.aBranch()
+                                .matchedCondition(branch.getMatchedCondition())
+                                .target(branch.getTarget())
+                                .loop(branch.isLoop())
+                                .build())
+                        .collect(Collectors.toList());
                 var condition = Condition.Builder.aCondition()
                         .name(dslNode.getName())
                         .ref(dslNode.getName())
@@ -447,46 +493,36 @@ public class DslParser {
         if (null != this.workflow) {
             this.workflowSyntaxCheck();
             this.type = Workflow.Type.WORKFLOW;
-            this.workflow.forEach((key, val) -> {
-                if (val instanceof Map) {
-                    var dslNode = DslNode.of(key, (Map<?, ?>) val);
-                    if (dslNode.getImage() != null) {
-                        var shellNode = ShellNode.Builder.aShellNode()
-                                .image(dslNode.getImage())
-                                .environment(dslNode.getEnvironment())
-                                .script(dslNode.getScript())
-                                .build();
-                        dslNode.setType("shell:" + shellNode.getId());
-                        shellNodes.add(shellNode);
-                    }
-                    dslNodes.add(dslNode);
-                }
-            });
+            this.createDslNodes(this.workflow);
             return;
         }
         if (null != this.pipeline) {
             this.pipelineSyntaxCheck();
             this.type = Workflow.Type.PIPELINE;
-            this.pipeline.forEach((key, val) -> {
-                if (val instanceof Map) {
-                    var dslNode = DslNode.of(key, (Map<?, ?>) val);
-                    if (dslNode.getImage() != null) {
-                        var shellNode = ShellNode.Builder.aShellNode()
-                                .image(dslNode.getImage())
-                                .environment(dslNode.getEnvironment())
-                                .script(dslNode.getScript())
-                                .build();
-                        dslNode.setType("shell:" + shellNode.getId());
-                        shellNodes.add(shellNode);
-                    }
-                    dslNodes.add(dslNode);
-                }
-            });
+            this.createDslNodes(this.pipeline);
             return;
         }
         throw new DslException("workflow或pipeline未设置");
     }
 
+    private void createDslNodes(Map<String, Object> nodes) {
+        nodes.forEach((key, val) -> {
+            if (val instanceof Map) {
+                var dslNode = DslNode.of(key, (Map<?, ?>) val);
+                if (dslNode.getImage() != null) {
+                    var shellNode = ShellNode.Builder.aShellNode()
+                            .image(dslNode.getImage())
+                            .environment(dslNode.getEnvironment())
+                            .script(dslNode.getScript())
+                            .build();
+                    dslNode.setType("shell:" + shellNode.getId());
+                    shellNodes.add(shellNode);
+                }
+                dslNodes.add(dslNode);
+            }
+        });
+    }
+
     private void triggerSyntaxCheck() {
         if (this.trigger == null) {
             return;
@@ -0,0 +1,31 @@
+package dev.jianmu.application.dsl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * @author Daihw
+ * @class DslYaml
+ * @description DSL解析共用的YAML加载器与ObjectMapper，Yaml实例非线程安全，按线程复用
+ * @create 2026/10/19 12:10 上午
+ */
+public final class DslYaml {
+    public static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(() -> {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setAllowDuplicateKeys(false);
+        return new Yaml(loaderOptions);
+    });
+
+    private DslYaml() {
+    }
+
+    /**
+     * 不允许重复的键，重复时抛出DuplicateKeyException
+     */
+    public static <T> T load(String text) {
+        return YAML.get().load(text);
+    }
+}
@@ -13,12 +13,12 @@ import java.io.IOException;
 @Slf4j
 @Getter
 public class WebhookDslParser {
+    private static final ObjectMapper mapper = new ObjectMapper(new YAMLFactory())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
     private Webhook trigger;
 
     public static WebhookDslParser parse(String dslText) {
-        ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         var parser = new WebhookDslParser();
         try {
             parser = mapper.readValue(dslText, WebhookDslParser.class);
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.jianmu.application.exception.OutputParamNotFoundException;
+import dev.jianmu.embedded.worker.aggregate.spec.ContainerSpec;
 import dev.jianmu.node.definition.aggregate.NodeParameter;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Ethan Liu
@@ -50,6 +53,19 @@ public class NodeDef {
     // 命令列表
     @JsonIgnore
     private final List<String> script;
+    // 解析后的容器定义，节点定义缓存后只解析一次
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<ContainerSpec> containerSpec = new AtomicReference<>();
+
+    public ContainerSpec parseContainerSpec(ObjectMapper objectMapper) throws JsonProcessingException {
+        var parsed = this.containerSpec.get();
+        if (parsed == null) {
+            parsed = objectMapper.readValue(this.spec, ContainerSpec.class);
+            this.containerSpec.compareAndSet(null, parsed);
+        }
+        return parsed;
+    }
 
     public List<NodeParameter> matchedOutputParameters(Map<String, Object> parameterMap) {
         var nodeParameters = new ArrayList<NodeParameter>();
@@ -16,6 +16,10 @@ public interface NodeDefApi {
 
     List<NodeDef> getByTypes(Set<String> types);
 
+    List<NodeDef> getByTypes(Set<String> types, PrefetchedNodeDefs prefetched);
+
+    PrefetchedNodeDefs prefetch(Set<String> types);
+
     NodeDef findByType(String type);
 
     NodeDef getByType(String type);
@@ -0,0 +1,65 @@
+package dev.jianmu.application.query;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Daihw
+ * @class NodeDefCache
+ * @description 节点定义缓存，节点版本发布后内容不变，只在本地节点或同步节点时按节点失效
+ * @create 2026/10/18 11:40 下午
+ */
+@Component
+public class NodeDefCache {
+    private final String instanceId = UUID.randomUUID().toString().replace("-", "");
+    // ownerRef/ref -> 节点类型 -> 节点定义
+    private final Map<String, Map<String, NodeDef>> nodeDefs = new ConcurrentHashMap<>();
+    // 每次失效递增，丢弃失效前开始加载的结果
+    private final AtomicLong generation = new AtomicLong();
+
+    public String getInstanceId() {
+        return this.instanceId;
+    }
+
+    public NodeDef find(String ownerRef, String ref, String type) {
+        var versions = this.nodeDefs.get(key(ownerRef, ref));
+        return versions == null ? null : versions.get(type);
+    }
+
+    /**
+     * 加载前获取，写入时传回
+     */
+    public long generation() {
+        return this.generation.get();
+    }
+
+    public void put(String ownerRef, String ref, String type, NodeDef nodeDef, long generation) {
+        this.nodeDefs.compute(key(ownerRef, ref), (k, versions) -> {
+            if (this.generation.get() != generation) {
+                return versions;
+            }
+            var map = versions == null ? new ConcurrentHashMap<String, NodeDef>() : versions;
+            map.put(type, nodeDef);
+            return map;
+        });
+    }
+
+    public void invalidate(String ownerRef, String ref) {
+        this.nodeDefs.compute(key(ownerRef, ref), (k, versions) -> {
+            this.generation.incrementAndGet();
+            return null;
+        });
+    }
+
+    public int size() {
+        return this.nodeDefs.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private static String key(String ownerRef, String ref) {
+        return ownerRef + "/" + ref;
+    }
+}
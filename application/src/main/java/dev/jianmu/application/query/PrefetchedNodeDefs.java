@@ -0,0 +1,38 @@
+package dev.jianmu.application.query;
+
+import dev.jianmu.infrastructure.client.NodeDefinitionDto;
+import dev.jianmu.infrastructure.client.NodeDefinitionVersionDto;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Daihw
+ * @class PrefetchedNodeDefs
+ * @description 事务外预先从Hub下载的节点定义，保存时优先使用，未命中时再下载
+ * @create 2026/10/19 5:45 上午
+ */
+public class PrefetchedNodeDefs {
+    public static final PrefetchedNodeDefs EMPTY = new PrefetchedNodeDefs();
+
+    // ownerRef/ref -> 节点定义
+    private final Map<String, NodeDefinitionDto> definitions = new ConcurrentHashMap<>();
+    // ownerRef/ref:version -> 节点定义版本
+    private final Map<String, NodeDefinitionVersionDto> versions = new ConcurrentHashMap<>();
+
+    public NodeDefinitionDto findDefinition(String id) {
+        return this.definitions.get(id);
+    }
+
+    public NodeDefinitionVersionDto findVersion(String id) {
+        return this.versions.get(id);
+    }
+
+    public void putDefinition(String id, NodeDefinitionDto definition) {
+        this.definitions.put(id, definition);
+    }
+
+    public void putVersion(String id, NodeDefinitionVersionDto version) {
+        this.versions.put(id, version);
+    }
+}
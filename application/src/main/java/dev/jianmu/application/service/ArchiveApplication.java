@@ -0,0 +1,74 @@
+package dev.jianmu.application.service;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.lock.DistributedLock;
+import dev.jianmu.infrastructure.mybatis.archive.ArchiveRepositoryImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * @author Daihw
+ * @class ArchiveApplication
+ * @description 执行记录归档门面类
+ * @create 2026/10/18 8:00 下午
+ */
+@Service
+@Slf4j
+public class ArchiveApplication {
+    private static final String LOCK_KEY = "jianmu:archive";
+
+    private final ArchiveRepositoryImpl archiveRepository;
+    private final GlobalProperties globalProperties;
+    private final DistributedLock distributedLock;
+    private final CleanupApplication cleanupApplication;
+
+    public ArchiveApplication(
+            ArchiveRepositoryImpl archiveRepository,
+            GlobalProperties globalProperties,
+            DistributedLock distributedLock,
+            CleanupApplication cleanupApplication
+    ) {
+        this.archiveRepository = archiveRepository;
+        this.globalProperties = globalProperties;
+        this.distributedLock = distributedLock;
+        this.cleanupApplication = cleanupApplication;
+    }
+
+    /**
+     * 分批归档超过保留天数的已结束流程实例，再删除归档表中超过归档保留天数的记录，多节点部署时同一时间只有一个节点执行
+     *
+     * @return 归档的流程实例数
+     */
+    public int archive() {
+        var lock = this.distributedLock.getLock(LOCK_KEY);
+        if (!lock.tryLock()) {
+            log.debug("其他节点正在归档执行记录，跳过本次归档");
+            return 0;
+        }
+        try {
+            var properties = this.globalProperties.getArchive();
+            var before = LocalDateTime.now().minusDays(properties.getRetentionDays());
+            var start = System.currentTimeMillis();
+            var total = 0;
+            int count;
+            do {
+                count = this.archiveRepository.archiveBefore(before, properties.getBatchSize());
+                total += count;
+            } while (count >= properties.getBatchSize());
+            if (total > 0) {
+                log.info("已归档{}之前结束的流程实例{}个，耗时{}ms", before, total, System.currentTimeMillis() - start);
+            }
+            this.cleanupApplication.purgeArchive();
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Long> countRows() {
+        return this.archiveRepository.countRows();
+    }
+}
@@ -1,5 +1,6 @@
 package dev.jianmu.application.service;
 
+import dev.jianmu.infrastructure.mybatis.archive.ArchiveRepositoryImpl;
 import dev.jianmu.workflow.aggregate.process.AsyncTaskInstance;
 import dev.jianmu.workflow.repository.AsyncTaskInstanceRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -18,13 +19,22 @@ import java.util.Optional;
 @Slf4j
 public class AsyncTaskInstanceApplication {
     private final AsyncTaskInstanceRepository asyncTaskInstanceRepository;
+    private final ArchiveRepositoryImpl archiveRepository;
 
-    public AsyncTaskInstanceApplication(AsyncTaskInstanceRepository asyncTaskInstanceRepository) {
+    public AsyncTaskInstanceApplication(
+            AsyncTaskInstanceRepository asyncTaskInstanceRepository,
+            ArchiveRepositoryImpl archiveRepository
+    ) {
         this.asyncTaskInstanceRepository = asyncTaskInstanceRepository;
+        this.archiveRepository = archiveRepository;
     }
 
     public List<AsyncTaskInstance> findByTriggerId(String triggerId) {
-        return this.asyncTaskInstanceRepository.findByTriggerId(triggerId);
+        var asyncTaskInstances = this.asyncTaskInstanceRepository.findByTriggerId(triggerId);
+        if (asyncTaskInstances.isEmpty()) {
+            return this.archiveRepository.findAsyncTaskInstancesByTriggerId(triggerId);
+        }
+        return asyncTaskInstances;
     }
 
     public Optional<AsyncTaskInstance> findById(String asyncTaskId) {
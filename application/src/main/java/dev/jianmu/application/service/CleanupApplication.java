@@ -0,0 +1,224 @@
+package dev.jianmu.application.service;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.lock.DistributedLock;
+import dev.jianmu.infrastructure.mybatis.cleanup.CleanupRepositoryImpl;
+import dev.jianmu.infrastructure.storage.FileReaper;
+import dev.jianmu.project.repository.TrashProjectRepository;
+import dev.jianmu.task.aggregate.TaskInstance;
+import dev.jianmu.task.repository.TaskInstanceRepository;
+import dev.jianmu.trigger.aggregate.WebRequest;
+import dev.jianmu.trigger.repository.TriggerEventRepository;
+import dev.jianmu.trigger.repository.WebRequestRepository;
+import dev.jianmu.workflow.repository.AsyncTaskInstanceRepository;
+import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class CleanupApplication
+ * @description 执行记录清理门面类，按流程实例分块删除，每块一个短事务，文件交由后台删除
+ * @create 2026/10/18 8:40 下午
+ */
+@Service
+@Slf4j
+public class CleanupApplication {
+    private static final String AUTO_CLEAN = "auto_clean";
+    private static final String TRASH = "trash";
+    private static final String ARCHIVE = "archive";
+    private static final String LOCK_KEY = "jianmu:cleanup";
+
+    private final CleanupRepositoryImpl cleanupRepository;
+    private final WorkflowInstanceRepository workflowInstanceRepository;
+    private final AsyncTaskInstanceRepository asyncTaskInstanceRepository;
+    private final TaskInstanceRepository taskInstanceRepository;
+    private final TriggerEventRepository triggerEventRepository;
+    private final WebRequestRepository webRequestRepository;
+    private final FileReaper fileReaper;
+    private final GlobalProperties globalProperties;
+    private final MeterRegistry meterRegistry;
+    private final ProjectApplication projectApplication;
+    private final TrashProjectRepository trashProjectRepository;
+    private final DistributedLock distributedLock;
+
+    public CleanupApplication(
+            CleanupRepositoryImpl cleanupRepository,
+            WorkflowInstanceRepository workflowInstanceRepository,
+            AsyncTaskInstanceRepository asyncTaskInstanceRepository,
+            TaskInstanceRepository taskInstanceRepository,
+            TriggerEventRepository triggerEventRepository,
+            WebRequestRepository webRequestRepository,
+            FileReaper fileReaper,
+            GlobalProperties globalProperties,
+            MeterRegistry meterRegistry,
+            ProjectApplication projectApplication,
+            TrashProjectRepository trashProjectRepository,
+            DistributedLock distributedLock
+    ) {
+        this.cleanupRepository = cleanupRepository;
+        this.workflowInstanceRepository = workflowInstanceRepository;
+        this.asyncTaskInstanceRepository = asyncTaskInstanceRepository;
+        this.taskInstanceRepository = taskInstanceRepository;
+        this.triggerEventRepository = triggerEventRepository;
+        this.webRequestRepository = webRequestRepository;
+        this.fileReaper = fileReaper;
+        this.globalProperties = globalProperties;
+        this.meterRegistry = meterRegistry;
+        this.projectApplication = projectApplication;
+        this.trashProjectRepository = trashProjectRepository;
+        this.distributedLock = distributedLock;
+    }
+
+    /**
+     * 每个项目只保留最新jianmu.global.record.max条执行记录，运行中的流程实例不清理，多节点部署时同一时间只有一个节点执行
+     */
+    public void autoClean() {
+        // 是否需要自动清理
+        if (!this.globalProperties.getGlobal().getRecord().getAutoClean()) {
+            return;
+        }
+        var lock = this.distributedLock.getLock(LOCK_KEY);
+        if (!lock.tryLock()) {
+            log.debug("其他节点正在清理执行记录，跳过本次自动清理");
+            return;
+        }
+        try {
+            var keep = this.globalProperties.getGlobal().getRecord().getMax();
+            log.info("执行记录自动清理已开启，将自动删除最新{}条之前的记录", keep);
+            var start = System.currentTimeMillis();
+            var total = 0;
+            for (var workflowRef : this.cleanupRepository.findWorkflowRefs()) {
+                total += this.purge(AUTO_CLEAN, () -> this.cleanupRepository.findExpiredTriggerIds(workflowRef, keep, this.batchSize()));
+            }
+            log.info("执行记录自动清理完成，删除流程实例{}个，耗时{}ms", total, System.currentTimeMillis() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清理已放入回收站项目的项目级数据与全部执行记录，全部完成后才删除回收站记录，中途失败时由purgeTrashedProjects重试
+     */
+    public void purgeTrashedProject(String projectId) {
+        var project = this.projectApplication.trashProject(projectId);
+        this.purgeProject(project.getId(), project.getWorkflowRef());
+        this.trashProjectRepository.deleteById(project.getId());
+    }
+
+    /**
+     * 重试回收站中未清理完成的项目，单个项目失败不影响其他项目，多节点部署时同一时间只有一个节点执行
+     */
+    public void purgeTrashedProjects() {
+        var lock = this.distributedLock.getLock(LOCK_KEY);
+        if (!lock.tryLock()) {
+            log.debug("其他节点正在清理执行记录，跳过本次回收站清理");
+            return;
+        }
+        try {
+            for (var projectId : this.trashProjectRepository.findIds()) {
+                try {
+                    this.purgeTrashedProject(projectId);
+                } catch (Exception e) {
+                    log.warn("项目{}执行记录清理失败，下次清理时重试: {}", projectId, e.getMessage());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 清理已删除项目的全部执行记录，包括已归档的记录
+    private void purgeProject(String projectId, String workflowRef) {
+        var start = System.currentTimeMillis();
+        var total = this.purge(TRASH, () -> this.cleanupRepository.findTriggerIds(workflowRef, this.batchSize()));
+        total += this.purge(TRASH, () -> this.cleanupRepository.findArchivedTriggerIds(workflowRef, this.batchSize()),
+                this.cleanupRepository::purgeArchived);
+        // 流程实例已全部删除，删除准入计数与序号
+        this.workflowInstanceRepository.deleteByWorkflowRef(workflowRef);
+        // 清理没有关联流程实例的剩余记录，如被拒绝的Webhook请求
+        this.fileReaper.reapTaskLogs(this.taskInstanceRepository.findIdAndRefByWorkflowRef(workflowRef).stream()
+                .filter(taskInstance -> !taskInstance.getAsyncTaskRef().equalsIgnoreCase("start"))
+                .filter(taskInstance -> !taskInstance.getAsyncTaskRef().equalsIgnoreCase("end"))
+                .map(TaskInstance::getId)
+                .collect(Collectors.toList()));
+        this.fileReaper.reapWebhooks(this.webRequestRepository.findByProjectId(projectId).stream()
+                .map(WebRequest::getId)
+                .collect(Collectors.toList()));
+        this.asyncTaskInstanceRepository.deleteByWorkflowRef(workflowRef);
+        this.taskInstanceRepository.deleteByWorkflowRef(workflowRef);
+        this.triggerEventRepository.deleteByProjectId(projectId);
+        log.info("项目{}执行记录清理完成，删除流程实例{}个，耗时{}ms", workflowRef, total, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 彻底删除归档表中超过jianmu.archive.archive-retention-days的执行记录
+     *
+     * @return 删除的流程实例数
+     */
+    public int purgeArchive() {
+        var days = this.globalProperties.getArchive().getArchiveRetentionDays();
+        if (days <= 0) {
+            return 0;
+        }
+        var before = LocalDateTime.now().minusDays(days);
+        var start = System.currentTimeMillis();
+        var total = this.purge(ARCHIVE, () -> this.cleanupRepository.findArchivedTriggerIds(before, this.batchSize()),
+                this.cleanupRepository::purgeArchived);
+        if (total > 0) {
+            log.info("已删除{}之前结束的归档流程实例{}个，耗时{}ms", before, total, System.currentTimeMillis() - start);
+        }
+        return total;
+    }
+
+    private int purge(String reason, Supplier<List<String>> nextBatch) {
+        return this.purge(reason, nextBatch, this.cleanupRepository::purge);
+    }
+
+    // 循环取下一块直到为空，返回删除的流程实例数
+    private int purge(String reason, Supplier<List<String>> nextBatch, Function<List<String>, CleanupRepositoryImpl.Purged> purger) {
+        var runs = Counter.builder("jianmu.cleanup.runs").tag("reason", reason).register(this.meterRegistry);
+        var rows = Counter.builder("jianmu.cleanup.rows").tag("reason", reason).register(this.meterRegistry);
+        var timer = Timer.builder("jianmu.cleanup.batch").tag("reason", reason).register(this.meterRegistry);
+        var total = 0;
+        List<String> triggerIds;
+        while (!(triggerIds = nextBatch.get()).isEmpty()) {
+            var batch = triggerIds;
+            var purged = timer.record(() -> purger.apply(batch));
+            this.fileReaper.reapWorkflowLogs(batch);
+            this.fileReaper.reapTaskLogs(purged.taskInstanceIds());
+            this.fileReaper.reapWebhooks(purged.webRequestIds());
+            runs.increment(batch.size());
+            rows.increment(purged.rows());
+            total += batch.size();
+            this.pause();
+        }
+        return total;
+    }
+
+    private int batchSize() {
+        return this.globalProperties.getCleanup().getBatchSize();
+    }
+
+    private void pause() {
+        var pauseMillis = this.globalProperties.getCleanup().getPauseMillis();
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("执行记录清理被中断");
+        }
+    }
+}
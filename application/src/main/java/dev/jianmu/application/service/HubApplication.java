@@ -4,7 +4,10 @@ import com.github.pagehelper.PageInfo;
 import dev.jianmu.application.dsl.NodeDsl;
 import dev.jianmu.application.exception.DataNotFoundException;
 import dev.jianmu.application.query.NodeDef;
+import dev.jianmu.application.query.NodeDefCache;
+import dev.jianmu.application.query.PrefetchedNodeDefs;
 import dev.jianmu.infrastructure.client.RegistryClient;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
 import dev.jianmu.infrastructure.mybatis.node.NodeDefinitionRepositoryImpl;
 import dev.jianmu.node.definition.aggregate.NodeDefinition;
 import dev.jianmu.node.definition.aggregate.NodeDefinitionVersion;
@@ -16,7 +19,10 @@ import dev.jianmu.node.definition.repository.NodeDefinitionVersionRepository;
 import dev.jianmu.node.definition.repository.ShellNodeRepository;
 import dev.jianmu.workflow.aggregate.parameter.Parameter;
 import dev.jianmu.workflow.repository.ParameterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -33,6 +40,7 @@ import java.util.stream.Collectors;
  * @author Ethan Liu
  * @create 2021-09-04 10:03
 */
+@Slf4j
 @Service
 public class HubApplication {
     private final NodeDefinitionRepositoryImpl nodeDefinitionRepository;
@@ -41,6 +49,8 @@ public class HubApplication {
     private final ParameterRepository parameterRepository;
     private final RegistryClient registryClient;
     private final ApplicationEventPublisher publisher;
+    private final NodeDefCache nodeDefCache;
+    private final ThreadPoolTaskExecutor prefetchExecutor;
 
     public HubApplication(
             NodeDefinitionRepositoryImpl nodeDefinitionRepository,
@@ -48,7 +58,9 @@ public class HubApplication {
             ShellNodeRepository shellNodeRepository,
             ParameterRepository parameterRepository,
             RegistryClient registryClient,
-            ApplicationEventPublisher publisher
+            ApplicationEventPublisher publisher,
+            NodeDefCache nodeDefCache,
+            @Qualifier("hubPrefetchExecutor") ThreadPoolTaskExecutor prefetchExecutor
     ) {
         this.nodeDefinitionRepository = nodeDefinitionRepository;
         this.nodeDefinitionVersionRepository = nodeDefinitionVersionRepository;
@@ -56,6 +68,8 @@ public class HubApplication {
         this.parameterRepository = parameterRepository;
         this.registryClient = registryClient;
         this.publisher = publisher;
+        this.nodeDefCache = nodeDefCache;
+        this.prefetchExecutor = prefetchExecutor;
     }
 
     @Transactional
@@ -126,6 +140,13 @@ public class HubApplication {
                 .build();
         this.nodeDefinitionRepository.saveOrUpdate(def);
         this.nodeDefinitionVersionRepository.saveOrUpdate(version);
+        // 本地节点可以覆盖同一版本，通知失效节点定义缓存
+        this.publisher.publishEvent(NodeUpdatedEvent.Builder.aNodeUpdatedEvent()
+                .ref(version.getRef())
+                .ownerRef(version.getOwnerRef())
+                .version(version.getVersion())
+                .spec(version.getSpec())
+                .build());
     }
 
     @Transactional(isolation = Isolation.SERIALIZABLE)
@@ -174,10 +195,18 @@ public class HubApplication {
         return this.nodeDefinitionRepository.findPage(pageNum, pageSize, ownerRef, name);
     }
 
+    public CursorPage<NodeDefinition> findCursor(String cursor, int pageSize, boolean withTotal, String ownerRef, String name) {
+        return this.nodeDefinitionRepository.findCursor(ownerRef, name, cursor, pageSize, withTotal);
+    }
+
     public List<NodeDefinitionVersion> findByOwnerRefAndRef(String ownerRef, String ref) {
         return this.nodeDefinitionVersionRepository.findByOwnerRefAndRef(ownerRef, ref);
     }
 
+    public List<NodeDefinitionVersion> findByNodeDefinitions(List<NodeDefinition> nodeDefinitions) {
+        return this.nodeDefinitionVersionRepository.findByNodeDefinitions(nodeDefinitions);
+    }
+
     private String getOwnerRef(String type) {
         var ref = type.split(":")[0];
         var strings = ref.split("/");
@@ -201,7 +230,13 @@ public class HubApplication {
     }
 
     private NodeDefinition downloadNodeDef(String type) {
-        var defDto = this.registryClient.findByRef(getOwnerRef(type) + "/" + getRef(type))
+        return this.downloadNodeDef(type, PrefetchedNodeDefs.EMPTY);
+    }
+
+    private NodeDefinition downloadNodeDef(String type, PrefetchedNodeDefs prefetched) {
+        var id = getOwnerRef(type) + "/" + getRef(type);
+        var defDto = Optional.ofNullable(prefetched.findDefinition(id))
+                .or(() -> this.registryClient.findByRef(id))
                 .orElseThrow(() -> new DataNotFoundException("未找到节点定义: " + type));
         return NodeDefinition.Builder.aNodeDefinition()
                 .id(defDto.getOwnerRef() + "/" + defDto.getRef())
@@ -222,7 +257,12 @@ public class HubApplication {
     }
 
     private NodeDefinitionVersion downloadNodeDefVersion(String ownerRef, String ref, String version) {
-        var dto = this.registryClient.findByRefAndVersion(ownerRef + "/" + ref, version)
+        return this.downloadNodeDefVersion(ownerRef, ref, version, PrefetchedNodeDefs.EMPTY);
+    }
+
+    private NodeDefinitionVersion downloadNodeDefVersion(String ownerRef, String ref, String version, PrefetchedNodeDefs prefetched) {
+        var dto = Optional.ofNullable(prefetched.findVersion(ownerRef + "/" + ref + ":" + version))
+                .or(() -> this.registryClient.findByRefAndVersion(ownerRef + "/" + ref, version))
                 .orElseThrow(() -> new DataNotFoundException("未找到节点定义版本: " + ownerRef + "/" + ref + ":" + version));
         List<Parameter> parameters = new ArrayList<>();
         var inputParameters = dto.getInputParameters().stream().map(parameter -> {
@@ -295,54 +335,109 @@ public class HubApplication {
 
     @Transactional(isolation = Isolation.SERIALIZABLE)
     public NodeDef getByType(String type) {
+        return this.getByType(type, PrefetchedNodeDefs.EMPTY);
+    }
+
+    private NodeDef getByType(String type, PrefetchedNodeDefs prefetched) {
         if (type.startsWith("shell:")) {
             return this.findShellNodeDef(type);
         }
-        var node = this.nodeDefinitionRepository.findById(getOwnerRef(type) + "/" + getRef(type))
-                .orElseGet(() -> this.downloadNodeDef(type));
-        var version =
-                this.nodeDefinitionVersionRepository.findByOwnerRefAndRefAndVersion(getOwnerRef(type), getRef(type), getVersion(type))
-                        .orElseGet(() -> this.downloadNodeDefVersion(getOwnerRef(type), getRef(type), getVersion(type)));
+        var ownerRef = getOwnerRef(type);
+        var ref = getRef(type);
+        var cached = this.nodeDefCache.find(ownerRef, ref, type);
+        if (cached != null) {
+            return cached;
+        }
+        var generation = this.nodeDefCache.generation();
+        var node = this.nodeDefinitionRepository.findById(ownerRef + "/" + ref);
+        var version = this.nodeDefinitionVersionRepository.findByOwnerRefAndRefAndVersion(ownerRef, ref, getVersion(type));
+        if (node.isPresent() && version.isPresent()) {
+            var nodeDef = this.toNodeDef(type, node.get(), version.get());
+            this.nodeDefCache.put(ownerRef, ref, type, nodeDef, generation);
+            return nodeDef;
+        }
+        var downloadedNode = node.orElseGet(() -> this.downloadNodeDef(type, prefetched));
+        var downloadedVersion = version.orElseGet(() -> this.downloadNodeDefVersion(ownerRef, ref, getVersion(type), prefetched));
+        this.nodeDefinitionRepository.saveOrUpdate(downloadedNode);
+        this.nodeDefinitionVersionRepository.saveOrUpdate(downloadedVersion);
+        // 下载结果所在事务可能回滚，提交前不写入缓存
+        return this.toNodeDef(type, downloadedNode, downloadedVersion);
+    }
 
-        var nodeDef = NodeDef.builder()
-                .name(node.getName())
-                .description(node.getDescription())
-                .icon(node.getIcon())
-                .ownerName(node.getOwnerName())
-                .ownerType(node.getOwnerType())
-                .ownerRef(node.getOwnerRef())
-                .creatorName(node.getCreatorName())
-                .creatorRef(node.getCreatorRef())
-                .sourceLink(node.getSourceLink())
-                .documentLink(node.getDocumentLink())
-                .type(type)
-                .workerType(node.getType().name())
-                .resultFile(version.getResultFile())
-                .inputParameters(version.getInputParameters())
-                .outputParameters(version.getOutputParameters())
-                .spec(version.getSpec())
-                .build();
+    public List<NodeDef> getByTypes(Set<String> types) {
+        return this.getByTypes(types, this.prefetch(types));
+    }
 
-        this.nodeDefinitionRepository.saveOrUpdate(node);
-        this.nodeDefinitionVersionRepository.saveOrUpdate(version);
-        return nodeDef;
+    /**
+     * 使用预取结果逐个保存节点定义，预取中缺失的节点定义再单独下载
+     */
+    public List<NodeDef> getByTypes(Set<String> types, PrefetchedNodeDefs prefetched) {
+        return types.stream().map(type -> this.getByType(type, prefetched))
+                .collect(Collectors.toList());
     }
 
-    public List<NodeDef> getByTypes(Set<String> types) {
-        return types.stream().map(this::getByType)
+    /**
+     * 并行下载本地缺失的节点定义，应在事务外调用，避免下载期间占用数据库连接
+     */
+    public PrefetchedNodeDefs prefetch(Set<String> types) {
+        var missing = types.stream()
+                .filter(type -> !type.startsWith("shell:"))
+                .filter(type -> this.nodeDefCache.find(getOwnerRef(type), getRef(type), type) == null)
+                .filter(type -> this.nodeDefinitionVersionRepository.findByOwnerRefAndRefAndVersion(getOwnerRef(type), getRef(type), getVersion(type)).isEmpty())
                 .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return PrefetchedNodeDefs.EMPTY;
+        }
+        var prefetched = new PrefetchedNodeDefs();
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        missing.stream()
+                .map(type -> getOwnerRef(type) + "/" + getRef(type))
+                .distinct()
+                .filter(id -> this.nodeDefinitionRepository.findById(id).isEmpty())
+                .forEach(id -> futures.add(this.prefetch(() -> this.registryClient.findByRef(id)
+                        .ifPresent(dto -> prefetched.putDefinition(id, dto)))));
+        missing.forEach(type -> futures.add(this.prefetch(() -> this.registryClient.findByRefAndVersion(getOwnerRef(type) + "/" + getRef(type), getVersion(type))
+                .ifPresent(dto -> prefetched.putVersion(getOwnerRef(type) + "/" + getRef(type) + ":" + getVersion(type), dto)))));
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return prefetched;
+    }
+
+    // 预取失败不中断导入，保存时会重新下载并给出原有的错误信息
+    private CompletableFuture<Void> prefetch(Runnable download) {
+        return CompletableFuture.runAsync(download, this.prefetchExecutor)
+                .exceptionally(throwable -> {
+                    log.warn("预取节点定义失败: {}", throwable.getMessage());
+                    return null;
+                });
     }
 
     public NodeDef findByType(String type) {
         if (type.startsWith("shell:")) {
             return this.findShellNodeDef(type);
         }
-        var node = this.nodeDefinitionRepository.findById(getOwnerRef(type) + "/" + getRef(type))
+        var ownerRef = getOwnerRef(type);
+        var ref = getRef(type);
+        var cached = this.nodeDefCache.find(ownerRef, ref, type);
+        if (cached != null) {
+            return cached;
+        }
+        var generation = this.nodeDefCache.generation();
+        var node = this.nodeDefinitionRepository.findById(ownerRef + "/" + ref)
                 .orElseThrow(() -> new DataNotFoundException("未找到节点定义: " + type));
         var version =
-                this.nodeDefinitionVersionRepository.findByOwnerRefAndRefAndVersion(getOwnerRef(type), getRef(type), getVersion(type))
+                this.nodeDefinitionVersionRepository.findByOwnerRefAndRefAndVersion(ownerRef, ref, getVersion(type))
                         .orElseThrow(() -> new DataNotFoundException("未找到节点定义版本: " + type));
+        var nodeDef = this.toNodeDef(type, node, version);
+        this.nodeDefCache.put(ownerRef, ref, type, nodeDef, generation);
+        return nodeDef;
+    }
 
+    public List<NodeDef> findByTypes(Set<String> types) {
+        return types.stream().map(this::findByType)
+                .collect(Collectors.toList());
+    }
+
+    private NodeDef toNodeDef(String type, NodeDefinition node, NodeDefinitionVersion version) {
         return NodeDef.builder()
                 .name(node.getName())
                 .description(node.getDescription())
@@ -363,11 +458,6 @@ public class HubApplication {
                 .build();
     }
 
-    public List<NodeDef> findByTypes(Set<String> types) {
-        return types.stream().map(this::findByType)
-                .collect(Collectors.toList());
-    }
-
     public Optional<NodeDefinitionVersion> findByOwnerRefAndRefAndVersion(String ownerRef, String ref, String version) {
         return this.nodeDefinitionVersionRepository.findByOwnerRefAndRefAndVersion(ownerRef, ref, version);
     }
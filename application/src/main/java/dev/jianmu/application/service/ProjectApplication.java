@@ -2,44 +2,39 @@ package dev.jianmu.application.service;
 
 import com.github.pagehelper.PageInfo;
 import dev.jianmu.application.dsl.DslParser;
+import dev.jianmu.application.dsl.DslYaml;
 import dev.jianmu.application.event.CronEvent;
 import dev.jianmu.application.event.ManualEvent;
 import dev.jianmu.application.event.WebhookEvent;
 import dev.jianmu.application.exception.DataNotFoundException;
 import dev.jianmu.application.query.NodeDefApi;
+import dev.jianmu.application.query.PrefetchedNodeDefs;
 import dev.jianmu.application.util.DslUtil;
 import dev.jianmu.el.ElContext;
 import dev.jianmu.infrastructure.GlobalProperties;
 import dev.jianmu.infrastructure.jgit.JgitService;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
 import dev.jianmu.infrastructure.mybatis.project.ProjectRepositoryImpl;
-import dev.jianmu.infrastructure.storage.StorageService;
+import dev.jianmu.infrastructure.mybatis.workflow.WorkflowRepositoryImpl;
 import dev.jianmu.project.aggregate.*;
 import dev.jianmu.project.event.*;
 import dev.jianmu.project.query.ProjectVo;
 import dev.jianmu.project.repository.*;
 import dev.jianmu.secret.aggregate.CredentialManager;
-import dev.jianmu.task.aggregate.TaskInstance;
 import dev.jianmu.task.aggregate.Volume;
 import dev.jianmu.task.event.VolumeCreatedEvent;
 import dev.jianmu.task.event.VolumeDeletedEvent;
-import dev.jianmu.task.repository.InstanceParameterRepository;
-import dev.jianmu.task.repository.TaskInstanceRepository;
 import dev.jianmu.trigger.aggregate.Trigger;
-import dev.jianmu.trigger.aggregate.WebRequest;
 import dev.jianmu.trigger.aggregate.Webhook;
 import dev.jianmu.trigger.event.TriggerEventParameter;
 import dev.jianmu.trigger.repository.TriggerEventRepository;
 import dev.jianmu.trigger.repository.TriggerRepository;
-import dev.jianmu.trigger.repository.WebRequestRepository;
 import dev.jianmu.workflow.aggregate.definition.Workflow;
 import dev.jianmu.workflow.aggregate.parameter.Parameter;
 import dev.jianmu.workflow.aggregate.process.ProcessStatus;
-import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
 import dev.jianmu.workflow.el.ExpressionLanguage;
-import dev.jianmu.workflow.repository.AsyncTaskInstanceRepository;
 import dev.jianmu.workflow.repository.ParameterRepository;
 import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
-import dev.jianmu.workflow.repository.WorkflowRepository;
 import org.quartz.CronExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,10 +63,8 @@ public class ProjectApplication {
 
     private final ProjectRepositoryImpl projectRepository;
     private final GitRepoRepository gitRepoRepository;
-    private final WorkflowRepository workflowRepository;
+    private final WorkflowRepositoryImpl workflowRepository;
     private final WorkflowInstanceRepository workflowInstanceRepository;
-    private final AsyncTaskInstanceRepository asyncTaskInstanceRepository;
-    private final TaskInstanceRepository taskInstanceRepository;
     private final NodeDefApi nodeDefApi;
     private final ApplicationEventPublisher publisher;
     private final JgitService jgitService;
@@ -80,9 +73,6 @@ public class ProjectApplication {
     private final GlobalProperties globalProperties;
     private final TriggerEventRepository triggerEventRepository;
     private final ProjectLastExecutionRepository projectLastExecutionRepository;
-    private final InstanceParameterRepository instanceParameterRepository;
-    private final StorageService storageService;
-    private final WebRequestRepository webRequestRepository;
     private final TriggerRepository triggerRepository;
     private final CredentialManager credentialManager;
     private final ExpressionLanguage expressionLanguage;
@@ -92,10 +82,8 @@ public class ProjectApplication {
     public ProjectApplication(
         ProjectRepositoryImpl projectRepository,
         GitRepoRepository gitRepoRepository,
-        WorkflowRepository workflowRepository,
+        WorkflowRepositoryImpl workflowRepository,
         WorkflowInstanceRepository workflowInstanceRepository,
-        AsyncTaskInstanceRepository asyncTaskInstanceRepository,
-        TaskInstanceRepository taskInstanceRepository,
         NodeDefApi nodeDefApi,
         ApplicationEventPublisher publisher,
         JgitService jgitService,
@@ -104,9 +92,6 @@ public class ProjectApplication {
         GlobalProperties globalProperties,
         TriggerEventRepository triggerEventRepository,
         ProjectLastExecutionRepository projectLastExecutionRepository,
-        InstanceParameterRepository instanceParameterRepository,
-        StorageService storageService,
-        WebRequestRepository webRequestRepository,
         TriggerRepository triggerRepository,
         CredentialManager credentialManager,
         ExpressionLanguage expressionLanguage,
@@ -117,8 +102,6 @@ public class ProjectApplication {
         this.gitRepoRepository = gitRepoRepository;
         this.workflowRepository = workflowRepository;
         this.workflowInstanceRepository = workflowInstanceRepository;
-        this.asyncTaskInstanceRepository = asyncTaskInstanceRepository;
-        this.taskInstanceRepository = taskInstanceRepository;
         this.nodeDefApi = nodeDefApi;
         this.publisher = publisher;
         this.jgitService = jgitService;
@@ -127,9 +110,6 @@ public class ProjectApplication {
         this.globalProperties = globalProperties;
         this.triggerEventRepository = triggerEventRepository;
         this.projectLastExecutionRepository = projectLastExecutionRepository;
-        this.instanceParameterRepository = instanceParameterRepository;
-        this.storageService = storageService;
-        this.webRequestRepository = webRequestRepository;
         this.triggerRepository = triggerRepository;
         this.credentialManager = credentialManager;
         this.expressionLanguage = expressionLanguage;
@@ -314,14 +294,40 @@ public class ProjectApplication {
         return null;
     }
 
-    private Workflow createWorkflow(DslParser parser, String dslText, String ref) {
+    /**
+     * 在事务外并行下载DSL引用的缺失节点定义，结果传入创建项目的事务中使用
+     */
+    public PrefetchedNodeDefs prefetchNodeDefs(String dslText) {
+        return this.nodeDefApi.prefetch(DslParser.parse(dslText).getAsyncTaskTypes());
+    }
+
+    public PrefetchedNodeDefs prefetchNodeDefs(GitRepo gitRepo) {
+        return this.prefetchNodeDefs(this.jgitService.readDsl(gitRepo.getId(), gitRepo.getDslPath()));
+    }
+
+    /**
+     * 同步Git项目前在事务外下载节点定义，提交或DSL文件未变更时不读取DSL
+     */
+    public PrefetchedNodeDefs prefetchSyncNodeDefs(String projectId) {
+        var project = this.projectRepository.findById(projectId)
+                .orElseThrow(() -> new DataNotFoundException("未找到该项目，项目id: " + projectId));
+        var gitRepo = this.gitRepoRepository.findById(project.getGitRepoId())
+                .orElseThrow(() -> new DataNotFoundException("未找到Git仓库，git仓库id: " + project.getGitRepoId()));
+        if (gitRepo.isSyncedTo(this.jgitService.getCommitId(gitRepo.getId()))
+                || gitRepo.isDslSyncedTo(this.jgitService.getDslBlobId(gitRepo.getId(), gitRepo.getDslPath()))) {
+            return PrefetchedNodeDefs.EMPTY;
+        }
+        return this.prefetchNodeDefs(gitRepo);
+    }
+
+    private Workflow createWorkflow(DslParser parser, String dslText, String ref, PrefetchedNodeDefs prefetched) {
         // 保存Shell node定义
         var shellNodes = parser.getShellNodes();
         this.nodeDefApi.addShellNodes(shellNodes);
 
         // 查询相关的节点定义
         var types = parser.getAsyncTaskTypes();
-        var nodeDefs = this.nodeDefApi.getByTypes(types);
+        var nodeDefs = this.nodeDefApi.getByTypes(types, prefetched);
 
         // 根据节点定义与DSL节点列表创建Workflow
         var nodes = parser.createNodes(nodeDefs);
@@ -339,13 +345,13 @@ public class ProjectApplication {
     }
 
     @Transactional
-    public void importProject(GitRepo gitRepo, String projectGroupId) {
+    public void importProject(GitRepo gitRepo, String projectGroupId, PrefetchedNodeDefs prefetched) {
         var dslText = this.jgitService.readDsl(gitRepo.getId(), gitRepo.getDslPath());
         // 解析DSL,语法检查
         var parser = DslParser.parse(dslText);
         // 生成流程Ref
         var ref = UUID.randomUUID().toString().replace("-", "");
-        var workflow = this.createWorkflow(parser, dslText, ref);
+        var workflow = this.createWorkflow(parser, dslText, ref, prefetched);
         var project = Project.Builder.aReference()
                 .workflowName(parser.getName())
                 .workflowDescription(parser.getDescription())
@@ -383,6 +389,7 @@ public class ProjectApplication {
         this.projectRepository.add(project);
         this.projectLinkGroupRepository.add(projectLinkGroup);
         this.projectGroupRepository.addProjectCountById(groupId, 1);
+        gitRepo.syncTo(this.jgitService.getCommitId(gitRepo.getId()), this.jgitService.getDslBlobId(gitRepo.getId(), gitRepo.getDslPath()));
         this.gitRepoRepository.add(gitRepo);
         this.jgitService.cleanUp(gitRepo.getId());
         this.workflowRepository.add(workflow);
@@ -390,7 +397,7 @@ public class ProjectApplication {
     }
 
     @Transactional
-    public void syncProject(String projectId) {
+    public void syncProject(String projectId, PrefetchedNodeDefs prefetched) {
         logger.info("开始同步Git仓库中的DSL");
         var project = this.projectRepository.findById(projectId)
                 .orElseThrow(() -> new DataNotFoundException("未找到该项目，项目id: " + projectId));
@@ -398,10 +405,33 @@ public class ProjectApplication {
         var concurrent = project.getConcurrent();
         var gitRepo = this.gitRepoRepository.findById(project.getGitRepoId())
                 .orElseThrow(() -> new DataNotFoundException("未找到Git仓库，git仓库id: " + project.getGitRepoId()));
+        // 提交或DSL文件未变更时跳过解析与新版本生成
+        var commitId = this.jgitService.getCommitId(gitRepo.getId());
+        if (gitRepo.isSyncedTo(commitId)) {
+            logger.info("Git仓库提交未变更，跳过同步: {}", commitId);
+            this.jgitService.cleanUp(gitRepo.getId());
+            return;
+        }
+        var dslBlobId = this.jgitService.getDslBlobId(gitRepo.getId(), gitRepo.getDslPath());
+        if (gitRepo.isDslSyncedTo(dslBlobId)) {
+            logger.info("DSL文件未变更，跳过同步: {}", dslBlobId);
+            this.finishSync(gitRepo, commitId, dslBlobId);
+            return;
+        }
         var dslText = this.jgitService.readDsl(gitRepo.getId(), gitRepo.getDslPath());
+        if (isSameDsl(project.getDslText(), dslText)) {
+            logger.info("DSL内容未变更，跳过同步: {}", dslBlobId);
+            // 只有格式或注释变化时保存最新的DSL文本，不生成新的流程版本
+            if (!dslText.equals(project.getDslText())) {
+                project.setDslText(dslText);
+                this.projectRepository.updateByWorkflowRef(project);
+            }
+            this.finishSync(gitRepo, commitId, dslBlobId);
+            return;
+        }
         // 解析DSL,语法检查
         var parser = DslParser.parse(dslText);
-        var workflow = this.createWorkflow(parser, dslText, project.getWorkflowRef());
+        var workflow = this.createWorkflow(parser, dslText, project.getWorkflowRef(), prefetched);
         project.setDslText(dslText);
         project.setDslType(parser.getType().equals(Workflow.Type.WORKFLOW) ? Project.DslType.WORKFLOW : Project.DslType.PIPELINE);
         project.setTriggerType(Project.TriggerType.MANUAL);
@@ -420,24 +450,44 @@ public class ProjectApplication {
         this.publishCacheEvent(workflow, lastWorkflowVersion);
         this.projectRepository.updateByWorkflowRef(project);
         this.workflowRepository.add(workflow);
-        this.jgitService.cleanUp(gitRepo.getId());
+        this.finishSync(gitRepo, commitId, dslBlobId);
+        this.publisher.publishEvent(new UpdatedEvent(project.getId()));
         if (project.getConcurrent() > concurrent) {
             this.concurrentWorkflowInstance(workflow.getRef());
         }
     }
 
+    private void finishSync(GitRepo gitRepo, String commitId, String dslBlobId) {
+        gitRepo.syncTo(commitId, dslBlobId);
+        this.gitRepoRepository.updateSyncState(gitRepo);
+        this.jgitService.cleanUp(gitRepo.getId());
+    }
+
+    // 忽略格式与注释，比较YAML结构是否相同
+    private static boolean isSameDsl(String oldDsl, String newDsl) {
+        if (oldDsl == null || newDsl == null) {
+            return false;
+        }
+        if (oldDsl.equals(newDsl)) {
+            return true;
+        }
+        try {
+            Object oldYaml = DslYaml.load(oldDsl);
+            return oldYaml != null && oldYaml.equals(DslYaml.load(newDsl));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
     // 并发流程实例
     private void concurrentWorkflowInstance(String workflowRef) {
         var project = this.projectRepository.findByWorkflowRef(workflowRef)
                 .orElseThrow(() -> new DataNotFoundException("未找到项目, ref: " + workflowRef));
         var projectLastExecution = this.projectLastExecutionRepository.findByRef(project.getWorkflowRef())
                 .orElseThrow(() -> new DataNotFoundException("未找到项目最后执行记录, ref: " + workflowRef));
-        int i = this.workflowInstanceRepository
-                .findByRefAndStatuses(workflowRef, List.of(ProcessStatus.RUNNING, ProcessStatus.SUSPENDED))
-                .size();
+        int i = this.workflowInstanceRepository.countRunningByRef(workflowRef);
         if (project.getConcurrent() > i) {
-            this.workflowInstanceRepository.findByRefAndStatuses(workflowRef, List.of(ProcessStatus.INIT))
-                    .stream().limit(project.getConcurrent() - i)
+            this.workflowInstanceRepository.findByRefAndStatusLimit(workflowRef, ProcessStatus.INIT, project.getConcurrent() - i)
                     .forEach(workflowInstance -> {
                         workflowInstance.start();
                         if (!this.workflowInstanceRepository.running(workflowInstance)) {
@@ -451,12 +501,12 @@ public class ProjectApplication {
     }
 
     @Transactional
-    public Project createProject(String dslText, String projectGroupId) {
+    public Project createProject(String dslText, String projectGroupId, PrefetchedNodeDefs prefetched) {
         // 解析DSL,语法检查
         var parser = DslParser.parse(dslText);
         // 生成流程Ref
         var ref = UUID.randomUUID().toString().replace("-", "");
-        var workflow = this.createWorkflow(parser, dslText, ref);
+        var workflow = this.createWorkflow(parser, dslText, ref, prefetched);
         // 创建项目
         var project = Project.Builder.aReference()
                 .workflowName(workflow.getName())
@@ -509,7 +559,7 @@ public class ProjectApplication {
     }
 
     @Transactional
-    public void updateProject(String dslId, String dslText, String projectGroupId) {
+    public void updateProject(String dslId, String dslText, String projectGroupId, PrefetchedNodeDefs prefetched) {
         Project project = this.projectRepository.findById(dslId)
                 .orElseThrow(() -> new DataNotFoundException("未找到该项目，项目id: " + dslId));
         var concurrent = project.getConcurrent();
@@ -525,7 +575,7 @@ public class ProjectApplication {
         dslText = this.diffDsl(project.getDslText(), dslText);
         // 解析DSL,语法检查
         var parser = DslParser.parse(dslText);
-        var workflow = this.createWorkflow(parser, dslText, project.getWorkflowRef());
+        var workflow = this.createWorkflow(parser, dslText, project.getWorkflowRef(), prefetched);
         var lastWorkflowVersion = project.getWorkflowVersion();
 
         project.setDslText(dslText);
@@ -545,6 +595,7 @@ public class ProjectApplication {
         this.publishCacheEvent(workflow, lastWorkflowVersion);
         this.projectRepository.updateByWorkflowRef(project);
         this.workflowRepository.add(workflow);
+        this.publisher.publishEvent(new UpdatedEvent(project.getId()));
         if (project.getConcurrent() > concurrent) {
             this.concurrentWorkflowInstance(workflow.getRef());
         }
@@ -599,9 +650,8 @@ public class ProjectApplication {
     public void deleteById(String id) {
         Project project = this.projectRepository.findById(id)
                 .orElseThrow(() -> new DataNotFoundException("未找到该项目, 项目id: " + id));
-        var running = this.workflowInstanceRepository
-                .findByRefAndStatuses(project.getWorkflowRef(), List.of(ProcessStatus.INIT, ProcessStatus.RUNNING, ProcessStatus.SUSPENDED))
-                .size();
+        var running = this.workflowInstanceRepository.countInitByRef(project.getWorkflowRef())
+                + this.workflowInstanceRepository.countRunningByRef(project.getWorkflowRef());
         if (running > 0) {
             throw new RuntimeException("仍有流程执行中，不能删除");
         }
@@ -617,40 +667,6 @@ public class ProjectApplication {
         this.publisher.publishEvent(new TrashEvent(project.getId()));
     }
 
-    @Transactional
-    public void autoClean() {
-        // 是否需要自动清理
-        if (!this.globalProperties.getGlobal().getRecord().getAutoClean()) {
-            return;
-        }
-        logger.info("执行记录自动清理已开启，将自动删除最新{}条之前的记录", this.globalProperties.getGlobal().getRecord().getMax());
-        this.projectRepository.findAll().forEach(project -> {
-            this.workflowInstanceRepository.findByRefOffset(project.getWorkflowRef(), this.globalProperties.getGlobal().getRecord().getMax())
-                    .stream()
-                    .filter(workflowInstance -> workflowInstance.getStatus() == ProcessStatus.FINISHED || workflowInstance.getStatus() == ProcessStatus.TERMINATED)
-                    .forEach(workflowInstance -> {
-                        // 删除流程实例
-                        this.workflowInstanceRepository.deleteById(workflowInstance.getId());
-                        this.storageService.deleteWorkflowLog(workflowInstance.getTriggerId());
-                        // 删除触发器事件和web请求
-                        this.webRequestRepository.findByTriggerId(workflowInstance.getTriggerId()).ifPresent(webRequest -> {
-                            this.storageService.deleteWebhook(webRequest.getId());
-                        });
-                        this.triggerEventRepository.deleteByTriggerId(workflowInstance.getTriggerId());
-                        this.triggerEventRepository.deleteParameterByTriggerId(workflowInstance.getTriggerId());
-                        // 删除任务实例
-                        this.taskInstanceRepository.findByTriggerId(workflowInstance.getTriggerId()).stream()
-                                .filter(taskInstance -> !taskInstance.getAsyncTaskRef().equalsIgnoreCase("start"))
-                                .filter(taskInstance -> !taskInstance.getAsyncTaskRef().equalsIgnoreCase("end"))
-                                .forEach(taskInstance -> this.storageService.deleteTaskLog(taskInstance.getId()));
-                        this.asyncTaskInstanceRepository.deleteByWorkflowInstanceId(workflowInstance.getId());
-                        this.taskInstanceRepository.deleteByTriggerId(workflowInstance.getTriggerId());
-                        this.instanceParameterRepository.deleteByTriggerId(workflowInstance.getTriggerId());
-                    });
-        });
-
-    }
-
     private void pubTriggerEvent(DslParser parser, Project project) {
         // 创建Cron触发器
         if (project.getTriggerType() == Project.TriggerType.CRON) {
@@ -689,6 +705,14 @@ public class ProjectApplication {
         return this.projectRepository.findAll();
     }
 
+    public int rewriteLegacyWorkflowNodes() {
+        return this.workflowRepository.rewriteLegacyNodes(this.globalProperties.getBatch().getSize());
+    }
+
+    public List<ProjectVo> findAllVo() {
+        return this.projectRepository.findAllVo();
+    }
+
     public Optional<Project> findById(String dslId) {
         return this.projectRepository.findById(dslId);
     }
@@ -706,6 +730,14 @@ public class ProjectApplication {
         return this.projectRepository.findPageByGroupId(pageNum, pageSize, projectGroupId, workflowName, sortType);
     }
 
+    public CursorPage<ProjectVo> findCursorByGroupId(String cursor, Integer pageSize, String projectGroupId, String workflowName, boolean withTotal) {
+        return this.projectRepository.findCursorByGroupId(projectGroupId, workflowName, cursor, pageSize, withTotal);
+    }
+
+    public List<ProjectVo> search(String keyword, int limit) {
+        return this.projectRepository.search(keyword, limit);
+    }
+
     public List<ProjectVo> findByIds(List<String> ids) {
         return this.projectRepository.findVoByIdIn(ids);
     }
@@ -717,41 +749,21 @@ public class ProjectApplication {
                 .orElseThrow(() -> new DataNotFoundException("未找到该Workflow"));
     }
 
+    /**
+     * 删除已放入回收站项目的项目级数据，执行记录由CleanupApplication分块清理
+     */
     @Transactional
-    public void trashProject(String projectId) {
+    public Project trashProject(String projectId) {
         var project = this.trashProjectRepository.findById(projectId)
             .orElseThrow(() -> new DataNotFoundException("未找到待删除项目：" + projectId));
-        var projectLinkGroup = this.projectLinkGroupRepository.findByProjectId(projectId)
-            .orElseThrow(() -> new DataNotFoundException("未找到项目分组， 项目id: " + projectId));
-        var triggerIds = this.workflowInstanceRepository.findByRef(project.getWorkflowRef()).stream()
-            .map(WorkflowInstance::getTriggerId)
-            .collect(Collectors.toList());
-        triggerIds.forEach(this.storageService::deleteWorkflowLog);
-        this.webRequestRepository.findByProjectId(project.getId()).stream()
-            .map(WebRequest::getId)
-            .forEach(this.storageService::deleteWebhook);
-        this.taskInstanceRepository.findIdAndRefByWorkflowRef(project.getWorkflowRef()).stream()
-            .filter(taskInstance -> !taskInstance.getAsyncTaskRef().equalsIgnoreCase("start"))
-            .filter(taskInstance -> !taskInstance.getAsyncTaskRef().equalsIgnoreCase("end"))
-            .map(TaskInstance::getId)
-            .forEach(this.storageService::deleteTaskLog);
-
-        this.projectLinkGroupRepository.deleteById(projectLinkGroup.getId());
-        this.projectGroupRepository.subProjectCountById(projectLinkGroup.getProjectGroupId(), 1);
+        // 清理失败后会重试，已删除的项目分组关系不再处理
+        this.projectLinkGroupRepository.findByProjectId(projectId).ifPresent(projectLinkGroup -> {
+            this.projectLinkGroupRepository.deleteById(projectLinkGroup.getId());
+            this.projectGroupRepository.subProjectCountById(projectLinkGroup.getProjectGroupId(), 1);
+        });
         this.projectLastExecutionRepository.deleteByRef(project.getWorkflowRef());
         this.workflowRepository.deleteByRef(project.getWorkflowRef());
-        this.workflowInstanceRepository.deleteByWorkflowRef(project.getWorkflowRef());
-        this.asyncTaskInstanceRepository.deleteByWorkflowRef(project.getWorkflowRef());
-        this.taskInstanceRepository.deleteByWorkflowRef(project.getWorkflowRef());
         this.gitRepoRepository.deleteById(project.getGitRepoId());
-        this.triggerEventRepository.deleteByProjectId(project.getId());
-
-        var eventParameterIds = this.triggerEventRepository.findParameterIdByTriggerIdIn(triggerIds);
-        this.triggerEventRepository.deleteParameterByTriggerIdIn(triggerIds);
-        this.parameterRepository.deleteByIdIn(eventParameterIds);
-
-        var instanceParameterIds = this.instanceParameterRepository.findParameterIdByTriggerIdIn(triggerIds);
-        this.instanceParameterRepository.deleteByTriggerIdIn(triggerIds);
-        this.parameterRepository.deleteByIdIn(instanceParameterIds);
+        return project;
     }
 }
@@ -1,5 +1,8 @@
 package dev.jianmu.application.service;
 
+import dev.jianmu.event.Publisher;
+import dev.jianmu.event.impl.SecretUpdatedEvent;
+import dev.jianmu.infrastructure.credential.SecretCache;
 import dev.jianmu.secret.aggregate.CredentialManager;
 import dev.jianmu.secret.aggregate.KVPair;
 import dev.jianmu.secret.aggregate.Namespace;
@@ -17,25 +20,41 @@ import java.util.Optional;
 @Service
 public class SecretApplication {
     private final CredentialManager credentialManager;
+    private final SecretCache secretCache;
+    private final Publisher eventPublisher;
 
-    public SecretApplication(CredentialManager credentialManager) {
+    public SecretApplication(CredentialManager credentialManager, SecretCache secretCache, Publisher eventPublisher) {
         this.credentialManager = credentialManager;
+        this.secretCache = secretCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public void createNamespace(Namespace namespace) {
         this.credentialManager.createNamespace(namespace);
+        this.publishSecretUpdated(namespace.getName());
     }
 
     public void deleteNamespace(String name) {
         this.credentialManager.deleteNamespace(name);
+        this.publishSecretUpdated(name);
     }
 
     public void createKVPair(KVPair kvPair) {
         this.credentialManager.createKVPair(kvPair);
+        this.publishSecretUpdated(kvPair.getNamespaceName());
     }
 
     public void deleteKVPair(String namespaceName, String key) {
         this.credentialManager.deleteKVPair(namespaceName, key);
+        this.publishSecretUpdated(namespaceName);
+    }
+
+    // 通知其他节点失效密钥缓存
+    private void publishSecretUpdated(String namespaceName) {
+        this.eventPublisher.publish(SecretUpdatedEvent.builder()
+                .namespaceName(namespaceName)
+                .source(this.secretCache.getInstanceId())
+                .build());
     }
 
     public Optional<Namespace> findByName(String name) {
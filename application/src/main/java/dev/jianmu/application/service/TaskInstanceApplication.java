@@ -1,5 +1,6 @@
 package dev.jianmu.application.service;
 
+import dev.jianmu.infrastructure.mybatis.archive.ArchiveRepositoryImpl;
 import dev.jianmu.task.aggregate.InstanceParameter;
 import dev.jianmu.task.aggregate.TaskInstance;
 import dev.jianmu.task.repository.InstanceParameterRepository;
@@ -19,28 +20,49 @@ import java.util.Optional;
 public class TaskInstanceApplication {
     private final TaskInstanceRepository taskInstanceRepository;
     private final InstanceParameterRepository instanceParameterRepository;
+    private final ArchiveRepositoryImpl archiveRepository;
 
     public TaskInstanceApplication(
             TaskInstanceRepository taskInstanceRepository,
-            InstanceParameterRepository instanceParameterRepository
+            InstanceParameterRepository instanceParameterRepository,
+            ArchiveRepositoryImpl archiveRepository
     ) {
         this.taskInstanceRepository = taskInstanceRepository;
         this.instanceParameterRepository = instanceParameterRepository;
+        this.archiveRepository = archiveRepository;
     }
 
     public List<InstanceParameter> findParameters(String instanceId) {
-        return this.instanceParameterRepository.findByInstanceId(instanceId);
+        var instanceParameters = this.instanceParameterRepository.findByInstanceId(instanceId);
+        if (instanceParameters.isEmpty()) {
+            return this.archiveRepository.findInstanceParametersByInstanceId(instanceId);
+        }
+        return instanceParameters;
     }
 
     public List<TaskInstance> findByBusinessId(String businessId) {
         return this.taskInstanceRepository.findByBusinessId(businessId);
     }
 
+    // 摘要不含节点定义快照，用于列表与状态查询，在线表中没有时查询归档表
+    public List<TaskInstance> findSummaryByBusinessId(String businessId) {
+        var taskInstances = this.taskInstanceRepository.findSummaryByBusinessId(businessId);
+        if (taskInstances.isEmpty()) {
+            return this.archiveRepository.findTaskInstanceSummaryByBusinessId(businessId);
+        }
+        return taskInstances;
+    }
+
+    public Optional<TaskInstance> findSummaryByBusinessIdAndMaxSerialNo(String businessId) {
+        return this.taskInstanceRepository.findSummaryByBusinessIdAndMaxSerialNo(businessId);
+    }
+
     public Optional<TaskInstance> findByBusinessIdAndMaxSerialNo(String businessId) {
         return this.taskInstanceRepository.findByBusinessIdAndMaxSerialNo(businessId);
     }
 
     public Optional<TaskInstance> findById(String instanceId) {
-        return this.taskInstanceRepository.findById(instanceId);
+        return this.taskInstanceRepository.findById(instanceId)
+                .or(() -> this.archiveRepository.findTaskInstanceById(instanceId));
     }
 }
@@ -9,9 +9,16 @@ import com.jayway.jsonpath.PathNotFoundException;
 import dev.jianmu.application.dsl.webhook.WebhookDslParser;
 import dev.jianmu.application.exception.DataNotFoundException;
 import dev.jianmu.el.ElContext;
+import dev.jianmu.event.Publisher;
+import dev.jianmu.event.impl.CronTriggerUpdatedEvent;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
+import dev.jianmu.infrastructure.mybatis.archive.ArchiveRepositoryImpl;
 import dev.jianmu.infrastructure.mybatis.trigger.WebRequestRepositoryImpl;
+import dev.jianmu.infrastructure.quartz.NextFireTimeIndex;
 import dev.jianmu.infrastructure.quartz.PublishJob;
 import dev.jianmu.infrastructure.storage.StorageService;
+import dev.jianmu.project.repository.ProjectLastExecutionRepository;
 import dev.jianmu.project.repository.ProjectRepository;
 import dev.jianmu.secret.aggregate.CredentialManager;
 import dev.jianmu.trigger.aggregate.Trigger;
@@ -31,6 +38,7 @@ import dev.jianmu.workflow.repository.WorkflowRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -43,9 +51,7 @@ import java.io.IOException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.*;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -67,6 +73,7 @@ public class TriggerApplication {
     private final TriggerEventRepository triggerEventRepository;
     private final ParameterRepository parameterRepository;
     private final ProjectRepository projectRepository;
+    private final ProjectLastExecutionRepository projectLastExecutionRepository;
     private final WebRequestRepositoryImpl webRequestRepositoryImpl;
     private final WorkflowRepository workflowRepository;
     private final CredentialManager credentialManager;
@@ -76,12 +83,17 @@ public class TriggerApplication {
     // 表达式计算服务
     private final ExpressionLanguage expressionLanguage;
     private final StorageService storageService;
+    private final NextFireTimeIndex nextFireTimeIndex;
+    private final Publisher eventPublisher;
+    private final ArchiveRepositoryImpl archiveRepository;
+    private final GlobalProperties globalProperties;
 
     public TriggerApplication(
         TriggerRepository triggerRepository,
         TriggerEventRepository triggerEventRepository,
         ParameterRepository parameterRepository,
         ProjectRepository projectRepository,
+        ProjectLastExecutionRepository projectLastExecutionRepository,
         WebRequestRepositoryImpl webRequestRepositoryImpl,
         WorkflowRepository workflowRepository,
         CredentialManager credentialManager,
@@ -89,11 +101,16 @@ public class TriggerApplication {
         ApplicationEventPublisher publisher,
         ObjectMapper objectMapper,
         ExpressionLanguage expressionLanguage,
-        StorageService storageService) {
+        StorageService storageService,
+        NextFireTimeIndex nextFireTimeIndex,
+        Publisher eventPublisher,
+        ArchiveRepositoryImpl archiveRepository,
+        GlobalProperties globalProperties) {
         this.triggerRepository = triggerRepository;
         this.triggerEventRepository = triggerEventRepository;
         this.parameterRepository = parameterRepository;
         this.projectRepository = projectRepository;
+        this.projectLastExecutionRepository = projectLastExecutionRepository;
         this.webRequestRepositoryImpl = webRequestRepositoryImpl;
         this.workflowRepository = workflowRepository;
         this.credentialManager = credentialManager;
@@ -102,6 +119,10 @@ public class TriggerApplication {
         this.objectMapper = objectMapper;
         this.expressionLanguage = expressionLanguage;
         this.storageService = storageService;
+        this.nextFireTimeIndex = nextFireTimeIndex;
+        this.eventPublisher = eventPublisher;
+        this.archiveRepository = archiveRepository;
+        this.globalProperties = globalProperties;
     }
 
     private static String decode(final String encoded) {
@@ -116,6 +137,7 @@ public class TriggerApplication {
             .orElseThrow(() -> new DataNotFoundException("未找到触发器"));
         var project = this.projectRepository.findById(trigger.getProjectId())
             .orElseThrow(() -> new DataNotFoundException("未找到要触发的项目"));
+        this.updateNextTime(project.getId(), project.getWorkflowRef(), this.findNextFireTime(trigger.getId()));
         if (!project.isEnabled()) {
             log.info("当前项目不可触发，请先修改状态");
             return;
@@ -172,6 +194,7 @@ public class TriggerApplication {
                     .build();
                 this.triggerRepository.add(trigger);
             });
+        this.updateNextTime(projectId, null);
     }
 
     @Transactional
@@ -183,15 +206,16 @@ public class TriggerApplication {
                     trigger.setSchedule(schedule);
                     trigger.setType(Trigger.Type.CRON);
                     trigger.setWebhook(null);
-                    // 停止触发器
-                    this.quartzScheduler.pauseTrigger(TriggerKey.triggerKey(trigger.getId()));
-                    // 卸载任务
-                    this.quartzScheduler.unscheduleJob(TriggerKey.triggerKey(trigger.getId()));
-                    // 删除任务
-                    this.quartzScheduler.deleteJob(JobKey.jobKey(trigger.getId()));
-                    var jobDetail = this.createJobDetail(trigger);
-                    var cronTrigger = this.createCronTrigger(trigger);
-                    this.quartzScheduler.scheduleJob(jobDetail, cronTrigger);
+                    var triggerKey = TriggerKey.triggerKey(trigger.getId());
+                    var existing = this.quartzScheduler.getTrigger(triggerKey);
+                    // 表达式未变时保留Quartz中的触发器，变更时原地替换，不删除任务
+                    if (!isSameSchedule(existing, schedule)) {
+                        var cronTrigger = this.createCronTrigger(trigger);
+                        var nextTime = existing == null
+                            ? this.quartzScheduler.scheduleJob(this.createJobDetail(trigger), cronTrigger)
+                            : this.quartzScheduler.rescheduleJob(triggerKey, cronTrigger);
+                        this.updateNextTime(projectId, NextFireTimeIndex.toLocalDateTime(nextTime));
+                    }
                 } catch (SchedulerException e) {
                     log.error("触发器更新失败: {}", e.getMessage());
                     throw new RuntimeException("触发器更新失败");
@@ -206,7 +230,8 @@ public class TriggerApplication {
                 try {
                     var jobDetail = this.createJobDetail(trigger);
                     var cronTrigger = this.createCronTrigger(trigger);
-                    quartzScheduler.scheduleJob(jobDetail, cronTrigger);
+                    var nextTime = quartzScheduler.scheduleJob(jobDetail, cronTrigger);
+                    this.updateNextTime(projectId, NextFireTimeIndex.toLocalDateTime(nextTime));
                 } catch (SchedulerException e) {
                     log.error("触发器加载失败: {}", e.getMessage());
                     throw new RuntimeException("触发器加载失败");
@@ -235,9 +260,17 @@ public class TriggerApplication {
                 }
                 this.triggerRepository.deleteById(trigger.getId());
             });
+        this.updateNextTime(projectId, null);
     }
 
     public LocalDateTime getNextFireTime(String projectId) {
+        var nextFireTime = this.nextFireTimeIndex.find(projectId);
+        if (nextFireTime.isPresent()) {
+            return nextFireTime.get();
+        }
+        if (this.nextFireTimeIndex.contains(projectId)) {
+            return null;
+        }
         var triggerId = this.triggerRepository.findByProjectId(projectId)
             .filter(trigger -> trigger.getType() == Trigger.Type.CRON)
             .map(Trigger::getId)
@@ -245,13 +278,23 @@ public class TriggerApplication {
         if (triggerId.isBlank()) {
             return null;
         }
+        var dateTime = this.findNextFireTime(triggerId);
+        this.nextFireTimeIndex.put(projectId, dateTime);
+        return dateTime;
+    }
+
+    /**
+     * 批量查询本节点索引中的下次触发时间，不访问Scheduler，未命中的项目不包含在结果中
+     */
+    public Map<String, LocalDateTime> getNextFireTimes(Collection<String> projectIds) {
+        return this.nextFireTimeIndex.findByProjectIds(projectIds);
+    }
+
+    private LocalDateTime findNextFireTime(String triggerId) {
         try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
             var schedulerTrigger = this.quartzScheduler.getTrigger(TriggerKey.triggerKey(triggerId));
             if (schedulerTrigger != null) {
-                var dateTime = schedulerTrigger.getNextFireTime()
-                    .toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
-                return dateTime;
+                return NextFireTimeIndex.toLocalDateTime(schedulerTrigger.getNextFireTime());
             }
             return null;
         } catch (SchedulerException e) {
@@ -260,21 +303,65 @@ public class TriggerApplication {
         }
     }
 
+    // 同步项目最后执行记录中的下次触发时间，并通知其他节点失效索引
+    private void updateNextTime(String projectId, LocalDateTime nextTime) {
+        this.projectRepository.findById(projectId)
+            .ifPresentOrElse(project -> this.updateNextTime(projectId, project.getWorkflowRef(), nextTime),
+                () -> this.publishCronTriggerUpdated(projectId));
+    }
+
+    // 下次触发时间未变化时不写库也不通知其他节点
+    private void updateNextTime(String projectId, String workflowRef, LocalDateTime nextTime) {
+        if (this.projectLastExecutionRepository.updateNextTime(workflowRef, nextTime)) {
+            this.publishCronTriggerUpdated(projectId);
+        }
+    }
+
+    private void publishCronTriggerUpdated(String projectId) {
+        this.eventPublisher.publish(CronTriggerUpdatedEvent.builder()
+            .projectId(projectId)
+            .source(this.nextFireTimeIndex.getInstanceId())
+            .build());
+    }
+
+    /**
+     * 与Quartz中已有的触发器对账，只分批注册新增或表达式变更的触发器，并移除数据库中已不存在的触发器
+     * Quartz使用RAMJobStore，进程启动时调度器为空，全部触发器都会分批注册；对账只在同一进程内重复加载时跳过未变更的触发器
+     */
     public void startTriggers() {
+        var start = System.currentTimeMillis();
         var triggers = this.triggerRepository.findCronTriggerAll();
-        triggers.forEach(trigger -> {
-            var cronTrigger = this.createCronTrigger(trigger);
-            var jobDetail = this.createJobDetail(trigger);
-            try {
-                if (this.quartzScheduler.checkExists(jobDetail.getKey())) {
-                    return;
+        var batchSize = this.globalProperties.getBatch().getSize();
+        try {
+            var existing = new HashMap<TriggerKey, org.quartz.Trigger>();
+            for (var triggerKey : this.quartzScheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(Scheduler.DEFAULT_GROUP))) {
+                existing.put(triggerKey, this.quartzScheduler.getTrigger(triggerKey));
+            }
+            var batch = new HashMap<JobDetail, Set<? extends org.quartz.Trigger>>();
+            var nextTimes = new HashMap<String, LocalDateTime>();
+            var scheduled = 0;
+            for (var trigger : triggers) {
+                if (isSameSchedule(existing.remove(TriggerKey.triggerKey(trigger.getId())), trigger.getSchedule())) {
+                    continue;
+                }
+                batch.put(this.createJobDetail(trigger), Set.of(this.createCronTrigger(trigger)));
+                if (batch.size() >= batchSize) {
+                    scheduled += this.scheduleJobs(batch, nextTimes);
                 }
-                quartzScheduler.scheduleJob(jobDetail, cronTrigger);
-            } catch (SchedulerException e) {
-                log.error("触发器加载失败: {}", e.getMessage());
-                throw new RuntimeException("触发器加载失败");
             }
-        });
+            scheduled += this.scheduleJobs(batch, nextTimes);
+            if (!existing.isEmpty()) {
+                this.quartzScheduler.deleteJobs(existing.keySet().stream()
+                    .map(triggerKey -> JobKey.jobKey(triggerKey.getName()))
+                    .collect(Collectors.toList()));
+            }
+            this.projectLastExecutionRepository.updateNextTimeByProjectIds(nextTimes);
+            log.info("定时触发器加载完成，共{}个，注册{}个，移除{}个，耗时{}ms",
+                triggers.size(), scheduled, existing.size(), System.currentTimeMillis() - start);
+        } catch (SchedulerException e) {
+            log.error("触发器加载失败: {}", e.getMessage());
+            throw new RuntimeException("触发器加载失败");
+        }
         try {
             quartzScheduler.start();
         } catch (SchedulerException e) {
@@ -283,12 +370,33 @@ public class TriggerApplication {
         }
     }
 
+    // 批量注册并记录下次触发时间，返回注册数量
+    private int scheduleJobs(Map<JobDetail, Set<? extends org.quartz.Trigger>> batch, Map<String, LocalDateTime> nextTimes) throws SchedulerException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        this.quartzScheduler.scheduleJobs(batch, true);
+        batch.values().forEach(cronTriggers -> cronTriggers.forEach(cronTrigger -> nextTimes.put(
+            cronTrigger.getJobDataMap().getString(NextFireTimeIndex.PROJECT_ID),
+            NextFireTimeIndex.toLocalDateTime(cronTrigger.getNextFireTime())
+        )));
+        var size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private static boolean isSameSchedule(org.quartz.Trigger existing, String schedule) {
+        return existing instanceof CronTrigger && ((CronTrigger) existing).getCronExpression().equals(schedule);
+    }
+
     private CronTrigger createCronTrigger(Trigger trigger) {
         var builder = CronScheduleBuilder.cronSchedule(trigger.getSchedule());
         return TriggerBuilder.newTrigger()
             .withIdentity(TriggerKey.triggerKey(trigger.getId()))
             .usingJobData("triggerId", trigger.getId())
-            .withSchedule(builder)
+            .usingJobData(NextFireTimeIndex.PROJECT_ID, trigger.getProjectId())
+            // 错过的触发补偿一次，由CronFireWheel随机延后并限速
+            .withSchedule(builder.withMisfireHandlingInstructionFireAndProceed())
             .build();
     }
 
@@ -301,6 +409,7 @@ public class TriggerApplication {
 
     public TriggerEvent findTriggerEvent(String triggerEventId) {
         var event = this.triggerEventRepository.findById(triggerEventId)
+            .or(() -> this.archiveRepository.findTriggerEventById(triggerEventId))
             .orElseThrow(() -> new DataNotFoundException("未找到该触发事件"));
         if ("WEBHOOK".equals(event.getTriggerType()) && ObjectUtils.isEmpty(event.getPayload())) {
             event.setPayload(this.storageService.readWebhook(event.getWebRequestId()));
@@ -312,6 +421,10 @@ public class TriggerApplication {
         return this.webRequestRepositoryImpl.findPage(projectId, pageNum, pageSize);
     }
 
+    public CursorPage<WebRequest> findWebRequestCursor(String projectId, String cursor, int pageSize, boolean withTotal) {
+        return this.webRequestRepositoryImpl.findCursor(projectId, cursor, pageSize, withTotal);
+    }
+
     public String getWebhookUrl(String projectId) {
         var project = this.projectRepository.findById(projectId)
             .orElseThrow(() -> new DataNotFoundException("未找到该项目"));
@@ -2,12 +2,18 @@ package dev.jianmu.application.service;
 
 import com.github.pagehelper.PageInfo;
 import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
+import dev.jianmu.infrastructure.mybatis.archive.ArchiveRepositoryImpl;
 import dev.jianmu.infrastructure.mybatis.workflow.WorkflowInstanceRepositoryImpl;
+import dev.jianmu.infrastructure.search.WorkflowInstanceSearchIndex;
 import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author Ethan Liu
@@ -19,13 +25,19 @@ import java.util.Optional;
 public class WorkflowInstanceApplication {
     private final WorkflowInstanceRepositoryImpl workflowInstanceRepository;
     private final GlobalProperties globalProperties;
+    private final WorkflowInstanceSearchIndex workflowInstanceSearchIndex;
+    private final ArchiveRepositoryImpl archiveRepository;
 
     public WorkflowInstanceApplication(
             WorkflowInstanceRepositoryImpl workflowInstanceRepository,
-            GlobalProperties globalProperties
+            GlobalProperties globalProperties,
+            WorkflowInstanceSearchIndex workflowInstanceSearchIndex,
+            ArchiveRepositoryImpl archiveRepository
     ) {
         this.workflowInstanceRepository = workflowInstanceRepository;
         this.globalProperties = globalProperties;
+        this.workflowInstanceSearchIndex = workflowInstanceSearchIndex;
+        this.archiveRepository = archiveRepository;
     }
 
     public Optional<WorkflowInstance> findById(String id) {
@@ -43,11 +55,28 @@ public class WorkflowInstanceApplication {
         return this.workflowInstanceRepository.findPageByWorkflowRef(pageNum, pageSize, workflowRef);
     }
 
+    public CursorPage<WorkflowInstance> findCursorByWorkflowRef(String cursor, Integer pageSize, String workflowRef, boolean withTotal) {
+        return this.workflowInstanceRepository.findCursorByWorkflowRef(workflowRef, cursor, pageSize, withTotal);
+    }
+
     public Optional<WorkflowInstance> findByRefAndSerialNoMax(String workflowRef) {
         return this.workflowInstanceRepository.findByRefAndSerialNoMax(workflowRef);
     }
 
+    // 在线表中没有时查询归档表
     public Optional<WorkflowInstance> findByTriggerId(String triggerId) {
-        return this.workflowInstanceRepository.findByTriggerId(triggerId);
+        return this.workflowInstanceRepository.findByTriggerId(triggerId)
+                .or(() -> this.archiveRepository.findWorkflowInstanceByTriggerId(triggerId));
+    }
+
+    // 按搜索索引的匹配程度排序，索引中已删除的实例不返回
+    public List<WorkflowInstance> search(String keyword, int limit) {
+        var ids = this.workflowInstanceSearchIndex.search(keyword, limit);
+        var instances = this.workflowInstanceRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(WorkflowInstance::getId, Function.identity()));
+        return ids.stream()
+                .map(instances::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
@@ -15,11 +15,13 @@ import dev.jianmu.infrastructure.storage.MonitoringFileService;
 import dev.jianmu.node.definition.aggregate.NodeParameter;
 import dev.jianmu.task.aggregate.*;
 import dev.jianmu.task.repository.InstanceParameterRepository;
+import dev.jianmu.task.repository.TaskDispatchPayloadRepository;
 import dev.jianmu.task.repository.TaskInstanceRepository;
 import dev.jianmu.task.repository.VolumeRepository;
 import dev.jianmu.task.service.InstanceDomainService;
 import dev.jianmu.trigger.event.TriggerEvent;
 import dev.jianmu.trigger.repository.TriggerEventRepository;
+import dev.jianmu.workflow.aggregate.definition.Node;
 import dev.jianmu.workflow.aggregate.parameter.Parameter;
 import dev.jianmu.workflow.aggregate.process.ProcessStatus;
 import dev.jianmu.workflow.aggregate.process.TaskStatus;
@@ -63,6 +65,8 @@ public class TaskInstanceInternalApplication {
     private final AsyncTaskInstanceRepository asyncTaskInstanceRepository;
     private final VolumeRepository volumeRepository;
     private final Publisher publisher;
+    private final WorkerInternalApplication workerInternalApplication;
+    private final TaskDispatchPayloadRepository taskDispatchPayloadRepository;
 
     public TaskInstanceInternalApplication(
             TaskInstanceRepository taskInstanceRepository,
@@ -78,7 +82,9 @@ public class TaskInstanceInternalApplication {
             MonitoringFileService monitoringFileService,
             AsyncTaskInstanceRepository asyncTaskInstanceRepository,
             VolumeRepository volumeRepository,
-            Publisher publisher
+            Publisher publisher,
+            WorkerInternalApplication workerInternalApplication,
+            TaskDispatchPayloadRepository taskDispatchPayloadRepository
     ) {
         this.taskInstanceRepository = taskInstanceRepository;
         this.workflowRepository = workflowRepository;
@@ -94,6 +100,8 @@ public class TaskInstanceInternalApplication {
         this.asyncTaskInstanceRepository = asyncTaskInstanceRepository;
         this.volumeRepository = volumeRepository;
         this.publisher = publisher;
+        this.workerInternalApplication = workerInternalApplication;
+        this.taskDispatchPayloadRepository = taskDispatchPayloadRepository;
     }
 
     public List<TaskInstance> findRunningTask() {
@@ -135,7 +143,8 @@ public class TaskInstanceInternalApplication {
                 .triggerId(cmd.getTriggerId())
                 .build();
         // 查询参数源
-        var eventParameters = this.triggerEventRepository.findById(cmd.getTriggerId())
+        var triggerEvent = this.triggerEventRepository.findById(cmd.getTriggerId());
+        var eventParameters = triggerEvent
                 .map(TriggerEvent::getParameters)
                 .orElseGet(List::of);
         var instanceParameters = this.instanceParameterRepository
@@ -191,6 +200,34 @@ public class TaskInstanceInternalApplication {
         this.instanceParameterRepository.addAll(instanceInputParameters);
         // 保存任务实例
         this.taskInstanceRepository.add(taskInstance);
+        // 预先组装下发载荷，领取任务时只绑定密钥
+        if (triggerEvent.isPresent()) {
+            this.saveDispatchPayload(taskInstance, nodeDef, asyncTask, instanceInputParameters, params, triggerEvent.get());
+        }
+    }
+
+    private void saveDispatchPayload(TaskInstance taskInstance, NodeDef nodeDef, Node node, Set<InstanceParameter> instanceParameters,
+                                     Map<String, Parameter<?>> params, TriggerEvent triggerEvent) {
+        if (!"DOCKER".equals(nodeDef.getWorkerType())) {
+            return;
+        }
+        try {
+            var parameters = new ArrayList<Parameter>(params.values());
+            // 未在DSL中指定的参数使用节点定义的默认参数
+            var paramIds = params.values().stream()
+                    .map(Parameter::getId)
+                    .collect(Collectors.toSet());
+            parameters.addAll(this.parameterRepository.findByIds(instanceParameters.stream()
+                    .map(InstanceParameter::getParameterId)
+                    .filter(parameterId -> !paramIds.contains(parameterId))
+                    .collect(Collectors.toSet())));
+            var workflowInstance = this.workflowInstanceRepository.findByTriggerId(taskInstance.getTriggerId())
+                    .orElseThrow(() -> new DataNotFoundException("未找到流程实例: " + taskInstance.getTriggerId()));
+            var payload = this.workerInternalApplication.createDispatchPayload(taskInstance, nodeDef, node, instanceParameters, parameters, triggerEvent, workflowInstance);
+            this.taskDispatchPayloadRepository.add(taskInstance.getId(), taskInstance.getTriggerId(), payload);
+        } catch (RuntimeException e) {
+            log.warn("任务下发载荷组装失败，领取任务时重新组装: {}", e.getMessage());
+        }
     }
 
     @Transactional
@@ -16,12 +16,13 @@ import dev.jianmu.infrastructure.worker.event.TaskFinishedEvent;
 import dev.jianmu.infrastructure.worker.event.TaskRunningEvent;
 import dev.jianmu.infrastructure.worker.unit.*;
 import dev.jianmu.secret.aggregate.CredentialManager;
-import dev.jianmu.secret.aggregate.KVPair;
+import dev.jianmu.task.aggregate.DispatchPayload;
 import dev.jianmu.task.aggregate.InstanceParameter;
 import dev.jianmu.task.aggregate.InstanceStatus;
 import dev.jianmu.task.aggregate.TaskInstance;
 import dev.jianmu.task.event.TaskInstanceCreatedEvent;
 import dev.jianmu.task.repository.InstanceParameterRepository;
+import dev.jianmu.task.repository.TaskDispatchPayloadRepository;
 import dev.jianmu.task.repository.TaskInstanceRepository;
 import dev.jianmu.task.repository.VolumeRepository;
 import dev.jianmu.trigger.event.TriggerEvent;
@@ -58,8 +59,6 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -94,6 +93,7 @@ public class WorkerInternalApplication {
     private final ExpressionLanguage expressionLanguage;
     private final Publisher publisher;
     private final VolumeRepository volumeRepository;
+    private final TaskDispatchPayloadRepository taskDispatchPayloadRepository;
 
     public WorkerInternalApplication(
             ParameterRepository parameterRepository,
@@ -113,7 +113,8 @@ public class WorkerInternalApplication {
             AsyncTaskInstanceRepository asyncTaskInstanceRepository,
             ExpressionLanguage expressionLanguage,
             Publisher publisher,
-            VolumeRepository volumeRepository
+            VolumeRepository volumeRepository,
+            TaskDispatchPayloadRepository taskDispatchPayloadRepository
     ) {
         this.parameterRepository = parameterRepository;
         this.parameterDomainService = parameterDomainService;
@@ -133,6 +134,7 @@ public class WorkerInternalApplication {
         this.expressionLanguage = expressionLanguage;
         this.publisher = publisher;
         this.volumeRepository = volumeRepository;
+        this.taskDispatchPayloadRepository = taskDispatchPayloadRepository;
     }
 
     @Transactional
@@ -267,89 +269,132 @@ public class WorkerInternalApplication {
     }
 
     public ContainerSpec getContainerSpec(TaskInstance taskInstance) {
+        return this.getContainerSpec(taskInstance, this.findDispatchPayload(taskInstance));
+    }
+
+    /**
+     * 任务创建时已保存下发载荷的直接使用，否则现场组装
+     */
+    public DispatchPayload findDispatchPayload(TaskInstance taskInstance) {
+        return this.taskDispatchPayloadRepository.findByTaskInstanceId(taskInstance.getId())
+                .orElseGet(() -> this.assembleDispatchPayload(taskInstance));
+    }
+
+    private DispatchPayload assembleDispatchPayload(TaskInstance taskInstance) {
         // 查找节点定义
         var nodeDef = this.nodeDefApi.findByType(taskInstance.getDefKey());
-        if (!nodeDef.getWorkerType().equals("DOCKER")) {
-            throw new RuntimeException("无法执行此类节点任务: " + nodeDef.getType());
-        }
-        var isShellNode = nodeDef.getImage() != null;
-        // 环境变量
-        var worker = this.workerRepository.findById(taskInstance.getWorkerId())
-                .orElseThrow(() -> new RuntimeException("未找到worker：" + taskInstance.getWorkerId()));
         var instanceParameters = this.instanceParameterRepository
                 .findByInstanceIdAndType(taskInstance.getId(), InstanceParameter.Type.INPUT);
         // 查询参数值
         var parameters = this.parameterRepository.findByIds(instanceParameters.stream()
                 .map(InstanceParameter::getParameterId)
                 .collect(Collectors.toSet()));
+        var triggerEvent = this.triggerEventRepository.findById(taskInstance.getTriggerId())
+                .orElseThrow(() -> new DataNotFoundException("未找到该触发事件"));
+        var workflowInstance = this.workflowInstanceRepository.findByTriggerId(taskInstance.getTriggerId())
+                .orElseThrow(() -> new DataNotFoundException("未找到该workflow instance"));
+        // 查询node
+        var workflow = this.workflowRepository.findByRefAndVersion(taskInstance.getWorkflowRef(), taskInstance.getWorkflowVersion())
+                .orElseThrow(() -> new DataNotFoundException("未找到流程"));
+        return this.createDispatchPayload(taskInstance, nodeDef, workflow.findNode(taskInstance.getAsyncTaskRef()),
+                instanceParameters, parameters, triggerEvent, workflowInstance);
+    }
+
+    /**
+     * 组装任务下发载荷，不查询数据库，密钥只记录引用
+     */
+    public DispatchPayload createDispatchPayload(TaskInstance taskInstance, NodeDef nodeDef, Node node,
+                                                 Collection<InstanceParameter> instanceParameters, List<Parameter> parameters,
+                                                 TriggerEvent triggerEvent, WorkflowInstance workflowInstance) {
+        if (!nodeDef.getWorkerType().equals("DOCKER")) {
+            throw new RuntimeException("无法执行此类节点任务: " + nodeDef.getType());
+        }
+        var isShellNode = nodeDef.getImage() != null;
         var parameterMap = this.getParameterMap(instanceParameters, parameters);
-        var secretSet = this.getSecretParameterSet(isShellNode, instanceParameters, parameters);
+        var secrets = this.getSecretBindings(isShellNode, instanceParameters, parameters);
         if (!isShellNode) {
             parameterMap = parameterMap.entrySet().stream()
                     .filter(entry -> entry.getKey() != null)
                     .map(entry -> Map.entry("JIANMU_" + entry.getKey(), entry.getValue()))
                     .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
         }
-        parameterMap.putAll(this.getEnvVariable(worker, taskInstance.getTriggerId(), taskInstance.getBusinessId(), taskInstance.getDefKey(), taskInstance.getAsyncTaskRef()));
+        // 环境变量
+        parameterMap.putAll(this.getEnvVariable(triggerEvent, workflowInstance, taskInstance.getTriggerId(), taskInstance.getBusinessId(), taskInstance.getDefKey(), taskInstance.getAsyncTaskRef()));
         this.addFeatureParam(parameterMap);
         parameterMap = parameterMap.entrySet().stream()
                 .filter(entry -> entry.getKey() != null)
                 .map(entry -> Map.entry(entry.getKey().toUpperCase(), entry.getValue() == null ? "" : entry.getValue()))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        // 查询node
-        var workflow = this.workflowRepository.findByRefAndVersion(taskInstance.getWorkflowRef(), taskInstance.getWorkflowVersion())
-                .orElseThrow(() -> new DataNotFoundException("未找到流程"));
-        var node = workflow.findNode(taskInstance.getAsyncTaskRef());
-        var volumeMounts = node.getTaskCaches() == null ? new ArrayList<VolumeMount>() : node.getTaskCaches().stream()
-                .map(taskCache -> VolumeMount.builder()
-                        .source(workflow.getRef() + "_" + taskCache.getSource())
-                        .target(taskCache.getTarget())
-                        .build()
-                )
+        var volumeMounts = node.getTaskCaches() == null ? new ArrayList<DispatchPayload.Mount>() : node.getTaskCaches().stream()
+                .map(taskCache -> new DispatchPayload.Mount(taskInstance.getWorkflowRef() + "_" + taskCache.getSource(), taskCache.getTarget()))
                 .collect(Collectors.toList());
-        volumeMounts.add(VolumeMount.builder()
-                .source(taskInstance.getTriggerId())
-                .target("/" + taskInstance.getTriggerId())
-                .build());
+        volumeMounts.add(new DispatchPayload.Mount(taskInstance.getTriggerId(), "/" + taskInstance.getTriggerId()));
 
-        // 创建ContainerSpec
-        ContainerSpec newSpec;
+        var builder = DispatchPayload.Builder.aDispatchPayload()
+                .secrets(secrets)
+                .volumeMounts(volumeMounts)
+                .resultFile(nodeDef.getResultFile());
         if (isShellNode) {
             var script = this.createScript(nodeDef.getScript());
             parameterMap.put("JIANMU_SCRIPT", script);
-            String[] entrypoint = {"/bin/sh", "-c"};
-            String[] args = {"echo \"$JIANMU_SCRIPT\" | /bin/sh"};
-            newSpec = ContainerSpec.builder()
-                    .image(nodeDef.getImage())
-                    .working_dir("")
-                    .environment(parameterMap)
-                    .secrets(secretSet)
-                    .entrypoint(entrypoint)
-                    .args(args)
-                    .volume_mounts(volumeMounts)
-                    .extra_hosts(this.globalProperties.getWorker().getContainer().getExtraHosts())
-                    .build();
+            builder.image(nodeDef.getImage())
+                    .entrypoint(new String[]{"/bin/sh", "-c"})
+                    .args(new String[]{"echo \"$JIANMU_SCRIPT\" | /bin/sh"});
         } else {
             dev.jianmu.embedded.worker.aggregate.spec.ContainerSpec spec;
             try {
-                spec = objectMapper.readValue(nodeDef.getSpec(), dev.jianmu.embedded.worker.aggregate.spec.ContainerSpec.class);
+                spec = nodeDef.parseContainerSpec(objectMapper);
             } catch (JsonProcessingException e) {
                 log.error("拉取任务失败：", e);
                 throw new RuntimeException("拉取任务失败");
             }
-            newSpec = ContainerSpec.builder()
-                    .image(spec.getImage())
-                    .working_dir("")
+            builder.image(spec.getImage())
                     .user(spec.getUser())
                     .host(spec.getHostName())
-                    .environment(parameterMap)
-                    .secrets(secretSet)
                     .entrypoint(spec.getEntrypoint())
-                    .args(spec.getCmd())
-                    .volume_mounts(volumeMounts)
-                    .extra_hosts(this.globalProperties.getWorker().getContainer().getExtraHosts())
-                    .build();
+                    .args(spec.getCmd());
         }
+        return builder.environment(parameterMap).build();
+    }
+
+    /**
+     * 绑定执行器、流程实例状态环境变量与密钥，创建ContainerSpec
+     */
+    public ContainerSpec getContainerSpec(TaskInstance taskInstance, DispatchPayload payload) {
+        var worker = this.workerRepository.findById(taskInstance.getWorkerId())
+                .orElseThrow(() -> new RuntimeException("未找到worker：" + taskInstance.getWorkerId()));
+        var workflowInstance = this.workflowInstanceRepository.findByTriggerId(taskInstance.getTriggerId())
+                .orElseThrow(() -> new DataNotFoundException("未找到该workflow instance"));
+        var environment = payload.getEnvironment() == null ? new HashMap<String, String>() : new HashMap<>(payload.getEnvironment());
+        environment.putAll(this.getWorkerEnvVariable(worker, workflowInstance));
+        var bindings = payload.getSecrets() == null ? Map.<String, String>of() : payload.getSecrets();
+        var secrets = this.findSecrets(bindings.values().stream()
+                .map(secretRef -> secretRef.split("\\."))
+                .collect(Collectors.toList()));
+        var secretSet = new HashSet<WorkerSecret>();
+        bindings.forEach((env, secretRef) -> {
+            var value = secrets.get(secretRef);
+            if (value != null) {
+                secretSet.add(this.createWorkerSecret(env, value));
+            }
+        });
+        var newSpec = ContainerSpec.builder()
+                .image(payload.getImage())
+                .working_dir("")
+                .user(payload.getUser())
+                .host(payload.getHost())
+                .environment(environment)
+                .secrets(secretSet)
+                .entrypoint(payload.getEntrypoint())
+                .args(payload.getArgs())
+                .volume_mounts(payload.getVolumeMounts() == null ? new ArrayList<>() : payload.getVolumeMounts().stream()
+                        .map(mount -> VolumeMount.builder()
+                                .source(mount.getSource())
+                                .target(mount.getTarget())
+                                .build())
+                        .collect(Collectors.toList()))
+                .extra_hosts(this.globalProperties.getWorker().getContainer().getExtraHosts())
+                .build();
         // 添加RegistryAddress
         newSpec.setRegistryAddress(globalProperties.getWorker().getRegistry().getAddress());
         return newSpec;
@@ -367,7 +412,7 @@ public class WorkerInternalApplication {
         return sb.toString();
     }
 
-    private Map<String, String> getParameterMap(List<InstanceParameter> instanceParameters, List<Parameter> parameters) {
+    private Map<String, String> getParameterMap(Collection<InstanceParameter> instanceParameters, List<Parameter> parameters) {
         var parameterMap = instanceParameters.stream()
                 .map(instanceParameter -> Map.entry(
                                 instanceParameter.getRef(),
@@ -379,34 +424,45 @@ public class WorkerInternalApplication {
         return this.parameterDomainService.createNoSecParameterMap(parameterMap, parameters);
     }
 
-    private HashSet<WorkerSecret> getSecretParameterSet(boolean isShellNode, List<InstanceParameter> instanceParameters, List<Parameter> parameters) {
-        var secretParameters = parameters.stream()
-                .filter(parameter -> parameter instanceof SecretParameter)
-                // 过滤非正常语法
-                .filter(parameter -> parameter.getStringValue().split("\\.").length == 2)
-                .collect(Collectors.toList());
-        var secretSet = new HashSet<WorkerSecret>();
-        instanceParameters.forEach(instanceParameter -> secretParameters.stream()
-                .filter(parameter -> parameter.getId().equals(instanceParameter.getParameterId()))
-                .findFirst()
-                .ifPresent(parameter -> {
-                    var kvPairOptional = this.findSecret(parameter);
-                    kvPairOptional.ifPresent(kv -> {
-                        var secretParameter = Parameter.Type.STRING.newParameter(kv.getValue());
-                        secretSet.add(WorkerSecret.builder()
-                                .env(isShellNode ? instanceParameter.getRef().toUpperCase() : "JIANMU_" + instanceParameter.getRef().toUpperCase())
-                                .data(Base64.getEncoder().encodeToString(secretParameter.getStringValue().getBytes(StandardCharsets.UTF_8)))
-                                .mask(true)
-                                .build());
-                    });
-                }));
-        return secretSet;
+    /**
+     * 环境变量名 -> 命名空间.密钥名，过滤非正常语法
+     */
+    private Map<String, String> getSecretBindings(boolean isShellNode, Collection<InstanceParameter> instanceParameters, List<Parameter> parameters) {
+        // 参数ID -> 密钥引用
+        var secretRefs = new HashMap<String, String>();
+        parameters.forEach(parameter -> {
+            if (parameter instanceof SecretParameter && parameter.getStringValue().split("\\.").length == 2) {
+                secretRefs.put(parameter.getId(), parameter.getStringValue());
+            }
+        });
+        var bindings = new HashMap<String, String>();
+        instanceParameters.forEach(instanceParameter -> {
+            var secretRef = secretRefs.get(instanceParameter.getParameterId());
+            if (secretRef != null) {
+                bindings.put(isShellNode ? instanceParameter.getRef().toUpperCase() : "JIANMU_" + instanceParameter.getRef().toUpperCase(), secretRef);
+            }
+        });
+        return bindings;
     }
 
-    private Optional<KVPair> findSecret(Parameter<?> parameter) {
-        // 处理密钥类型参数, 获取值后转换为String类型参数
-        var strings = parameter.getStringValue().split("\\.");
-        return this.credentialManager.findByNamespaceNameAndKey(strings[0], strings[1]);
+    /**
+     * 按命名空间批量查询密钥，返回 命名空间.密钥名 -> 密钥值
+     */
+    private Map<String, String> findSecrets(Collection<String[]> secretRefs) {
+        var keys = new HashMap<String, Set<String>>();
+        secretRefs.forEach(secretRef -> keys.computeIfAbsent(secretRef[0], k -> new HashSet<>()).add(secretRef[1]));
+        var secrets = new HashMap<String, String>();
+        keys.forEach((namespaceName, names) -> this.credentialManager.findByNamespaceNameAndKeys(namespaceName, names)
+                .forEach(kv -> secrets.put(namespaceName + "." + kv.getKey(), kv.getValue())));
+        return secrets;
+    }
+
+    private WorkerSecret createWorkerSecret(String env, String value) {
+        return WorkerSecret.builder()
+                .env(env)
+                .data(Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)))
+                .mask(true)
+                .build();
     }
 
     /**
@@ -416,31 +472,34 @@ public class WorkerInternalApplication {
      * @return
      */
     private HashMap<String, String> getEnvVariable(Worker worker, String triggerId, String businessId, String defKey, String taskRef) {
+        var triggerEvent = this.triggerEventRepository.findById(triggerId)
+                .orElseThrow(() -> new DataNotFoundException("未找到该触发事件"));
+        // workflow instance 相关参数
+        WorkflowInstance workflowInstance = workflowInstanceRepository
+                .findByTriggerId(triggerId)
+                .orElseThrow(() -> new DataNotFoundException("未找到该workflow instance"));
+        var env = this.getEnvVariable(triggerEvent, workflowInstance, triggerId, businessId, defKey, taskRef);
+        env.putAll(this.getWorkerEnvVariable(worker, workflowInstance));
+        return env;
+    }
+
+    private HashMap<String, String> getEnvVariable(TriggerEvent triggerEvent, WorkflowInstance workflowInstance, String triggerId, String businessId, String defKey, String taskRef) {
 
         HashMap<String, String> env = new HashMap<>();
         env.put("JM_RESULT_FILE", "/" + triggerId + "/" + businessId);
         env.put("JIANMU_SHARE_DIR", "/" + triggerId);
         env.put("JM_SHARE_DIR", "/" + triggerId);
 
-        env.put("JM_WORKER_ID", worker.getId());
-        env.put("JM_WORKER_TYPE", worker.getType().name());
         env.put("JM_BUSINESS_ID", businessId);
         env.put("JM_TRIGGER_ID", triggerId);
         env.put("JM_DEF_KEY", defKey);
         env.put("JM_TASK_REF", taskRef);
 
-        var triggerEvent = this.triggerEventRepository.findById(triggerId)
-                .orElseThrow(() -> new DataNotFoundException("未找到该触发事件"));
         env.put("JM_PROJECT_ID", triggerEvent.getProjectId());
         env.put("JM_WEB_REQUEST_ID", triggerEvent.getWebRequestId());
         env.put("JM_TRIGGER_TIME", formatTime(triggerEvent.getOccurredTime()));
         env.put("JM_TRIGGER_TYPE", triggerEvent.getTriggerType());
 
-        // workflow instance 相关参数
-        WorkflowInstance workflowInstance = workflowInstanceRepository
-                .findByTriggerId(triggerId)
-                .orElseThrow(() -> new DataNotFoundException("未找到该workflow instance"));
-
         env.put("JM_INSTANCE_ID", workflowInstance.getId());
         env.put("JM_INSTANCE_TRIGGER_TYPE", workflowInstance.getTriggerType());
         env.put("JM_INSTANCE_NAME", workflowInstance.getName());
@@ -448,14 +507,22 @@ public class WorkerInternalApplication {
         env.put("JM_INSTANCE_WORKFLOW_VERSION", workflowInstance.getWorkflowVersion());
         env.put("JM_INSTANCE_CREATE_TIME", formatTime(workflowInstance.getCreateTime()));
         env.put("JM_INSTANCE_START_TIME", formatTime(workflowInstance.getStartTime()));
-        env.put("JM_INSTANCE_SUSPENDED_TIME", formatTime(workflowInstance.getSuspendedTime()));
         env.put("JM_INSTANCE_SERIAL_NO", workflowInstance.getSerialNo() + "");
         env.put("JM_INSTANCE_RUN_MODE", workflowInstance.getRunMode().name());
-        env.put("JM_INSTANCE_STATUS", workflowInstance.getStatus().name());
 
         return env;
     }
 
+    // 执行器与流程实例状态相关参数，任务分发后才确定，流程实例状态在任务创建后仍可能变化
+    private Map<String, String> getWorkerEnvVariable(Worker worker, WorkflowInstance workflowInstance) {
+        return Map.of(
+                "JM_WORKER_ID", worker.getId(),
+                "JM_WORKER_TYPE", worker.getType().name(),
+                "JM_INSTANCE_STATUS", workflowInstance.getStatus().name(),
+                "JM_INSTANCE_SUSPENDED_TIME", formatTime(workflowInstance.getSuspendedTime())
+        );
+    }
+
     private String formatTime(LocalDateTime time) {
         return time == null ? "" : time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
     }
@@ -599,20 +666,29 @@ public class WorkerInternalApplication {
         var asyncTaskInstances = this.asyncTaskInstanceRepository.findByTriggerId(taskInstance.getTriggerId());
         var unitSecrets = new ArrayList<WorkerSecret>();
         var runners = new ArrayList<Runner>();
-        workflow.findTasks().forEach(node -> {
+        var tasks = workflow.findTasks();
+        // 密钥引用在流程定义创建时已解析，按命名空间一次查询
+        var secrets = this.findSecrets(tasks.stream()
+                .flatMap(node -> node.getTaskParameters().stream())
+                .filter(taskParameter -> taskParameter.getType() == Parameter.Type.SECRET && taskParameter.getSecretNamespace() != null)
+                .map(taskParameter -> new String[]{taskParameter.getSecretNamespace(), taskParameter.getSecretKey()})
+                .collect(Collectors.toList()));
+        tasks.forEach(node -> {
             var nodeDef = this.nodeDefApi.findByType(node.getType());
             var isShellNode = nodeDef.getImage() != null;
             var runnerSecrets = new ArrayList<SecretVar>();
             var runnerEnvs = new HashMap<String, String>();
             node.getTaskParameters().forEach(taskParameter -> {
                 if (taskParameter.getType() == Parameter.Type.SECRET) {
-                    this.findUnitSecret(taskParameter, nodeDef).ifPresent(workerSecret -> {
+                    var value = taskParameter.getSecretNamespace() == null ? null : secrets.get(taskParameter.getSecret());
+                    if (value != null) {
+                        var workerSecret = this.createWorkerSecret((isShellNode ? "" : "JIANMU_") + taskParameter.getRef().toUpperCase(), value);
                         unitSecrets.add(workerSecret);
                         runnerSecrets.add(SecretVar.builder()
                                 .env(workerSecret.getEnv())
                                 .name(workerSecret.getEnv())
                                 .build());
-                    });
+                    }
                 } else {
                     runnerEnvs.put((isShellNode ? "" : "JIANMU_") + taskParameter.getRef().toUpperCase(), taskParameter.getExpression());
                 }
@@ -667,31 +743,6 @@ public class WorkerInternalApplication {
                 .build();
     }
 
-    private Optional<WorkerSecret> findUnitSecret(TaskParameter taskParameter, NodeDef nodeDef) {
-        var parameter = Parameter.Type.SECRET.newParameter(this.findSecretByExpression(taskParameter.getExpression()));
-        if (parameter.getStringValue().split("\\.").length == 2) {
-            var kvPairOptional = this.findSecret(parameter);
-            return kvPairOptional.map(kv -> {
-                var secretParameter = Parameter.Type.STRING.newParameter(kv.getValue());
-                return Optional.of(WorkerSecret.builder()
-                        .env(nodeDef.getImage() != null ? taskParameter.getRef().toUpperCase() : "JIANMU_" + taskParameter.getRef().toUpperCase())
-                        .data(Base64.getEncoder().encodeToString(secretParameter.getStringValue().getBytes(StandardCharsets.UTF_8)))
-                        .mask(true)
-                        .build());
-            }).orElse(Optional.empty());
-        }
-        return Optional.empty();
-    }
-
-    private String findSecretByExpression(String paramValue) {
-        Pattern pattern = Pattern.compile("^\\(\\(([a-zA-Z0-9_-]+\\.*[a-zA-Z0-9_-]+)\\)\\)$");
-        Matcher matcher = pattern.matcher(paramValue);
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        return null;
-    }
-
     private Runner findUnitRunner(List<AsyncTaskInstance> asyncTaskInstances, NodeDef nodeDef, Node node, List<SecretVar> secretVars, Map<String, String> envs, Worker worker) {
         Runner runner;
         var asyncTaskInstance = asyncTaskInstances.stream()
@@ -725,7 +776,7 @@ public class WorkerInternalApplication {
         } else {
             dev.jianmu.embedded.worker.aggregate.spec.ContainerSpec spec;
             try {
-                spec = objectMapper.readValue(nodeDef.getSpec(), dev.jianmu.embedded.worker.aggregate.spec.ContainerSpec.class);
+                spec = nodeDef.parseContainerSpec(objectMapper);
             } catch (JsonProcessingException e) {
                 log.error("拉取任务失败：", e);
                 throw new RuntimeException("拉取任务失败");
@@ -22,7 +22,6 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Ethan Liu
@@ -73,9 +72,7 @@ public class WorkflowInstanceInternalApplication {
         var projectLastExecution = this.projectLastExecutionRepository.findByRef(project.getWorkflowRef())
                 .orElseThrow(() -> new DataNotFoundException("未找到项目最后执行记录"));
         // 查询待运行的流程数
-        int i = this.workflowInstanceRepository
-                .findByRefAndStatuses(workflow.getRef(), List.of(ProcessStatus.INIT))
-                .size();
+        int i = this.workflowInstanceRepository.countInitByRef(workflow.getRef());
         if (i >= this.globalProperties.getTriggerQueue().getMax()) {
             var triggerFailedEvent = TriggerFailedEvent.Builder.aTriggerFailedEvent()
                     .triggerId(cmd.getTriggerId())
@@ -84,12 +81,10 @@ public class WorkflowInstanceInternalApplication {
             this.publisher.publishEvent(triggerFailedEvent);
             throw new RuntimeException("待执行流程数已超过最大值：" + this.globalProperties.getTriggerQueue().getMax());
         }
-        // 查询serialNo
-        AtomicInteger serialNo = new AtomicInteger(1);
-        this.workflowInstanceRepository.findByRefAndSerialNoMax(workflow.getRef())
-                .ifPresent(workflowInstance -> serialNo.set(workflowInstance.getSerialNo() + 1));
+        // 分配serialNo，序号行锁与项目最后执行记录在同一事务内提交
+        int serialNo = this.workflowInstanceRepository.nextSerialNo(workflow.getRef());
         // 创建新的流程实例
-        WorkflowInstance workflowInstance = workflowInstanceDomainService.create(cmd.getTriggerId(), cmd.getTriggerType(), serialNo.get(), workflow);
+        WorkflowInstance workflowInstance = workflowInstanceDomainService.create(cmd.getTriggerId(), cmd.getTriggerType(), serialNo, workflow);
         workflowInstance.init(cmd.getOccurredTime());
         projectLastExecution.init(workflowInstance.getId(), workflowInstance.getSerialNo(), cmd.getOccurredTime(), workflowInstance.getStatus().name());
         this.workflowInstanceRepository.add(workflowInstance);
@@ -104,16 +99,13 @@ public class WorkflowInstanceInternalApplication {
         var projectLastExecution = this.projectLastExecutionRepository.findByRef(project.getWorkflowRef())
                 .orElseThrow(() -> new DataNotFoundException("未找到项目最后执行记录"));
         // 检查是否存在运行中的流程
-        int i = this.workflowInstanceRepository
-                .findByRefAndStatuses(workflowRef, List.of(ProcessStatus.RUNNING, ProcessStatus.SUSPENDED))
-                .size();
+        int i = this.workflowInstanceRepository.countRunningByRef(workflowRef);
         if (project.getConcurrent() < i) {
             MDC.put("triggerId", triggerId);
             log.warn("当前项目未开启并发执行。前序流程正在执行或已挂起，待执行完毕或手动终止后，当前流程将开始执行。");
             return;
         }
-        this.workflowInstanceRepository.findByRefAndStatuses(workflowRef, List.of(ProcessStatus.INIT))
-                .stream().limit(project.getConcurrent() - i)
+        this.workflowInstanceRepository.findByRefAndStatusLimit(workflowRef, ProcessStatus.INIT, project.getConcurrent() - i)
                 .forEach(workflowInstance -> {
                     workflowInstance.start();
                     if (!this.workflowInstanceRepository.running(workflowInstance)) {
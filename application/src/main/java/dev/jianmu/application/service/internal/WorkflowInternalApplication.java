@@ -258,6 +258,10 @@ public class WorkflowInternalApplication {
         return this.workflowRepository.findByRefVersions(refVersions);
     }
 
+    public Map<String, List<String>> findCachesByRefVersions(List<String> refVersions) {
+        return this.workflowRepository.findCachesByRefVersions(refVersions);
+    }
+
     public Optional<Workflow> findByRefAndVersion(String workflowRef, String workflowVersion) {
         return this.workflowRepository.findByRefAndVersion(workflowRef, workflowVersion);
     }
@@ -1,9 +1,8 @@
 package dev.jianmu.application.util;
 
+import dev.jianmu.application.dsl.DslYaml;
 import dev.jianmu.application.exception.DslException;
 import lombok.Getter;
-import org.yaml.snakeyaml.LoaderOptions;
-import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.DuplicateKeyException;
 
 import java.util.List;
@@ -17,18 +16,10 @@ import java.util.Objects;
  * @create 2022/9/7 11:35 上午
  */
 public class DslUtil {
-    private static final Yaml yaml;
-
-    static {
-        LoaderOptions loaderOptions = new LoaderOptions();
-        loaderOptions.setAllowDuplicateKeys(false);
-        yaml = new Yaml(loaderOptions);
-    }
-
     public static Diff diff(String dslText1, String dslText2) {
         try {
-            var o1 = yaml.load(dslText1);
-            var o2 = yaml.load(dslText2);
+            Object o1 = DslYaml.load(dslText1);
+            Object o2 = DslYaml.load(dslText2);
             var diff = new Diff();
             diff.o1HasRawData = containsRawData(o1);
             diff.o2HasRawData = containsRawData(o2);
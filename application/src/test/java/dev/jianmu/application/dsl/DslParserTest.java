@@ -0,0 +1,126 @@
+package dev.jianmu.application.dsl;
+
+import dev.jianmu.application.exception.DslException;
+import dev.jianmu.workflow.aggregate.definition.Condition;
+import dev.jianmu.workflow.aggregate.definition.Node;
+import dev.jianmu.workflow.aggregate.definition.Workflow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class DslParserTest
+ * @description DSL解析与解析结果缓存测试
+ * @create 2026/10/19 12:20 上午
+ */
+@DisplayName("DSL解析与解析结果缓存测试")
+public class DslParserTest {
+    private static final String WORKFLOW_DSL = "name: loop\n" +
+            "global:\n" +
+            "  concurrent: 2\n" +
+            "  tag: [a, b]\n" +
+            "workflow:\n" +
+            "  start:\n" +
+            "    type: start\n" +
+            "    targets: [shell_a]\n" +
+            "  shell_a:\n" +
+            "    image: alpine\n" +
+            "    script: [echo a]\n" +
+            "    sources: [start, check]\n" +
+            "    targets: [check]\n" +
+            "  check:\n" +
+            "    type: condition\n" +
+            "    expression: ${trigger.value} == 1\n" +
+            "    cases:\n" +
+            "      true: shell_a\n" +
+            "      false: end\n" +
+            "    sources: [shell_a]\n" +
+            "  end:\n" +
+            "    type: end\n" +
+            "    sources: [check]\n";
+
+    private static String pipeline(int size) {
+        var builder = new StringBuilder("name: pipeline_" + size + "\npipeline:\n");
+        for (int i = 0; i < size; i++) {
+            builder.append("  shell_").append(i).append(":\n")
+                    .append("    image: alpine:3.13\n")
+                    .append("    environment:\n")
+                    .append("      INDEX: ").append(i).append('\n')
+                    .append("    script:\n")
+                    .append("      - echo $INDEX\n");
+        }
+        return builder.toString();
+    }
+
+    @Test
+    void testParseWorkflow() {
+        var parser = DslParser.parse(WORKFLOW_DSL);
+        Assertions.assertEquals("loop", parser.getName());
+        Assertions.assertEquals(Workflow.Type.WORKFLOW, parser.getType());
+        Assertions.assertEquals(2, parser.getConcurrent());
+        Assertions.assertEquals("a,b", parser.getTag());
+        Assertions.assertEquals(1, parser.getShellNodes().size());
+    }
+
+    @Test
+    void testCachedParseCreatesNewShellNodes() {
+        var first = DslParser.parse(WORKFLOW_DSL);
+        var second = DslParser.parse(WORKFLOW_DSL);
+
+        // 缓存只复用解析与校验结果，每次解析生成新的Shell节点ID，重复保存不会主键冲突
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNotEquals(first.getShellNodes().get(0).getId(), second.getShellNodes().get(0).getId());
+        Assertions.assertEquals("shell:" + second.getShellNodes().get(0).getId(), this.toMap(second.createNodes(List.of())).get("shell_a").getType());
+        Assertions.assertEquals(first.getShellNodes().get(0).getScript(), second.getShellNodes().get(0).getScript());
+    }
+
+    @Test
+    void testCreateNodesFromCachedParser() {
+        var first = this.toMap(DslParser.parse(WORKFLOW_DSL).createNodes(List.of()));
+        var second = this.toMap(DslParser.parse(WORKFLOW_DSL).createNodes(List.of()));
+
+        Assertions.assertEquals(4, second.size());
+        Assertions.assertEquals(first.get("start").getTargets(), second.get("start").getTargets());
+        Assertions.assertEquals(Set.of("start", "check"), Set.copyOf(second.get("shell_a").getSources()));
+        var check = (Condition) second.get("check");
+        Assertions.assertNotSame(((Condition) first.get("check")).getBranches().get(0), check.getBranches().get(0));
+        Assertions.assertTrue(check.getBranches().stream().anyMatch(branch -> branch.isLoop()));
+    }
+
+    @Test
+    void testInvalidDslIsNotCached() {
+        var dsl = "name: invalid\n";
+        Assertions.assertThrows(DslException.class, () -> DslParser.parse(dsl));
+        Assertions.assertThrows(DslException.class, () -> DslParser.parse(dsl));
+        Assertions.assertThrows(DslException.class, () -> DslParser.parse("name: a\nname: b\npipeline: {}\n"));
+    }
+
+    @Test
+    void testParsePipelines() {
+        for (int size : new int[]{10, 100, 500}) {
+            var dsl = pipeline(size);
+            var start = System.nanoTime();
+            var parser = DslParser.parse(dsl);
+            var parseNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            var cached = DslParser.parse(dsl);
+            var cachedNanos = System.nanoTime() - start;
+
+            Assertions.assertEquals(size, cached.getSteps());
+            Assertions.assertEquals(size, parser.getSteps());
+            Assertions.assertEquals(size + 2, parser.createNodes(List.of()).size());
+            Assertions.assertTrue(cachedNanos < parseNanos, size + ": " + cachedNanos + " >= " + parseNanos);
+        }
+    }
+
+    private Map<String, Node> toMap(Set<Node> nodes) {
+        return nodes.stream().collect(Collectors.toMap(Node::getRef, Function.identity()));
+    }
+}
@@ -0,0 +1,159 @@
+package dev.jianmu.application.service;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.lock.DistributedLock;
+import dev.jianmu.infrastructure.mybatis.cleanup.CleanupRepositoryImpl;
+import dev.jianmu.infrastructure.storage.FileReaper;
+import dev.jianmu.project.aggregate.Project;
+import dev.jianmu.project.repository.TrashProjectRepository;
+import dev.jianmu.task.repository.TaskInstanceRepository;
+import dev.jianmu.trigger.repository.TriggerEventRepository;
+import dev.jianmu.trigger.repository.WebRequestRepository;
+import dev.jianmu.workflow.repository.AsyncTaskInstanceRepository;
+import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * @author Daihw
+ * @class CleanupApplicationTest
+ * @description 已删除项目执行记录清理测试，中途失败的项目保留在回收站中并在下次清理时重试
+ * @create 2026/10/19 5:20 上午
+ */
+@DisplayName("已删除项目执行记录清理测试")
+public class CleanupApplicationTest {
+    private final CleanupRepositoryImpl cleanupRepository = Mockito.mock(CleanupRepositoryImpl.class);
+    private final ProjectApplication projectApplication = Mockito.mock(ProjectApplication.class);
+    private final TrashProjectRepository trashProjectRepository = Mockito.mock(TrashProjectRepository.class);
+    private final FileReaper fileReaper = Mockito.mock(FileReaper.class);
+    private final WorkflowInstanceRepository workflowInstanceRepository = Mockito.mock(WorkflowInstanceRepository.class);
+    private final DistributedLock distributedLock = Mockito.mock(DistributedLock.class);
+    private final Lock lock = Mockito.mock(Lock.class);
+    // 项目ID -> 项目，模拟回收站表
+    private final Map<String, Project> trash = new LinkedHashMap<>();
+    // workflowRef -> 在线表与归档表中的流程实例triggerId
+    private final Map<String, List<String>> online = new LinkedHashMap<>();
+    private final Map<String, List<String>> archived = new LinkedHashMap<>();
+    private final List<String> failing = new ArrayList<>();
+
+    private CleanupApplication application;
+
+    @BeforeEach
+    void setUp() {
+        var globalProperties = new GlobalProperties();
+        globalProperties.getCleanup().setBatchSize(1);
+        globalProperties.getCleanup().setPauseMillis(0L);
+        this.application = new CleanupApplication(
+                this.cleanupRepository,
+                this.workflowInstanceRepository,
+                Mockito.mock(AsyncTaskInstanceRepository.class),
+                Mockito.mock(TaskInstanceRepository.class),
+                Mockito.mock(TriggerEventRepository.class),
+                Mockito.mock(WebRequestRepository.class),
+                this.fileReaper,
+                globalProperties,
+                new SimpleMeterRegistry(),
+                this.projectApplication,
+                this.trashProjectRepository,
+                this.distributedLock
+        );
+
+        Mockito.when(this.distributedLock.getLock(ArgumentMatchers.any())).thenReturn(this.lock);
+        Mockito.when(this.lock.tryLock()).thenReturn(true);
+
+        Mockito.when(this.trashProjectRepository.findIds()).thenAnswer(invocation -> List.copyOf(this.trash.keySet()));
+        Mockito.doAnswer(invocation -> this.trash.remove(invocation.<String>getArgument(0)))
+                .when(this.trashProjectRepository).deleteById(ArgumentMatchers.any());
+        Mockito.when(this.projectApplication.trashProject(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> this.trash.get(invocation.<String>getArgument(0)));
+        Mockito.when(this.cleanupRepository.findTriggerIds(ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenAnswer(invocation -> this.online.get(invocation.<String>getArgument(0)).stream().limit(1).toList());
+        Mockito.when(this.cleanupRepository.findArchivedTriggerIds(ArgumentMatchers.<String>any(), ArgumentMatchers.anyInt()))
+                .thenAnswer(invocation -> this.archived.get(invocation.<String>getArgument(0)).stream().limit(1).toList());
+        Mockito.when(this.cleanupRepository.purge(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> this.purge(this.online, invocation.getArgument(0)));
+        Mockito.when(this.cleanupRepository.purgeArchived(ArgumentMatchers.any()))
+                .thenAnswer(invocation -> this.purge(this.archived, invocation.getArgument(0)));
+    }
+
+    private CleanupRepositoryImpl.Purged purge(Map<String, List<String>> tables, List<String> triggerIds) {
+        if (triggerIds.stream().anyMatch(this.failing::remove)) {
+            throw new IllegalStateException("Lock wait timeout exceeded");
+        }
+        tables.values().forEach(ids -> ids.removeAll(triggerIds));
+        return new CleanupRepositoryImpl.Purged(triggerIds.size(), List.of(), List.of());
+    }
+
+    private Project trash(String workflowRef, List<String> onlineTriggerIds, List<String> archivedTriggerIds) {
+        var project = Project.Builder.aReference().workflowRef(workflowRef).enabled(true).build();
+        this.trash.put(project.getId(), project);
+        this.online.put(workflowRef, new ArrayList<>(onlineTriggerIds));
+        this.archived.put(workflowRef, new ArrayList<>(archivedTriggerIds));
+        return project;
+    }
+
+    @Test
+    void testRetryPartialPurge() {
+        var project = this.trash("wf", List.of("t1", "t2"), List.of("a1"));
+        this.failing.add("t2");
+
+        Assertions.assertThrows(IllegalStateException.class, () -> this.application.purgeTrashedProject(project.getId()));
+        // 已清理的块保持清理，剩余执行记录与回收站记录保留
+        Assertions.assertEquals(List.of("t2"), this.online.get("wf"));
+        Assertions.assertEquals(List.of("a1"), this.archived.get("wf"));
+        Assertions.assertTrue(this.trash.containsKey(project.getId()));
+
+        this.application.purgeTrashedProjects();
+
+        Assertions.assertTrue(this.online.get("wf").isEmpty());
+        Assertions.assertTrue(this.archived.get("wf").isEmpty());
+        Assertions.assertTrue(this.trash.isEmpty());
+        Mockito.verify(this.projectApplication, Mockito.times(2)).trashProject(project.getId());
+        Mockito.verify(this.fileReaper).reapWorkflowLogs(List.of("t1"));
+        Mockito.verify(this.fileReaper).reapWorkflowLogs(List.of("t2"));
+        Mockito.verify(this.fileReaper).reapWorkflowLogs(List.of("a1"));
+        // 流程实例全部删除后才删除准入计数与序号
+        Mockito.verify(this.workflowInstanceRepository, Mockito.times(1)).deleteByWorkflowRef("wf");
+    }
+
+    @Test
+    void testRetryContinuesAfterFailedProject() {
+        var failed = this.trash("wf1", List.of("t1"), List.of());
+        var purged = this.trash("wf2", List.of("t2"), List.of("a2"));
+        this.failing.add("t1");
+
+        this.application.purgeTrashedProjects();
+
+        Assertions.assertEquals(List.of(failed.getId()), List.copyOf(this.trash.keySet()));
+        Assertions.assertEquals(List.of("t1"), this.online.get("wf1"));
+        Assertions.assertTrue(this.online.get("wf2").isEmpty());
+        Assertions.assertTrue(this.archived.get("wf2").isEmpty());
+        Mockito.verify(this.trashProjectRepository).deleteById(purged.getId());
+
+        this.application.purgeTrashedProjects();
+        Assertions.assertTrue(this.trash.isEmpty());
+    }
+
+    @Test
+    void testSkipWhenLocked() {
+        var project = this.trash("wf", List.of("t1"), List.of());
+        Mockito.when(this.lock.tryLock()).thenReturn(false);
+
+        this.application.purgeTrashedProjects();
+
+        Assertions.assertTrue(this.trash.containsKey(project.getId()));
+        Assertions.assertEquals(List.of("t1"), this.online.get("wf"));
+        Mockito.verify(this.lock, Mockito.never()).unlock();
+    }
+}
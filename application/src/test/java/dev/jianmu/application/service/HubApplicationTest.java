@@ -0,0 +1,203 @@
+package dev.jianmu.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.jianmu.application.query.NodeDefCache;
+import dev.jianmu.infrastructure.AppConfig;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.client.RegistryClient;
+import dev.jianmu.infrastructure.client.RegistryProperties;
+import dev.jianmu.infrastructure.mybatis.node.NodeDefinitionRepositoryImpl;
+import dev.jianmu.node.definition.aggregate.NodeDefinition;
+import dev.jianmu.node.definition.aggregate.NodeDefinitionVersion;
+import dev.jianmu.node.definition.repository.NodeDefinitionVersionRepository;
+import dev.jianmu.node.definition.repository.ShellNodeRepository;
+import dev.jianmu.workflow.repository.ParameterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author Daihw
+ * @class HubApplicationTest
+ * @description 节点定义缓存与并行预取测试，使用本地HTTP服务模拟Hub下载接口
+ * @create 2026/10/18 11:50 下午
+ */
+@DisplayName("节点定义缓存与并行预取测试")
+public class HubApplicationTest {
+    private static final long DELAY_MILLIS = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, NodeDefinition> definitions = new ConcurrentHashMap<>();
+    private final Map<String, NodeDefinitionVersion> versions = new ConcurrentHashMap<>();
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private HttpServer server;
+    private NodeDefinitionVersionRepository versionRepository;
+    private NodeDefCache nodeDefCache;
+    private ThreadPoolTaskExecutor prefetchExecutor;
+    private HubApplication hubApplication;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 8);
+        this.server.createContext("/hub/download/node_definitions/", this::handle);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.start();
+
+        var registryProperties = new RegistryProperties();
+        registryProperties.setUrl("http://127.0.0.1:" + this.server.getAddress().getPort());
+        var registryClient = new RegistryClient(new RestTemplate(), registryProperties);
+
+        var definitionRepository = Mockito.mock(NodeDefinitionRepositoryImpl.class);
+        Mockito.when(definitionRepository.findById(Mockito.anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(this.definitions.get(invocation.<String>getArgument(0))));
+        Mockito.doAnswer(invocation -> {
+            NodeDefinition definition = invocation.getArgument(0);
+            this.definitions.put(definition.getId(), definition);
+            return null;
+        }).when(definitionRepository).saveOrUpdate(Mockito.any());
+
+        this.versionRepository = Mockito.mock(NodeDefinitionVersionRepository.class);
+        Mockito.when(this.versionRepository.findByOwnerRefAndRefAndVersion(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(this.versions.get(
+                        invocation.getArgument(0) + "/" + invocation.getArgument(1) + ":" + invocation.getArgument(2))));
+        Mockito.doAnswer(invocation -> {
+            NodeDefinitionVersion version = invocation.getArgument(0);
+            this.versions.put(version.getId(), version);
+            return null;
+        }).when(this.versionRepository).saveOrUpdate(Mockito.any());
+
+        this.nodeDefCache = new NodeDefCache();
+        this.prefetchExecutor = new AppConfig().hubPrefetchExecutor(new GlobalProperties());
+        this.prefetchExecutor.initialize();
+        this.hubApplication = new HubApplication(
+                definitionRepository,
+                this.versionRepository,
+                Mockito.mock(ShellNodeRepository.class),
+                Mockito.mock(ParameterRepository.class),
+                registryClient,
+                Mockito.mock(ApplicationEventPublisher.class),
+                this.nodeDefCache,
+                this.prefetchExecutor
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.prefetchExecutor.shutdown();
+        this.server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        var current = this.concurrent.incrementAndGet();
+        this.maxConcurrent.accumulateAndGet(current, Math::max);
+        this.downloads.incrementAndGet();
+        try {
+            Thread.sleep(DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.concurrent.decrementAndGet();
+        }
+        // /hub/download/node_definitions/{owner}/{ref}[/versions/{version}]
+        var path = exchange.getRequestURI().getPath().substring("/hub/download/node_definitions/".length()).split("/");
+        Map<String, Object> body;
+        if (path.length == 2) {
+            body = Map.of("name", path[1], "ownerRef", path[0], "ref", path[1], "type", "DOCKER", "deprecated", false);
+        } else {
+            body = Map.of(
+                    "ownerRef", path[0],
+                    "ref", path[1],
+                    "version", path[3],
+                    "inputParameters", List.of(Map.of("ref", "name", "name", "name", "type", "STRING", "value", "", "required", false)),
+                    "outputParameters", List.of(),
+                    "spec", "{\"image\":\"alpine:" + path[3] + "\"}"
+            );
+        }
+        var bytes = this.objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    @Test
+    void testPrefetchInParallel() {
+        var types = IntStream.range(0, 8)
+                .mapToObj(i -> "jianmu/node_" + i + ":1.0.0")
+                .collect(Collectors.toSet());
+
+        var start = System.currentTimeMillis();
+        var nodeDefs = this.hubApplication.getByTypes(types);
+        var elapsed = System.currentTimeMillis() - start;
+
+        Assertions.assertEquals(8, nodeDefs.size());
+        Assertions.assertEquals(16, this.downloads.get());
+        Assertions.assertTrue(this.maxConcurrent.get() > 1);
+        // 顺序下载需要16个请求的时间
+        Assertions.assertTrue(elapsed < 16 * DELAY_MILLIS, "elapsed " + elapsed);
+        Assertions.assertEquals(8, this.versions.size());
+        Assertions.assertEquals(8, this.definitions.size());
+
+        // 已保存的节点定义不再下载
+        this.hubApplication.getByTypes(types);
+        Assertions.assertEquals(16, this.downloads.get());
+    }
+
+    @Test
+    void testSaveWithPrefetched() {
+        var types = IntStream.range(0, 4)
+                .mapToObj(i -> "jianmu/node_" + i + ":1.0.0")
+                .collect(Collectors.toSet());
+
+        // 预取只下载不保存，保存时使用预取结果不再下载
+        var prefetched = this.hubApplication.prefetch(types);
+        Assertions.assertEquals(8, this.downloads.get());
+        Assertions.assertTrue(this.versions.isEmpty());
+        var nodeDefs = this.hubApplication.getByTypes(types, prefetched);
+        Assertions.assertEquals(4, nodeDefs.size());
+        Assertions.assertEquals(8, this.downloads.get());
+        Assertions.assertEquals(4, this.versions.size());
+    }
+
+    @Test
+    void testFindByTypeFromCache() throws JsonProcessingException {
+        var type = "jianmu/git_clone:1.0.0";
+        this.hubApplication.getByType(type);
+        Mockito.clearInvocations(this.versionRepository);
+
+        var nodeDef = this.hubApplication.findByType(type);
+        Assertions.assertEquals("alpine:1.0.0", nodeDef.parseContainerSpec(this.objectMapper).getImage());
+        Assertions.assertSame(nodeDef, this.hubApplication.findByType(type));
+        Assertions.assertSame(nodeDef.parseContainerSpec(this.objectMapper), nodeDef.parseContainerSpec(this.objectMapper));
+        Assertions.assertSame(nodeDef, this.hubApplication.getByType(type));
+        Mockito.verify(this.versionRepository, Mockito.times(1))
+                .findByOwnerRefAndRefAndVersion(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+
+        this.nodeDefCache.invalidate("jianmu", "git_clone");
+        Assertions.assertNotSame(nodeDef, this.hubApplication.findByType(type));
+        Mockito.verify(this.versionRepository, Mockito.times(2))
+                .findByOwnerRefAndRefAndVersion(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+    }
+}
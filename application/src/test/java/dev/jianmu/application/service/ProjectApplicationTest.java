@@ -0,0 +1,192 @@
+package dev.jianmu.application.service;
+
+import dev.jianmu.application.query.NodeDefApi;
+import dev.jianmu.application.query.PrefetchedNodeDefs;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.jgit.JgitService;
+import dev.jianmu.infrastructure.mybatis.project.ProjectRepositoryImpl;
+import dev.jianmu.infrastructure.mybatis.workflow.WorkflowRepositoryImpl;
+import dev.jianmu.project.aggregate.GitRepo;
+import dev.jianmu.project.aggregate.Project;
+import dev.jianmu.project.repository.GitRepoRepository;
+import dev.jianmu.project.repository.ProjectGroupRepository;
+import dev.jianmu.project.repository.ProjectLastExecutionRepository;
+import dev.jianmu.project.repository.ProjectLinkGroupRepository;
+import dev.jianmu.project.repository.TrashProjectRepository;
+import dev.jianmu.secret.aggregate.CredentialManager;
+import dev.jianmu.trigger.repository.TriggerEventRepository;
+import dev.jianmu.trigger.repository.TriggerRepository;
+import dev.jianmu.workflow.aggregate.definition.Workflow;
+import dev.jianmu.workflow.el.ExpressionLanguage;
+import dev.jianmu.workflow.repository.ParameterRepository;
+import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @author Daihw
+ * @class ProjectApplicationTest
+ * @description Git项目同步变更检测测试，提交或DSL未变更时跳过解析与新版本生成
+ * @create 2026/10/19 1:30 上午
+ */
+@DisplayName("Git项目同步变更检测测试")
+public class ProjectApplicationTest {
+    private static final int PROJECT_SIZE = 10;
+    private static final String DSL = "name: sync\n" +
+            "pipeline:\n" +
+            "  shell_a:\n" +
+            "    image: alpine\n" +
+            "    script:\n" +
+            "      - echo a\n";
+
+    private final Map<String, Project> projects = new HashMap<>();
+    private final Map<String, GitRepo> gitRepos = new HashMap<>();
+    private final Map<String, String> remoteDsl = new HashMap<>();
+    private final Map<String, String> remoteBlobIds = new HashMap<>();
+    private ProjectRepositoryImpl projectRepository;
+    private GitRepoRepository gitRepoRepository;
+    private WorkflowRepositoryImpl workflowRepository;
+    private JgitService jgitService;
+    private NodeDefApi nodeDefApi;
+    private ProjectApplication projectApplication;
+
+    @BeforeEach
+    void setUp() {
+        this.projectRepository = Mockito.mock(ProjectRepositoryImpl.class);
+        Mockito.when(this.projectRepository.findById(Mockito.anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(this.projects.get(invocation.<String>getArgument(0))));
+        this.gitRepoRepository = Mockito.mock(GitRepoRepository.class);
+        Mockito.when(this.gitRepoRepository.findById(Mockito.anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(this.gitRepos.get(invocation.<String>getArgument(0))));
+        this.workflowRepository = Mockito.mock(WorkflowRepositoryImpl.class);
+        Mockito.when(this.workflowRepository.findByRefAndVersion(Mockito.anyString(), Mockito.anyString()))
+                .thenReturn(Optional.of(Mockito.mock(Workflow.class)));
+        this.jgitService = Mockito.mock(JgitService.class);
+        Mockito.when(this.jgitService.getCommitId(Mockito.anyString())).thenReturn("commit-2");
+        Mockito.when(this.jgitService.getDslBlobId(Mockito.anyString(), Mockito.anyString()))
+                .thenAnswer(invocation -> this.remoteBlobIds.get(invocation.<String>getArgument(0)));
+        Mockito.when(this.jgitService.readDsl(Mockito.anyString(), Mockito.anyString()))
+                .thenAnswer(invocation -> this.remoteDsl.get(invocation.<String>getArgument(0)));
+
+        this.nodeDefApi = Mockito.mock(NodeDefApi.class);
+        Mockito.when(this.nodeDefApi.prefetch(Mockito.any())).thenReturn(new PrefetchedNodeDefs());
+
+        this.projectApplication = new ProjectApplication(
+                this.projectRepository,
+                this.gitRepoRepository,
+                this.workflowRepository,
+                Mockito.mock(WorkflowInstanceRepository.class),
+                this.nodeDefApi,
+                Mockito.mock(ApplicationEventPublisher.class),
+                this.jgitService,
+                Mockito.mock(ProjectLinkGroupRepository.class),
+                Mockito.mock(ProjectGroupRepository.class),
+                new GlobalProperties(),
+                Mockito.mock(TriggerEventRepository.class),
+                Mockito.mock(ProjectLastExecutionRepository.class),
+                Mockito.mock(TriggerRepository.class),
+                Mockito.mock(CredentialManager.class),
+                Mockito.mock(ExpressionLanguage.class),
+                Mockito.mock(ParameterRepository.class),
+                Mockito.mock(TrashProjectRepository.class)
+        );
+    }
+
+    private Project addProject(String remoteDsl, String lastCommitId, String lastDslBlobId, String remoteBlobId) {
+        var gitRepo = new GitRepo();
+        gitRepo.setDslPath("jianmu.yml");
+        gitRepo.syncTo(lastCommitId, lastDslBlobId);
+        var project = Project.Builder.aReference()
+                .workflowName("sync")
+                .workflowRef(gitRepo.getId())
+                .workflowVersion("v1")
+                .dslText(DSL)
+                .gitRepoId(gitRepo.getId())
+                .dslSource(Project.DslSource.GIT)
+                .dslType(Project.DslType.PIPELINE)
+                .triggerType(Project.TriggerType.MANUAL)
+                .enabled(true)
+                .mutable(false)
+                .concurrent(1)
+                .build();
+        this.projects.put(project.getId(), project);
+        this.gitRepos.put(gitRepo.getId(), gitRepo);
+        this.remoteDsl.put(gitRepo.getId(), remoteDsl);
+        this.remoteBlobIds.put(gitRepo.getId(), remoteBlobId);
+        return project;
+    }
+
+    // 与ProjectEventHandler一致，事务外预取节点定义后再同步
+    private void sync(String projectId) {
+        this.projectApplication.syncProject(projectId, this.projectApplication.prefetchSyncNodeDefs(projectId));
+    }
+
+    @Test
+    void testSkipUnchangedDsl() {
+        var projectIds = new ArrayList<String>();
+        for (int i = 0; i < PROJECT_SIZE; i++) {
+            projectIds.add(this.addProject(DSL, "commit-1", "blob-" + i, "blob-" + i).getId());
+        }
+
+        projectIds.forEach(this::sync);
+
+        Mockito.verify(this.jgitService, Mockito.never()).readDsl(Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(this.nodeDefApi, Mockito.never()).prefetch(Mockito.any());
+        Mockito.verify(this.workflowRepository, Mockito.never()).add(Mockito.any());
+        Mockito.verify(this.projectRepository, Mockito.never()).updateByWorkflowRef(Mockito.any());
+        Mockito.verify(this.gitRepoRepository, Mockito.times(PROJECT_SIZE)).updateSyncState(Mockito.any());
+        Mockito.verify(this.jgitService, Mockito.times(PROJECT_SIZE)).cleanUp(Mockito.anyString());
+        this.gitRepos.values().forEach(gitRepo -> Assertions.assertEquals("commit-2", gitRepo.getLastCommitId()));
+    }
+
+    @Test
+    void testSkipUnchangedCommit() {
+        var project = this.addProject(DSL, "commit-2", "blob-1", "blob-1");
+        this.sync(project.getId());
+
+        Mockito.verify(this.jgitService, Mockito.never()).getDslBlobId(Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(this.gitRepoRepository, Mockito.never()).updateSyncState(Mockito.any());
+        Mockito.verify(this.jgitService).cleanUp(project.getGitRepoId());
+    }
+
+    @Test
+    void testSkipFormattingOnlyChange() {
+        var dsl = "# 注释\n" + DSL.replace("    script:\n      - echo a\n", "    script: [echo a]\n");
+        var project = this.addProject(dsl, null, null, "blob-2");
+        this.sync(project.getId());
+
+        // 保存新的DSL文本，不生成新的流程版本
+        Mockito.verify(this.workflowRepository, Mockito.never()).add(Mockito.any());
+        Mockito.verify(this.projectRepository).updateByWorkflowRef(project);
+        Mockito.verify(this.gitRepoRepository).updateSyncState(Mockito.any());
+        Assertions.assertEquals(dsl, project.getDslText());
+        Assertions.assertEquals("v1", project.getWorkflowVersion());
+        Assertions.assertEquals("blob-2", this.gitRepos.get(project.getGitRepoId()).getLastDslBlobId());
+    }
+
+    @Test
+    void testSyncChangedDsl() {
+        var project = this.addProject(DSL.replace("echo a", "echo b"), "commit-1", "blob-1", "blob-2");
+        this.sync(project.getId());
+
+        // 同步事务内只使用预取结果，不再预取
+        Mockito.verify(this.nodeDefApi, Mockito.times(1)).prefetch(Mockito.any());
+        Mockito.verify(this.workflowRepository).add(Mockito.any());
+        Mockito.verify(this.projectRepository).updateByWorkflowRef(project);
+        Assertions.assertNotEquals("v1", project.getWorkflowVersion());
+        Assertions.assertEquals(List.of("commit-2", "blob-2"), List.of(
+                this.gitRepos.get(project.getGitRepoId()).getLastCommitId(),
+                this.gitRepos.get(project.getGitRepoId()).getLastDslBlobId()
+        ));
+    }
+}
@@ -0,0 +1,213 @@
+package dev.jianmu.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.jianmu.event.Publisher;
+import dev.jianmu.event.impl.CronTriggerUpdatedEvent;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.mybatis.archive.ArchiveRepositoryImpl;
+import dev.jianmu.infrastructure.mybatis.trigger.WebRequestRepositoryImpl;
+import dev.jianmu.infrastructure.quartz.NextFireTimeIndex;
+import dev.jianmu.infrastructure.storage.StorageService;
+import dev.jianmu.project.aggregate.Project;
+import dev.jianmu.project.repository.ProjectLastExecutionRepository;
+import dev.jianmu.project.repository.ProjectRepository;
+import dev.jianmu.secret.aggregate.CredentialManager;
+import dev.jianmu.trigger.aggregate.Trigger;
+import dev.jianmu.trigger.repository.TriggerEventRepository;
+import dev.jianmu.trigger.repository.TriggerRepository;
+import dev.jianmu.workflow.el.ExpressionLanguage;
+import dev.jianmu.workflow.repository.ParameterRepository;
+import dev.jianmu.workflow.repository.WorkflowRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.quartz.CronTrigger;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author Daihw
+ * @class TriggerApplicationTest
+ * @description 定时触发器批量注册与对账测试，模拟1万个定时触发器在同一调度器中重复加载
+ * @create 2026/10/19 3:30 上午
+ */
+@DisplayName("定时触发器批量注册与对账测试")
+public class TriggerApplicationTest {
+    private static final int SCHEDULE_SIZE = 10000;
+    // 远期表达式，测试期间不会触发
+    private static final String SCHEDULE = "0 0 3 1 1 ? 2099";
+    private static final String CHANGED_SCHEDULE = "0 0 4 1 1 ? 2099";
+
+    private final List<Map<String, LocalDateTime>> nextTimeUpdates = new ArrayList<>();
+    private List<Trigger> triggers;
+    private Scheduler quartzScheduler;
+    private TriggerRepository triggerRepository;
+    private ProjectRepository projectRepository;
+    private ProjectLastExecutionRepository projectLastExecutionRepository;
+    private Publisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        this.triggerRepository = Mockito.mock(TriggerRepository.class);
+        this.projectRepository = Mockito.mock(ProjectRepository.class);
+        this.eventPublisher = Mockito.mock(Publisher.class);
+        this.projectLastExecutionRepository = Mockito.mock(ProjectLastExecutionRepository.class);
+        Mockito.doAnswer(invocation -> this.nextTimeUpdates.add(Map.copyOf(invocation.getArgument(0))))
+                .when(this.projectLastExecutionRepository).updateNextTimeByProjectIds(Mockito.any());
+        Mockito.when(this.triggerRepository.findCronTriggerAll()).thenAnswer(invocation -> List.copyOf(this.triggers));
+        this.triggers = IntStream.range(0, SCHEDULE_SIZE)
+                .mapToObj(i -> Trigger.Builder.aTrigger()
+                        .projectId("project-" + i)
+                        .type(Trigger.Type.CRON)
+                        .schedule(SCHEDULE)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() throws SchedulerException {
+        this.quartzScheduler.shutdown();
+    }
+
+    private Scheduler createScheduler() throws SchedulerException {
+        var properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "test-" + UUID.randomUUID());
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, "org.quartz.simpl.RAMJobStore");
+        return new StdSchedulerFactory(properties).getScheduler();
+    }
+
+    private TriggerApplication createApplication(Scheduler scheduler) throws SchedulerException {
+        return new TriggerApplication(
+                this.triggerRepository,
+                Mockito.mock(TriggerEventRepository.class),
+                Mockito.mock(ParameterRepository.class),
+                this.projectRepository,
+                this.projectLastExecutionRepository,
+                Mockito.mock(WebRequestRepositoryImpl.class),
+                Mockito.mock(WorkflowRepository.class),
+                Mockito.mock(CredentialManager.class),
+                scheduler,
+                Mockito.mock(ApplicationEventPublisher.class),
+                new ObjectMapper(),
+                Mockito.mock(ExpressionLanguage.class),
+                Mockito.mock(StorageService.class),
+                new NextFireTimeIndex(scheduler),
+                this.eventPublisher,
+                Mockito.mock(ArchiveRepositoryImpl.class),
+                new GlobalProperties()
+        );
+    }
+
+    private int countTriggers() throws SchedulerException {
+        return this.quartzScheduler.getTriggerKeys(GroupMatcher.anyTriggerGroup()).size();
+    }
+
+    @Test
+    void testReconcileWithinScheduler() throws SchedulerException {
+        this.quartzScheduler = this.createScheduler();
+        this.createApplication(this.quartzScheduler).startTriggers();
+        Assertions.assertEquals(SCHEDULE_SIZE, this.countTriggers());
+        Assertions.assertEquals(SCHEDULE_SIZE, this.nextTimeUpdates.get(0).size());
+
+        // 同一调度器中重复加载，未变更的触发器不重新注册
+        this.createApplication(this.quartzScheduler).startTriggers();
+        Assertions.assertEquals(SCHEDULE_SIZE, this.countTriggers());
+        Assertions.assertTrue(this.nextTimeUpdates.get(1).isEmpty());
+
+        // 变更100个表达式、删除50个、新增25个
+        this.triggers.subList(0, 100).forEach(trigger -> trigger.setSchedule(CHANGED_SCHEDULE));
+        var removed = new ArrayList<>(this.triggers.subList(SCHEDULE_SIZE - 50, SCHEDULE_SIZE));
+        this.triggers = new ArrayList<>(this.triggers.subList(0, SCHEDULE_SIZE - 50));
+        IntStream.range(0, 25).forEach(i -> this.triggers.add(Trigger.Builder.aTrigger()
+                .projectId("added-" + i)
+                .type(Trigger.Type.CRON)
+                .schedule(SCHEDULE)
+                .build()));
+        this.createApplication(this.quartzScheduler).startTriggers();
+
+        Assertions.assertEquals(SCHEDULE_SIZE - 50 + 25, this.countTriggers());
+        Assertions.assertEquals(125, this.nextTimeUpdates.get(2).size());
+        var changed = (CronTrigger) this.quartzScheduler.getTrigger(TriggerKey.triggerKey(this.triggers.get(0).getId()));
+        Assertions.assertEquals(CHANGED_SCHEDULE, changed.getCronExpression());
+        for (var trigger : removed) {
+            Assertions.assertFalse(this.quartzScheduler.checkExists(TriggerKey.triggerKey(trigger.getId())));
+        }
+    }
+
+    @Test
+    void testDashboardLookupWithoutScheduler() throws SchedulerException {
+        this.quartzScheduler = this.createScheduler();
+        var scheduler = Mockito.mock(Scheduler.class, AdditionalAnswers.delegatesTo(this.quartzScheduler));
+        this.triggers = new ArrayList<>(this.triggers.subList(0, 10));
+        var application = this.createApplication(scheduler);
+        application.startTriggers();
+        var projectIds = this.triggers.stream().map(Trigger::getProjectId).collect(Collectors.toList());
+        Mockito.clearInvocations(scheduler);
+
+        // 首页批量查询与单个项目查询都只读取索引
+        var nextFireTimes = application.getNextFireTimes(projectIds);
+        Assertions.assertEquals(10, nextFireTimes.size());
+        Assertions.assertEquals(nextFireTimes.get(projectIds.get(0)), application.getNextFireTime(projectIds.get(0)));
+        Mockito.verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void testSaveOrUpdateKeepsUnchangedTrigger() throws SchedulerException {
+        this.quartzScheduler = this.createScheduler();
+        this.triggers = new ArrayList<>(this.triggers.subList(0, 1));
+        var trigger = this.triggers.get(0);
+        Mockito.when(this.triggerRepository.findByProjectId(trigger.getProjectId())).thenReturn(java.util.Optional.of(trigger));
+        var application = this.createApplication(this.quartzScheduler);
+        application.startTriggers();
+        var triggerKey = TriggerKey.triggerKey(trigger.getId());
+        var scheduled = this.quartzScheduler.getTrigger(triggerKey);
+
+        application.saveOrUpdate(trigger.getProjectId(), SCHEDULE);
+        Assertions.assertEquals(scheduled.getStartTime(), this.quartzScheduler.getTrigger(triggerKey).getStartTime());
+
+        application.saveOrUpdate(trigger.getProjectId(), CHANGED_SCHEDULE);
+        Assertions.assertEquals(CHANGED_SCHEDULE, ((CronTrigger) this.quartzScheduler.getTrigger(triggerKey)).getCronExpression());
+        Assertions.assertEquals(CronTrigger.MISFIRE_INSTRUCTION_FIRE_ONCE_NOW, this.quartzScheduler.getTrigger(triggerKey).getMisfireInstruction());
+    }
+
+    @Test
+    void testTriggerBroadcastsOnlyChangedNextTime() throws SchedulerException {
+        this.quartzScheduler = this.createScheduler();
+        this.triggers = new ArrayList<>(this.triggers.subList(0, 1));
+        var trigger = this.triggers.get(0);
+        var project = Project.Builder.aReference().workflowRef("wf").enabled(false).mutable(true).build();
+        Mockito.when(this.triggerRepository.findByTriggerId(trigger.getId())).thenReturn(Optional.of(trigger));
+        Mockito.when(this.projectRepository.findById(trigger.getProjectId())).thenReturn(Optional.of(project));
+        var application = this.createApplication(this.quartzScheduler);
+        application.startTriggers();
+
+        Mockito.when(this.projectLastExecutionRepository.updateNextTime(Mockito.eq("wf"), Mockito.any())).thenReturn(true);
+        application.trigger(trigger.getId());
+        Mockito.verify(this.eventPublisher).publish(Mockito.any(CronTriggerUpdatedEvent.class));
+
+        // 下次触发时间未变化时不通知其他节点
+        Mockito.clearInvocations(this.eventPublisher);
+        Mockito.when(this.projectLastExecutionRepository.updateNextTime(Mockito.eq("wf"), Mockito.any())).thenReturn(false);
+        application.trigger(trigger.getId());
+        Mockito.verifyNoInteractions(this.eventPublisher);
+    }
+}
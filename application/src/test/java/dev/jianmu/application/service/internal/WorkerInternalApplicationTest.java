@@ -0,0 +1,307 @@
+package dev.jianmu.application.service.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.jianmu.application.command.TaskActivatingCmd;
+import dev.jianmu.application.query.NodeDef;
+import dev.jianmu.application.query.NodeDefApi;
+import dev.jianmu.event.Publisher;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.mapper.task.TaskDispatchPayloadMapper;
+import dev.jianmu.infrastructure.mybatis.task.TaskDispatchPayloadRepositoryImpl;
+import dev.jianmu.infrastructure.storage.MonitoringFileService;
+import dev.jianmu.infrastructure.worker.ContainerSpec;
+import dev.jianmu.infrastructure.worker.VolumeMount;
+import dev.jianmu.infrastructure.worker.WorkerSecret;
+import dev.jianmu.node.definition.aggregate.NodeParameter;
+import dev.jianmu.secret.aggregate.CredentialManager;
+import dev.jianmu.secret.aggregate.KVPair;
+import dev.jianmu.task.aggregate.InstanceParameter;
+import dev.jianmu.task.aggregate.TaskInstance;
+import dev.jianmu.task.repository.InstanceParameterRepository;
+import dev.jianmu.task.repository.TaskInstanceRepository;
+import dev.jianmu.task.repository.VolumeRepository;
+import dev.jianmu.task.service.InstanceDomainService;
+import dev.jianmu.trigger.event.TriggerEvent;
+import dev.jianmu.trigger.repository.TriggerEventRepository;
+import dev.jianmu.worker.aggregate.Worker;
+import dev.jianmu.worker.repository.WorkerRepository;
+import dev.jianmu.workflow.aggregate.definition.AsyncTask;
+import dev.jianmu.workflow.aggregate.definition.Workflow;
+import dev.jianmu.workflow.aggregate.parameter.Parameter;
+import dev.jianmu.workflow.aggregate.parameter.SecretParameter;
+import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
+import dev.jianmu.workflow.el.ExpressionLanguage;
+import dev.jianmu.workflow.repository.AsyncTaskInstanceRepository;
+import dev.jianmu.workflow.repository.ParameterRepository;
+import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
+import dev.jianmu.workflow.repository.WorkflowRepository;
+import dev.jianmu.workflow.service.ParameterDomainService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author Daihw
+ * @class WorkerInternalApplicationTest
+ * @description 任务下发载荷测试，领取任务时只查询执行器、流程实例与密钥
+ * @create 2026/10/19 3:50 上午
+ */
+@DisplayName("任务下发载荷测试")
+public class WorkerInternalApplicationTest {
+    private final Map<String, String> payloads = new HashMap<>();
+    private final NodeDefApi nodeDefApi = Mockito.mock(NodeDefApi.class);
+    private final InstanceParameterRepository instanceParameterRepository = Mockito.mock(InstanceParameterRepository.class);
+    private final ParameterRepository parameterRepository = Mockito.mock(ParameterRepository.class);
+    private final TriggerEventRepository triggerEventRepository = Mockito.mock(TriggerEventRepository.class);
+    private final WorkflowInstanceRepository workflowInstanceRepository = Mockito.mock(WorkflowInstanceRepository.class);
+    private final WorkflowRepository workflowRepository = Mockito.mock(WorkflowRepository.class);
+    private final WorkerRepository workerRepository = Mockito.mock(WorkerRepository.class);
+    private final TaskInstanceRepository taskInstanceRepository = Mockito.mock(TaskInstanceRepository.class);
+    private final CredentialManager credentialManager = Mockito.mock(CredentialManager.class);
+
+    private WorkerInternalApplication application;
+    private TaskDispatchPayloadRepositoryImpl payloadRepository;
+    private NodeDef nodeDef;
+    private AsyncTask node;
+    private TaskInstance taskInstance;
+    private List<InstanceParameter> instanceParameters;
+    private List<Parameter> parameters;
+    private TriggerEvent triggerEvent;
+    private WorkflowInstance workflowInstance;
+    private Workflow workflow;
+
+    @BeforeEach
+    void setUp() {
+        this.payloadRepository = new TaskDispatchPayloadRepositoryImpl(new TaskDispatchPayloadMapper() {
+            @Override
+            public void add(String taskInstanceId, String triggerId, String payload) {
+                payloads.put(taskInstanceId, payload);
+            }
+
+            @Override
+            public Optional<String> findByTaskInstanceId(String taskInstanceId) {
+                return Optional.ofNullable(payloads.get(taskInstanceId));
+            }
+        }, new ObjectMapper());
+        this.application = new WorkerInternalApplication(
+                this.parameterRepository,
+                new ParameterDomainService(),
+                this.credentialManager,
+                this.nodeDefApi,
+                this.workerRepository,
+                Mockito.mock(ApplicationEventPublisher.class),
+                this.instanceParameterRepository,
+                this.triggerEventRepository,
+                this.workflowInstanceRepository,
+                this.taskInstanceRepository,
+                new ObjectMapper(),
+                Mockito.mock(MonitoringFileService.class),
+                new GlobalProperties(),
+                this.workflowRepository,
+                Mockito.mock(AsyncTaskInstanceRepository.class),
+                Mockito.mock(ExpressionLanguage.class),
+                Mockito.mock(Publisher.class),
+                Mockito.mock(VolumeRepository.class),
+                this.payloadRepository
+        );
+
+        this.nodeDef = NodeDef.builder()
+                .type("shell:test")
+                .workerType("DOCKER")
+                .image("alpine:3.18")
+                .script(List.of("echo $NAME"))
+                .inputParameters(List.of(this.nodeParameter("name"), this.nodeParameter("token")))
+                .build();
+        this.node = AsyncTask.Builder.anAsyncTask()
+                .ref("build")
+                .type("shell:test")
+                .build();
+        this.taskInstance = TaskInstance.Builder.anInstance()
+                .serialNo(1)
+                .defKey("shell:test")
+                .asyncTaskRef("build")
+                .workflowRef("wf")
+                .workflowVersion("v1")
+                .businessId("business")
+                .triggerId("trigger")
+                .build();
+        this.taskInstance.setWorkerId("worker");
+        var name = Parameter.Type.STRING.newParameter("value");
+        var token = new SecretParameter("ns.token");
+        this.parameters = List.of(name, token);
+        this.instanceParameters = List.of(this.instanceParameter("name", name), this.instanceParameter("token", token));
+        this.triggerEvent = TriggerEvent.Builder.aTriggerEvent()
+                .projectId("project")
+                .triggerId("trigger")
+                .triggerType("MANUAL")
+                .build();
+        this.workflowInstance = WorkflowInstance.Builder.aWorkflowInstance()
+                .triggerId("trigger")
+                .triggerType("MANUAL")
+                .name("wf")
+                .workflowRef("wf")
+                .workflowVersion("v1")
+                .build();
+        this.workflow = Mockito.mock(Workflow.class);
+        Mockito.when(this.workflow.findNode("build")).thenReturn(this.node);
+
+        Mockito.when(this.nodeDefApi.findByType("shell:test")).thenReturn(this.nodeDef);
+        Mockito.when(this.instanceParameterRepository.findByInstanceIdAndType(this.taskInstance.getId(), InstanceParameter.Type.INPUT))
+                .thenReturn(this.instanceParameters);
+        Mockito.when(this.parameterRepository.findByIds(Mockito.any())).thenReturn(this.parameters);
+        Mockito.when(this.triggerEventRepository.findById("trigger")).thenReturn(Optional.of(this.triggerEvent));
+        Mockito.when(this.workflowInstanceRepository.findByTriggerId("trigger")).thenReturn(Optional.of(this.workflowInstance));
+        Mockito.when(this.workflowRepository.findByRefAndVersion("wf", "v1")).thenReturn(Optional.of(this.workflow));
+        Mockito.when(this.workerRepository.findById("worker")).thenReturn(Optional.of(Worker.Builder.aWorker()
+                .id("worker")
+                .type(Worker.Type.DOCKER)
+                .build()));
+        Mockito.when(this.credentialManager.findByNamespaceNameAndKeys(Mockito.eq("ns"), Mockito.any()))
+                .thenReturn(List.of(KVPair.Builder.aKVPair().namespaceName("ns").key("token").value("secret").build()));
+    }
+
+    private NodeParameter nodeParameter(String ref) {
+        return NodeParameter.Builder.aNodeParameter()
+                .name(ref)
+                .ref(ref)
+                .type("STRING")
+                .required(false)
+                .build();
+    }
+
+    private InstanceParameter instanceParameter(String ref, Parameter<?> parameter) {
+        return InstanceParameter.Builder.anInstanceParameter()
+                .instanceId(this.taskInstance.getId())
+                .triggerId("trigger")
+                .businessId("business")
+                .ref(ref)
+                .parameterId(parameter.getId())
+                .type(InstanceParameter.Type.INPUT)
+                .build();
+    }
+
+    private int countQueries() {
+        return Stream.of(this.nodeDefApi, this.instanceParameterRepository, this.parameterRepository, this.triggerEventRepository,
+                        this.workflowInstanceRepository, this.workflowRepository, this.workerRepository, this.credentialManager)
+                .mapToInt(mock -> Mockito.mockingDetails(mock).getInvocations().size())
+                .sum();
+    }
+
+    @Test
+    void testAcceptWithPrecomputedPayload() {
+        // 未预先组装载荷时现场组装
+        var assembled = this.application.getContainerSpec(this.taskInstance);
+        var assembledQueries = this.countQueries();
+
+        var payload = this.application.createDispatchPayload(this.taskInstance, this.nodeDef, this.node,
+                this.instanceParameters, this.parameters, this.triggerEvent, this.workflowInstance);
+        this.payloadRepository.add(this.taskInstance.getId(), this.taskInstance.getTriggerId(), payload);
+        Mockito.clearInvocations(this.nodeDefApi, this.instanceParameterRepository, this.parameterRepository, this.triggerEventRepository,
+                this.workflowInstanceRepository, this.workflowRepository, this.workerRepository, this.credentialManager);
+        var precomputed = this.application.getContainerSpec(this.taskInstance);
+
+        // 领取任务时只查询执行器、流程实例状态与密钥
+        Mockito.verifyNoInteractions(this.nodeDefApi, this.instanceParameterRepository, this.parameterRepository,
+                this.triggerEventRepository, this.workflowRepository);
+        Assertions.assertEquals(3, this.countQueries());
+        Assertions.assertTrue(this.countQueries() < assembledQueries);
+        this.assertSameSpec(assembled, precomputed);
+
+        Assertions.assertEquals("value", precomputed.getEnvironment().get("NAME"));
+        Assertions.assertEquals("worker", precomputed.getEnvironment().get("JM_WORKER_ID"));
+        Assertions.assertEquals("DOCKER", precomputed.getEnvironment().get("JM_WORKER_TYPE"));
+        Assertions.assertEquals("project", precomputed.getEnvironment().get("JM_PROJECT_ID"));
+        Assertions.assertEquals(this.workflowInstance.getStatus().name(), precomputed.getEnvironment().get("JM_INSTANCE_STATUS"));
+        Assertions.assertTrue(precomputed.getEnvironment().get("JIANMU_SCRIPT").contains("echo $NAME"));
+        Assertions.assertFalse(precomputed.getEnvironment().containsKey("TOKEN"));
+        Assertions.assertFalse(this.payloads.get(this.taskInstance.getId()).contains("secret\""));
+        var secret = precomputed.getSecrets().iterator().next();
+        Assertions.assertEquals("TOKEN", secret.getEnv());
+        Assertions.assertEquals("c2VjcmV0", secret.getData());
+    }
+
+    @Test
+    void testCreateStoresPayload() {
+        var application = new TaskInstanceInternalApplication(
+                this.taskInstanceRepository,
+                this.workflowRepository,
+                new InstanceDomainService(),
+                this.parameterRepository,
+                new ParameterDomainService(),
+                this.triggerEventRepository,
+                this.instanceParameterRepository,
+                this.nodeDefApi,
+                Mockito.mock(ExpressionLanguage.class),
+                this.workflowInstanceRepository,
+                Mockito.mock(MonitoringFileService.class),
+                Mockito.mock(AsyncTaskInstanceRepository.class),
+                Mockito.mock(VolumeRepository.class),
+                Mockito.mock(Publisher.class),
+                this.application,
+                this.payloadRepository
+        );
+        Mockito.when(this.nodeDefApi.getByType("shell:test")).thenReturn(this.nodeDef);
+        Mockito.when(this.workflow.getRef()).thenReturn("wf");
+        Mockito.when(this.workflow.getVersion()).thenReturn("v1");
+        Mockito.when(this.workflow.getType()).thenReturn(Workflow.Type.WORKFLOW);
+        Mockito.when(this.workflow.getGlobalParameters()).thenReturn(Set.of());
+        Mockito.when(this.workflow.calculateTaskParams("build"))
+                .thenReturn(Map.of("name", this.parameters.get(0), "token", this.parameters.get(1)));
+        Mockito.when(this.parameterRepository.findByIds(Mockito.any())).thenReturn(List.of());
+
+        application.create(TaskActivatingCmd.builder()
+                .workflowRef("wf")
+                .workflowVersion("v1")
+                .triggerId("trigger")
+                .asyncTaskInstanceId("business")
+                .nodeRef("build")
+                .nodeType("shell:test")
+                .build());
+
+        var taskInstanceCaptor = ArgumentCaptor.forClass(TaskInstance.class);
+        Mockito.verify(this.taskInstanceRepository).add(taskInstanceCaptor.capture());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Set<InstanceParameter>> instanceParameterCaptor = ArgumentCaptor.forClass(Set.class);
+        Mockito.verify(this.instanceParameterRepository).addAll(instanceParameterCaptor.capture());
+        var taskInstance = taskInstanceCaptor.getValue();
+        taskInstance.setWorkerId("worker");
+        Assertions.assertTrue(this.payloads.containsKey(taskInstance.getId()));
+        var stored = this.application.getContainerSpec(taskInstance);
+
+        // 删除已保存的载荷，按任务实例与参数现场组装
+        this.payloads.clear();
+        Mockito.when(this.instanceParameterRepository.findByInstanceIdAndType(taskInstance.getId(), InstanceParameter.Type.INPUT))
+                .thenReturn(List.copyOf(instanceParameterCaptor.getValue()));
+        Mockito.when(this.parameterRepository.findByIds(Mockito.any())).thenReturn(this.parameters);
+        var assembled = this.application.getContainerSpec(taskInstance);
+
+        this.assertSameSpec(assembled, stored);
+        Assertions.assertEquals("value", stored.getEnvironment().get("NAME"));
+        Assertions.assertEquals("TOKEN", stored.getSecrets().iterator().next().getEnv());
+    }
+
+    private void assertSameSpec(ContainerSpec expected, ContainerSpec actual) {
+        Assertions.assertEquals(expected.getImage(), actual.getImage());
+        Assertions.assertArrayEquals(expected.getEntrypoint(), actual.getEntrypoint());
+        Assertions.assertArrayEquals(expected.getArgs(), actual.getArgs());
+        Assertions.assertEquals(expected.getEnvironment(), actual.getEnvironment());
+        Assertions.assertEquals(
+                expected.getVolume_mounts().stream().map(VolumeMount::getTarget).collect(Collectors.toList()),
+                actual.getVolume_mounts().stream().map(VolumeMount::getTarget).collect(Collectors.toList()));
+        Assertions.assertEquals(
+                expected.getSecrets().stream().map(WorkerSecret::getData).collect(Collectors.toSet()),
+                actual.getSecrets().stream().map(WorkerSecret::getData).collect(Collectors.toSet()));
+    }
+}
@@ -0,0 +1,20 @@
+package dev.jianmu.event.impl;
+
+import lombok.*;
+
+/**
+ * @class CronTriggerUpdatedEvent
+ * @description 定时触发器变更事件，其他节点收到后失效本地的下次触发时间索引
+ * @author Daihw
+ * @create 2026/10/18 5:10 下午
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CronTriggerUpdatedEvent extends BaseEvent {
+    private String projectId;
+    // 发布节点的索引实例ID
+    private String source;
+}
@@ -0,0 +1,21 @@
+package dev.jianmu.event.impl;
+
+import lombok.*;
+
+/**
+ * @class NodeDefinitionUpdatedEvent
+ * @description 节点定义变更事件，其他节点收到后失效本地该节点定义的缓存
+ * @author Daihw
+ * @create 2026/10/18 11:40 下午
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class NodeDefinitionUpdatedEvent extends BaseEvent {
+    private String ownerRef;
+    private String ref;
+    // 发布节点的缓存实例ID
+    private String source;
+}
@@ -0,0 +1,25 @@
+package dev.jianmu.event.impl;
+
+import lombok.*;
+
+/**
+ * @class SearchIndexUpdatedEvent
+ * @description 搜索索引变更事件，其他节点收到后从数据库重新加载该文档
+ * @author Daihw
+ * @create 2026/10/18 7:00 下午
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SearchIndexUpdatedEvent extends BaseEvent {
+    public static final String PROJECT = "PROJECT";
+    public static final String WORKFLOW_INSTANCE = "WORKFLOW_INSTANCE";
+
+    // 索引类型，PROJECT或WORKFLOW_INSTANCE
+    private String index;
+    private String documentId;
+    // 发布节点的索引实例ID
+    private String source;
+}
@@ -0,0 +1,20 @@
+package dev.jianmu.event.impl;
+
+import lombok.*;
+
+/**
+ * @class SecretUpdatedEvent
+ * @description 密钥变更事件，其他节点收到后失效本地该命名空间的密钥缓存
+ * @author Daihw
+ * @create 2026/10/18 11:00 下午
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SecretUpdatedEvent extends BaseEvent {
+    private String namespaceName;
+    // 发布节点的缓存实例ID
+    private String source;
+}
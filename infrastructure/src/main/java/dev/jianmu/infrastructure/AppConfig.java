@@ -1,12 +1,15 @@
 package dev.jianmu.infrastructure;
 
 import dev.jianmu.task.service.InstanceDomainService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import dev.jianmu.workflow.service.ParameterDomainService;
 import dev.jianmu.workflow.service.WorkflowInstanceDomainService;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.retry.RetryCallback;
@@ -14,6 +17,7 @@ import org.springframework.retry.RetryContext;
 import org.springframework.retry.RetryListener;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.security.web.firewall.HttpFirewall;
 import org.springframework.security.web.firewall.StrictHttpFirewall;
 import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
@@ -49,6 +53,12 @@ public class AppConfig implements AsyncConfigurer, WebMvcConfigurer {
         return new ParameterDomainService();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
     @Bean
     public HttpFirewall allowUrlEncodedSlashHttpFirewall() {
         StrictHttpFirewall firewall = new StrictHttpFirewall();
@@ -96,6 +106,74 @@ public class AppConfig implements AsyncConfigurer, WebMvcConfigurer {
         return taskExecutor;
     }
 
+    @Bean
+    public ThreadPoolTaskScheduler archiveTaskScheduler() {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(1);
+        taskScheduler.setThreadNamePrefix("jianmu-archive-");
+        taskScheduler.setDaemon(true);
+        return taskScheduler;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler cronWheelTaskScheduler() {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        // 时间轮只由单个刻度线程推进，到期的触发交给cronFireExecutor发布
+        taskScheduler.setPoolSize(1);
+        taskScheduler.setThreadNamePrefix("jianmu-cron-wheel-");
+        taskScheduler.setDaemon(true);
+        return taskScheduler;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor cronFireExecutor() {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        // 时间轮到期的触发在此并行交给引擎，队列满时在刻度线程中直接发布
+        taskExecutor.setCorePoolSize(10);
+        taskExecutor.setMaxPoolSize(10);
+        taskExecutor.setQueueCapacity(10000);
+        taskExecutor.setThreadNamePrefix("jianmu-cron-fire-");
+        taskExecutor.setDaemon(true);
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return taskExecutor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor fileReaperExecutor() {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        // 单线程顺序删除执行记录文件，队列满时在调用线程中直接删除
+        taskExecutor.setCorePoolSize(1);
+        taskExecutor.setMaxPoolSize(1);
+        taskExecutor.setQueueCapacity(100000);
+        taskExecutor.setThreadNamePrefix("jianmu-file-reaper-");
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return taskExecutor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor hubPrefetchExecutor(GlobalProperties globalProperties) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        // 并行下载节点定义，线程数有界，避免大项目导入时压垮Hub
+        var threads = globalProperties.getHub().getPrefetchThreads();
+        taskExecutor.setCorePoolSize(threads);
+        taskExecutor.setMaxPoolSize(threads);
+        taskExecutor.setThreadNamePrefix("jianmu-hub-prefetch-");
+        taskExecutor.setDaemon(true);
+        return taskExecutor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor startupTaskExecutor() {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        // 启动阶段之间通过依赖编排，线程只执行已就绪的阶段，全部阶段结束后关闭
+        taskExecutor.setCorePoolSize(4);
+        taskExecutor.setMaxPoolSize(4);
+        taskExecutor.setThreadNamePrefix("jianmu-startup-");
+        taskExecutor.setDaemon(true);
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        return taskExecutor;
+    }
+
     public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
         configurer.setTaskExecutor(mvcTaskExecutor());
         configurer.setDefaultTimeout(60000L);
@@ -23,6 +23,16 @@ public class GlobalProperties {
     private String authMode = "readonly";
     private Worker worker = new Worker();
     private TriggerQueue triggerQueue = new TriggerQueue();
+    private Event event = new Event();
+    private EngineTrace engineTrace = new EngineTrace();
+    private Search search = new Search();
+    private Archive archive = new Archive();
+    private Cleanup cleanup = new Cleanup();
+    private Batch batch = new Batch();
+    private Hub hub = new Hub();
+    private GitMirror gitMirror = new GitMirror();
+    private Cron cron = new Cron();
+    private NodeEncoding nodeEncoding = new NodeEncoding();
 
     @Data
     @Component
@@ -90,4 +100,166 @@ public class GlobalProperties {
         @NotNull
         public Integer max = 5;
     }
+
+    @Data
+    @Component
+    @Validated
+    public static class Event {
+        // local, redis or stream
+        private String type = "local";
+        private Redis redis = new Redis();
+        private Stream stream = new Stream();
+
+        @Data
+        @Component
+        @Validated
+        public static class Redis {
+            // 突发时单次Pipeline发布的最大事件数
+            @NotNull
+            private Integer batchSize = 64;
+            // 发布队列容量，队列满时阻塞发布方，保证事件顺序
+            @NotNull
+            private Integer queueCapacity = 10000;
+            // 发送失败的重试次数
+            @NotNull
+            private Integer retries = 3;
+            // 重试后仍失败的事件保留在死信队列中，随下一批事件按原顺序重发，超出容量时丢弃最早的事件
+            @NotNull
+            private Integer deadLetterCapacity = 1000;
+            // 是否使用带类型头的消息格式，所有节点升级后再开启，关闭时发送旧版本Json消息
+            @NotNull
+            private Boolean envelope = false;
+        }
+
+        @Data
+        @Component
+        @Validated
+        public static class Stream {
+            // 节点ID即消费组名，重启后沿用同一ID才能从上次确认的位置重放
+            private String nodeId;
+            // 每个事件Stream保留的近似最大长度
+            @NotNull
+            private Long maxLength = 10000L;
+            // 单次阻塞读取的超时时间
+            @NotNull
+            private Long blockMillis = 2000L;
+            @NotNull
+            private Integer batchSize = 100;
+            // 处理失败的事件保持未确认，超过该空闲时间后重新认领处理
+            @NotNull
+            private Long claimIdleMillis = 30000L;
+            // 超过最大投递次数的事件记录错误后确认，避免反复阻塞
+            @NotNull
+            private Long maxDeliveries = 5L;
+            // 其他节点的消费组所有消费者空闲超过该时间视为已下线，清理消费组
+            @NotNull
+            private Long staleGroupMillis = 86400000L;
+        }
+    }
+
+    @Data
+    @Component
+    @Validated
+    public static class EngineTrace {
+        @NotNull
+        private Boolean enabled = true;
+        // 环形缓冲区容量，向上取整为2的幂
+        @NotNull
+        private Integer capacity = 65536;
+    }
+
+    @Data
+    @Component
+    @Validated
+    public static class Search {
+        // 流程实例搜索索引保留的最近实例数
+        @NotNull
+        private Integer instanceCapacity = 100000;
+    }
+
+    @Data
+    @Component
+    @Validated
+    public static class Archive {
+        @NotNull
+        private Boolean enabled = false;
+        // 结束超过该天数的流程实例移入归档表
+        @NotNull
+        private Integer retentionDays = 90;
+        // 结束超过该天数的已归档流程实例彻底删除，0表示永久保留
+        @NotNull
+        private Integer archiveRetentionDays = 365;
+        // 单个事务归档的流程实例数
+        @NotNull
+        private Integer batchSize = 500;
+        // 两次归档之间的间隔
+        @NotNull
+        private Integer intervalMinutes = 60;
+    }
+
+    @Data
+    @Component
+    @Validated
+    public static class Cleanup {
+        // 单个事务删除的流程实例数
+        @NotNull
+        private Integer batchSize = 200;
+        // 两个事务之间的间隔，降低对运行中流程的影响
+        @NotNull
+        private Long pauseMillis = 100L;
+    }
+
+    @Data
+    @Component
+    @Validated
+    public static class Batch {
+        // 批量写入时单次提交的语句数
+        @NotNull
+        private Integer size = 500;
+    }
+
+    @Data
+    @Component
+    @Validated
+    public static class Hub {
+        // 导入项目时并行下载缺失节点定义的线程数
+        @NotNull
+        private Integer prefetchThreads = 4;
+    }
+
+    @Data
+    @Component
+    @Validated
+    public static class GitMirror {
+        // Git镜像缓存总大小上限，超出后淘汰最久未使用的镜像
+        @NotNull
+        private Long maxSizeMb = 2048L;
+    }
+
+    @Data
+    @Component
+    @Validated
+    public static class Cron {
+        // 时间轮刻度
+        @NotNull
+        private Long tickMillis = 100L;
+        // 每秒最多交给引擎的定时触发次数，超出的顺延到后续刻度
+        @NotNull
+        private Integer maxFiresPerSecond = 50;
+        // 实际触发晚于计划时间超过该值时视为错过触发
+        @NotNull
+        private Long misfireThresholdMillis = 5000L;
+        // 错过触发的补偿在该范围内随机延后，避免停机恢复后集中补偿
+        @NotNull
+        private Long misfireJitterMillis = 30000L;
+    }
+
+    @Data
+    @Component
+    @Validated
+    public static class NodeEncoding {
+        // 启动后将旧版JSON格式的流程节点重写为二进制编码，关闭时旧数据保持JSON只读，新写入的流程定义使用二进制编码
+        @NotNull
+        private Boolean rewriteLegacy = false;
+    }
 }
@@ -22,6 +22,8 @@ import org.springframework.validation.annotation.Validated;
 public class CredentialProperties {
     @NotBlank
     private String type;
+    // 密钥缓存有效期，为0时不缓存
+    private int cacheTtlSeconds = 30;
     private VaultProperties vault;
 
     @Data
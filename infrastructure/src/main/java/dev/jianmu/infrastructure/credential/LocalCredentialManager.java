@@ -8,8 +8,12 @@ import dev.jianmu.secret.aggregate.Namespace;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * @class LocalCredentialManager
@@ -22,10 +26,12 @@ import java.util.Optional;
 public class LocalCredentialManager implements CredentialManager {
     private final NamespaceMapper namespaceMapper;
     private final KVPairMapper kvPairMapper;
+    private final SecretCache secretCache;
 
-    public LocalCredentialManager(NamespaceMapper namespaceMapper, KVPairMapper kvPairMapper) {
+    public LocalCredentialManager(NamespaceMapper namespaceMapper, KVPairMapper kvPairMapper, SecretCache secretCache) {
         this.namespaceMapper = namespaceMapper;
         this.kvPairMapper = kvPairMapper;
+        this.secretCache = secretCache;
     }
 
     @Override
@@ -37,12 +43,14 @@ public class LocalCredentialManager implements CredentialManager {
     public void createNamespace(Namespace namespace) {
         namespace.setLastModifiedTime();
         this.namespaceMapper.add(namespace);
+        this.secretCache.invalidate(namespace.getName());
     }
 
     @Override
     public void deleteNamespace(String name) {
         this.namespaceMapper.delete(name);
         this.kvPairMapper.deleteByName(name);
+        this.secretCache.invalidate(name);
     }
 
     @Override
@@ -58,6 +66,7 @@ public class LocalCredentialManager implements CredentialManager {
 
         this.namespaceMapper.updateLastModifiedTime(namespace);
         this.kvPairMapper.add(kvPair);
+        this.secretCache.invalidate(kvPair.getNamespaceName());
     }
 
     @Override
@@ -67,6 +76,7 @@ public class LocalCredentialManager implements CredentialManager {
         namespace.setLastModifiedTime();
         this.namespaceMapper.updateLastModifiedTime(namespace);
         this.kvPairMapper.deleteByNameAndKey(namespaceName, key);
+        this.secretCache.invalidate(namespaceName);
     }
 
     @Override
@@ -86,6 +96,22 @@ public class LocalCredentialManager implements CredentialManager {
 
     @Override
     public Optional<KVPair> findByNamespaceNameAndKey(String namespaceName, String key) {
-        return this.kvPairMapper.findByNamespaceNameAndKey(namespaceName, key);
+        return this.secretCache.find(this.getType(), namespaceName, key, this::loadNamespace)
+                .map(value -> KVPair.Builder.aKVPair().namespaceName(namespaceName).key(key).value(value).build());
+    }
+
+    @Override
+    public List<KVPair> findByNamespaceNameAndKeys(String namespaceName, Collection<String> keys) {
+        var values = this.secretCache.findAll(this.getType(), namespaceName, keys, this::loadNamespace);
+        return values.entrySet().stream()
+                .map(entry -> KVPair.Builder.aKVPair().namespaceName(namespaceName).key(entry.getKey()).value(entry.getValue()).build())
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, String> loadNamespace(String namespaceName) {
+        var values = new HashMap<String, String>();
+        this.kvPairMapper.findByNamespaceName(namespaceName)
+                .forEach(kvPair -> values.put(kvPair.getKey(), kvPair.getValue()));
+        return values;
     }
 }
@@ -0,0 +1,159 @@
+package dev.jianmu.infrastructure.credential;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * @author Daihw
+ * @class SecretCache
+ * @description 按命名空间缓存密钥，未命中时整体加载命名空间，值以字节数组保存并在失效时清零
+ * @create 2026/10/18 11:00 下午
+ */
+@Component
+public class SecretCache {
+    private static final String CACHE_NAME = "jianmu.secret.cache";
+    private static final String BACKEND_NAME = "jianmu.secret.backend";
+
+    private final String instanceId = UUID.randomUUID().toString().replace("-", "");
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // 命名空间失效版本，加载期间版本变化时丢弃加载结果
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final CredentialProperties credentialProperties;
+    private final MeterRegistry meterRegistry;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public SecretCache(CredentialProperties credentialProperties, MeterRegistry meterRegistry) {
+        this.credentialProperties = credentialProperties;
+        this.meterRegistry = meterRegistry;
+        this.hitCounter = Counter.builder(CACHE_NAME).tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder(CACHE_NAME).tag("result", "miss").register(meterRegistry);
+    }
+
+    public String getInstanceId() {
+        return this.instanceId;
+    }
+
+    /**
+     * 查询密钥值，loader按命名空间返回全部密钥，返回null表示加载失败，结果不缓存
+     */
+    public Optional<String> find(String type, String namespaceName, String key, Function<String, Map<String, String>> loader) {
+        return Optional.ofNullable(this.findAll(type, namespaceName, Set.of(key), loader).get(key));
+    }
+
+    /**
+     * 批量查询同一命名空间下的密钥值，结果只包含存在的密钥
+     */
+    public Map<String, String> findAll(String type, String namespaceName, Collection<String> keys, Function<String, Map<String, String>> loader) {
+        var entry = this.entries.get(namespaceName);
+        if (entry != null) {
+            var values = entry.findAll(keys);
+            if (values != null) {
+                this.hitCounter.increment();
+                return values;
+            }
+            this.entries.remove(namespaceName, entry);
+            entry.clear();
+        }
+        this.missCounter.increment();
+        var version = this.version(namespaceName).get();
+        var values = Timer.builder(BACKEND_NAME)
+                .tag("type", type)
+                .register(this.meterRegistry)
+                .record(() -> loader.apply(namespaceName));
+        if (values == null) {
+            return Map.of();
+        }
+        var result = new HashMap<String, String>();
+        keys.forEach(key -> {
+            var value = values.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        var ttl = this.credentialProperties.getCacheTtlSeconds() * 1000L;
+        if (ttl <= 0) {
+            return result;
+        }
+        var loaded = new Entry(values, System.currentTimeMillis() + ttl);
+        this.entries.compute(namespaceName, (name, old) -> {
+            if (this.version(name).get() != version) {
+                loaded.clear();
+                return old;
+            }
+            if (old != null) {
+                old.clear();
+            }
+            return loaded;
+        });
+        return result;
+    }
+
+    public void invalidate(String namespaceName) {
+        this.version(namespaceName).incrementAndGet();
+        var entry = this.entries.remove(namespaceName);
+        if (entry != null) {
+            entry.clear();
+        }
+    }
+
+    public void invalidateAll() {
+        this.entries.keySet().forEach(this::invalidate);
+    }
+
+    private AtomicLong version(String namespaceName) {
+        return this.versions.computeIfAbsent(namespaceName, k -> new AtomicLong());
+    }
+
+    private static class Entry {
+        private final Map<String, byte[]> values = new HashMap<>();
+        private final long expiresAt;
+        private boolean cleared;
+
+        Entry(Map<String, String> values, long expiresAt) {
+            values.forEach((key, value) -> this.values.put(key, value == null ? null : value.getBytes(StandardCharsets.UTF_8)));
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * 已失效时返回null
+         */
+        synchronized Map<String, String> findAll(Collection<String> keys) {
+            if (this.cleared || this.expiresAt <= System.currentTimeMillis()) {
+                return null;
+            }
+            var result = new HashMap<String, String>();
+            keys.forEach(key -> {
+                var value = this.values.get(key);
+                if (value != null) {
+                    result.put(key, new String(value, StandardCharsets.UTF_8));
+                }
+            });
+            return result;
+        }
+
+        synchronized void clear() {
+            this.cleared = true;
+            this.values.values().forEach(value -> {
+                if (value != null) {
+                    Arrays.fill(value, (byte) 0);
+                }
+            });
+            this.values.clear();
+        }
+    }
+}
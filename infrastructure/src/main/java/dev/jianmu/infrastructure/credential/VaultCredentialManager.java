@@ -10,6 +10,8 @@ import org.springframework.vault.core.VaultKeyValueOperationsSupport;
 import org.springframework.vault.core.VaultOperations;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,13 +29,15 @@ import java.util.stream.Collectors;
 public class VaultCredentialManager implements CredentialManager {
     private final VaultOperations vaultOperations;
     private final CredentialProperties credentialProperties;
+    private final SecretCache secretCache;
 
     private final static String EXAMPLE_KEY = "JIANMU_EXAMPLE_KEY";
     private final static String EXAMPLE_VALUE = "JIANMU_EXAMPLE_VALUE";
 
-    public VaultCredentialManager(VaultOperations vaultOperations, CredentialProperties credentialProperties) {
+    public VaultCredentialManager(VaultOperations vaultOperations, CredentialProperties credentialProperties, SecretCache secretCache) {
         this.vaultOperations = vaultOperations;
         this.credentialProperties = credentialProperties;
+        this.secretCache = secretCache;
     }
 
     @Override
@@ -51,12 +55,14 @@ public class VaultCredentialManager implements CredentialManager {
         var map = Map.of(EXAMPLE_KEY, EXAMPLE_VALUE);
         this.vaultOperations.opsForKeyValue(this.credentialProperties.getVault().getVaultEngineName(), VaultKeyValueOperationsSupport.KeyValueBackend.KV_1)
                 .put(namespace.getName(), map);
+        this.secretCache.invalidate(namespace.getName());
     }
 
     @Override
     public void deleteNamespace(String name) {
         this.vaultOperations.opsForKeyValue(this.credentialProperties.getVault().getVaultEngineName(), VaultKeyValueOperationsSupport.KeyValueBackend.KV_1)
                 .delete(name);
+        this.secretCache.invalidate(name);
     }
 
     @Override
@@ -75,6 +81,7 @@ public class VaultCredentialManager implements CredentialManager {
         res.getData().put(kvPair.getKey(), kvPair.getValue());
         this.vaultOperations.opsForKeyValue(this.credentialProperties.getVault().getVaultEngineName(), VaultKeyValueOperationsSupport.KeyValueBackend.KV_1)
                 .put(kvPair.getNamespaceName(), res.getData());
+        this.secretCache.invalidate(kvPair.getNamespaceName());
     }
 
     @Override
@@ -93,6 +100,7 @@ public class VaultCredentialManager implements CredentialManager {
         }
         this.vaultOperations.opsForKeyValue(this.credentialProperties.getVault().getVaultEngineName(), VaultKeyValueOperationsSupport.KeyValueBackend.KV_1)
                 .put(namespaceName, res.getData());
+        this.secretCache.invalidate(namespaceName);
     }
 
     @Override
@@ -132,19 +140,35 @@ public class VaultCredentialManager implements CredentialManager {
 
     @Override
     public Optional<KVPair> findByNamespaceNameAndKey(String namespaceName, String key) {
-        List<KVPair> kvPairs = new ArrayList<>();
+        if (key.equals(EXAMPLE_KEY)) {
+            return Optional.empty();
+        }
+        return this.secretCache.find(this.getType(), namespaceName, key, this::loadNamespace)
+                .map(value -> KVPair.Builder.aKVPair().namespaceName(namespaceName).key(key).value(value).build());
+    }
+
+    @Override
+    public List<KVPair> findByNamespaceNameAndKeys(String namespaceName, Collection<String> keys) {
+        var values = this.secretCache.findAll(this.getType(), namespaceName, keys, this::loadNamespace);
+        return values.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(EXAMPLE_KEY))
+                .map(entry -> KVPair.Builder.aKVPair().namespaceName(namespaceName).key(entry.getKey()).value(entry.getValue()).build())
+                .collect(Collectors.toList());
+    }
+
+    // 一次读取命名空间下的全部密钥，读取失败时返回null
+    private Map<String, String> loadNamespace(String namespaceName) {
         try {
+            var values = new HashMap<String, String>();
             var res = this.vaultOperations.opsForKeyValue(this.credentialProperties.getVault().getVaultEngineName(), VaultKeyValueOperationsSupport.KeyValueBackend.KV_1)
                     .get(namespaceName);
             if (res != null && res.getData() != null) {
-                return res.getData().entrySet().stream()
-                        .filter(entry -> entry.getKey().equals(key) && !entry.getKey().equals(EXAMPLE_KEY))
-                        .map(entry -> KVPair.Builder.aKVPair().namespaceName(namespaceName).key(entry.getKey()).value(entry.getValue().toString()).build())
-                        .findFirst();
+                res.getData().forEach((k, v) -> values.put(k, v == null ? null : v.toString()));
             }
+            return values;
         } catch (Exception e) {
             log.warn("vault exception: {}", e.getMessage());
         }
-        return Optional.empty();
+        return null;
     }
 }
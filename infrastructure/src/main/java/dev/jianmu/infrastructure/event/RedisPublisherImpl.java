@@ -2,27 +2,168 @@ package dev.jianmu.infrastructure.event;
 
 import dev.jianmu.event.Event;
 import dev.jianmu.event.Publisher;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.redis.RedisEventCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
 /**
  * @author Daihw
  * @class RedisPublisherImpl
- * @description RedisPublisherImpl
+ * @description RedisPublisherImpl，事件编码后进入发布队列，突发时合并为Pipeline批量发布，队列满时阻塞以保证顺序，重试后仍失败的事件进入死信队列
  * @create 2022/11/17 3:26 下午
  */
+@Slf4j
 @Component
 @ConditionalOnProperty(prefix = "jianmu.event", name = "type", havingValue = "redis")
-public class RedisPublisherImpl implements Publisher {
+public class RedisPublisherImpl implements Publisher, DisposableBean {
     private final RedisTemplate<String, Object> redisTemplate;
+    private final BlockingQueue<Message> queue;
+    private final int batchSize;
+    private final int retries;
+    private final int deadLetterCapacity;
+    private final boolean envelope;
+    // 重试后仍失败的事件，先于后续事件重发
+    private final ConcurrentLinkedDeque<Message> deadLetters = new ConcurrentLinkedDeque<>();
+    private final Counter droppedCounter;
+    private final Thread sender;
+    private volatile boolean running = true;
 
-    public RedisPublisherImpl(RedisTemplate<String, Object> redisTemplate) {
+    public RedisPublisherImpl(RedisTemplate<String, Object> redisTemplate, GlobalProperties globalProperties, MeterRegistry meterRegistry) {
         this.redisTemplate = redisTemplate;
+        var redis = globalProperties.getEvent().getRedis();
+        this.queue = new ArrayBlockingQueue<>(redis.getQueueCapacity());
+        this.batchSize = Math.max(1, redis.getBatchSize());
+        this.retries = Math.max(0, redis.getRetries());
+        this.deadLetterCapacity = Math.max(0, redis.getDeadLetterCapacity());
+        this.envelope = redis.getEnvelope();
+        this.droppedCounter = Counter.builder("jianmu.event.redis.dropped").register(meterRegistry);
+        meterRegistry.gauge("jianmu.event.redis.dead_letters", this.deadLetters, ConcurrentLinkedDeque::size);
+        this.sender = new Thread(this::sendLoop, "redis-event-publisher");
+        this.sender.setDaemon(true);
+        this.sender.start();
     }
 
     @Override
     public void publish(Event event) {
-        this.redisTemplate.convertAndSend(event.getTopic(), event);
+        var body = this.envelope ? RedisEventCodec.encode(event) : RedisEventCodec.encodeLegacy(event);
+        var message = new Message(event.getTopic().getBytes(StandardCharsets.UTF_8), body);
+        // 发布线程已停止时队列已清空，直接发布不会越过排队中的事件
+        if (!this.running) {
+            this.send(List.of(message));
+            return;
+        }
+        try {
+            this.queue.put(message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Redis事件发布被中断: " + event.getTopic());
+        }
+    }
+
+    private void sendLoop() {
+        var batch = new ArrayList<Message>(this.batchSize);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                if (!this.running) {
+                    this.queue.drainTo(batch);
+                } else {
+                    continue;
+                }
+            }
+            this.queue.drainTo(batch, this.batchSize - batch.size());
+            this.send(batch);
+            batch.clear();
+        }
+    }
+
+    // 死信先于本批事件按顺序重试整批，重试期间后续事件在队列中等待
+    private synchronized void send(List<Message> batch) {
+        var messages = new ArrayList<Message>(this.deadLetters.size() + batch.size());
+        Message deadLetter;
+        while ((deadLetter = this.deadLetters.poll()) != null) {
+            messages.add(deadLetter);
+        }
+        messages.addAll(batch);
+        if (messages.isEmpty()) {
+            return;
+        }
+        for (int attempt = 0; ; attempt++) {
+            try {
+                this.doSend(messages);
+                return;
+            } catch (Exception e) {
+                if (attempt >= this.retries) {
+                    log.error("Redis事件发布失败, 数量: {}, 进入死信队列, 原因: {}", messages.size(), e.getMessage(), e);
+                    this.deadLetter(messages);
+                    return;
+                }
+                log.warn("Redis事件发布失败, 第{}次重试, 原因: {}", attempt + 1, e.getMessage());
+                try {
+                    Thread.sleep(100L * (attempt + 1));
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void deadLetter(List<Message> messages) {
+        this.deadLetters.addAll(messages);
+        var dropped = 0;
+        while (this.deadLetters.size() > this.deadLetterCapacity && this.deadLetters.poll() != null) {
+            dropped++;
+        }
+        if (dropped > 0) {
+            this.droppedCounter.increment(dropped);
+            log.error("Redis事件死信队列已满, 丢弃最早的{}个事件", dropped);
+        }
+    }
+
+    /**
+     * 等待重发的死信数量
+     */
+    public int deadLetterSize() {
+        return this.deadLetters.size();
+    }
+
+    private void doSend(List<Message> messages) {
+        if (messages.size() == 1) {
+            var message = messages.get(0);
+            this.redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(message.channel, message.body));
+            return;
+        }
+        this.redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            messages.forEach(message -> connection.publish(message.channel, message.body));
+            return null;
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        this.running = false;
+        this.sender.interrupt();
+        this.sender.join(5000L);
+        if (!this.deadLetters.isEmpty()) {
+            log.error("Redis事件发布器关闭, {}个死信事件未能发布", this.deadLetters.size());
+        }
+    }
+
+    private record Message(byte[] channel, byte[] body) {
     }
 }
@@ -0,0 +1,46 @@
+package dev.jianmu.infrastructure.event;
+
+import dev.jianmu.event.Event;
+import dev.jianmu.event.Publisher;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.redis.RedisEventCodec;
+import dev.jianmu.infrastructure.redis.RedisStreamContainer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * @author Daihw
+ * @class RedisStreamPublisherImpl
+ * @description 基于Redis Streams的事件发布，按近似长度保留历史供落后节点重放
+ * @create 2026/10/18 2:20 下午
+ */
+@Component
+@ConditionalOnProperty(prefix = "jianmu.event", name = "type", havingValue = "stream")
+public class RedisStreamPublisherImpl implements Publisher {
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisStreamCommands.XAddOptions options;
+
+    public RedisStreamPublisherImpl(RedisTemplate<String, Object> redisTemplate, GlobalProperties globalProperties) {
+        this.redisTemplate = redisTemplate;
+        this.options = RedisStreamCommands.XAddOptions
+                .maxlen(globalProperties.getEvent().getStream().getMaxLength())
+                .approximateTrimming(true);
+    }
+
+    @Override
+    public void publish(Event event) {
+        var key = RedisStreamContainer.streamKey(event.getTopic());
+        var record = StreamRecords.newRecord()
+                .in(key)
+                .ofMap(Map.of(RedisStreamContainer.FIELD, RedisEventCodec.encode(event)));
+        this.redisTemplate.execute((RedisCallback<RecordId>) connection ->
+                connection.streamCommands().xAdd(record, this.options));
+    }
+}
@@ -0,0 +1,255 @@
+package dev.jianmu.infrastructure.jgit;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.storage.StorageProperties;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.TransportConfigCallback;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.TagOpt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author Daihw
+ * @class GitMirrorCache
+ * @description Git镜像缓存，每个远程地址在数据目录下保留一个裸仓库，增量拉取，按总大小淘汰最久未使用的镜像
+ * @create 2026/10/19 12:40 上午
+ */
+@Component
+public class GitMirrorCache {
+    private static final Logger logger = LoggerFactory.getLogger(GitMirrorCache.class);
+    private static final String MIRROR_PATH = "git_mirror";
+    private static final RefSpec BRANCHES = new RefSpec("+refs/heads/*:refs/heads/*");
+
+    private final Path rootLocation;
+    private final GlobalProperties globalProperties;
+    // 拉取与淘汰持有写锁，读取持有读锁
+    private final Map<String, ReentrantReadWriteLock> locks = new ConcurrentHashMap<>();
+    // 镜像 -> 占用字节数，首次使用时统计全部镜像，之后只在拉取后重新统计该镜像
+    private final Map<String, Long> sizes = new ConcurrentHashMap<>();
+    private volatile boolean sizesLoaded;
+
+    public GitMirrorCache(StorageProperties storageProperties, GlobalProperties globalProperties) {
+        this.rootLocation = Paths.get(storageProperties.getFilepath(), MIRROR_PATH);
+        this.globalProperties = globalProperties;
+    }
+
+    public static String mirrorKey(String uri) {
+        try {
+            var bytes = MessageDigest.getInstance("SHA-256").digest(uri.getBytes(StandardCharsets.UTF_8));
+            var builder = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                builder.append(String.format("%02x", bytes[i]));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 增量拉取远程仓库的全部分支，返回指定分支的提交，分支为空时返回远程HEAD
+     *
+     * @param inUse 正在使用中的镜像，淘汰时跳过
+     */
+    public ObjectId fetch(String uri, String branch, TransportConfigCallback callback, Set<String> inUse) throws GitAPIException, IOException {
+        var key = mirrorKey(uri);
+        var lock = this.lock(key).writeLock();
+        ObjectId commitId;
+        lock.lock();
+        try {
+            var directory = this.rootLocation.resolve(key).toFile();
+            if (!new File(directory, Constants.CONFIG).exists()) {
+                Files.createDirectories(this.rootLocation);
+                Git.init().setBare(true).setDirectory(directory).call().close();
+                logger.info("创建Git镜像: {} -> {}", uri, key);
+            }
+            try (var git = Git.open(directory)) {
+                // 拉取后的自动gc在写锁内同步执行，避免与读取、淘汰并发修改镜像
+                var config = git.getRepository().getConfig();
+                if (config.getBoolean(ConfigConstants.CONFIG_GC_SECTION, ConfigConstants.CONFIG_KEY_AUTODETACH, true)) {
+                    config.setBoolean(ConfigConstants.CONFIG_GC_SECTION, null, ConfigConstants.CONFIG_KEY_AUTODETACH, false);
+                    config.save();
+                }
+                var result = git.fetch()
+                        .setRemote(uri)
+                        .setRefSpecs(BRANCHES)
+                        .setTagOpt(TagOpt.NO_TAGS)
+                        .setRemoveDeletedRefs(true)
+                        .setTransportConfigCallback(callback)
+                        .call();
+                if (branch == null || branch.isBlank()) {
+                    var head = result.getAdvertisedRef(Constants.HEAD);
+                    commitId = head == null ? null : head.getObjectId();
+                } else {
+                    var ref = git.getRepository().exactRef(Constants.R_HEADS + branch);
+                    commitId = ref == null ? null : ref.getObjectId();
+                }
+            }
+            this.touch(key);
+            this.loadSizes();
+            this.sizes.put(key, sizeOf(directory.toPath()));
+        } finally {
+            lock.unlock();
+        }
+        if (commitId == null) {
+            throw new IOException("未找到分支: " + branch);
+        }
+        this.evict(key, inUse);
+        return commitId;
+    }
+
+    /**
+     * 持有读锁打开镜像，期间镜像不会被淘汰
+     */
+    public <T> T read(String key, MirrorReader<T> reader) throws IOException {
+        var lock = this.lock(key).readLock();
+        lock.lock();
+        try (Repository repository = new FileRepositoryBuilder()
+                .setGitDir(this.rootLocation.resolve(key).toFile())
+                .setMustExist(true)
+                .build()
+        ) {
+            return reader.read(repository);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long size() {
+        this.loadSizes();
+        return this.sizes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private void loadSizes() {
+        if (this.sizesLoaded) {
+            return;
+        }
+        synchronized (this.sizes) {
+            if (!this.sizesLoaded) {
+                this.mirrors().forEach(path -> this.sizes.putIfAbsent(path.getFileName().toString(), sizeOf(path)));
+                this.sizesLoaded = true;
+            }
+        }
+    }
+
+    private ReentrantReadWriteLock lock(String key) {
+        return this.locks.computeIfAbsent(key, k -> new ReentrantReadWriteLock());
+    }
+
+    private void touch(String key) {
+        try {
+            Files.setLastModifiedTime(this.rootLocation.resolve(key), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            logger.warn("更新Git镜像访问时间失败: {}", e.getMessage());
+        }
+    }
+
+    // 超出容量时按最后访问时间淘汰，跳过本次拉取的、使用中的与正在读写的镜像
+    private void evict(String current, Set<String> inUse) {
+        var maxBytes = this.globalProperties.getGitMirror().getMaxSizeMb() * 1024 * 1024;
+        var total = this.size();
+        if (total <= maxBytes) {
+            return;
+        }
+        var candidates = this.sizes.keySet().stream()
+                .filter(key -> !key.equals(current))
+                .filter(key -> !inUse.contains(key))
+                .map(this.rootLocation::resolve)
+                .sorted(Comparator.comparing(GitMirrorCache::lastModified))
+                .collect(Collectors.toList());
+        for (var path : candidates) {
+            if (total <= maxBytes) {
+                return;
+            }
+            var key = path.getFileName().toString();
+            var lock = this.lock(key).writeLock();
+            if (!lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (Files.exists(path)) {
+                    deleteRecursively(path);
+                    logger.info("淘汰Git镜像: {}", key);
+                }
+                var size = this.sizes.remove(key);
+                total -= size == null ? 0L : size;
+            } catch (UncheckedIOException e) {
+                logger.warn("淘汰Git镜像失败: {}", e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Stream<Path> mirrors() {
+        if (!Files.isDirectory(this.rootLocation)) {
+            return Stream.empty();
+        }
+        try (var paths = Files.list(this.rootLocation)) {
+            return paths.filter(Files::isDirectory).collect(Collectors.toList()).stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try (var paths = Files.walk(path)) {
+            return paths.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        try (var paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface MirrorReader<T> {
+        T read(Repository repository) throws IOException;
+    }
+}
@@ -4,25 +4,29 @@ import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 import dev.jianmu.project.aggregate.GitRepo;
-import org.apache.commons.io.IOUtils;
-import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.TransportConfigCallback;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.JschConfigSessionFactory;
 import org.eclipse.jgit.transport.OpenSshConfig;
 import org.eclipse.jgit.transport.SshTransport;
 import org.eclipse.jgit.transport.TransportHttp;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.util.FS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * @class JgitService
@@ -33,139 +37,206 @@ import java.util.stream.Collectors;
 @Service
 public class JgitService {
     private static final Logger logger = LoggerFactory.getLogger(JgitService.class);
-    private static final String TMPDIR = "/tmp/";
-
-    private Map<String, Boolean> listFile(File directory) {
-        var files = directory.listFiles();
-        if (files != null) {
-            return Arrays.stream(files)
-                    .map(file -> Map.entry(file.getName(), file.isDirectory()))
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        } else {
-            return Map.of();
-        }
-    }
+    // 保留的克隆结果数量，导入或同步完成后由cleanUp释放
+    private static final int SNAPSHOT_SIZE = 1000;
 
-    private boolean deleteDir(File dir) {
-        if (dir.isDirectory()) {
-            String[] children = dir.list();
-            if (children == null) {
-                return false;
-            }
-            for (String child : children) {
-                boolean success = deleteDir(new File(dir, child));
-                if (!success) {
-                    return false;
-                }
-            }
+    private final GitMirrorCache gitMirrorCache;
+    // GitRepo ID -> 克隆时的镜像与提交，读取时直接访问镜像对象库，不检出工作区
+    private final Map<String, Snapshot> snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+            return this.size() > SNAPSHOT_SIZE;
         }
-        return dir.delete();
+    });
+
+    public JgitService(GitMirrorCache gitMirrorCache) {
+        this.gitMirrorCache = gitMirrorCache;
     }
 
     public void cleanUp(String gitRepoId) {
-        File directory = new File("/tmp/" + gitRepoId);
-        var res = this.deleteDir(directory);
+        var res = this.snapshots.remove(gitRepoId) != null;
         logger.info("Git缓存文件清除结果为: {}", res);
     }
 
     public String readDsl(String gitRepoId, String dslPath) {
-        try (FileReader fileReader = new FileReader("/tmp/" + gitRepoId + "/" + dslPath, StandardCharsets.UTF_8)) {
-            String dslText = IOUtils.toString(fileReader);
-            fileReader.close();
-            return dslText;
+        var snapshot = this.snapshot(gitRepoId);
+        try {
+            return this.gitMirrorCache.read(snapshot.key, repository -> {
+                try (var reader = repository.newObjectReader()) {
+                    var blobId = findBlobId(reader, snapshot, dslPath);
+                    return new String(reader.open(blobId).getBytes(), StandardCharsets.UTF_8);
+                }
+            });
         } catch (IOException e) {
             logger.error("读取DSL异常：", e);
             throw new RuntimeException("读取DSL异常");
         }
     }
 
-    public Map<String, Boolean> listFiles(String dir) {
-        File directory = new File("/tmp/" + dir);
-        return this.listFile(directory);
+    /**
+     * 克隆结果对应的提交ID
+     */
+    public String getCommitId(String gitRepoId) {
+        return this.snapshot(gitRepoId).commitId.name();
     }
 
-    public void cloneRepoWithUserAndPass(GitRepo gitRepo, String user, String pass) {
-        this.cleanUp(gitRepo.getId());
-        File directory = new File(TMPDIR + gitRepo.getId());
-        try (
-                Git newlyCloned = Git.cloneRepository()
-                        .setDirectory(directory)
-                        .setURI(gitRepo.getUri())
-                        .setBranch(gitRepo.getBranch())
-                        .setTransportConfigCallback(transport -> {
-                            if (transport instanceof TransportHttp) {
-                                ((TransportHttp) transport).setPreemptiveBasicAuthentication(user, pass);
-                            }
-                        }).call()
-        ) {
-            logger.info("Clone Git Repo: {} 成功", gitRepo.getUri());
-        } catch (GitAPIException e) {
-            logger.error("Clone Failed:", e);
-            this.cleanUp(gitRepo.getId());
-            throw new RuntimeException("克隆失败");
+    /**
+     * DSL文件的Blob ID，内容不变时ID不变，无需读取文件内容
+     */
+    public String getDslBlobId(String gitRepoId, String dslPath) {
+        var snapshot = this.snapshot(gitRepoId);
+        try {
+            return this.gitMirrorCache.read(snapshot.key, repository -> {
+                try (var reader = repository.newObjectReader()) {
+                    return findBlobId(reader, snapshot, dslPath).name();
+                }
+            });
+        } catch (IOException e) {
+            logger.error("读取DSL异常：", e);
+            throw new RuntimeException("读取DSL异常");
         }
     }
 
+    private Snapshot snapshot(String gitRepoId) {
+        var snapshot = this.snapshots.get(gitRepoId);
+        if (snapshot == null) {
+            logger.error("读取DSL异常：未找到Git仓库 {} 的克隆结果", gitRepoId);
+            throw new RuntimeException("读取DSL异常");
+        }
+        return snapshot;
+    }
 
-    public void cloneRepoWithSshKey(GitRepo gitRepo, String sshKey) {
-        this.cleanUp(gitRepo.getId());
-        File directory = new File(TMPDIR + gitRepo.getId());
-        try (
-                Git newlyCloned = Git.cloneRepository()
-                        .setDirectory(directory)
-                        .setURI(gitRepo.getUri())
-                        .setBranch(gitRepo.getBranch())
-                        .setTransportConfigCallback(transport -> {
-                            if (transport instanceof SshTransport) {
-                                ((SshTransport) transport).setSshSessionFactory(new JschConfigSessionFactory() {
-                                    @Override
-                                    protected void configure(OpenSshConfig.Host hc, Session session) {
-                                        session.setConfig("StrictHostKeyChecking", "no");
-                                    }
-
-                                    @Override
-                                    protected JSch createDefaultJSch(FS fs) throws JSchException {
-                                        JSch sch = super.createDefaultJSch(fs);
-                                        byte[] prvKey = sshKey.getBytes(StandardCharsets.UTF_8);
-                                        sch.addIdentity("gitKey", prvKey, null, null);
-                                        return sch;
-                                    }
-                                });
+    private static ObjectId findBlobId(ObjectReader reader, Snapshot snapshot, String path) throws IOException {
+        try (var revWalk = new RevWalk(reader)) {
+            var tree = revWalk.parseCommit(snapshot.commitId).getTree();
+            try (var treeWalk = TreeWalk.forPath(reader, trimPath(path), tree)) {
+                if (treeWalk == null || (treeWalk.getFileMode(0).getBits() & FileMode.TYPE_MASK) != FileMode.TYPE_FILE) {
+                    throw new IOException("文件不存在: " + path);
+                }
+                return treeWalk.getObjectId(0);
+            }
+        }
+    }
+
+    /**
+     * @param dir GitRepo ID及仓库内的目录，如 {gitRepoId}/src
+     */
+    public Map<String, Boolean> listFiles(String dir) {
+        var path = trimPath(dir);
+        var index = path.indexOf('/');
+        var snapshot = this.snapshots.get(index < 0 ? path : path.substring(0, index));
+        if (snapshot == null) {
+            return Map.of();
+        }
+        var subPath = index < 0 ? "" : trimPath(path.substring(index + 1));
+        try {
+            return this.gitMirrorCache.read(snapshot.key, repository -> {
+                try (var reader = repository.newObjectReader(); var revWalk = new RevWalk(reader); var treeWalk = new TreeWalk(reader)) {
+                    ObjectId tree = revWalk.parseCommit(snapshot.commitId).getTree();
+                    if (!subPath.isEmpty()) {
+                        try (var dirWalk = TreeWalk.forPath(reader, subPath, tree)) {
+                            if (dirWalk == null || !dirWalk.isSubtree()) {
+                                return Map.<String, Boolean>of();
                             }
-                        }).call()
-        ) {
-            logger.info("Clone Git Repo: {} 成功", gitRepo.getUri());
-        } catch (GitAPIException e) {
-            logger.error("Clone Failed:", e);
-            this.cleanUp(gitRepo.getId());
-            throw new RuntimeException("克隆失败");
+                            tree = dirWalk.getObjectId(0);
+                        }
+                    }
+                    treeWalk.addTree(tree);
+                    treeWalk.setRecursive(false);
+                    var files = new HashMap<String, Boolean>();
+                    while (treeWalk.next()) {
+                        files.put(treeWalk.getNameString(), treeWalk.isSubtree());
+                    }
+                    return files;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("读取Git目录失败: {}", e.getMessage());
+            return Map.of();
         }
     }
 
+    public void cloneRepoWithUserAndPass(GitRepo gitRepo, String user, String pass) {
+        this.cloneRepo(gitRepo, transport -> {
+            if (transport instanceof TransportHttp) {
+                ((TransportHttp) transport).setPreemptiveBasicAuthentication(user, pass);
+            }
+        });
+    }
+
+
+    public void cloneRepoWithSshKey(GitRepo gitRepo, String sshKey) {
+        this.cloneRepo(gitRepo, transport -> {
+            if (transport instanceof SshTransport) {
+                ((SshTransport) transport).setSshSessionFactory(new JschConfigSessionFactory() {
+                    @Override
+                    protected void configure(OpenSshConfig.Host hc, Session session) {
+                        session.setConfig("StrictHostKeyChecking", "no");
+                    }
+
+                    @Override
+                    protected JSch createDefaultJSch(FS fs) throws JSchException {
+                        JSch sch = super.createDefaultJSch(fs);
+                        byte[] prvKey = sshKey.getBytes(StandardCharsets.UTF_8);
+                        sch.addIdentity("gitKey", prvKey, null, null);
+                        return sch;
+                    }
+                });
+            }
+        });
+    }
+
     public void cloneRepo(GitRepo gitRepo) {
+        this.cloneRepo(gitRepo, transport -> {
+            if (transport instanceof SshTransport) {
+                ((SshTransport) transport).setSshSessionFactory(new JschConfigSessionFactory() {
+                    @Override
+                    protected void configure(OpenSshConfig.Host hc, Session session) {
+                        session.setConfig("StrictHostKeyChecking", "no");
+                    }
+                });
+            }
+        });
+    }
+
+    private void cloneRepo(GitRepo gitRepo, TransportConfigCallback callback) {
         this.cleanUp(gitRepo.getId());
-        File directory = new File(TMPDIR + gitRepo.getId());
-        try (
-                Git newlyCloned = Git.cloneRepository()
-                        .setDirectory(directory)
-                        .setURI(gitRepo.getUri())
-                        .setBranch(gitRepo.getBranch())
-                        .setTransportConfigCallback(transport -> {
-                            if (transport instanceof SshTransport) {
-                                ((SshTransport) transport).setSshSessionFactory(new JschConfigSessionFactory() {
-                                    @Override
-                                    protected void configure(OpenSshConfig.Host hc, Session session) {
-                                        session.setConfig("StrictHostKeyChecking", "no");
-                                    }
-                                });
-                            }
-                        }).call()
-        ) {
+        try {
+            var commitId = this.gitMirrorCache.fetch(gitRepo.getUri(), gitRepo.getBranch(), callback, this.inUse());
+            this.snapshots.put(gitRepo.getId(), new Snapshot(GitMirrorCache.mirrorKey(gitRepo.getUri()), commitId));
             logger.info("Clone Git Repo: {} 成功", gitRepo.getUri());
-        } catch (GitAPIException e) {
+        } catch (GitAPIException | IOException e) {
             logger.error("Clone Failed:", e);
-            this.cleanUp(gitRepo.getId());
             throw new RuntimeException("克隆失败");
         }
     }
+
+    private HashSet<String> inUse() {
+        synchronized (this.snapshots) {
+            var keys = new HashSet<String>();
+            this.snapshots.values().forEach(snapshot -> keys.add(snapshot.key));
+            return keys;
+        }
+    }
+
+    private static String trimPath(String path) {
+        var trimmed = path == null ? "" : path.trim();
+        while (trimmed.startsWith("/")) {
+            trimmed = trimmed.substring(1);
+        }
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    private static class Snapshot {
+        private final String key;
+        private final ObjectId commitId;
+
+        private Snapshot(String key, ObjectId commitId) {
+            this.key = key;
+            this.commitId = commitId;
+        }
+    }
 }
@@ -1,12 +1,17 @@
 package dev.jianmu.infrastructure.jwt;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.util.Objects;
+
 /**
  * @author Ethan Liu
  * @class JwtProperties
@@ -20,8 +25,15 @@ public class JwtProperties {
     private PasswordEncoder passwordEncoder;
     private String jwtSecret;
     private int jwtExpirationMs;
+    // 剩余有效期小于该值时才签发新Token，未配置时为有效期的一半
+    private int jwtRefreshMs;
+    // 已校验Token缓存容量
+    private int tokenCacheSize = 10000;
     private String adminUser = "admin";
     private String adminPasswd;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile EncryptedPassword encryptedPassword;
 
     public JwtProperties() {
         this.passwordEncoder = new BCryptPasswordEncoder();
@@ -38,7 +50,24 @@ public class JwtProperties {
         return password;
     }
 
+    /**
+     * BCrypt开销较大，明文未变化时复用上次的加密结果
+     */
     public String getEncryptedPassword(String password) {
-        return this.passwordEncoder.encode(this.getPassword(password));
+        var raw = this.getPassword(password);
+        var cached = this.encryptedPassword;
+        if (cached != null && Objects.equals(cached.raw(), raw)) {
+            return cached.encrypted();
+        }
+        var encrypted = this.passwordEncoder.encode(raw);
+        this.encryptedPassword = new EncryptedPassword(raw, encrypted);
+        return encrypted;
+    }
+
+    public long getRefreshWindowMs() {
+        return this.jwtRefreshMs > 0 ? this.jwtRefreshMs : this.jwtExpirationMs / 2L;
+    }
+
+    private record EncryptedPassword(String raw, String encrypted) {
     }
 }
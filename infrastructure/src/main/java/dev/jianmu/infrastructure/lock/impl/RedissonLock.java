@@ -1,9 +1,9 @@
 package dev.jianmu.infrastructure.lock.impl;
 
 import dev.jianmu.infrastructure.lock.DistributedLock;
+import dev.jianmu.infrastructure.redis.annotation.ConditionalOnRedisEvent;
 import jakarta.annotation.Resource;
 import org.redisson.api.RedissonClient;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.locks.Lock;
@@ -14,7 +14,7 @@ import java.util.concurrent.locks.Lock;
  * @description RedissonLock
  * @create 2022/12/9 11:13 上午
  */
-@ConditionalOnProperty(prefix = "jianmu.event", name = "type", havingValue = "redis")
+@ConditionalOnRedisEvent
 @Component
 public class RedissonLock implements DistributedLock {
     @Resource
@@ -0,0 +1,125 @@
+package dev.jianmu.infrastructure.mapper.archive;
+
+import dev.jianmu.infrastructure.mapper.task.TaskInstanceMapper;
+import dev.jianmu.infrastructure.mapper.workflow.WorkflowInstanceMapper;
+import dev.jianmu.infrastructure.typehandler.NodeInfoTypeHandler;
+import dev.jianmu.task.aggregate.InstanceParameter;
+import dev.jianmu.task.aggregate.TaskInstance;
+import dev.jianmu.trigger.event.TriggerEvent;
+import dev.jianmu.trigger.event.TriggerEventParameter;
+import dev.jianmu.workflow.aggregate.process.AsyncTaskInstance;
+import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
+import org.apache.ibatis.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author Daihw
+ * @class ArchiveMapper
+ * @description 流程执行记录归档表，表名与键列由ArchiveRepositoryImpl固定传入
+ * @create 2026/10/18 8:00 下午
+ */
+public interface ArchiveMapper {
+    @Select("select trigger_id from workflow_instance " +
+            "where status in ('FINISHED', 'TERMINATED') and end_time < #{before} " +
+            "order by end_time limit #{limit}")
+    List<String> findArchivableTriggerIds(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Insert("<script>" +
+            "insert into ${table}_archive(${columns}) select ${columns} from ${table} " +
+            "where ${column} IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach>" +
+            "</script>")
+    int copyToArchive(@Param("table") String table, @Param("columns") String columns, @Param("column") String column, @Param("triggerIds") List<String> triggerIds);
+
+    @Delete("<script>" +
+            "delete from ${table} " +
+            "where ${column} IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach>" +
+            "</script>")
+    int deleteByKeys(@Param("table") String table, @Param("column") String column, @Param("triggerIds") List<String> triggerIds);
+
+    @Select("select count(*) from ${table}")
+    long count(@Param("table") String table);
+
+    @Select("select " + WorkflowInstanceMapper.COLUMNS + " from workflow_instance_archive where trigger_id = #{triggerId}")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "trigger_type", property = "triggerType")
+    @Result(column = "run_mode", property = "runMode")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "occurred_time", property = "occurredTime")
+    @Result(column = "suspended_time", property = "suspendedTime")
+    @Result(column = "end_time", property = "endTime")
+    Optional<WorkflowInstance> findWorkflowInstanceByTriggerId(String triggerId);
+
+    @Select("select * from async_task_instance_archive where trigger_id = #{triggerId}")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "workflow_instance_id", property = "workflowInstanceId")
+    @Result(column = "failure_mode", property = "failureMode")
+    @Result(column = "async_task_ref", property = "asyncTaskRef")
+    @Result(column = "async_task_type", property = "asyncTaskType")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "next_target", property = "nextTarget")
+    @Result(column = "activating_time", property = "activatingTime")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "end_time", property = "endTime")
+    @Result(column = "_version", property = "version")
+    List<AsyncTaskInstance> findAsyncTaskInstancesByTriggerId(String triggerId);
+
+    @Select("select " + TaskInstanceMapper.SUMMARY_COLUMNS + " from task_instance_archive where business_id = #{businessId}")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "def_key", property = "defKey")
+    @Result(column = "async_task_ref", property = "asyncTaskRef")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "business_id", property = "businessId")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "worker_id", property = "workerId")
+    @Result(column = "_version", property = "version")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "end_time", property = "endTime")
+    List<TaskInstance> findTaskInstanceSummaryByBusinessId(String businessId);
+
+    @Select("select * from task_instance_archive where id = #{instanceId}")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "def_key", property = "defKey")
+    @Result(column = "node_info", property = "nodeInfo", typeHandler = NodeInfoTypeHandler.class)
+    @Result(column = "async_task_ref", property = "asyncTaskRef")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "business_id", property = "businessId")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "worker_id", property = "workerId")
+    @Result(column = "_version", property = "version")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "end_time", property = "endTime")
+    Optional<TaskInstance> findTaskInstanceById(String instanceId);
+
+    @Select("select * from task_instance_parameter_archive where instance_id = #{instanceId}")
+    @Result(column = "instance_id", property = "instanceId")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "def_key", property = "defKey")
+    @Result(column = "async_task_ref", property = "asyncTaskRef")
+    @Result(column = "business_id", property = "businessId")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "parameter_id", property = "parameterId")
+    @Result(column = "workflow_type", property = "workflowType")
+    List<InstanceParameter> findInstanceParametersByInstanceId(String instanceId);
+
+    @Select("SELECT * FROM `jianmu_trigger_event_archive` WHERE id = #{id}")
+    @Result(column = "project_id", property = "projectId")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "web_request_id", property = "webRequestId")
+    @Result(column = "trigger_type", property = "triggerType")
+    @Result(column = "occurred_time", property = "occurredTime")
+    Optional<TriggerEvent> findTriggerEventById(String id);
+
+    @Select("SELECT * FROM `jianmu_trigger_event_parameter_archive` WHERE trigger_event_id = #{triggerEventId}")
+    @Result(column = "parameter_id", property = "parameterId")
+    List<TriggerEventParameter> findTriggerEventParametersById(String triggerEventId);
+}
@@ -0,0 +1,69 @@
+package dev.jianmu.infrastructure.mapper.cleanup;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author Daihw
+ * @class CleanupMapper
+ * @description 执行记录清理，按流程实例triggerId集合分块删除
+ * @create 2026/10/18 8:40 下午
+ */
+public interface CleanupMapper {
+    @Select("select workflow_ref from jianmu_project")
+    List<String> findWorkflowRefs();
+
+    @Select("select max(serial_no) from workflow_instance where workflow_ref = #{workflowRef}")
+    Integer findMaxSerialNo(@Param("workflowRef") String workflowRef);
+
+    @Select("select trigger_id from workflow_instance " +
+            "where workflow_ref = #{workflowRef} and serial_no <= #{serialNo} and status in ('FINISHED', 'TERMINATED') " +
+            "order by serial_no limit #{limit}")
+    List<String> findFinishedTriggerIds(@Param("workflowRef") String workflowRef, @Param("serialNo") int serialNo, @Param("limit") int limit);
+
+    @Select("select trigger_id from workflow_instance where workflow_ref = #{workflowRef} limit #{limit}")
+    List<String> findTriggerIds(@Param("workflowRef") String workflowRef, @Param("limit") int limit);
+
+    @Select("select trigger_id from workflow_instance_archive where end_time < #{before} order by end_time limit #{limit}")
+    List<String> findArchivedTriggerIds(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Select("select trigger_id from workflow_instance_archive where workflow_ref = #{workflowRef} limit #{limit}")
+    List<String> findArchivedTriggerIdsByRef(@Param("workflowRef") String workflowRef, @Param("limit") int limit);
+
+    @Select("<script>" +
+            "select id from task_instance${suffix} " +
+            "where trigger_id IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach> " +
+            "and async_task_ref not in ('start', 'end')" +
+            "</script>")
+    List<String> findTaskInstanceIds(@Param("suffix") String suffix, @Param("triggerIds") List<String> triggerIds);
+
+    @Select("<script>" +
+            "select id from jianmu_web_request${suffix} " +
+            "where trigger_id IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach>" +
+            "</script>")
+    List<String> findWebRequestIds(@Param("suffix") String suffix, @Param("triggerIds") List<String> triggerIds);
+
+    @Select("<script>" +
+            "select parameter_id from task_instance_parameter${suffix} " +
+            "where trigger_id IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach> " +
+            "union select parameter_id from jianmu_trigger_event_parameter${suffix} " +
+            "where trigger_event_id IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach>" +
+            "</script>")
+    List<String> findParameterIds(@Param("suffix") String suffix, @Param("triggerIds") List<String> triggerIds);
+
+    @Delete("<script>" +
+            "delete from parameter where `default` = 0 " +
+            "and id IN <foreach collection='parameterIds' item='item' open='(' separator=',' close=')'> #{item}</foreach>" +
+            "</script>")
+    int deleteParameterValues(@Param("parameterIds") List<String> parameterIds);
+
+    @Delete("<script>" +
+            "delete from ${table} " +
+            "where ${column} IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach>" +
+            "</script>")
+    int deleteByKeys(@Param("table") String table, @Param("column") String column, @Param("triggerIds") List<String> triggerIds);
+}
@@ -39,6 +39,34 @@ public interface NodeDefinitionMapper {
     @Result(column = "document_link", property = "documentLink")
     List<NodeDefinition> findPage(@Param("ownerRef") String ownerRef, @Param("name") String name);
 
+    // 游标分页按名称前缀匹配，可走name索引
+    @Select("<script>" +
+            "SELECT * FROM `hub_node_definition` " +
+            "<where>" +
+            "<if test='ownerRef != null'> AND `owner_ref` = #{ownerRef}</if>" +
+            "<if test='name != null'> AND `name` like concat(#{name}, '%')</if>" +
+            "<if test='id != null'> AND `id` &gt; #{id}</if>" +
+            "</where>" +
+            " ORDER BY `id` LIMIT #{limit}" +
+            "</script>")
+    @Result(column = "owner_name", property = "ownerName")
+    @Result(column = "owner_type", property = "ownerType")
+    @Result(column = "owner_ref", property = "ownerRef")
+    @Result(column = "creator_name", property = "creatorName")
+    @Result(column = "creator_ref", property = "creatorRef")
+    @Result(column = "source_link", property = "sourceLink")
+    @Result(column = "document_link", property = "documentLink")
+    List<NodeDefinition> findAfter(@Param("ownerRef") String ownerRef, @Param("name") String name, @Param("id") String id, @Param("limit") int limit);
+
+    @Select("<script>" +
+            "SELECT count(*) FROM `hub_node_definition` " +
+            "<where>" +
+            "<if test='ownerRef != null'> AND `owner_ref` = #{ownerRef}</if>" +
+            "<if test='name != null'> AND `name` like concat(#{name}, '%')</if>" +
+            "</where>" +
+            "</script>")
+    long count(@Param("ownerRef") String ownerRef, @Param("name") String name);
+
     @Insert("insert into hub_node_definition(id, icon, name, owner_name, owner_type, owner_ref, creator_name, creator_ref, type, description, ref, source_link, document_link, deprecated) " +
             "values(#{id}, #{icon}, #{name}, #{ownerName}, #{ownerType}, #{ownerRef}, #{creatorName}, #{creatorRef}, #{type}, #{description}, #{ref}, #{sourceLink}, #{documentLink}, #{deprecated})" +
             " ON DUPLICATE KEY UPDATE " +
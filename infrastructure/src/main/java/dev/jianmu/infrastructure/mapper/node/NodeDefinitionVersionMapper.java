@@ -1,6 +1,7 @@
 package dev.jianmu.infrastructure.mapper.node;
 
 import dev.jianmu.infrastructure.typehandler.NodeParameterListTypeHandler;
+import dev.jianmu.node.definition.aggregate.NodeDefinition;
 import dev.jianmu.node.definition.aggregate.NodeDefinitionVersion;
 import org.apache.ibatis.annotations.*;
 
@@ -32,6 +33,19 @@ public interface NodeDefinitionVersionMapper {
     @Result(column = "output_parameters", property = "outputParameters", typeHandler = NodeParameterListTypeHandler.class)
     List<NodeDefinitionVersion> findByOwnerRefAndRef(@Param("ownerRef") String ownerRef, @Param("ref") String ref);
 
+    @Select("<script> " +
+            "SELECT * FROM hub_node_definition_version WHERE (owner_ref, ref) IN " +
+            " <foreach collection='nodeDefinitions' item='item' open='(' close=')' separator=','> (#{item.ownerRef}, #{item.ref}) " +
+            " </foreach>" +
+            "</script>")
+    @Result(column = "result_file", property = "resultFile")
+    @Result(column = "owner_ref", property = "ownerRef")
+    @Result(column = "creator_name", property = "creatorName")
+    @Result(column = "creator_ref", property = "creatorRef")
+    @Result(column = "input_parameters", property = "inputParameters", typeHandler = NodeParameterListTypeHandler.class)
+    @Result(column = "output_parameters", property = "outputParameters", typeHandler = NodeParameterListTypeHandler.class)
+    List<NodeDefinitionVersion> findByNodeDefinitions(@Param("nodeDefinitions") List<NodeDefinition> nodeDefinitions);
+
     @Insert("insert into hub_node_definition_version(id, owner_ref, ref, creator_name, creator_ref, version, description, result_file, input_parameters, output_parameters, spec) " +
             "values(#{id}, #{ownerRef}, #{ref}, #{creatorName}, #{creatorRef}, #{version}, #{description}, #{resultFile}, " +
             "#{inputParameters, jdbcType=BLOB,typeHandler=dev.jianmu.infrastructure.typehandler.NodeParameterListTypeHandler}, " +
@@ -14,13 +14,9 @@ import java.util.Set;
  * @create 2021-04-10 10:02
 */
 public interface ParameterMapper {
-    @Insert("<script>" +
-            "insert into parameter(id, type, value, `default`) values" +
-            "<foreach collection='parameters' item='i' index='index' separator=','>" +
-            "(#{i.id}, #{i.type}, convert(#{i.value}, BINARY), #{i.isDefault})" +
-            "</foreach>" +
-            " </script>")
-    void addAll(@Param("parameters") List<Parameter> parameters);
+    @Insert("insert into parameter(id, type, value, `default`) " +
+            "values(#{i.id}, #{i.type}, convert(#{i.value}, BINARY), #{i.isDefault})")
+    void add(@Param("i") Parameter parameter);
 
     @Select("<script>" +
             "SELECT * FROM `parameter` WHERE `id` IN" +
@@ -6,6 +6,7 @@ import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Result;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
 import java.util.Optional;
 
@@ -16,16 +17,21 @@ import java.util.Optional;
  * @create 2021-05-14 19:05
 */
 public interface GitRepoMapper {
-    @Insert("insert into git_repo(id, uri, credential, branch, is_clone_all_branches, dsl_path) " +
-            "values(#{id}, #{uri}, #{credential, jdbcType=BLOB,typeHandler=dev.jianmu.infrastructure.typehandler.CredentialTypeHandler}, #{branch}, #{isCloneAllBranches}, #{dslPath})")
+    @Insert("insert into git_repo(id, uri, credential, branch, is_clone_all_branches, dsl_path, last_commit_id, last_dsl_blob_id) " +
+            "values(#{id}, #{uri}, #{credential, jdbcType=BLOB,typeHandler=dev.jianmu.infrastructure.typehandler.CredentialTypeHandler}, #{branch}, #{isCloneAllBranches}, #{dslPath}, #{lastCommitId}, #{lastDslBlobId})")
     void add(GitRepo gitRepo);
 
     @Delete("delete from git_repo where id = #{id}")
     void deleteById(String id);
 
+    @Update("update git_repo set last_commit_id = #{lastCommitId}, last_dsl_blob_id = #{lastDslBlobId} where id = #{id}")
+    void updateSyncState(GitRepo gitRepo);
+
     @Select("select * from git_repo where id = #{id}")
     @Result(column = "is_clone_all_branches", property = "isCloneAllBranches")
     @Result(column = "dsl_path", property = "dslPath")
+    @Result(column = "last_commit_id", property = "lastCommitId")
+    @Result(column = "last_dsl_blob_id", property = "lastDslBlobId")
     @Result(column = "credential", property = "credential", typeHandler = CredentialTypeHandler.class)
     Optional<GitRepo> findById(String id);
 }
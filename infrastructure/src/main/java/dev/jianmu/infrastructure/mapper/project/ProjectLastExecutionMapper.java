@@ -3,6 +3,7 @@ package dev.jianmu.infrastructure.mapper.project;
 import dev.jianmu.project.aggregate.ProjectLastExecution;
 import org.apache.ibatis.annotations.*;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -13,14 +14,27 @@ import java.util.Optional;
  */
 @Mapper
 public interface ProjectLastExecutionMapper {
+    // 下次触发时间不同时才更新，兼容空值比较
+    String NEXT_TIME_CHANGED = "(`next_time` <> #{nextTime,jdbcType=TIMESTAMP} " +
+            "OR (`next_time` IS NULL AND #{nextTime,jdbcType=TIMESTAMP} IS NOT NULL) " +
+            "OR (`next_time` IS NOT NULL AND #{nextTime,jdbcType=TIMESTAMP} IS NULL))";
+
     @Insert("INSERT INTO `jm_project_last_execution`(`workflow_ref`) values(#{workflowRef})")
     void add(ProjectLastExecution projectLastExecution);
 
     @Update("UPDATE `jm_project_last_execution` SET `workflow_instance_id` = #{workflowInstanceId}, `serial_no` = #{serialNo}, " +
-            "`occurred_time` = #{occurredTime},`start_time` = #{startTime}, `status` = #{status}, `end_time` = #{endTime}, `suspended_time` = #{suspendedTime} " +
+            "`occurred_time` = #{occurredTime},`start_time` = #{startTime}, `status` = #{status}, `end_time` = #{endTime}, `suspended_time` = #{suspendedTime}, `version` = `version` + 1 " +
             "WHERE `workflow_ref` = #{workflowRef}")
     void update(ProjectLastExecution projectLastExecution);
 
+    @Update("UPDATE `jm_project_last_execution` SET `next_time` = #{nextTime}, `version` = `version` + 1 " +
+            "WHERE `workflow_ref` = #{workflowRef} AND " + NEXT_TIME_CHANGED)
+    int updateNextTime(@Param("workflowRef") String workflowRef, @Param("nextTime") LocalDateTime nextTime);
+
+    @Update("UPDATE `jm_project_last_execution` SET `next_time` = #{nextTime}, `version` = `version` + 1 " +
+            "WHERE `workflow_ref` = (SELECT `workflow_ref` FROM `jianmu_project` WHERE `id` = #{projectId}) AND " + NEXT_TIME_CHANGED)
+    void updateNextTimeByProjectId(@Param("projectId") String projectId, @Param("nextTime") LocalDateTime nextTime);
+
     @Delete("DELETE FROM `jm_project_last_execution` WHERE `workflow_ref` = #{workflowRef}")
     void deleteByRef(String workflowRef);
 
@@ -32,5 +46,6 @@ public interface ProjectLastExecutionMapper {
     @Result(column = "start_time", property = "startTime")
     @Result(column = "end_time", property = "endTime")
     @Result(column = "suspended_time", property = "suspendedTime")
+    @Result(column = "next_time", property = "nextTime")
     Optional<ProjectLastExecution> findByRef(String workflowRef);
 }
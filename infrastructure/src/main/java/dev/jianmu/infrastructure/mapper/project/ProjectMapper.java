@@ -4,6 +4,7 @@ import dev.jianmu.project.aggregate.Project;
 import dev.jianmu.project.query.ProjectVo;
 import org.apache.ibatis.annotations.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,11 @@ import java.util.Optional;
  * @create 2021-04-23 11:39
  */
 public interface ProjectMapper {
+    // 列表查询列，dsl_text只在详情中加载
+    String VO_COLUMNS = "`jp`.`id`, `jp`.`dsl_source`, `jp`.`dsl_type`, `jp`.`trigger_type`, `jp`.`git_repo_id`, `jp`.`workflow_name`, `jp`.`workflow_description`, " +
+            "`jp`.`workflow_ref`, `jp`.`workflow_version`, `jp`.`steps`, `jp`.`enabled`, `jp`.`mutable`, `jp`.`concurrent`, " +
+            "`jp`.`created_time`, `jp`.`last_modified_by`, `jp`.`last_modified_time`, ";
+
     @Insert("insert into jianmu_project(id, dsl_source, dsl_type, enabled, mutable, trigger_type, git_repo_id, workflow_name, workflow_description, workflow_ref, workflow_version, steps, dsl_text, created_time, last_modified_by, last_modified_time, concurrent) " +
             "values(#{id}, #{dslSource}, #{dslType}, #{enabled}, #{mutable}, #{triggerType}, #{gitRepoId}, #{workflowName}, #{workflowDescription}, #{workflowRef}, #{workflowVersion}, #{steps}, #{dslText}, #{createdTime}, #{lastModifiedBy}, #{lastModifiedTime}, #{concurrent})")
     void add(Project project);
@@ -110,12 +116,21 @@ public interface ProjectMapper {
     List<Project> findAll();
 
     @Select("<script>" +
-            "SELECT jp.*, `jpl`.`workflow_instance_id`, `jpl`.`serial_no`, `jpl`.`end_time`, `jpl`.`status`, `jpl`.`occurred_time`, `jpl`.`start_time`, `jpl`.`suspended_time` " +
+            "select id, workflow_name, workflow_description from jianmu_project" +
+            "<if test='id != null'> where id = #{id}</if>" +
+            "</script>")
+    @Result(column = "workflow_name", property = "workflowName")
+    @Result(column = "workflow_description", property = "workflowDescription")
+    List<Project> findSearchFields(@Param("id") String id);
+
+    @Select("<script>" +
+            "SELECT " + VO_COLUMNS + "`jpl`.`workflow_instance_id`, `jpl`.`serial_no`, `jpl`.`end_time`, `jpl`.`status`, `jpl`.`occurred_time`, `jpl`.`start_time`, `jpl`.`suspended_time`, `jpl`.`next_time`, `jpl`.`version` " +
             "FROM `jianmu_project` `jp` INNER JOIN `project_link_group` `plp`  ON `plp`.`project_id` = `jp`.`id` " +
             "INNER JOIN `jm_project_last_execution` `jpl` ON (`jp`.`workflow_ref` = `jpl`.`workflow_ref`)" +
             "<where>" +
             "   <if test='projectGroupId != null'> AND `plp`.`project_group_id` = #{projectGroupId} </if>" +
             "   <if test='workflowName != null'> AND (`jp`.`workflow_name` like concat('%', #{workflowName}, '%') OR `jp`.`workflow_description` like concat('%', #{workflowName}, '%'))</if>" +
+            "   <if test='ids != null'> AND `jp`.`id` IN <foreach collection='ids' item='i' open='(' separator=',' close=')'>#{i}</foreach></if>" +
             "</where>" +
             "<if test='sortType == \"DEFAULT_SORT\"'> ORDER BY `plp`.`sort` asc</if>" +
             "<if test='sortType == \"LAST_MODIFIED_TIME\"'> ORDER BY `jp`.`last_modified_time` desc</if>" +
@@ -141,10 +156,12 @@ public interface ProjectMapper {
     @Result(column = "start_time", property = "startTime")
     @Result(column = "suspended_time", property = "suspendedTime")
     @Result(column = "end_time", property = "latestTime")
-    List<ProjectVo> findAllByGroupId(@Param("projectGroupId") String projectGroupId, @Param("workflowName") String workflowName, @Param("sortType") String sortType);
+    @Result(column = "next_time", property = "nextTime")
+    List<ProjectVo> findAllByGroupId(@Param("projectGroupId") String projectGroupId, @Param("workflowName") String workflowName, @Param("ids") Collection<String> ids, @Param("sortType") String sortType);
 
     @Select("<script>" +
-            "SELECT jp.*, jpl.* FROM `jianmu_project` `jp` JOIN `jm_project_last_execution` `jpl` ON (`jp`.`workflow_ref` = `jpl`.`workflow_ref`)  " +
+            "SELECT " + VO_COLUMNS + "`jpl`.`workflow_instance_id`, `jpl`.`serial_no`, `jpl`.`end_time`, `jpl`.`status`, `jpl`.`occurred_time`, `jpl`.`start_time`, `jpl`.`suspended_time`, `jpl`.`next_time`, `jpl`.`version` " +
+            "FROM `jianmu_project` `jp` JOIN `jm_project_last_execution` `jpl` ON (`jp`.`workflow_ref` = `jpl`.`workflow_ref`)  " +
             "<where>" +
             "   `jp`.`id` IN <foreach collection='ids' item='item' open='(' separator=',' close=')'> #{item}" +
             "   </foreach>" +
@@ -157,7 +174,7 @@ public interface ProjectMapper {
     @Result(column = "event_bridge_id", property = "eventBridgeId")
     @Result(column = "trigger_type", property = "triggerType")
     @Result(column = "git_repo_id", property = "gitRepoId")
-    @Result(column = "jp.workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
     @Result(column = "dsl_text", property = "dslText")
     @Result(column = "created_time", property = "createdTime")
@@ -167,6 +184,79 @@ public interface ProjectMapper {
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "start_time", property = "startTime")
     @Result(column = "suspended_time", property = "suspendedTime")
+    @Result(column = "occurred_time", property = "occurredTime")
     @Result(column = "end_time", property = "latestTime")
+    @Result(column = "next_time", property = "nextTime")
     List<ProjectVo> findVoByIdIn(@Param("ids") List<String> ids);
+
+    @Select("SELECT " + VO_COLUMNS + "`jpl`.`workflow_instance_id`, `jpl`.`serial_no`, `jpl`.`end_time`, `jpl`.`status`, `jpl`.`occurred_time`, `jpl`.`start_time`, `jpl`.`suspended_time`, `jpl`.`next_time`, `jpl`.`version` " +
+            "FROM `jianmu_project` `jp` LEFT JOIN `jm_project_last_execution` `jpl` ON (`jp`.`workflow_ref` = `jpl`.`workflow_ref`) " +
+            "ORDER BY `jp`.`created_time` DESC")
+    @Result(column = "workflow_name", property = "workflowName")
+    @Result(column = "workflow_description", property = "workflowDescription")
+    @Result(column = "dsl_source", property = "dslSource")
+    @Result(column = "dsl_type", property = "dslType")
+    @Result(column = "event_bridge_id", property = "eventBridgeId")
+    @Result(column = "trigger_type", property = "triggerType")
+    @Result(column = "git_repo_id", property = "gitRepoId")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "dsl_text", property = "dslText")
+    @Result(column = "created_time", property = "createdTime")
+    @Result(column = "last_modified_by", property = "lastModifiedBy")
+    @Result(column = "last_modified_time", property = "lastModifiedTime")
+    @Result(column = "workflow_instance_id", property = "workflowInstanceId")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "occurred_time", property = "occurredTime")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "suspended_time", property = "suspendedTime")
+    @Result(column = "end_time", property = "latestTime")
+    @Result(column = "next_time", property = "nextTime")
+    List<ProjectVo> findAllVo();
+
+    @Select("<script>" +
+            "SELECT " + VO_COLUMNS + "`jpl`.`workflow_instance_id`, `jpl`.`serial_no`, `jpl`.`end_time`, `jpl`.`status`, `jpl`.`occurred_time`, `jpl`.`start_time`, `jpl`.`suspended_time`, `jpl`.`next_time`, `jpl`.`version`, `plp`.`sort` AS `group_sort` " +
+            "FROM `jianmu_project` `jp` INNER JOIN `project_link_group` `plp`  ON `plp`.`project_id` = `jp`.`id` " +
+            "INNER JOIN `jm_project_last_execution` `jpl` ON (`jp`.`workflow_ref` = `jpl`.`workflow_ref`)" +
+            "<where>" +
+            "   <if test='projectGroupId != null'> AND `plp`.`project_group_id` = #{projectGroupId} </if>" +
+            "   <if test='workflowName != null'> AND (`jp`.`workflow_name` like concat('%', #{workflowName}, '%') OR `jp`.`workflow_description` like concat('%', #{workflowName}, '%'))</if>" +
+            "   <if test='ids != null'> AND `jp`.`id` IN <foreach collection='ids' item='i' open='(' separator=',' close=')'>#{i}</foreach></if>" +
+            "   <if test='sort != null'> AND (`plp`.`sort` &gt; #{sort} OR (`plp`.`sort` = #{sort} AND `jp`.`id` &gt; #{id}))</if>" +
+            "</where>" +
+            " ORDER BY `plp`.`sort` asc, `jp`.`id` asc LIMIT #{limit}" +
+            "</script>")
+    @Result(column = "workflow_name", property = "workflowName")
+    @Result(column = "workflow_description", property = "workflowDescription")
+    @Result(column = "dsl_source", property = "dslSource")
+    @Result(column = "dsl_type", property = "dslType")
+    @Result(column = "event_bridge_id", property = "eventBridgeId")
+    @Result(column = "trigger_type", property = "triggerType")
+    @Result(column = "git_repo_id", property = "gitRepoId")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "dsl_text", property = "dslText")
+    @Result(column = "created_time", property = "createdTime")
+    @Result(column = "last_modified_by", property = "lastModifiedBy")
+    @Result(column = "last_modified_time", property = "lastModifiedTime")
+    @Result(column = "workflow_instance_id", property = "workflowInstanceId")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "occurred_time", property = "occurredTime")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "suspended_time", property = "suspendedTime")
+    @Result(column = "end_time", property = "latestTime")
+    @Result(column = "next_time", property = "nextTime")
+    @Result(column = "group_sort", property = "sort")
+    List<ProjectVo> findByGroupIdAfter(@Param("projectGroupId") String projectGroupId, @Param("workflowName") String workflowName, @Param("ids") Collection<String> ids,
+                                       @Param("sort") Integer sort, @Param("id") String id, @Param("limit") int limit);
+
+    @Select("<script>" +
+            "SELECT count(*) FROM `jianmu_project` `jp` INNER JOIN `project_link_group` `plp`  ON `plp`.`project_id` = `jp`.`id` " +
+            "<where>" +
+            "   <if test='projectGroupId != null'> AND `plp`.`project_group_id` = #{projectGroupId} </if>" +
+            "   <if test='workflowName != null'> AND (`jp`.`workflow_name` like concat('%', #{workflowName}, '%') OR `jp`.`workflow_description` like concat('%', #{workflowName}, '%'))</if>" +
+            "   <if test='ids != null'> AND `jp`.`id` IN <foreach collection='ids' item='i' open='(' separator=',' close=')'>#{i}</foreach></if>" +
+            "</where>" +
+            "</script>")
+    long countByGroupId(@Param("projectGroupId") String projectGroupId, @Param("workflowName") String workflowName, @Param("ids") Collection<String> ids);
 }
@@ -6,6 +6,7 @@ import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Result;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -37,4 +38,10 @@ public interface TrashProjectMapper {
     @Result(column = "last_modified_by", property = "lastModifiedBy")
     @Result(column = "last_modified_time", property = "lastModifiedTime")
     Optional<Project> findById(String id);
+
+    @Select("select id from jianmu_trash_project")
+    List<String> findIds();
+
+    @Delete("delete from jianmu_trash_project where id = #{id}")
+    void deleteById(String id);
 }
@@ -0,0 +1,26 @@
+package dev.jianmu.infrastructure.mapper.startup;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * @author Daihw
+ * @class StartupMarkerMapper
+ * @description 启动升级标记
+ * @create 2026/10/19 2:00 上午
+ */
+public interface StartupMarkerMapper {
+    @Select("select version from jm_startup_marker where name = #{name}")
+    Optional<String> findVersion(@Param("name") String name);
+
+    @Delete("delete from jm_startup_marker where name = #{name}")
+    void delete(@Param("name") String name);
+
+    @Insert("insert into jm_startup_marker(name, version, applied_time) values(#{name}, #{version}, #{appliedTime})")
+    void add(@Param("name") String name, @Param("version") String version, @Param("appliedTime") LocalDateTime appliedTime);
+}
@@ -4,7 +4,6 @@ import dev.jianmu.task.aggregate.InstanceParameter;
 import org.apache.ibatis.annotations.*;
 
 import java.util.List;
-import java.util.Set;
 
 /**
  * @author Ethan Liu
@@ -13,13 +12,22 @@ import java.util.Set;
  * @create 2021-05-01 21:31
  */
 public interface InstanceParameterMapper {
-    @Insert("<script>" +
-        "insert into task_instance_parameter(instance_id, serial_no, def_key, async_task_ref, business_id, trigger_id, ref, `type`, workflow_type, parameter_id, required) values" +
-        "<foreach collection='instanceParameters' item='i' index='key' separator=','>" +
-        "(#{i.instanceId}, #{i.serialNo}, #{i.defKey}, #{i.asyncTaskRef}, #{i.businessId}, #{i.triggerId}, #{i.ref}, #{i.type}, #{i.workflowType}, #{i.parameterId}, #{i.required})" +
-        "</foreach>" +
-        " </script>")
-    void addAll(@Param("instanceParameters") Set<InstanceParameter> instanceParameters);
+    @Insert("insert into task_instance_parameter(instance_id, serial_no, def_key, async_task_ref, business_id, trigger_id, ref, `type`, workflow_type, parameter_id, required) " +
+        "values(#{i.instanceId}, #{i.serialNo}, #{i.defKey}, #{i.asyncTaskRef}, #{i.businessId}, #{i.triggerId}, #{i.ref}, #{i.type}, #{i.workflowType}, #{i.parameterId}, #{i.required})")
+    void add(@Param("i") InstanceParameter instanceParameter);
+
+    // 只在执行序号不小于已记录值时覆盖，重试与循环中较早的写入不会回退最新输出
+    @Insert("insert into jm_task_instance_last_output(trigger_id, async_task_ref, ref, instance_id, serial_no, def_key, business_id, `type`, workflow_type, parameter_id, required) " +
+        "values(#{i.triggerId}, #{i.asyncTaskRef}, #{i.ref}, #{i.instanceId}, #{i.serialNo}, #{i.defKey}, #{i.businessId}, #{i.type}, #{i.workflowType}, #{i.parameterId}, #{i.required})" +
+        " ON DUPLICATE KEY UPDATE " +
+        "instance_id = if(values(serial_no) >= serial_no, values(instance_id), instance_id), " +
+        "def_key = if(values(serial_no) >= serial_no, values(def_key), def_key), " +
+        "business_id = if(values(serial_no) >= serial_no, values(business_id), business_id), " +
+        "workflow_type = if(values(serial_no) >= serial_no, values(workflow_type), workflow_type), " +
+        "parameter_id = if(values(serial_no) >= serial_no, values(parameter_id), parameter_id), " +
+        "required = if(values(serial_no) >= serial_no, values(required), required), " +
+        "serial_no = greatest(serial_no, values(serial_no))")
+    void saveLastOutput(@Param("i") InstanceParameter instanceParameter);
 
     @Delete("delete t1, t2 from task_instance_parameter t1 " +
         "left join parameter t2 on (t1.parameter_id = (t2.id collate utf8mb4_0900_ai_ci) and t2.default = 0)" +
@@ -32,6 +40,12 @@ public interface InstanceParameterMapper {
         "</script>")
     void deleteByTriggerIdIn(@Param("triggerIds") List<String> triggerIds);
 
+    @Delete("<script>" +
+        "delete from jm_task_instance_last_output " +
+        "where `trigger_id` IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach>" +
+        "</script>")
+    void deleteLastOutputByTriggerIdIn(@Param("triggerIds") List<String> triggerIds);
+
     @Select("select * from task_instance_parameter where instance_id = #{instanceId}")
     @Result(column = "instance_id", property = "instanceId")
     @Result(column = "serial_no", property = "serialNo")
@@ -54,14 +68,7 @@ public interface InstanceParameterMapper {
     @Result(column = "workflow_type", property = "workflowType")
     List<InstanceParameter> findByInstanceIdAndType(@Param("instanceId") String instanceId, @Param("type") InstanceParameter.Type type);
 
-    @Select("SELECT T.* FROM task_instance_parameter as T," +
-        "(" +
-        "SELECT max(serial_no) as max_no, async_task_ref, ref FROM task_instance_parameter " +
-        "    WHERE trigger_id=#{triggerId} " +
-        "    GROUP BY  async_task_ref, ref" +
-        ") as B " +
-        "WHERE trigger_id=#{triggerId} " +
-        "AND T.async_task_ref=B.async_task_ref AND T.ref=B.ref AND T.serial_no=B.max_no AND T.type='OUTPUT'")
+    @Select("select * from jm_task_instance_last_output where trigger_id = #{triggerId}")
     @Result(column = "instance_id", property = "instanceId")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "def_key", property = "defKey")
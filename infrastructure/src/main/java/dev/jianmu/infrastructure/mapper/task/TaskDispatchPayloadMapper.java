@@ -0,0 +1,21 @@
+package dev.jianmu.infrastructure.mapper.task;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Optional;
+
+/**
+ * @author Daihw
+ * @class TaskDispatchPayloadMapper
+ * @description 任务下发载荷Mapper
+ * @create 2026/10/19 3:40 上午
+ */
+public interface TaskDispatchPayloadMapper {
+    @Insert("insert into jm_task_dispatch_payload(task_instance_id, trigger_id, payload) values(#{taskInstanceId}, #{triggerId}, #{payload})")
+    void add(@Param("taskInstanceId") String taskInstanceId, @Param("triggerId") String triggerId, @Param("payload") String payload);
+
+    @Select("select payload from jm_task_dispatch_payload where task_instance_id = #{taskInstanceId}")
+    Optional<String> findByTaskInstanceId(@Param("taskInstanceId") String taskInstanceId);
+}
@@ -15,6 +15,9 @@ import java.util.Optional;
  * @create 2021-03-25 21:39
  */
 public interface TaskInstanceMapper {
+    // 摘要列，不含节点定义快照node_info
+    String SUMMARY_COLUMNS = "id, serial_no, def_key, async_task_ref, workflow_ref, workflow_version, business_id, trigger_id, start_time, end_time, status, worker_id, _version";
+
     @Insert("insert into task_instance(id, serial_no, def_key, node_info, async_task_ref, workflow_ref, workflow_version, business_id, trigger_id, start_time, end_time, status, worker_id, _version) " +
             "values(#{id}, #{serialNo}, #{defKey}, #{nodeInfo, jdbcType=BLOB,typeHandler=dev.jianmu.infrastructure.typehandler.NodeInfoTypeHandler}, #{asyncTaskRef}, #{workflowRef}, #{workflowVersion}, #{businessId}, #{triggerId}, #{startTime}, #{endTime}, #{status}, #{workerId}, #{version})")
     void add(TaskInstance taskInstance);
@@ -85,6 +88,34 @@ public interface TaskInstanceMapper {
     @Result(column = "end_time", property = "endTime")
     Optional<TaskInstance> findByBusinessIdAndMaxSerialNo(String businessId);
 
+    @Select("select " + SUMMARY_COLUMNS + " from task_instance where business_id = #{businessId}")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "def_key", property = "defKey")
+    @Result(column = "async_task_ref", property = "asyncTaskRef")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "business_id", property = "businessId")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "worker_id", property = "workerId")
+    @Result(column = "_version", property = "version")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "end_time", property = "endTime")
+    List<TaskInstance> findSummaryByBusinessId(String businessId);
+
+    @Select("select " + SUMMARY_COLUMNS + " from task_instance where business_id = #{businessId} order by serial_no desc limit 1")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "def_key", property = "defKey")
+    @Result(column = "async_task_ref", property = "asyncTaskRef")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "business_id", property = "businessId")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "worker_id", property = "workerId")
+    @Result(column = "_version", property = "version")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "end_time", property = "endTime")
+    Optional<TaskInstance> findSummaryByBusinessIdAndMaxSerialNo(String businessId);
+
     @Select("select * from task_instance where trigger_id = #{triggerId} order by start_time asc")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "def_key", property = "defKey")
@@ -1,8 +1,10 @@
 package dev.jianmu.infrastructure.mapper.trigger;
 
+import dev.jianmu.infrastructure.search.TriggerParameterValue;
 import dev.jianmu.trigger.event.TriggerEventParameter;
 import org.apache.ibatis.annotations.*;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -36,4 +38,11 @@ public interface TriggerEventParameterMapper {
         "where `trigger_event_id` IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach>" +
         "</script>")
     List<String> findParameterIdByTriggerIdIn(@Param("triggerIds") List<String> triggerIds);
+
+    @Select("<script>" +
+        "select trigger_event_id, value from jianmu_trigger_event_parameter " +
+        "where type != 'SECRET' and `trigger_event_id` IN <foreach collection='triggerIds' item='item' open='(' separator=',' close=')'> #{item}</foreach>" +
+        "</script>")
+    @Result(column = "trigger_event_id", property = "triggerEventId")
+    List<TriggerParameterValue> findValueByTriggerIdIn(@Param("triggerIds") Collection<String> triggerIds);
 }
@@ -2,10 +2,12 @@ package dev.jianmu.infrastructure.mapper.trigger;
 
 import dev.jianmu.trigger.aggregate.WebRequest;
 import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Result;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +18,9 @@ import java.util.Optional;
  * @create 2021-11-15 13:44
  */
 public interface WebRequestMapper {
+    // 列表查询列，payload只在详情中加载
+    String SUMMARY_COLUMNS = "id, project_id, workflow_ref, workflow_version, trigger_id, user_agent, status_code, error_msg, request_time";
+
     @Insert("insert into jianmu_web_request(id, project_id, workflow_ref, workflow_version, trigger_id, user_agent, status_code, error_msg, request_time) " +
             "values(#{id}, #{projectId}, #{workflowRef}, #{workflowVersion}, #{triggerId}, #{userAgent}, #{statusCode}, #{errorMsg}, #{requestTime})")
     void add(WebRequest webRequest);
@@ -23,7 +28,7 @@ public interface WebRequestMapper {
     @Update("UPDATE jianmu_web_request set status_code = #{statusCode}, error_msg = #{errorMsg} where id = #{id}")
     void update(WebRequest webRequest);
 
-    @Select("SELECT * FROM jianmu_web_request where project_id = #{projectId} order by request_time desc")
+    @Select("SELECT " + SUMMARY_COLUMNS + " FROM jianmu_web_request where project_id = #{projectId} order by request_time desc")
     @Result(column = "project_id", property = "projectId")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -34,6 +39,24 @@ public interface WebRequestMapper {
     @Result(column = "request_time", property = "requestTime")
     List<WebRequest> findPage(String projectId);
 
+    @Select("<script>" +
+            "SELECT " + SUMMARY_COLUMNS + " FROM jianmu_web_request where project_id = #{projectId}" +
+            "<if test='requestTime != null'> and (request_time &lt; #{requestTime} or (request_time = #{requestTime} and id &lt; #{id}))</if>" +
+            " order by request_time desc, id desc limit #{limit}" +
+            "</script>")
+    @Result(column = "project_id", property = "projectId")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "user_agent", property = "userAgent")
+    @Result(column = "status_code", property = "statusCode")
+    @Result(column = "error_msg", property = "errorMsg")
+    @Result(column = "request_time", property = "requestTime")
+    List<WebRequest> findByProjectIdBefore(@Param("projectId") String projectId, @Param("requestTime") LocalDateTime requestTime, @Param("id") String id, @Param("limit") int limit);
+
+    @Select("SELECT count(*) FROM jianmu_web_request where project_id = #{projectId}")
+    long countByProjectId(String projectId);
+
     @Select("SELECT * FROM jianmu_web_request where id = #{id}")
     @Result(column = "project_id", property = "projectId")
     @Result(column = "workflow_ref", property = "workflowRef")
@@ -81,14 +81,6 @@ public interface AsyncTaskInstanceMapper {
             "values(#{id}, #{triggerId}, #{workflowRef}, #{workflowVersion}, #{workflowInstanceId}, #{name}, #{description}, #{status}, #{failureMode}, #{asyncTaskRef}, #{asyncTaskType}, #{serialNo}, #{nextTarget}, #{activatingTime}, #{startTime}, #{endTime})")
     void add(AsyncTaskInstance asyncTaskInstance);
 
-    @Insert("<script>" +
-            "insert into async_task_instance(id, trigger_id, workflow_ref, workflow_version, workflow_instance_id, name, description, status, failure_mode, async_task_ref, async_task_type, serial_no, next_target, activating_time, start_time, end_time) values" +
-            "<foreach collection='asyncTaskInstances' item='i' index='key' separator=','>" +
-            "(#{i.id}, #{i.triggerId}, #{i.workflowRef}, #{i.workflowVersion}, #{i.workflowInstanceId}, #{i.name}, #{i.description}, #{i.status}, #{i.failureMode}, #{i.asyncTaskRef}, #{i.asyncTaskType}, #{i.serialNo}, #{i.nextTarget}, #{i.activatingTime}, #{i.startTime}, #{i.endTime})" +
-            "</foreach>" +
-            " </script>")
-    void addAll(@Param("asyncTaskInstances") List<AsyncTaskInstance> asyncTaskInstances);
-
     @Select("select _version from async_task_instance where id = #{id}")
     int getVersion(String id);
 
@@ -4,6 +4,7 @@ import dev.jianmu.workflow.aggregate.process.ProcessStatus;
 import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
 import org.apache.ibatis.annotations.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +15,11 @@ import java.util.Optional;
  * @create 2021-03-21 19:27
  */
 public interface WorkflowInstanceMapper {
+    // 已映射的列，不含早期版本遗留的task_instances
+    String COLUMNS = "id, serial_no, trigger_id, trigger_type, name, description, run_mode, status, workflow_ref, workflow_version, occurred_time, start_time, suspended_time, end_time";
 
     @Select("<script>" +
-            "SELECT * FROM workflow_instance " +
+            "SELECT " + COLUMNS + " FROM workflow_instance " +
             "<where>" +
             " workflow_ref = #{workflowRef} AND status IN " +
             " <foreach collection='statuses' item='item' open='(' close=')' separator=','> #{item} " +
@@ -39,7 +42,7 @@ public interface WorkflowInstanceMapper {
             @Param("statuses") List<ProcessStatus> statuses
     );
 
-    @Select("select * from workflow_instance where workflow_ref = #{workflowRef} and status = #{status} order by serial_no limit 1")
+    @Select("select " + COLUMNS + " from workflow_instance where workflow_ref = #{workflowRef} and status = #{status} order by serial_no limit 1")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -52,7 +55,54 @@ public interface WorkflowInstanceMapper {
     @Result(column = "end_time", property = "endTime")
     Optional<WorkflowInstance> findByRefAndStatusAndSerialNoMin(@Param("workflowRef") String workflowRef, @Param("status") ProcessStatus status);
 
-    @Select("select * from workflow_instance where id = #{instanceId}")
+    @Select("select " + COLUMNS + " from workflow_instance where workflow_ref = #{workflowRef} and status = #{status} order by serial_no limit #{limit}")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "trigger_type", property = "triggerType")
+    @Result(column = "run_mode", property = "runMode")
+    @Result(column = "occurred_time", property = "occurredTime")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "suspended_time", property = "suspendedTime")
+    @Result(column = "end_time", property = "endTime")
+    List<WorkflowInstance> findByRefAndStatusLimit(@Param("workflowRef") String workflowRef, @Param("status") ProcessStatus status, @Param("limit") int limit);
+
+    @Select("select init_count from jm_workflow_admission where workflow_ref = #{workflowRef}")
+    Integer findInitCount(@Param("workflowRef") String workflowRef);
+
+    @Select("select running_count from jm_workflow_admission where workflow_ref = #{workflowRef}")
+    Integer findRunningCount(@Param("workflowRef") String workflowRef);
+
+    // 与状态变更在同一事务内按增量调整准入计数，计数行的行锁保证并发调整不丢失
+    @Insert("insert into jm_workflow_admission(workflow_ref, init_count, running_count) " +
+            "values(#{workflowRef}, greatest(#{initDelta}, 0), greatest(#{runningDelta}, 0))" +
+            " ON DUPLICATE KEY UPDATE " +
+            "init_count = greatest(init_count + #{initDelta}, 0), running_count = greatest(running_count + #{runningDelta}, 0)")
+    void adjustAdmission(@Param("workflowRef") String workflowRef, @Param("initDelta") int initDelta, @Param("runningDelta") int runningDelta);
+
+    // 锁定流程实例行读取变更前的状态，同一实例的状态变更串行执行
+    @Select("select status from workflow_instance where id = #{instanceId} for update")
+    ProcessStatus findStatusForUpdate(@Param("instanceId") String instanceId);
+
+    @Delete("delete from jm_workflow_admission where workflow_ref = #{workflowRef}")
+    void deleteAdmission(@Param("workflowRef") String workflowRef);
+
+    @Update("update jm_workflow_sequence set serial_no = serial_no + 1 where workflow_ref = #{workflowRef}")
+    int increaseSerialNo(@Param("workflowRef") String workflowRef);
+
+    // 序号行不存在时从已有流程实例的最大序号开始
+    @Insert("insert into jm_workflow_sequence(workflow_ref, serial_no) " +
+            "select #{workflowRef}, coalesce(max(serial_no), 0) + 1 from workflow_instance where workflow_ref = #{workflowRef}")
+    void addSerialNo(@Param("workflowRef") String workflowRef);
+
+    @Select("select serial_no from jm_workflow_sequence where workflow_ref = #{workflowRef}")
+    int findSerialNo(@Param("workflowRef") String workflowRef);
+
+    @Delete("delete from jm_workflow_sequence where workflow_ref = #{workflowRef}")
+    void deleteSerialNo(@Param("workflowRef") String workflowRef);
+
+    @Select("select " + COLUMNS + " from workflow_instance where id = #{instanceId}")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -65,7 +115,7 @@ public interface WorkflowInstanceMapper {
     @Result(column = "end_time", property = "endTime")
     Optional<WorkflowInstance> findById(String instanceId);
 
-    @Select("select * from workflow_instance where trigger_id = #{triggerId}")
+    @Select("select " + COLUMNS + " from workflow_instance where trigger_id = #{triggerId}")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -99,9 +149,9 @@ public interface WorkflowInstanceMapper {
     void deleteByWorkflowRef(String workflowRef);
 
     @Delete("delete from workflow_instance where id=#{id}")
-    void deleteById(String id);
+    int deleteById(String id);
 
-    @Select("select * from workflow_instance where workflow_ref = #{workflowRef}")
+    @Select("select " + COLUMNS + " from workflow_instance where workflow_ref = #{workflowRef}")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -114,7 +164,7 @@ public interface WorkflowInstanceMapper {
     @Result(column = "end_time", property = "endTime")
     List<WorkflowInstance> findByRef(@Param("workflowRef") String workflowRef);
 
-    @Select("SELECT * FROM workflow_instance where workflow_ref=#{workflowRef} and serial_no <= ((select max(serial_no) from workflow_instance where workflow_ref=#{workflowRef}) - #{offset})")
+    @Select("SELECT " + COLUMNS + " FROM workflow_instance where workflow_ref=#{workflowRef} and serial_no <= ((select max(serial_no) from workflow_instance where workflow_ref=#{workflowRef}) - #{offset})")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -127,7 +177,7 @@ public interface WorkflowInstanceMapper {
     @Result(column = "end_time", property = "endTime")
     List<WorkflowInstance> findByRefOffset(@Param("workflowRef") String workflowRef, @Param("offset") long offset);
 
-    @Select("select * from workflow_instance")
+    @Select("select " + COLUMNS + " from workflow_instance")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -144,7 +194,7 @@ public interface WorkflowInstanceMapper {
     );
 
     @Select("<script>" +
-            "SELECT * FROM `workflow_instance` " +
+            "SELECT " + COLUMNS + " FROM `workflow_instance` " +
             "<where>" +
             "<if test='status != null'>status = #{status}</if>" +
             "<if test='!id.isBlank()'> AND `id` like concat('%', #{id}, '%')</if>" +
@@ -170,7 +220,7 @@ public interface WorkflowInstanceMapper {
             @Param("status") ProcessStatus status
     );
 
-    @Select("select * from workflow_instance where workflow_ref = #{workflowRef} order by serial_no desc limit #{offset}")
+    @Select("select " + COLUMNS + " from workflow_instance where workflow_ref = #{workflowRef} order by serial_no desc limit #{offset}")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -183,7 +233,7 @@ public interface WorkflowInstanceMapper {
     @Result(column = "end_time", property = "endTime")
     List<WorkflowInstance> findByWorkflowRef(@Param("workflowRef") String workflowRef, @Param("offset") long offset);
 
-    @Select("select * from workflow_instance where workflow_ref = #{workflowRef} order by serial_no desc limit 1")
+    @Select("select " + COLUMNS + " from workflow_instance where workflow_ref = #{workflowRef} order by serial_no desc limit 1")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -196,7 +246,7 @@ public interface WorkflowInstanceMapper {
     @Result(column = "end_time", property = "endTime")
     Optional<WorkflowInstance> findByRefAndSerialNoMax(@Param("workflowRef") String workflowRef);
 
-    @Select("select * from workflow_instance where workflow_ref = #{workflowRef} order by serial_no desc")
+    @Select("select " + COLUMNS + " from workflow_instance where workflow_ref = #{workflowRef} order by serial_no desc")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
     @Result(column = "workflow_version", property = "workflowVersion")
@@ -209,7 +259,53 @@ public interface WorkflowInstanceMapper {
     @Result(column = "end_time", property = "endTime")
     List<WorkflowInstance> findPageByWorkflowRef(String workflowRef);
 
-    @Select("select * from workflow_instance where workflow_ref = #{workflowRef} and status in ('RUNNING', 'SUSPENDED') " +
+    @Select("<script>" +
+            "select " + COLUMNS + " from workflow_instance where workflow_ref = #{workflowRef}" +
+            "<if test='serialNo != null'> and serial_no &lt; #{serialNo}</if>" +
+            " order by serial_no desc limit #{limit}" +
+            "</script>")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "trigger_type", property = "triggerType")
+    @Result(column = "run_mode", property = "runMode")
+    @Result(column = "occurred_time", property = "occurredTime")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "suspended_time", property = "suspendedTime")
+    @Result(column = "end_time", property = "endTime")
+    List<WorkflowInstance> findByWorkflowRefBefore(@Param("workflowRef") String workflowRef, @Param("serialNo") Integer serialNo, @Param("limit") int limit);
+
+    @Select("<script>" +
+            "select id, name, workflow_ref, workflow_version, trigger_id from workflow_instance" +
+            "<if test='id != null'> where id = #{id}</if>" +
+            " order by occurred_time desc limit #{limit}" +
+            "</script>")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "trigger_id", property = "triggerId")
+    List<WorkflowInstance> findSearchFields(@Param("id") String id, @Param("limit") int limit);
+
+    @Select("<script>" +
+            "select " + COLUMNS + " from workflow_instance where id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    @Result(column = "serial_no", property = "serialNo")
+    @Result(column = "workflow_ref", property = "workflowRef")
+    @Result(column = "workflow_version", property = "workflowVersion")
+    @Result(column = "trigger_id", property = "triggerId")
+    @Result(column = "trigger_type", property = "triggerType")
+    @Result(column = "run_mode", property = "runMode")
+    @Result(column = "occurred_time", property = "occurredTime")
+    @Result(column = "start_time", property = "startTime")
+    @Result(column = "suspended_time", property = "suspendedTime")
+    @Result(column = "end_time", property = "endTime")
+    List<WorkflowInstance> findByIdIn(@Param("ids") Collection<String> ids);
+
+    @Select("select count(*) from workflow_instance where workflow_ref = #{workflowRef}")
+    long countByWorkflowRef(@Param("workflowRef") String workflowRef);
+
+    @Select("select " + COLUMNS + " from workflow_instance where workflow_ref = #{workflowRef} and status in ('RUNNING', 'SUSPENDED') " +
             "and serial_no <= ((select max(serial_no) from workflow_instance where workflow_ref=#{workflowRef}) - #{offset}) order by serial_no desc")
     @Result(column = "serial_no", property = "serialNo")
     @Result(column = "workflow_ref", property = "workflowRef")
@@ -3,11 +3,13 @@ package dev.jianmu.infrastructure.mapper.workflow;
 import dev.jianmu.infrastructure.typehandler.NodeSetTypeHandler;
 import dev.jianmu.infrastructure.typehandler.ParameterSetTypeHandler;
 import dev.jianmu.infrastructure.typehandler.StringListTypeHandler;
+import dev.jianmu.workflow.aggregate.definition.Node;
 import dev.jianmu.workflow.aggregate.definition.Workflow;
 import org.apache.ibatis.annotations.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 
 /**
@@ -38,6 +40,14 @@ public interface WorkflowMapper {
     @Result(column = "created_time", property = "createdTime")
     List<Workflow> findByRefAndVersions(@Param("refVersions") List<String> refVersions);
 
+    @Select("<script>" +
+            "select ref, version, caches from workflow WHERE `ref_version` IN " +
+            "<foreach collection='refVersions' item='i'  open='(' separator=',' close=')'>#{i}" +
+            "</foreach>" +
+            "</script>")
+    @Result(column = "caches", property = "caches", typeHandler = StringListTypeHandler.class)
+    List<Workflow> findCachesByRefVersions(@Param("refVersions") List<String> refVersions);
+
     @Select("select * from workflow where ref = #{ref}")
     @Result(column = "caches", property = "caches", typeHandler = StringListTypeHandler.class)
     @Result(column = "nodes", property = "nodes", typeHandler = NodeSetTypeHandler.class)
@@ -54,6 +64,17 @@ public interface WorkflowMapper {
             "#{dslText}, #{createdTime})")
     void add(Workflow workflow);
 
+    @Select("select ref_version from workflow where ref_version > #{after} and substring(nodes, 1, 1) = '[' " +
+            "order by ref_version limit #{limit}")
+    List<String> findLegacyNodesRefVersions(@Param("after") String after, @Param("limit") int limit);
+
+    @Select("select nodes from workflow where ref_version = #{refVersion}")
+    byte[] findNodesByRefVersion(String refVersion);
+
+    @Update("update workflow set nodes = #{nodes, jdbcType=BLOB,typeHandler=dev.jianmu.infrastructure.typehandler.NodeSetTypeHandler} " +
+            "where ref_version = #{refVersion}")
+    void updateNodes(@Param("refVersion") String refVersion, @Param("nodes") Set<Node> nodes);
+
     @Delete("delete from workflow where ref_version = #{refVersion}")
     void deleteByRefAndVersion(String refVersion);
 
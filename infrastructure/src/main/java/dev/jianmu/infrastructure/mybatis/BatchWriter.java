@@ -0,0 +1,70 @@
+package dev.jianmu.infrastructure.mybatis;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/**
+ * @author Daihw
+ * @class BatchWriter
+ * @description 使用BATCH执行器批量执行单行语句，语句形状固定，配合MySQL的rewriteBatchedStatements合并为多行插入
+ * @create 2026/10/18 9:20 下午
+ */
+@Component
+public class BatchWriter {
+    private final SqlSessionFactory sqlSessionFactory;
+    private final SqlSessionTemplate sqlSessionTemplate;
+    private final GlobalProperties globalProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchWriter(
+            SqlSessionFactory sqlSessionFactory,
+            SqlSessionTemplate sqlSessionTemplate,
+            GlobalProperties globalProperties,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.sqlSessionTemplate = sqlSessionTemplate;
+        this.globalProperties = globalProperties;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 按jianmu.batch.size分块发送，BATCH会话通过SpringManagedTransaction复用当前事务的连接，
+     * 写入随调用方事务提交或回滚；调用方没有事务时在独立事务中写入，避免自动提交导致部分写入
+     */
+    public <M, T> void write(Class<M> mapperType, Collection<T> items, BiConsumer<M, T> statement) {
+        if (items.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            this.transactionTemplate.executeWithoutResult(status -> this.write(mapperType, items, statement));
+            return;
+        }
+        var batchSize = this.globalProperties.getBatch().getSize();
+        try (var session = this.sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            var mapper = session.getMapper(mapperType);
+            var count = 0;
+            for (var item : items) {
+                statement.accept(mapper, item);
+                if (++count % batchSize == 0) {
+                    session.flushStatements();
+                }
+            }
+            session.commit();
+        } catch (PersistenceException e) {
+            var translated = this.sqlSessionTemplate.getPersistenceExceptionTranslator().translateExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+        // 事务内SIMPLE会话的一级缓存看不到BATCH会话写入的数据
+        this.sqlSessionTemplate.clearCache();
+    }
+}
@@ -0,0 +1,101 @@
+package dev.jianmu.infrastructure.mybatis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class CursorPage
+ * @description 游标分页结果，按排序键定位下一页，避免深分页的偏移扫描与全量count
+ * @create 2026/10/18 6:05 下午
+ */
+public class CursorPage<T> {
+    public static final int MAX_SIZE = 100;
+    private static final String SEPARATOR = "\n";
+
+    private final List<T> list;
+    // 下一页游标，为空表示没有更多数据
+    private final String nextCursor;
+    // 总数，未请求时为空，部分查询为估算值
+    private final Long total;
+
+    public CursorPage(List<T> list, String nextCursor, Long total) {
+        this.list = list;
+        this.nextCursor = nextCursor;
+        this.total = total;
+    }
+
+    public static int limit(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    /**
+     * 查询时多取一条用于判断是否有下一页，rows数量应为limit + 1
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf, Long total) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null, total);
+        }
+        var list = rows.subList(0, limit);
+        return new CursorPage<>(list, cursorOf.apply(list.get(limit - 1)), total);
+    }
+
+    public static String encode(Object... keys) {
+        var value = Arrays.stream(keys)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int length) {
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(Pattern.quote(SEPARATOR), -1);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+        if (keys.length != length) {
+            throw new InvalidCursorException();
+        }
+        return keys;
+    }
+
+    /**
+     * 转换游标中的排序键，排序键格式错误时同样视为游标不合法
+     */
+    public static <R> R parse(Supplier<R> parser) {
+        try {
+            return parser.get();
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(this.list.stream().map(mapper).collect(Collectors.toList()), this.nextCursor, this.total);
+    }
+
+    public List<T> getList() {
+        return list;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public static class InvalidCursorException extends IllegalArgumentException {
+        public InvalidCursorException() {
+            super("分页游标不合法");
+        }
+    }
+}
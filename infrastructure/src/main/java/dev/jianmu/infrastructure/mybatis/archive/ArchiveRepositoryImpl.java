@@ -0,0 +1,130 @@
+package dev.jianmu.infrastructure.mybatis.archive;
+
+import dev.jianmu.infrastructure.mapper.archive.ArchiveMapper;
+import dev.jianmu.task.aggregate.InstanceParameter;
+import dev.jianmu.task.aggregate.TaskInstance;
+import dev.jianmu.trigger.event.TriggerEvent;
+import dev.jianmu.workflow.aggregate.process.AsyncTaskInstance;
+import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * @author Daihw
+ * @class ArchiveRepositoryImpl
+ * @description 已结束流程实例的执行记录归档，按流程实例的triggerId整体移入归档表
+ * @create 2026/10/18 8:00 下午
+ */
+@Repository
+public class ArchiveRepositoryImpl {
+    public static final String ARCHIVE_SUFFIX = "_archive";
+
+    // 执行记录表名 -> 关联流程实例triggerId的列
+    public static final Map<String, String> TABLES;
+
+    // 执行记录表名 -> 归档时复制的列，在线表新增列后归档表需同步新增
+    public static final Map<String, String> COLUMNS = Map.of(
+            "workflow_instance", "`id`, `serial_no`, `trigger_id`, `trigger_type`, `name`, `description`, `run_mode`, `status`, " +
+                    "`workflow_ref`, `workflow_version`, `occurred_time`, `task_instances`, `start_time`, `suspended_time`, `end_time`, `_version`",
+            "async_task_instance", "`id`, `trigger_id`, `workflow_ref`, `workflow_version`, `workflow_instance_id`, `name`, `description`, " +
+                    "`status`, `failure_mode`, `async_task_ref`, `async_task_type`, `activating_time`, `start_time`, `end_time`, `serial_no`, " +
+                    "`next_target`, `_version`",
+            "task_instance", "`id`, `serial_no`, `def_key`, `node_info`, `async_task_ref`, `workflow_ref`, `workflow_version`, `business_id`, " +
+                    "`trigger_id`, `start_time`, `end_time`, `status`, `worker_id`, `_version`",
+            "task_instance_parameter", "`instance_id`, `serial_no`, `def_key`, `async_task_ref`, `business_id`, `trigger_id`, `ref`, `type`, " +
+                    "`workflow_type`, `parameter_id`, `required`",
+            "jianmu_trigger_event", "`id`, `project_id`, `trigger_id`, `web_request_id`, `trigger_type`, `payload`, `occurred_time`",
+            "jianmu_trigger_event_parameter", "`trigger_event_id`, `name`, `type`, `value`, `parameter_id`",
+            "jianmu_web_request", "`id`, `project_id`, `workflow_ref`, `workflow_version`, `trigger_id`, `user_agent`, `payload`, " +
+                    "`status_code`, `error_msg`, `request_time`"
+    );
+
+    static {
+        var tables = new LinkedHashMap<String, String>();
+        tables.put("workflow_instance", "trigger_id");
+        tables.put("async_task_instance", "trigger_id");
+        tables.put("task_instance", "trigger_id");
+        tables.put("task_instance_parameter", "trigger_id");
+        tables.put("jianmu_trigger_event", "id");
+        tables.put("jianmu_trigger_event_parameter", "trigger_event_id");
+        tables.put("jianmu_web_request", "trigger_id");
+        TABLES = Collections.unmodifiableMap(tables);
+    }
+
+    // 由执行记录派生的表，归档时直接删除
+    public static final Map<String, String> DERIVED_TABLES = Map.of(
+            "jm_task_instance_last_output", "trigger_id",
+            "jm_task_dispatch_payload", "trigger_id"
+    );
+
+    private final ArchiveMapper archiveMapper;
+
+    public ArchiveRepositoryImpl(ArchiveMapper archiveMapper) {
+        this.archiveMapper = archiveMapper;
+    }
+
+    /**
+     * 归档一批在before之前结束的流程实例及其任务、参数、触发事件与Web请求
+     *
+     * @return 本批归档的流程实例数，小于limit表示已没有可归档的记录
+     */
+    @Transactional
+    public int archiveBefore(LocalDateTime before, int limit) {
+        var triggerIds = this.archiveMapper.findArchivableTriggerIds(before, limit);
+        if (triggerIds.isEmpty()) {
+            return 0;
+        }
+        TABLES.forEach((table, column) -> {
+            this.archiveMapper.copyToArchive(table, COLUMNS.get(table), column, triggerIds);
+            this.archiveMapper.deleteByKeys(table, column, triggerIds);
+        });
+        DERIVED_TABLES.forEach((table, column) -> this.archiveMapper.deleteByKeys(table, column, triggerIds));
+        return triggerIds.size();
+    }
+
+    /**
+     * 各表在线与归档的行数，key为表名，归档表以_archive结尾
+     */
+    public Map<String, Long> countRows() {
+        var counts = new LinkedHashMap<String, Long>();
+        TABLES.keySet().forEach(table -> {
+            counts.put(table, this.archiveMapper.count(table));
+            counts.put(table + ARCHIVE_SUFFIX, this.archiveMapper.count(table + ARCHIVE_SUFFIX));
+        });
+        return counts;
+    }
+
+    public Optional<WorkflowInstance> findWorkflowInstanceByTriggerId(String triggerId) {
+        return this.archiveMapper.findWorkflowInstanceByTriggerId(triggerId);
+    }
+
+    public List<AsyncTaskInstance> findAsyncTaskInstancesByTriggerId(String triggerId) {
+        return this.archiveMapper.findAsyncTaskInstancesByTriggerId(triggerId);
+    }
+
+    public List<TaskInstance> findTaskInstanceSummaryByBusinessId(String businessId) {
+        return this.archiveMapper.findTaskInstanceSummaryByBusinessId(businessId);
+    }
+
+    public Optional<TaskInstance> findTaskInstanceById(String instanceId) {
+        return this.archiveMapper.findTaskInstanceById(instanceId);
+    }
+
+    public List<InstanceParameter> findInstanceParametersByInstanceId(String instanceId) {
+        return this.archiveMapper.findInstanceParametersByInstanceId(instanceId);
+    }
+
+    public Optional<TriggerEvent> findTriggerEventById(String id) {
+        return this.archiveMapper.findTriggerEventById(id).map(triggerEvent -> {
+            triggerEvent.setParameters(this.archiveMapper.findTriggerEventParametersById(triggerEvent.getId()));
+            return triggerEvent;
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package dev.jianmu.infrastructure.mybatis.cleanup;
+
+import dev.jianmu.infrastructure.mapper.cleanup.CleanupMapper;
+import dev.jianmu.infrastructure.mybatis.archive.ArchiveRepositoryImpl;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author Daihw
+ * @class CleanupRepositoryImpl
+ * @description 执行记录清理仓储，每块流程实例在独立的短事务中删除
+ * @create 2026/10/18 8:40 下午
+ */
+@Repository
+public class CleanupRepositoryImpl {
+    private final CleanupMapper cleanupMapper;
+
+    public CleanupRepositoryImpl(CleanupMapper cleanupMapper) {
+        this.cleanupMapper = cleanupMapper;
+    }
+
+    public List<String> findWorkflowRefs() {
+        return this.cleanupMapper.findWorkflowRefs();
+    }
+
+    /**
+     * 查询超出保留条数的已结束流程实例，保留规则与按序号倒数keep条一致
+     */
+    public List<String> findExpiredTriggerIds(String workflowRef, long keep, int limit) {
+        var maxSerialNo = this.cleanupMapper.findMaxSerialNo(workflowRef);
+        if (maxSerialNo == null || maxSerialNo - keep < 1) {
+            return List.of();
+        }
+        return this.cleanupMapper.findFinishedTriggerIds(workflowRef, (int) (maxSerialNo - keep), limit);
+    }
+
+    public List<String> findTriggerIds(String workflowRef, int limit) {
+        return this.cleanupMapper.findTriggerIds(workflowRef, limit);
+    }
+
+    /**
+     * 查询归档表中在before之前结束的流程实例
+     */
+    public List<String> findArchivedTriggerIds(LocalDateTime before, int limit) {
+        return this.cleanupMapper.findArchivedTriggerIds(before, limit);
+    }
+
+    public List<String> findArchivedTriggerIds(String workflowRef, int limit) {
+        return this.cleanupMapper.findArchivedTriggerIdsByRef(workflowRef, limit);
+    }
+
+    /**
+     * 删除一块流程实例的全部执行记录与非默认参数值，返回需要清理的日志与Webhook文件
+     */
+    @Transactional
+    public Purged purge(List<String> triggerIds) {
+        var purged = this.purge("", triggerIds);
+        var rows = purged.rows();
+        for (var table : ArchiveRepositoryImpl.DERIVED_TABLES.entrySet()) {
+            rows += this.cleanupMapper.deleteByKeys(table.getKey(), table.getValue(), triggerIds);
+        }
+        return new Purged(rows, purged.taskInstanceIds(), purged.webRequestIds());
+    }
+
+    /**
+     * 删除一块已归档流程实例的全部执行记录与非默认参数值
+     */
+    @Transactional
+    public Purged purgeArchived(List<String> triggerIds) {
+        return this.purge(ArchiveRepositoryImpl.ARCHIVE_SUFFIX, triggerIds);
+    }
+
+    private Purged purge(String suffix, List<String> triggerIds) {
+        var taskInstanceIds = this.cleanupMapper.findTaskInstanceIds(suffix, triggerIds);
+        var webRequestIds = this.cleanupMapper.findWebRequestIds(suffix, triggerIds);
+        var parameterIds = this.cleanupMapper.findParameterIds(suffix, triggerIds);
+        var rows = parameterIds.isEmpty() ? 0 : this.cleanupMapper.deleteParameterValues(parameterIds);
+        for (var table : ArchiveRepositoryImpl.TABLES.entrySet()) {
+            rows += this.cleanupMapper.deleteByKeys(table.getKey() + suffix, table.getValue(), triggerIds);
+        }
+        return new Purged(rows, taskInstanceIds, webRequestIds);
+    }
+
+    public record Purged(int rows, List<String> taskInstanceIds, List<String> webRequestIds) {
+    }
+}
@@ -3,6 +3,7 @@ package dev.jianmu.infrastructure.mybatis.node;
 import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.PageInfo;
 import dev.jianmu.infrastructure.mapper.node.NodeDefinitionMapper;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
 import dev.jianmu.node.definition.aggregate.NodeDefinition;
 import dev.jianmu.node.definition.repository.NodeDefinitionRepository;
 import org.springframework.stereotype.Repository;
@@ -34,6 +35,16 @@ public class NodeDefinitionRepositoryImpl implements NodeDefinitionRepository {
                 .doSelectPageInfo(() -> this.nodeDefinitionMapper.findPage(ownerRef, name));
     }
 
+    public CursorPage<NodeDefinition> findCursor(String ownerRef, String name, String cursor, int size, boolean withTotal) {
+        var limit = CursorPage.limit(size);
+        var id = cursor == null ? null : CursorPage.decode(cursor, 1)[0];
+        // 名称按前缀匹配，转义通配符
+        var prefix = name == null ? null : name.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        var rows = this.nodeDefinitionMapper.findAfter(ownerRef, prefix, id, limit + 1);
+        var total = withTotal ? this.nodeDefinitionMapper.count(ownerRef, prefix) : null;
+        return CursorPage.of(rows, limit, node -> CursorPage.encode(node.getId()), total);
+    }
+
     @Override
     public void saveOrUpdate(NodeDefinition nodeDefinition) {
         this.nodeDefinitionMapper.saveOrUpdate(nodeDefinition);
@@ -1,6 +1,7 @@
 package dev.jianmu.infrastructure.mybatis.node;
 
 import dev.jianmu.infrastructure.mapper.node.NodeDefinitionVersionMapper;
+import dev.jianmu.node.definition.aggregate.NodeDefinition;
 import dev.jianmu.node.definition.aggregate.NodeDefinitionVersion;
 import dev.jianmu.node.definition.repository.NodeDefinitionVersionRepository;
 import org.springframework.stereotype.Repository;
@@ -32,6 +33,14 @@ public class NodeDefinitionVersionRepositoryImpl implements NodeDefinitionVersio
         return this.nodeDefinitionVersionMapper.findByOwnerRefAndRef(ownerRef, ref);
     }
 
+    @Override
+    public List<NodeDefinitionVersion> findByNodeDefinitions(List<NodeDefinition> nodeDefinitions) {
+        if (nodeDefinitions.isEmpty()) {
+            return List.of();
+        }
+        return this.nodeDefinitionVersionMapper.findByNodeDefinitions(nodeDefinitions);
+    }
+
     @Override
     public void saveOrUpdate(NodeDefinitionVersion nodeDefinitionVersion) {
         this.nodeDefinitionVersionMapper.saveOrUpdate(nodeDefinitionVersion);
@@ -1,6 +1,7 @@
 package dev.jianmu.infrastructure.mybatis.parameter;
 
 import dev.jianmu.infrastructure.mapper.parameter.ParameterMapper;
+import dev.jianmu.infrastructure.mybatis.BatchWriter;
 import dev.jianmu.workflow.aggregate.parameter.Parameter;
 import dev.jianmu.workflow.repository.ParameterRepository;
 import org.springframework.stereotype.Repository;
@@ -17,16 +18,16 @@ import java.util.Set;
 @Repository
 public class ParameterRepositoryImpl implements ParameterRepository {
     private final ParameterMapper parameterMapper;
+    private final BatchWriter batchWriter;
 
-    public ParameterRepositoryImpl(ParameterMapper parameterMapper) {
+    public ParameterRepositoryImpl(ParameterMapper parameterMapper, BatchWriter batchWriter) {
         this.parameterMapper = parameterMapper;
+        this.batchWriter = batchWriter;
     }
 
     @Override
     public void addAll(List<Parameter> parameters) {
-        if (!parameters.isEmpty()) {
-            this.parameterMapper.addAll(parameters);
-        }
+        this.batchWriter.write(ParameterMapper.class, parameters, ParameterMapper::add);
     }
 
     @Override
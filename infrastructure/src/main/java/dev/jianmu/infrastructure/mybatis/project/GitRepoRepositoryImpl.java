@@ -31,6 +31,11 @@ public class GitRepoRepositoryImpl implements GitRepoRepository {
         this.gitRepoMapper.deleteById(id);
     }
 
+    @Override
+    public void updateSyncState(GitRepo gitRepo) {
+        this.gitRepoMapper.updateSyncState(gitRepo);
+    }
+
     @Override
     public Optional<GitRepo> findById(String id) {
         return this.gitRepoMapper.findById(id);
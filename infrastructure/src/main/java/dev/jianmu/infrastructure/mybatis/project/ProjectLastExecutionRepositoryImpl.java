@@ -1,10 +1,13 @@
 package dev.jianmu.infrastructure.mybatis.project;
 
 import dev.jianmu.infrastructure.mapper.project.ProjectLastExecutionMapper;
+import dev.jianmu.infrastructure.mybatis.BatchWriter;
 import dev.jianmu.project.aggregate.ProjectLastExecution;
 import dev.jianmu.project.repository.ProjectLastExecutionRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,9 +19,11 @@ import java.util.Optional;
 @Repository
 public class ProjectLastExecutionRepositoryImpl implements ProjectLastExecutionRepository {
     private final ProjectLastExecutionMapper projectLastExecutionMapper;
+    private final BatchWriter batchWriter;
 
-    public ProjectLastExecutionRepositoryImpl(ProjectLastExecutionMapper projectLastExecutionMapper) {
+    public ProjectLastExecutionRepositoryImpl(ProjectLastExecutionMapper projectLastExecutionMapper, BatchWriter batchWriter) {
         this.projectLastExecutionMapper = projectLastExecutionMapper;
+        this.batchWriter = batchWriter;
     }
 
     @Override
@@ -31,6 +36,17 @@ public class ProjectLastExecutionRepositoryImpl implements ProjectLastExecutionR
         this.projectLastExecutionMapper.update(projectLastExecution);
     }
 
+    @Override
+    public boolean updateNextTime(String workflowRef, LocalDateTime nextTime) {
+        return this.projectLastExecutionMapper.updateNextTime(workflowRef, nextTime) > 0;
+    }
+
+    @Override
+    public void updateNextTimeByProjectIds(Map<String, LocalDateTime> nextTimes) {
+        this.batchWriter.write(ProjectLastExecutionMapper.class, nextTimes.entrySet(),
+                (mapper, entry) -> mapper.updateNextTimeByProjectId(entry.getKey(), entry.getValue()));
+    }
+
     @Override
     public void deleteByRef(String workflowRef) {
         this.projectLastExecutionMapper.deleteByRef(workflowRef);
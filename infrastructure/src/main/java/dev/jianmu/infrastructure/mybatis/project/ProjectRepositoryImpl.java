@@ -3,13 +3,18 @@ package dev.jianmu.infrastructure.mybatis.project;
 import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.PageInfo;
 import dev.jianmu.infrastructure.mapper.project.ProjectMapper;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
+import dev.jianmu.infrastructure.search.ProjectSearchIndex;
 import dev.jianmu.project.aggregate.Project;
 import dev.jianmu.project.query.ProjectVo;
 import dev.jianmu.project.repository.ProjectRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @class DslReferenceRepositoryImpl
@@ -20,9 +25,11 @@ import java.util.Optional;
 @Repository
 public class ProjectRepositoryImpl implements ProjectRepository {
     private final ProjectMapper projectMapper;
+    private final ProjectSearchIndex projectSearchIndex;
 
-    public ProjectRepositoryImpl(ProjectMapper projectMapper) {
+    public ProjectRepositoryImpl(ProjectMapper projectMapper, ProjectSearchIndex projectSearchIndex) {
         this.projectMapper = projectMapper;
+        this.projectSearchIndex = projectSearchIndex;
     }
 
     @Override
@@ -63,6 +70,21 @@ public class ProjectRepositoryImpl implements ProjectRepository {
         return this.projectMapper.findVoByIdIn(ids);
     }
 
+    /**
+     * 按搜索索引的匹配程度排序
+     */
+    public List<ProjectVo> search(String keyword, int limit) {
+        var ids = this.projectSearchIndex.search(keyword).stream()
+                .limit(limit)
+                .collect(Collectors.toList());
+        var projects = this.findVoByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProjectVo::getId, Function.identity()));
+        return ids.stream()
+                .map(projects::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     public PageInfo<Project> findAllPage(String workflowName, int pageNum, int pageSize) {
         return PageHelper.startPage(pageNum, pageSize)
                 .doSelectPageInfo(() -> this.projectMapper.findAllPage(workflowName));
@@ -72,8 +94,53 @@ public class ProjectRepositoryImpl implements ProjectRepository {
         return this.projectMapper.findAll();
     }
 
+    public List<ProjectVo> findAllVo() {
+        return this.projectMapper.findAllVo();
+    }
+
+    // 关键字通过搜索索引转换为项目ID，未指定关键字或关键字过短时返回null
+    private List<String> searchIds(String workflowName) {
+        if (workflowName == null || workflowName.isBlank() || !this.projectSearchIndex.supports(workflowName)) {
+            return null;
+        }
+        return this.projectSearchIndex.search(workflowName);
+    }
+
+    // 关键字过短时索引无法过滤，回退到按名称与描述模糊查询
+    private String likeName(String workflowName) {
+        if (workflowName == null || workflowName.isBlank() || this.projectSearchIndex.supports(workflowName)) {
+            return null;
+        }
+        return workflowName;
+    }
+
     public PageInfo<ProjectVo> findPageByGroupId(Integer pageNum, Integer pageSize, String projectGroupId, String workflowName, String sortType) {
+        var ids = this.searchIds(workflowName);
+        if (ids != null && ids.isEmpty()) {
+            return PageInfo.of(List.of());
+        }
         return PageHelper.startPage(pageNum, pageSize)
-                .doSelectPageInfo(() -> this.projectMapper.findAllByGroupId(projectGroupId, workflowName, sortType));
+                .doSelectPageInfo(() -> this.projectMapper.findAllByGroupId(projectGroupId, this.likeName(workflowName), ids, sortType));
+    }
+
+    /**
+     * 按项目组内排序的游标分页，游标为(排序, 项目ID)
+     */
+    public CursorPage<ProjectVo> findCursorByGroupId(String projectGroupId, String workflowName, String cursor, int size, boolean withTotal) {
+        var limit = CursorPage.limit(size);
+        Integer sort = null;
+        String id = null;
+        if (cursor != null) {
+            var keys = CursorPage.decode(cursor, 2);
+            sort = CursorPage.parse(() -> Integer.valueOf(keys[0]));
+            id = keys[1];
+        }
+        var ids = this.searchIds(workflowName);
+        if (ids != null && ids.isEmpty()) {
+            return new CursorPage<>(List.of(), null, withTotal ? 0L : null);
+        }
+        var rows = this.projectMapper.findByGroupIdAfter(projectGroupId, this.likeName(workflowName), ids, sort, id, limit + 1);
+        var total = withTotal ? this.projectMapper.countByGroupId(projectGroupId, this.likeName(workflowName), ids) : null;
+        return CursorPage.of(rows, limit, project -> CursorPage.encode(project.getSort(), project.getId()), total);
     }
 }
@@ -5,6 +5,7 @@ import dev.jianmu.project.aggregate.Project;
 import dev.jianmu.project.repository.TrashProjectRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -35,4 +36,14 @@ public class TrashProjectRepositoryImpl implements TrashProjectRepository {
     public Optional<Project> findById(String id) {
         return this.trashProjectMapper.findById(id);
     }
+
+    @Override
+    public List<String> findIds() {
+        return this.trashProjectMapper.findIds();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        this.trashProjectMapper.deleteById(id);
+    }
 }
@@ -0,0 +1,37 @@
+package dev.jianmu.infrastructure.mybatis.startup;
+
+import dev.jianmu.infrastructure.mapper.startup.StartupMarkerMapper;
+import dev.jianmu.project.repository.StartupMarkerRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Daihw
+ * @class StartupMarkerRepositoryImpl
+ * @description 启动升级标记仓储，记录已执行过的升级版本，重启时跳过
+ * @create 2026/10/19 2:00 上午
+ */
+@Repository
+public class StartupMarkerRepositoryImpl implements StartupMarkerRepository {
+    private final StartupMarkerMapper startupMarkerMapper;
+
+    public StartupMarkerRepositoryImpl(StartupMarkerMapper startupMarkerMapper) {
+        this.startupMarkerMapper = startupMarkerMapper;
+    }
+
+    @Override
+    public boolean isApplied(String name, String version) {
+        return this.startupMarkerMapper.findVersion(name)
+                .map(version::equals)
+                .orElse(false);
+    }
+
+    @Override
+    @Transactional
+    public void markApplied(String name, String version) {
+        this.startupMarkerMapper.delete(name);
+        this.startupMarkerMapper.add(name, version, LocalDateTime.now());
+    }
+}
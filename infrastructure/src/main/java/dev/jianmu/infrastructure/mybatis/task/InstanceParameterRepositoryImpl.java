@@ -1,12 +1,14 @@
 package dev.jianmu.infrastructure.mybatis.task;
 
 import dev.jianmu.infrastructure.mapper.task.InstanceParameterMapper;
+import dev.jianmu.infrastructure.mybatis.BatchWriter;
 import dev.jianmu.task.aggregate.InstanceParameter;
 import dev.jianmu.task.repository.InstanceParameterRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author Ethan Liu
@@ -17,16 +19,20 @@ import java.util.Set;
 @Repository
 public class InstanceParameterRepositoryImpl implements InstanceParameterRepository {
     private final InstanceParameterMapper instanceParameterMapper;
+    private final BatchWriter batchWriter;
 
-    public InstanceParameterRepositoryImpl(InstanceParameterMapper instanceParameterMapper) {
+    public InstanceParameterRepositoryImpl(InstanceParameterMapper instanceParameterMapper, BatchWriter batchWriter) {
         this.instanceParameterMapper = instanceParameterMapper;
+        this.batchWriter = batchWriter;
     }
 
     @Override
     public void addAll(Set<InstanceParameter> instanceParameters) {
-        if (!instanceParameters.isEmpty()) {
-            this.instanceParameterMapper.addAll(instanceParameters);
-        }
+        this.batchWriter.write(InstanceParameterMapper.class, instanceParameters, InstanceParameterMapper::add);
+        var outputs = instanceParameters.stream()
+                .filter(instanceParameter -> instanceParameter.getType() == InstanceParameter.Type.OUTPUT)
+                .collect(Collectors.toList());
+        this.batchWriter.write(InstanceParameterMapper.class, outputs, InstanceParameterMapper::saveLastOutput);
     }
 
     @Override
@@ -47,6 +53,7 @@ public class InstanceParameterRepositoryImpl implements InstanceParameterReposit
     @Override
     public void deleteByTriggerId(String triggerId) {
         this.instanceParameterMapper.deleteByTriggerId(triggerId);
+        this.instanceParameterMapper.deleteLastOutputByTriggerIdIn(List.of(triggerId));
     }
 
     @Override
@@ -55,6 +62,7 @@ public class InstanceParameterRepositoryImpl implements InstanceParameterReposit
             return;
         }
         this.instanceParameterMapper.deleteByTriggerIdIn(triggerIds);
+        this.instanceParameterMapper.deleteLastOutputByTriggerIdIn(triggerIds);
     }
 
     @Override
@@ -0,0 +1,54 @@
+package dev.jianmu.infrastructure.mybatis.task;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.jianmu.infrastructure.mapper.task.TaskDispatchPayloadMapper;
+import dev.jianmu.task.aggregate.DispatchPayload;
+import dev.jianmu.task.repository.TaskDispatchPayloadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * @author Daihw
+ * @class TaskDispatchPayloadRepositoryImpl
+ * @description 任务下发载荷仓储，按任务实例保存JSON序列化后的载荷，随执行记录一起清理
+ * @create 2026/10/19 3:40 上午
+ */
+@Slf4j
+@Repository
+public class TaskDispatchPayloadRepositoryImpl implements TaskDispatchPayloadRepository {
+    private final TaskDispatchPayloadMapper taskDispatchPayloadMapper;
+    private final ObjectMapper objectMapper;
+
+    public TaskDispatchPayloadRepositoryImpl(TaskDispatchPayloadMapper taskDispatchPayloadMapper, ObjectMapper objectMapper) {
+        this.taskDispatchPayloadMapper = taskDispatchPayloadMapper;
+        // 空字段不写入，减小载荷体积，环境变量中的空值保留
+        this.objectMapper = objectMapper.copy()
+                .setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, JsonInclude.Include.ALWAYS));
+    }
+
+    @Override
+    public void add(String taskInstanceId, String triggerId, DispatchPayload payload) {
+        try {
+            this.taskDispatchPayloadMapper.add(taskInstanceId, triggerId, this.objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            log.warn("任务下发载荷序列化失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<DispatchPayload> findByTaskInstanceId(String taskInstanceId) {
+        return this.taskDispatchPayloadMapper.findByTaskInstanceId(taskInstanceId)
+                .flatMap(payload -> {
+                    try {
+                        return Optional.of(this.objectMapper.readValue(payload, DispatchPayload.class));
+                    } catch (JsonProcessingException e) {
+                        log.warn("任务下发载荷解析失败: {}", e.getMessage());
+                        return Optional.empty();
+                    }
+                });
+    }
+}
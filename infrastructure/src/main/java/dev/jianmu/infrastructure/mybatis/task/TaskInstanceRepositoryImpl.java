@@ -162,6 +162,14 @@ public class TaskInstanceRepositoryImpl implements TaskInstanceRepository {
         return this.taskInstanceMapper.findByBusinessIdAndMaxSerialNo(businessId);
     }
 
+    /**
+     * 查询任务实例摘要，不加载节点定义快照
+     */
+    @Override
+    public Optional<TaskInstance> findSummaryByBusinessIdAndMaxSerialNo(String businessId) {
+        return this.taskInstanceMapper.findSummaryByBusinessIdAndMaxSerialNo(businessId);
+    }
+
     @Override
     public List<TaskInstance> findByTriggerId(String triggerId) {
         return this.taskInstanceMapper.findByTriggerId(triggerId);
@@ -182,6 +190,11 @@ public class TaskInstanceRepositoryImpl implements TaskInstanceRepository {
         return this.taskInstanceMapper.findByBusinessId(businessId);
     }
 
+    @Override
+    public List<TaskInstance> findSummaryByBusinessId(String businessId) {
+        return this.taskInstanceMapper.findSummaryByBusinessId(businessId);
+    }
+
     @Override
     public List<TaskInstance> findAll(int pageNum, int pageSize) {
         return this.taskInstanceMapper.findAll(pageNum, pageSize);
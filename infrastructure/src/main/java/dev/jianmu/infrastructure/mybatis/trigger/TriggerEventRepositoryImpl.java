@@ -2,6 +2,7 @@ package dev.jianmu.infrastructure.mybatis.trigger;
 
 import dev.jianmu.infrastructure.mapper.trigger.TriggerEventMapper;
 import dev.jianmu.infrastructure.mapper.trigger.TriggerEventParameterMapper;
+import dev.jianmu.infrastructure.mybatis.BatchWriter;
 import dev.jianmu.trigger.event.TriggerEvent;
 import dev.jianmu.trigger.repository.TriggerEventRepository;
 import org.springframework.stereotype.Repository;
@@ -19,13 +20,16 @@ import java.util.Optional;
 public class TriggerEventRepositoryImpl implements TriggerEventRepository {
     private final TriggerEventMapper triggerEventMapper;
     private final TriggerEventParameterMapper triggerEventParameterMapper;
+    private final BatchWriter batchWriter;
 
     public TriggerEventRepositoryImpl(
         TriggerEventMapper triggerEventMapper,
-        TriggerEventParameterMapper triggerEventParameterMapper
+        TriggerEventParameterMapper triggerEventParameterMapper,
+        BatchWriter batchWriter
     ) {
         this.triggerEventMapper = triggerEventMapper;
         this.triggerEventParameterMapper = triggerEventParameterMapper;
+        this.batchWriter = batchWriter;
     }
 
     @Override
@@ -40,9 +44,8 @@ public class TriggerEventRepositoryImpl implements TriggerEventRepository {
     @Override
     public void save(TriggerEvent triggerEvent) {
         this.triggerEventMapper.save(triggerEvent);
-        triggerEvent.getParameters().forEach(parameter -> {
-            this.triggerEventParameterMapper.save(triggerEvent.getId(), parameter);
-        });
+        this.batchWriter.write(TriggerEventParameterMapper.class, triggerEvent.getParameters(),
+            (mapper, parameter) -> mapper.save(triggerEvent.getId(), parameter));
     }
 
     @Override
@@ -3,10 +3,12 @@ package dev.jianmu.infrastructure.mybatis.trigger;
 import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.PageInfo;
 import dev.jianmu.infrastructure.mapper.trigger.WebRequestMapper;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
 import dev.jianmu.trigger.aggregate.WebRequest;
 import dev.jianmu.trigger.repository.WebRequestRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,4 +60,21 @@ public class WebRequestRepositoryImpl implements WebRequestRepository {
         return PageHelper.startPage(pageNum, pageSize)
                 .doSelectPageInfo(() -> this.webRequestMapper.findPage(projectId));
     }
+
+    /**
+     * 按请求时间倒序的游标分页，游标为(请求时间, ID)
+     */
+    public CursorPage<WebRequest> findCursor(String projectId, String cursor, int size, boolean withTotal) {
+        var limit = CursorPage.limit(size);
+        LocalDateTime requestTime = null;
+        String id = null;
+        if (cursor != null) {
+            var keys = CursorPage.decode(cursor, 2);
+            requestTime = CursorPage.parse(() -> LocalDateTime.parse(keys[0]));
+            id = keys[1];
+        }
+        var rows = this.webRequestMapper.findByProjectIdBefore(projectId, requestTime, id, limit + 1);
+        var total = withTotal ? this.webRequestMapper.countByProjectId(projectId) : null;
+        return CursorPage.of(rows, limit, webRequest -> CursorPage.encode(webRequest.getRequestTime(), webRequest.getId()), total);
+    }
 }
@@ -2,6 +2,7 @@ package dev.jianmu.infrastructure.mybatis.workflow;
 
 import dev.jianmu.infrastructure.exception.DBException;
 import dev.jianmu.infrastructure.mapper.workflow.AsyncTaskInstanceMapper;
+import dev.jianmu.infrastructure.mybatis.BatchWriter;
 import dev.jianmu.workflow.aggregate.process.AsyncTaskInstance;
 import dev.jianmu.workflow.repository.AsyncTaskInstanceRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -22,10 +23,16 @@ import java.util.Optional;
 public class AsyncTaskInstanceRepositoryImpl implements AsyncTaskInstanceRepository {
     private final AsyncTaskInstanceMapper asyncTaskInstanceMapper;
     private final ApplicationEventPublisher publisher;
+    private final BatchWriter batchWriter;
 
-    public AsyncTaskInstanceRepositoryImpl(AsyncTaskInstanceMapper asyncTaskInstanceMapper, ApplicationEventPublisher publisher) {
+    public AsyncTaskInstanceRepositoryImpl(
+            AsyncTaskInstanceMapper asyncTaskInstanceMapper,
+            ApplicationEventPublisher publisher,
+            BatchWriter batchWriter
+    ) {
         this.asyncTaskInstanceMapper = asyncTaskInstanceMapper;
         this.publisher = publisher;
+        this.batchWriter = batchWriter;
     }
 
     @Override
@@ -50,7 +57,7 @@ public class AsyncTaskInstanceRepositoryImpl implements AsyncTaskInstanceReposit
 
     @Override
     public void addAll(List<AsyncTaskInstance> asyncTaskInstances) {
-        this.asyncTaskInstanceMapper.addAll(asyncTaskInstances);
+        this.batchWriter.write(AsyncTaskInstanceMapper.class, asyncTaskInstances, AsyncTaskInstanceMapper::add);
     }
 
     @Override
@@ -3,6 +3,7 @@ package dev.jianmu.infrastructure.mybatis.workflow;
 import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.PageInfo;
 import dev.jianmu.infrastructure.mapper.workflow.WorkflowInstanceMapper;
+import dev.jianmu.infrastructure.mybatis.CursorPage;
 import dev.jianmu.workflow.aggregate.process.ProcessStatus;
 import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
 import dev.jianmu.workflow.repository.WorkflowInstanceRepository;
@@ -11,8 +12,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,6 +46,23 @@ public class WorkflowInstanceRepositoryImpl implements WorkflowInstanceRepositor
         return this.workflowInstanceMapper.findByRefAndStatusAndSerialNoMin(workflowRef, status);
     }
 
+    @Override
+    public List<WorkflowInstance> findByRefAndStatusLimit(String workflowRef, ProcessStatus status, int limit) {
+        return this.workflowInstanceMapper.findByRefAndStatusLimit(workflowRef, status, limit);
+    }
+
+    @Override
+    public int countInitByRef(String workflowRef) {
+        var count = this.workflowInstanceMapper.findInitCount(workflowRef);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public int countRunningByRef(String workflowRef) {
+        var count = this.workflowInstanceMapper.findRunningCount(workflowRef);
+        return count == null ? 0 : count;
+    }
+
     @Override
     public Optional<WorkflowInstance> findById(String instanceId) {
         return this.workflowInstanceMapper.findById(instanceId);
@@ -53,15 +73,36 @@ public class WorkflowInstanceRepositoryImpl implements WorkflowInstanceRepositor
         return this.workflowInstanceMapper.findByTriggerId(triggerId);
     }
 
+    private static int initCount(ProcessStatus status) {
+        return status == ProcessStatus.INIT ? 1 : 0;
+    }
+
+    private static int runningCount(ProcessStatus status) {
+        return status == ProcessStatus.RUNNING || status == ProcessStatus.SUSPENDED ? 1 : 0;
+    }
+
+    private void adjustAdmission(String workflowRef, ProcessStatus from, ProcessStatus to) {
+        var initDelta = initCount(to) - initCount(from);
+        var runningDelta = runningCount(to) - runningCount(from);
+        if (initDelta != 0 || runningDelta != 0) {
+            this.workflowInstanceMapper.adjustAdmission(workflowRef, initDelta, runningDelta);
+        }
+    }
+
     @Override
     public void add(WorkflowInstance workflowInstance) {
         this.workflowInstanceMapper.add(workflowInstance, 1);
+        this.adjustAdmission(workflowInstance.getWorkflowRef(), null, workflowInstance.getStatus());
         publisher.publishEvent(workflowInstance);
     }
 
     @Override
     public void save(WorkflowInstance workflowInstance) {
+        var status = this.workflowInstanceMapper.findStatusForUpdate(workflowInstance.getId());
         this.workflowInstanceMapper.save(workflowInstance);
+        if (status != null) {
+            this.adjustAdmission(workflowInstance.getWorkflowRef(), status, workflowInstance.getStatus());
+        }
         this.publisher.publishEvent(workflowInstance);
     }
 
@@ -69,7 +110,9 @@ public class WorkflowInstanceRepositoryImpl implements WorkflowInstanceRepositor
     public boolean running(WorkflowInstance workflowInstance) {
         // 基于数据库行级锁，防止任务重复创建
         // fix: https://gitee.com/jianmu-dev/jianmu/issues/I6691G
+        var status = this.workflowInstanceMapper.findStatusForUpdate(workflowInstance.getId());
         if (this.workflowInstanceMapper.running(workflowInstance)) {
+            this.adjustAdmission(workflowInstance.getWorkflowRef(), status, workflowInstance.getStatus());
             this.publisher.publishEvent(workflowInstance);
             return true;
         }
@@ -97,14 +140,33 @@ public class WorkflowInstanceRepositoryImpl implements WorkflowInstanceRepositor
         return this.workflowInstanceMapper.findByRefAndSerialNoMax(workflowRef);
     }
 
+    @Override
+    public int nextSerialNo(String workflowRef) {
+        if (this.workflowInstanceMapper.increaseSerialNo(workflowRef) == 0) {
+            try {
+                this.workflowInstanceMapper.addSerialNo(workflowRef);
+            } catch (DuplicateKeyException e) {
+                // 并发创建序号行，改为递增
+                this.workflowInstanceMapper.increaseSerialNo(workflowRef);
+            }
+        }
+        return this.workflowInstanceMapper.findSerialNo(workflowRef);
+    }
+
     @Override
     public void deleteByWorkflowRef(String workflowRef) {
         this.workflowInstanceMapper.deleteByWorkflowRef(workflowRef);
+        this.workflowInstanceMapper.deleteAdmission(workflowRef);
+        this.workflowInstanceMapper.deleteSerialNo(workflowRef);
     }
 
     @Override
     public void deleteById(String id) {
-        this.workflowInstanceMapper.deleteById(id);
+        var status = this.workflowInstanceMapper.findStatusForUpdate(id);
+        var workflowInstance = this.workflowInstanceMapper.findById(id);
+        if (this.workflowInstanceMapper.deleteById(id) > 0 && workflowInstance.isPresent()) {
+            this.adjustAdmission(workflowInstance.get().getWorkflowRef(), status, null);
+        }
     }
 
     @Override
@@ -126,4 +188,22 @@ public class WorkflowInstanceRepositoryImpl implements WorkflowInstanceRepositor
         return PageHelper.startPage(pageNum, pageSize)
                 .doSelectPageInfo(() -> this.workflowInstanceMapper.findPageByWorkflowRef(workflowRef));
     }
+
+    public List<WorkflowInstance> findByIdIn(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return this.workflowInstanceMapper.findByIdIn(ids);
+    }
+
+    /**
+     * 按序号倒序的游标分页，总数按(workflow_ref, serial_no)索引统计，与归档和清理后的实际行数一致
+     */
+    public CursorPage<WorkflowInstance> findCursorByWorkflowRef(String workflowRef, String cursor, int size, boolean withTotal) {
+        var limit = CursorPage.limit(size);
+        var serialNo = cursor == null ? null : CursorPage.parse(() -> Integer.valueOf(CursorPage.decode(cursor, 1)[0]));
+        var rows = this.workflowInstanceMapper.findByWorkflowRefBefore(workflowRef, serialNo, limit + 1);
+        var total = withTotal ? this.workflowInstanceMapper.countByWorkflowRef(workflowRef) : null;
+        return CursorPage.of(rows, limit, instance -> CursorPage.encode(instance.getSerialNo()), total);
+    }
 }
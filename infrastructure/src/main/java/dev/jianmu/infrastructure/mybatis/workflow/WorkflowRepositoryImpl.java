@@ -2,6 +2,7 @@ package dev.jianmu.infrastructure.mybatis.workflow;
 
 import dev.jianmu.infrastructure.exception.DBException;
 import dev.jianmu.infrastructure.mapper.workflow.WorkflowMapper;
+import dev.jianmu.infrastructure.typehandler.NodeSetTypeHandler;
 import dev.jianmu.workflow.aggregate.definition.Workflow;
 import dev.jianmu.workflow.repository.WorkflowRepository;
 import jakarta.annotation.Resource;
@@ -9,7 +10,9 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * @class WorkflowRepositoryImpl
@@ -24,6 +27,7 @@ public class WorkflowRepositoryImpl implements WorkflowRepository {
     private WorkflowMapper workflowMapper;
     @Resource
     private ApplicationEventPublisher publisher;
+    private final NodeSetTypeHandler nodeSetTypeHandler = new NodeSetTypeHandler();
 
     @Override
     public Optional<Workflow> findByRefAndVersion(String ref, String version) {
@@ -43,6 +47,16 @@ public class WorkflowRepositoryImpl implements WorkflowRepository {
         return this.workflowMapper.findByRefAndVersions(refVersions);
     }
 
+    @Override
+    public Map<String, List<String>> findCachesByRefVersions(List<String> refVersions) {
+        if (refVersions.isEmpty()) {
+            return Map.of();
+        }
+        return this.workflowMapper.findCachesByRefVersions(refVersions).stream()
+                .filter(workflow -> workflow.getCaches() != null)
+                .collect(Collectors.toMap(Workflow::getRef, Workflow::getCaches, (a, b) -> a));
+    }
+
     @Override
     public List<Workflow> findByRef(String ref) {
         return this.workflowMapper.findByRef(ref);
@@ -56,6 +70,29 @@ public class WorkflowRepositoryImpl implements WorkflowRepository {
         return workflowOptional.orElseThrow(() -> new DBException.InsertFailed("流程定义插入失败"));
     }
 
+    /**
+     * 将旧版JSON格式的流程节点按批重写为二进制编码，返回重写数量
+     */
+    public int rewriteLegacyNodes(int batchSize) {
+        var count = 0;
+        var after = "";
+        while (true) {
+            var refVersions = this.workflowMapper.findLegacyNodesRefVersions(after, batchSize);
+            if (refVersions.isEmpty()) {
+                return count;
+            }
+            for (var refVersion : refVersions) {
+                var bytes = this.workflowMapper.findNodesByRefVersion(refVersion);
+                var nodes = bytes == null ? null : this.nodeSetTypeHandler.toNodeSet(bytes);
+                if (nodes != null) {
+                    this.workflowMapper.updateNodes(refVersion, nodes);
+                    count++;
+                }
+            }
+            after = refVersions.get(refVersions.size() - 1);
+        }
+    }
+
     @Override
     public void deleteByRefAndVersion(String ref, String version) {
         this.workflowMapper.deleteByRefAndVersion(ref + version);
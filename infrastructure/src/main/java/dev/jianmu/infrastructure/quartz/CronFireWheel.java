@@ -0,0 +1,230 @@
+package dev.jianmu.infrastructure.quartz;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Daihw
+ * @class CronFireWheel
+ * @description 定时触发时间轮，准时的触发直接交给引擎，错过的触发进入时间轮随机延后，按速率限制交给引擎
+ * @create 2026/10/19 3:00 上午
+ */
+@Component
+@Slf4j
+public class CronFireWheel {
+    private static final int WHEEL_SIZE = 512;
+    private static final String LISTENER_NAME = "cronFireWheel";
+
+    private final ApplicationEventPublisher publisher;
+    private final GlobalProperties.Cron cron;
+    private final long startMillis = System.currentTimeMillis();
+    // 提交的触发先进入收件箱，由刻度线程放入槽位，槽位与就绪队列只由刻度线程访问
+    private final Queue<Fire> inbox = new ConcurrentLinkedQueue<>();
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Fire>[] slots = new ArrayDeque[WHEEL_SIZE];
+    // 已到期但超出速率限制的触发，顺延到后续刻度
+    private final ArrayDeque<Fire> ready = new ArrayDeque<>();
+    // Quartz判定为错过触发的触发器，补偿触发时随机延后
+    private final Set<TriggerKey> misfired = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final TaskScheduler taskScheduler;
+    // 到期的触发在锁外交给线程池发布，触发之间互不等待
+    private final Executor executor;
+    private ScheduledFuture<?> ticker;
+    private long tick;
+    private double permits;
+
+    public CronFireWheel(
+            ApplicationEventPublisher publisher,
+            GlobalProperties globalProperties,
+            Scheduler scheduler,
+            @Qualifier("cronWheelTaskScheduler") TaskScheduler taskScheduler,
+            @Qualifier("cronFireExecutor") Executor executor
+    ) throws SchedulerException {
+        this.publisher = publisher;
+        this.cron = globalProperties.getCron();
+        this.taskScheduler = taskScheduler;
+        this.executor = executor;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.slots[i] = new ArrayDeque<>();
+        }
+        scheduler.getListenerManager().addTriggerListener(new MisfireListener());
+    }
+
+    @PostConstruct
+    public void start() {
+        this.ticker = this.taskScheduler.scheduleAtFixedRate(() -> {
+            try {
+                this.advance(System.currentTimeMillis());
+            } catch (Exception e) {
+                log.warn("定时触发时间轮推进失败: {}", e.getMessage());
+            }
+        }, Duration.ofMillis(this.cron.getTickMillis()));
+    }
+
+    /**
+     * 停止推进并取出仍在等待的触发，RAMJobStore不保存触发记录，这些触发重启后不会补偿，只能记录日志
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (this.ticker != null) {
+            this.ticker.cancel(false);
+        }
+        var dropped = this.drain();
+        if (!dropped.isEmpty()) {
+            log.warn("定时触发时间轮关闭，丢弃{}个未发布的触发: {}", dropped.size(), dropped);
+        }
+    }
+
+    synchronized List<String> drain() {
+        var dropped = new ArrayList<String>();
+        Fire fire;
+        while ((fire = this.inbox.poll()) != null) {
+            dropped.add(fire.triggerId);
+        }
+        while ((fire = this.ready.poll()) != null) {
+            dropped.add(fire.triggerId);
+        }
+        for (var slot : this.slots) {
+            while ((fire = slot.poll()) != null) {
+                dropped.add(fire.triggerId);
+            }
+        }
+        this.pending.addAndGet(-dropped.size());
+        return dropped;
+    }
+
+    /**
+     * 实际触发晚于计划时间超过阈值，或Quartz判定为错过触发时视为补偿触发
+     */
+    public boolean isLate(TriggerKey triggerKey, Date scheduledFireTime, Date fireTime) {
+        var misfired = this.misfired.remove(triggerKey);
+        if (scheduledFireTime == null || fireTime == null) {
+            return misfired;
+        }
+        return misfired || fireTime.getTime() - scheduledFireTime.getTime() > this.cron.getMisfireThresholdMillis();
+    }
+
+    public void submit(String triggerId, boolean late) {
+        this.submit(triggerId, late, System.currentTimeMillis());
+    }
+
+    void submit(String triggerId, boolean late, long nowMillis) {
+        if (!late) {
+            this.publish(triggerId);
+            return;
+        }
+        var jitter = this.cron.getMisfireJitterMillis();
+        var delay = jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0L;
+        this.pending.incrementAndGet();
+        this.inbox.add(new Fire(triggerId, this.tickOf(nowMillis + delay)));
+    }
+
+    /**
+     * 等待交给引擎的触发数量
+     */
+    public int size() {
+        return this.pending.get();
+    }
+
+    void advance(long nowMillis) {
+        for (var fire : this.poll(nowMillis)) {
+            this.executor.execute(() -> this.publish(fire.triggerId));
+        }
+    }
+
+    /**
+     * 推进时间轮，取出本次可以发布的触发
+     */
+    synchronized List<Fire> poll(long nowMillis) {
+        var due = new ArrayList<Fire>();
+        Fire fire;
+        while ((fire = this.inbox.poll()) != null) {
+            if (fire.dueTick <= this.tick) {
+                this.ready.add(fire);
+            } else {
+                this.slots[(int) (fire.dueTick % WHEEL_SIZE)].add(fire);
+            }
+        }
+        var perTick = this.cron.getMaxFiresPerSecond() * this.cron.getTickMillis() / 1000.0;
+        var target = this.tickOf(nowMillis);
+        while (this.tick < target) {
+            this.tick++;
+            // 许可按刻度补充，空闲时不积累，避免积压后集中发布
+            this.permits = Math.min(Math.max(1.0, perTick), this.permits + perTick);
+            var iterator = this.slots[(int) (this.tick % WHEEL_SIZE)].iterator();
+            while (iterator.hasNext()) {
+                var next = iterator.next();
+                if (next.dueTick <= this.tick) {
+                    iterator.remove();
+                    this.ready.add(next);
+                }
+            }
+            while (this.permits >= 1 && !this.ready.isEmpty()) {
+                this.permits--;
+                due.add(this.ready.poll());
+            }
+        }
+        this.pending.addAndGet(-due.size());
+        return due;
+    }
+
+    private long tickOf(long millis) {
+        return Math.max(0, millis - this.startMillis) / this.cron.getTickMillis();
+    }
+
+    private void publish(String triggerId) {
+        try {
+            this.publisher.publishEvent(CronTriggerEvent.builder().triggerId(triggerId).build());
+        } catch (RuntimeException e) {
+            log.warn("定时触发器{}触发失败: {}", triggerId, e.getMessage());
+        }
+    }
+
+    static class Fire {
+        private final String triggerId;
+        private final long dueTick;
+
+        private Fire(String triggerId, long dueTick) {
+            this.triggerId = triggerId;
+            this.dueTick = dueTick;
+        }
+    }
+
+    private class MisfireListener extends TriggerListenerSupport {
+        @Override
+        public String getName() {
+            return LISTENER_NAME;
+        }
+
+        @Override
+        public void triggerMisfired(Trigger trigger) {
+            misfired.add(trigger.getKey());
+        }
+    }
+}
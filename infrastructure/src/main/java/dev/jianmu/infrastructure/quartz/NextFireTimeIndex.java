@@ -0,0 +1,150 @@
+package dev.jianmu.infrastructure.quartz;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.listeners.SchedulerListenerSupport;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Daihw
+ * @class NextFireTimeIndex
+ * @description 定时触发器下次触发时间索引，由Quartz监听回调维护，查询不访问Scheduler
+ * @create 2026/10/18 5:10 下午
+ */
+@Component
+public class NextFireTimeIndex {
+    public static final String PROJECT_ID = "projectId";
+    private static final String LISTENER_NAME = "nextFireTimeIndex";
+    // 触发器已暂停或不再触发的占位值，ConcurrentHashMap不能保存null
+    private static final LocalDateTime NONE = LocalDateTime.MIN;
+
+    private final String instanceId = UUID.randomUUID().toString().replace("-", "");
+    // 项目ID -> 下次触发时间，值为NONE表示触发器已暂停或不再触发
+    private final Map<String, LocalDateTime> nextFireTimes = new ConcurrentHashMap<>();
+    private final Map<TriggerKey, String> projectIds = new ConcurrentHashMap<>();
+
+    public NextFireTimeIndex(Scheduler scheduler) throws SchedulerException {
+        scheduler.getListenerManager().addSchedulerListener(new IndexSchedulerListener());
+        scheduler.getListenerManager().addTriggerListener(new IndexTriggerListener());
+    }
+
+    public String getInstanceId() {
+        return this.instanceId;
+    }
+
+    public static LocalDateTime toLocalDateTime(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    /**
+     * 索引中是否已有该项目，已暂停或不再触发的项目也视为已有
+     */
+    public boolean contains(String projectId) {
+        return this.nextFireTimes.containsKey(projectId);
+    }
+
+    /**
+     * 查询下次触发时间，索引中没有该项目或触发器不再触发时返回空
+     */
+    public Optional<LocalDateTime> find(String projectId) {
+        var nextFireTime = this.nextFireTimes.get(projectId);
+        if (nextFireTime == null || nextFireTime == NONE) {
+            return Optional.empty();
+        }
+        return Optional.of(nextFireTime);
+    }
+
+    /**
+     * 批量查询，结果只包含索引中已有的项目，值可能为null
+     */
+    public Map<String, LocalDateTime> findByProjectIds(Collection<String> projectIds) {
+        var result = new HashMap<String, LocalDateTime>();
+        projectIds.forEach(projectId -> {
+            var nextFireTime = this.nextFireTimes.get(projectId);
+            if (nextFireTime != null) {
+                result.put(projectId, nextFireTime == NONE ? null : nextFireTime);
+            }
+        });
+        return result;
+    }
+
+    public void put(String projectId, LocalDateTime nextFireTime) {
+        this.nextFireTimes.put(projectId, nextFireTime == null ? NONE : nextFireTime);
+    }
+
+    public void invalidate(String projectId) {
+        this.nextFireTimes.remove(projectId);
+    }
+
+    private void update(Trigger trigger) {
+        var projectId = trigger.getJobDataMap().getString(PROJECT_ID);
+        if (projectId == null) {
+            return;
+        }
+        this.projectIds.put(trigger.getKey(), projectId);
+        this.put(projectId, toLocalDateTime(trigger.getNextFireTime()));
+    }
+
+    private void clear(TriggerKey triggerKey, boolean remove) {
+        var projectId = remove ? this.projectIds.remove(triggerKey) : this.projectIds.get(triggerKey);
+        if (projectId != null) {
+            this.put(projectId, null);
+        }
+    }
+
+    private class IndexSchedulerListener extends SchedulerListenerSupport {
+        @Override
+        public void jobScheduled(Trigger trigger) {
+            update(trigger);
+        }
+
+        @Override
+        public void jobUnscheduled(TriggerKey triggerKey) {
+            clear(triggerKey, true);
+        }
+
+        @Override
+        public void triggerFinalized(Trigger trigger) {
+            clear(trigger.getKey(), true);
+        }
+
+        @Override
+        public void triggerPaused(TriggerKey triggerKey) {
+            clear(triggerKey, false);
+        }
+    }
+
+    private class IndexTriggerListener extends TriggerListenerSupport {
+        @Override
+        public String getName() {
+            return LISTENER_NAME;
+        }
+
+        @Override
+        public void triggerFired(Trigger trigger, JobExecutionContext context) {
+            update(trigger);
+        }
+
+        @Override
+        public void triggerMisfired(Trigger trigger) {
+            update(trigger);
+        }
+    }
+}
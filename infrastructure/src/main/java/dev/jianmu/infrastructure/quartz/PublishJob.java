@@ -3,7 +3,6 @@ package dev.jianmu.infrastructure.quartz;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,16 +13,17 @@ import org.springframework.stereotype.Component;
 */
 @Component
 public class PublishJob implements Job {
-    private final ApplicationEventPublisher publisher;
+    private final CronFireWheel cronFireWheel;
 
-    public PublishJob(ApplicationEventPublisher publisher) {
-        this.publisher = publisher;
+    public PublishJob(CronFireWheel cronFireWheel) {
+        this.cronFireWheel = cronFireWheel;
     }
 
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
         var triggerId = context.getTrigger().getJobDataMap().get("triggerId").toString();
-        var evt = CronTriggerEvent.builder().triggerId(triggerId).build();
-        this.publisher.publishEvent(evt);
+        // 准时的触发直接发布CronTriggerEvent，错过的触发交给时间轮随机延后并按速率限制发布
+        var late = this.cronFireWheel.isLate(context.getTrigger().getKey(), context.getScheduledFireTime(), context.getFireTime());
+        this.cronFireWheel.submit(triggerId, late);
     }
 }
@@ -0,0 +1,115 @@
+package dev.jianmu.infrastructure.redis;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.jianmu.event.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Daihw
+ * @class RedisEventCodec
+ * @description Redis事件编解码，消息格式：版本(1字节) + 类型长度(1字节) + 类型ID + Json负载
+ * @create 2026/10/18 10:12 上午
+ */
+@Slf4j
+public class RedisEventCodec {
+    public static final byte VERSION = 1;
+    private static final byte LEGACY_JSON_START = '{';
+    private static final int MAX_TYPE_LENGTH = 255;
+
+    private static final ObjectMapper MAPPER;
+    // 与旧版本RedisTemplate的值序列化器一致，滚动升级期间旧节点可以解析
+    private static final GenericJackson2JsonRedisSerializer LEGACY_SERIALIZER = new GenericJackson2JsonRedisSerializer();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    static {
+        MAPPER = new ObjectMapper();
+        MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        MAPPER.addMixIn(Event.class, EventMixIn.class);
+    }
+
+    private RedisEventCodec() {
+    }
+
+    /**
+     * 为事件类型预先构建Reader，在订阅注册时调用一次
+     */
+    public static ObjectReader readerFor(Class<?> eventType) {
+        return MAPPER.readerFor(eventType);
+    }
+
+    public static byte[] encode(Event event) {
+        var type = event.getTopic().getBytes(StandardCharsets.UTF_8);
+        if (type.length > MAX_TYPE_LENGTH) {
+            throw new IllegalArgumentException("redis event type is too long, " + event.getTopic());
+        }
+        byte[] payload;
+        try {
+            payload = WRITERS.computeIfAbsent(event.getClass(), MAPPER::writerFor).writeValueAsBytes(event);
+        } catch (IOException e) {
+            log.warn("Redis事件序列化失败: {}", e.getMessage());
+            throw new RuntimeException("Redis事件序列化失败");
+        }
+        var bytes = new byte[2 + type.length + payload.length];
+        bytes[0] = VERSION;
+        bytes[1] = (byte) type.length;
+        System.arraycopy(type, 0, bytes, 2, type.length);
+        System.arraycopy(payload, 0, bytes, 2 + type.length, payload.length);
+        return bytes;
+    }
+
+    /**
+     * 旧版本Json消息格式，带@class类型信息
+     */
+    public static byte[] encodeLegacy(Event event) {
+        return LEGACY_SERIALIZER.serialize(event);
+    }
+
+    /**
+     * 读取消息中的类型ID，旧版本Json消息返回null
+     */
+    public static String decodeType(byte[] message) {
+        if (message.length == 0 || message[0] == LEGACY_JSON_START) {
+            return null;
+        }
+        checkVersion(message);
+        return new String(message, 2, Byte.toUnsignedInt(message[1]), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 使用预构建的Reader解析负载，兼容旧版本直接发送的Json消息
+     */
+    public static <E extends Event> E decode(byte[] message, ObjectReader reader) {
+        int offset = 0;
+        if (message.length > 0 && message[0] != LEGACY_JSON_START) {
+            checkVersion(message);
+            offset = 2 + Byte.toUnsignedInt(message[1]);
+        }
+        try {
+            return reader.readValue(message, offset, message.length - offset);
+        } catch (IOException e) {
+            log.warn("Redis事件反序列化失败: {}", e.getMessage());
+            throw new RuntimeException("Redis事件反序列化失败");
+        }
+    }
+
+    private static void checkVersion(byte[] message) {
+        if (message[0] != VERSION || message.length < 2) {
+            throw new IllegalArgumentException("unsupported redis event version: " + message[0]);
+        }
+    }
+
+    // 类型ID已在消息头中，负载不再重复携带事件名
+    @JsonIgnoreProperties({"topic", "eventName"})
+    private interface EventMixIn {
+    }
+}
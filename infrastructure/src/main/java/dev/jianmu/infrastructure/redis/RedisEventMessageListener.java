@@ -0,0 +1,46 @@
+package dev.jianmu.infrastructure.redis;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.jianmu.event.Event;
+import dev.jianmu.event.Subscriber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+/**
+ * @author Daihw
+ * @class RedisEventMessageListener
+ * @description 单个订阅者的Redis消息监听(Pub/Sub与Streams共用)，事件类型与Reader在注册时确定
+ * @create 2026/10/18 10:40 上午
+ */
+@Slf4j
+public class RedisEventMessageListener<E extends Event> implements MessageListener {
+    private final String topic;
+    private final ObjectReader reader;
+    private final Subscriber<E> subscriber;
+
+    public RedisEventMessageListener(String topic, Class<E> eventType, Subscriber<E> subscriber) {
+        this.topic = topic;
+        this.reader = RedisEventCodec.readerFor(eventType);
+        this.subscriber = subscriber;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        this.onEvent(message.getBody());
+    }
+
+    public void onEvent(byte[] body) {
+        var type = RedisEventCodec.decodeType(body);
+        if (type != null && !type.equals(this.topic)) {
+            log.warn("忽略类型不匹配的Redis事件, topic: {}, type: {}", this.topic, type);
+            return;
+        }
+        E event = RedisEventCodec.decode(body, this.reader);
+        this.subscriber.subscribe(event);
+    }
+}
@@ -0,0 +1,271 @@
+package dev.jianmu.infrastructure.redis;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static dev.jianmu.infrastructure.redis.processor.RedisEventListenerAnnotationBeanPostProcessor.ADAPTERS;
+
+/**
+ * @author Daihw
+ * @class RedisStreamContainer
+ * @description Redis Streams事件消费，每个节点一个消费组，记录各自的消费位置，重连后先重放未确认的事件，
+ * 处理失败的事件保持未确认，空闲超时后重新认领，超过最大投递次数后丢弃
+ * @create 2026/10/18 2:35 下午
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "jianmu.event", name = "type", havingValue = "stream")
+public class RedisStreamContainer implements SmartLifecycle {
+    public static final String KEY_PREFIX = "jianmu:event:";
+    public static final byte[] FIELD = "e".getBytes(StandardCharsets.UTF_8);
+    private static final long RETRY_INTERVAL = 1000L;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final GlobalProperties.Event.Stream properties;
+    private final String nodeId;
+    private final Map<String, RedisEventMessageListener<?>> listeners = new HashMap<>();
+    private volatile boolean running;
+    private Thread worker;
+
+    public RedisStreamContainer(RedisConnectionFactory connectionFactory, GlobalProperties globalProperties) {
+        this.connectionFactory = connectionFactory;
+        this.properties = globalProperties.getEvent().getStream();
+        if (this.properties.getNodeId() == null) {
+            this.nodeId = defaultNodeId();
+            log.warn("未配置jianmu.event.stream.node-id，使用主机名{}作为消费组，主机名变化后原消费组将在{}ms后清理",
+                    this.nodeId, this.properties.getStaleGroupMillis());
+        } else {
+            this.nodeId = this.properties.getNodeId();
+        }
+    }
+
+    public static byte[] streamKey(String topic) {
+        return (KEY_PREFIX + topic).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String defaultNodeId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new RuntimeException("无法获取主机名，请配置jianmu.event.stream.node-id", e);
+        }
+    }
+
+    void addListener(String topic, RedisEventMessageListener<?> listener) {
+        this.listeners.put(KEY_PREFIX + topic, listener);
+    }
+
+    @Override
+    public void start() {
+        ADAPTERS.forEach(this::addListener);
+        this.running = true;
+        if (this.listeners.isEmpty()) {
+            return;
+        }
+        this.worker = new Thread(this::consume, "redis-stream-consumer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+        log.info("Redis Stream消费者启动, 消费组: {}, 订阅: {}", this.nodeId, this.listeners.keySet());
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        if (this.worker != null) {
+            this.worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void consume() {
+        var consumer = Consumer.from(this.nodeId, this.nodeId);
+        var options = StreamReadOptions.empty()
+                .count(this.properties.getBatchSize())
+                .block(Duration.ofMillis(this.properties.getBlockMillis()));
+        RedisConnection connection = null;
+        // 先读取本节点已投递未确认的事件，完成后再读取新事件，重放位置逐批前移，处理失败的事件留给认领
+        Map<String, String> replayOffsets = null;
+        long nextClaim = 0L;
+        while (this.running) {
+            try {
+                if (connection == null) {
+                    connection = this.connectionFactory.getConnection();
+                    this.createGroups(connection);
+                    this.removeStaleGroups(connection);
+                    replayOffsets = new HashMap<>();
+                }
+                var records = connection.streamCommands().xReadGroup(consumer, options, this.offsets(replayOffsets));
+                if (records == null || records.isEmpty()) {
+                    replayOffsets = null;
+                } else {
+                    for (ByteRecord record : records) {
+                        this.dispatch(connection, record);
+                        if (replayOffsets != null) {
+                            replayOffsets.put(new String(record.getStream(), StandardCharsets.UTF_8), record.getId().getValue());
+                        }
+                    }
+                }
+                if (replayOffsets == null && System.currentTimeMillis() >= nextClaim) {
+                    this.reclaim(connection);
+                    nextClaim = System.currentTimeMillis() + this.properties.getClaimIdleMillis();
+                }
+            } catch (Exception e) {
+                if (!this.running) {
+                    break;
+                }
+                log.warn("Redis Stream消费失败，稍后重连: {}", e.getMessage());
+                this.close(connection);
+                connection = null;
+                this.sleep();
+            }
+        }
+        this.close(connection);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StreamOffset<byte[]>[] offsets(Map<String, String> replayOffsets) {
+        return this.listeners.keySet().stream()
+                .map(key -> StreamOffset.create(key.getBytes(StandardCharsets.UTF_8), replayOffsets == null
+                        ? ReadOffset.lastConsumed()
+                        : ReadOffset.from(replayOffsets.getOrDefault(key, "0-0"))))
+                .toArray(StreamOffset[]::new);
+    }
+
+    private void createGroups(RedisConnection connection) {
+        for (String key : this.listeners.keySet()) {
+            try {
+                // 新节点从最新位置开始消费，已有消费组保留原位置
+                connection.streamCommands().xGroupCreate(key.getBytes(StandardCharsets.UTF_8), this.nodeId, ReadOffset.latest(), true);
+            } catch (Exception e) {
+                var cause = NestedExceptionUtils.getMostSpecificCause(e);
+                if (cause.getMessage() == null || !cause.getMessage().contains("BUSYGROUP")) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // 清理其他节点遗留的消费组，仅当组内所有消费者都空闲超时，没有消费者的组可能是刚启动的节点，保留
+    void removeStaleGroups(RedisConnection connection) {
+        var commands = connection.streamCommands();
+        for (String key : this.listeners.keySet()) {
+            var stream = key.getBytes(StandardCharsets.UTF_8);
+            try {
+                for (StreamInfo.XInfoGroup group : commands.xInfoGroups(stream)) {
+                    if (this.nodeId.equals(group.groupName()) || group.consumerCount() == null || group.consumerCount() == 0) {
+                        continue;
+                    }
+                    var stale = commands.xInfoConsumers(stream, group.groupName()).stream()
+                            .allMatch(consumer -> consumer.idleTimeMs() >= this.properties.getStaleGroupMillis());
+                    if (stale) {
+                        commands.xGroupDestroy(stream, group.groupName());
+                        log.info("清理已下线节点的消费组, stream: {}, 消费组: {}", key, group.groupName());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("清理消费组失败, stream: {}, 原因: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    // 认领本组空闲超时的未确认事件重新处理，超过最大投递次数的事件记录错误后确认
+    void reclaim(RedisConnection connection) {
+        var commands = connection.streamCommands();
+        var minIdle = Duration.ofMillis(this.properties.getClaimIdleMillis());
+        for (String key : this.listeners.keySet()) {
+            var stream = key.getBytes(StandardCharsets.UTF_8);
+            var pending = commands.xPending(stream, this.nodeId, RedisStreamCommands.XPendingOptions.unbounded(this.properties.getBatchSize().longValue()));
+            if (pending == null) {
+                continue;
+            }
+            for (PendingMessage message : pending) {
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                    continue;
+                }
+                if (message.getTotalDeliveryCount() >= this.properties.getMaxDeliveries()) {
+                    log.error("Redis Stream事件超过最大投递次数，丢弃, stream: {}, id: {}, 投递次数: {}",
+                            key, message.getIdAsString(), message.getTotalDeliveryCount());
+                    commands.xAck(stream, this.nodeId, message.getId());
+                    continue;
+                }
+                List<ByteRecord> records = commands.xClaim(stream, this.nodeId, this.nodeId,
+                        RedisStreamCommands.XClaimOptions.minIdle(minIdle).ids(message.getId()));
+                if (records != null) {
+                    records.forEach(record -> this.dispatch(connection, record));
+                }
+            }
+        }
+    }
+
+    // 处理成功才确认，失败的事件留在未确认列表中等待认领
+    boolean dispatch(RedisConnection connection, ByteRecord record) {
+        var key = new String(record.getStream(), StandardCharsets.UTF_8);
+        var listener = this.listeners.get(key);
+        try {
+            var body = this.body(record.getValue());
+            if (listener != null && body != null) {
+                listener.onEvent(body);
+            }
+        } catch (Exception e) {
+            log.warn("Redis Stream事件处理失败，等待重新认领, stream: {}, id: {}, 原因: {}", key, record.getId(), e.getMessage());
+            return false;
+        }
+        connection.streamCommands().xAck(record.getStream(), this.nodeId, record.getId());
+        return true;
+    }
+
+    private byte[] body(Map<byte[], byte[]> value) {
+        for (Map.Entry<byte[], byte[]> entry : value.entrySet()) {
+            if (Arrays.equals(FIELD, entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private void close(RedisConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (Exception e) {
+            log.debug("关闭Redis连接失败: {}", e.getMessage());
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(RETRY_INTERVAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
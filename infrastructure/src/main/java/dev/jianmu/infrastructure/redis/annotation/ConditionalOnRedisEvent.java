@@ -0,0 +1,18 @@
+package dev.jianmu.infrastructure.redis.annotation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+
+import java.lang.annotation.*;
+
+/**
+ * @author Daihw
+ * @class ConditionalOnRedisEvent
+ * @description 事件类型为redis(Pub/Sub)或stream(Redis Streams)时生效
+ * @create 2026/10/18 2:05 下午
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnExpression("'${jianmu.event.type:local}' == 'redis' or '${jianmu.event.type:local}' == 'stream'")
+public @interface ConditionalOnRedisEvent {
+}
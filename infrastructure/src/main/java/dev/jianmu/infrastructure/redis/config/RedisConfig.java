@@ -1,16 +1,14 @@
 package dev.jianmu.infrastructure.redis.config;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.jianmu.infrastructure.redis.annotation.ConditionalOnRedisEvent;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import static dev.jianmu.infrastructure.redis.processor.RedisEventListenerAnnotationBeanPostProcessor.ADAPTERS;
@@ -21,7 +19,7 @@ import static dev.jianmu.infrastructure.redis.processor.RedisEventListenerAnnota
  * @description RedisConfig
  * @create 2022/11/17 3:36 下午
  */
-@ConditionalOnProperty(prefix = "jianmu.event", name = "type", havingValue = "redis")
+@ConditionalOnRedisEvent
 @Configuration
 public class RedisConfig {
     @Bean
@@ -35,19 +33,13 @@ public class RedisConfig {
     }
 
     @Bean
+    @ConditionalOnProperty(prefix = "jianmu.event", name = "type", havingValue = "redis")
     public RedisMessageListenerContainer container(RedisConnectionFactory redisConnectionFactory) {
         RedisMessageListenerContainer redisMessageListenerContainer = new RedisMessageListenerContainer();
         redisMessageListenerContainer.setConnectionFactory(redisConnectionFactory);
-        // 订阅
-        // TODO ADAPTERS待优化
+        // 订阅，每个事件类型对应一个确定的Channel，无需模式匹配
         ADAPTERS.forEach((key, value) ->
-                redisMessageListenerContainer.addMessageListener(value, new PatternTopic(key)));
-        // 序列化
-        var serializer = new Jackson2JsonRedisSerializer<>(String.class);
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        serializer.setObjectMapper(objectMapper);
-        redisMessageListenerContainer.setTopicSerializer(serializer);
+                redisMessageListenerContainer.addMessageListener(value, new ChannelTopic(key)));
         return redisMessageListenerContainer;
     }
 }
@@ -1,9 +1,9 @@
 package dev.jianmu.infrastructure.redis.config;
 
+import dev.jianmu.infrastructure.redis.annotation.ConditionalOnRedisEvent;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,7 +14,7 @@ import org.springframework.context.annotation.Configuration;
  * @description RedissonConfig
  * @create 2022/12/9 10:59 上午
  */
-@ConditionalOnProperty(prefix = "jianmu.event", name = "type", havingValue = "redis")
+@ConditionalOnRedisEvent
 @Configuration
 public class RedissonConfig {
     @Bean(destroyMethod = "shutdown")
@@ -1,11 +1,12 @@
 package dev.jianmu.infrastructure.redis.processor;
 
 import dev.jianmu.event.Event;
+import dev.jianmu.event.Subscriber;
+import dev.jianmu.infrastructure.redis.RedisEventMessageListener;
+import dev.jianmu.infrastructure.redis.annotation.ConditionalOnRedisEvent;
 import dev.jianmu.infrastructure.redis.annotation.RedisEventListener;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanPostProcessor;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
@@ -19,11 +20,12 @@ import java.util.Map;
  * @description RedisEventListenerAnnotationBeanPostProcessor
  * @create 2022/11/17 3:40 下午
  */
-@ConditionalOnProperty(prefix = "jianmu.event", name = "type", havingValue = "redis")
+@ConditionalOnRedisEvent
 @Component
 public class RedisEventListenerAnnotationBeanPostProcessor implements BeanPostProcessor {
-    public static final Map<String, MessageListenerAdapter> ADAPTERS = new HashMap<>();
+    public static final Map<String, RedisEventMessageListener<?>> ADAPTERS = new HashMap<>();
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
     @Nullable
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
@@ -35,21 +37,23 @@ public class RedisEventListenerAnnotationBeanPostProcessor implements BeanPostPr
             if (method.isBridge()) {
                 continue;
             }
+            if (!(bean instanceof Subscriber)) {
+                throw new RuntimeException("redis event listener must be a subscriber, " + beanName);
+            }
+            // 事件类型与Reader在注册时解析一次，收到消息时不再反射查找
+            var eventType = (Class<? extends Event>) method.getParameterTypes()[0];
             Event event;
             try {
-                event = (Event) method.getParameterTypes()[0].getDeclaredConstructor().newInstance();
+                event = eventType.getDeclaredConstructor().newInstance();
             } catch (Exception e) {
                 e.printStackTrace();
                 throw new RuntimeException(e);
             }
             var topic = event.getTopic();
-            var messageListenerAdapter = new MessageListenerAdapter(bean, "receiveMessage");
             if (ADAPTERS.containsKey(topic)) {
                 throw new RuntimeException("redis topic is repeated, " + topic);
             }
-            ADAPTERS.put(topic, messageListenerAdapter);
-            // fix: Cannot invoke "org.springframework.data.redis.listener.adapter.MessageListenerAdapter$MethodInvoker.getMethodName()" because "this.invoker" is null
-            messageListenerAdapter.afterPropertiesSet();
+            ADAPTERS.put(topic, new RedisEventMessageListener(topic, eventType, (Subscriber) bean));
         }
         return bean;
     }
@@ -0,0 +1,155 @@
+package dev.jianmu.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class NgramIndex
+ * @description 内存二元分词倒排索引，命中规则与大小写不敏感的 like '%keyword%' 一致
+ * @create 2026/10/18 7:00 下午
+ */
+public class NgramIndex {
+    private static final int GRAM = 2;
+
+    // 文档ID -> 按权重排列的字段值，已转小写
+    private final Map<String, List<String>> documents = new LinkedHashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final int capacity;
+
+    public NgramIndex() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param capacity 超出容量时淘汰最早写入的文档
+     */
+    public NgramIndex(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 写入文档，fields越靠前排序权重越高，空值忽略
+     */
+    public synchronized void put(String id, List<String> fields) {
+        this.removeDocument(id);
+        var values = fields.stream()
+                .filter(field -> field != null && !field.isBlank())
+                .map(field -> field.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+        this.documents.put(id, values);
+        values.forEach(value -> grams(value).forEach(gram -> this.postings.computeIfAbsent(gram, k -> new HashSet<>()).add(id)));
+        if (this.documents.size() > this.capacity) {
+            this.removeDocument(this.documents.keySet().iterator().next());
+        }
+    }
+
+    public synchronized void remove(String id) {
+        this.removeDocument(id);
+    }
+
+    public synchronized void clear() {
+        this.documents.clear();
+        this.postings.clear();
+    }
+
+    /**
+     * 关键字短于分词长度时无法通过倒排表过滤，只能逐个文档比较
+     */
+    public static boolean indexable(String keyword) {
+        return keyword.length() >= GRAM;
+    }
+
+    public synchronized int size() {
+        return this.documents.size();
+    }
+
+    /**
+     * 查询包含关键字的文档ID，按匹配程度排序：完全相等、前缀、包含，同级按字段权重
+     */
+    public synchronized List<String> search(String keyword, int limit) {
+        var key = keyword.toLowerCase(Locale.ROOT);
+        var candidates = indexable(key) ? this.candidates(key) : this.documents.keySet();
+        var scores = new HashMap<String, Integer>();
+        candidates.forEach(id -> {
+            var score = score(this.documents.get(id), key);
+            if (score > 0) {
+                scores.put(id, score);
+            }
+        });
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private Set<String> candidates(String key) {
+        var grams = new ArrayList<>(grams(key));
+        var lists = new ArrayList<Set<String>>();
+        for (var gram : grams) {
+            var ids = this.postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        var result = new HashSet<>(lists.get(0));
+        lists.subList(1, lists.size()).forEach(result::retainAll);
+        return result;
+    }
+
+    // 二元分词只能过滤候选，最终按原文校验是否包含
+    private static int score(List<String> fields, String key) {
+        var best = 0;
+        for (int i = 0; i < fields.size(); i++) {
+            var value = fields.get(i);
+            int match;
+            if (value.equals(key)) {
+                match = 3;
+            } else if (value.startsWith(key)) {
+                match = 2;
+            } else if (value.contains(key)) {
+                match = 1;
+            } else {
+                continue;
+            }
+            best = Math.max(best, match * 100 + (fields.size() - i));
+        }
+        return best;
+    }
+
+    private static Set<String> grams(String value) {
+        var grams = new LinkedHashSet<String>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private void removeDocument(String id) {
+        var values = this.documents.remove(id);
+        if (values == null) {
+            return;
+        }
+        values.forEach(value -> grams(value).forEach(gram -> {
+            var ids = this.postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    this.postings.remove(gram);
+                }
+            }
+        }));
+    }
+}
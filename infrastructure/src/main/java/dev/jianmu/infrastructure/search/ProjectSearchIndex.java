@@ -0,0 +1,70 @@
+package dev.jianmu.infrastructure.search;
+
+import dev.jianmu.infrastructure.mapper.project.ProjectMapper;
+import dev.jianmu.project.aggregate.Project;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Daihw
+ * @class ProjectSearchIndex
+ * @description 项目搜索索引，索引名称与描述，首次查询时从数据库构建
+ * @create 2026/10/18 7:00 下午
+ */
+@Slf4j
+@Component
+public class ProjectSearchIndex {
+    private final String instanceId = UUID.randomUUID().toString().replace("-", "");
+    private final NgramIndex index = new NgramIndex();
+    private final ProjectMapper projectMapper;
+    private volatile boolean built;
+
+    public ProjectSearchIndex(ProjectMapper projectMapper) {
+        this.projectMapper = projectMapper;
+    }
+
+    public String getInstanceId() {
+        return this.instanceId;
+    }
+
+    public boolean supports(String keyword) {
+        return NgramIndex.indexable(keyword);
+    }
+
+    public List<String> search(String keyword) {
+        if (!this.built) {
+            this.rebuild();
+        }
+        return this.index.search(keyword, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 从数据库重新加载单个项目，项目已删除时移出索引
+     */
+    public synchronized void refresh(String projectId) {
+        if (!this.built) {
+            return;
+        }
+        var projects = this.projectMapper.findSearchFields(projectId);
+        if (projects.isEmpty()) {
+            this.index.remove(projectId);
+            return;
+        }
+        this.put(projects.get(0));
+    }
+
+    public synchronized void rebuild() {
+        this.index.clear();
+        this.projectMapper.findSearchFields(null).forEach(this::put);
+        this.built = true;
+        log.info("项目搜索索引已重建，项目数: {}", this.index.size());
+    }
+
+    private void put(Project project) {
+        this.index.put(project.getId(), Arrays.asList(project.getWorkflowName(), project.getWorkflowDescription()));
+    }
+}
@@ -0,0 +1,17 @@
+package dev.jianmu.infrastructure.search;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * @author Daihw
+ * @class TriggerParameterValue
+ * @description 触发参数值，用于索引分支、提交信息等触发参数
+ * @create 2026/10/18 7:00 下午
+ */
+@Getter
+@Setter
+public class TriggerParameterValue {
+    private String triggerEventId;
+    private String value;
+}
@@ -0,0 +1,97 @@
+package dev.jianmu.infrastructure.search;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.mapper.trigger.TriggerEventParameterMapper;
+import dev.jianmu.infrastructure.mapper.workflow.WorkflowInstanceMapper;
+import dev.jianmu.workflow.aggregate.process.WorkflowInstance;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class WorkflowInstanceSearchIndex
+ * @description 流程实例搜索索引，索引ID、名称、版本与触发参数（分支、提交信息等），只保留最近的实例
+ * @create 2026/10/18 7:00 下午
+ */
+@Slf4j
+@Component
+public class WorkflowInstanceSearchIndex {
+    private static final int BATCH_SIZE = 500;
+
+    private final String instanceId = UUID.randomUUID().toString().replace("-", "");
+    private final NgramIndex index;
+    private final int capacity;
+    private final WorkflowInstanceMapper workflowInstanceMapper;
+    private final TriggerEventParameterMapper triggerEventParameterMapper;
+    private volatile boolean built;
+
+    public WorkflowInstanceSearchIndex(
+            GlobalProperties globalProperties,
+            WorkflowInstanceMapper workflowInstanceMapper,
+            TriggerEventParameterMapper triggerEventParameterMapper
+    ) {
+        this.capacity = globalProperties.getSearch().getInstanceCapacity();
+        this.index = new NgramIndex(this.capacity);
+        this.workflowInstanceMapper = workflowInstanceMapper;
+        this.triggerEventParameterMapper = triggerEventParameterMapper;
+    }
+
+    public String getInstanceId() {
+        return this.instanceId;
+    }
+
+    public List<String> search(String keyword, int limit) {
+        if (!this.built) {
+            this.rebuild();
+        }
+        return this.index.search(keyword, limit);
+    }
+
+    public synchronized void refresh(String instanceId) {
+        if (!this.built) {
+            return;
+        }
+        var instances = this.workflowInstanceMapper.findSearchFields(instanceId, 1);
+        if (instances.isEmpty()) {
+            this.index.remove(instanceId);
+            return;
+        }
+        this.putAll(instances);
+    }
+
+    public synchronized void rebuild() {
+        this.index.clear();
+        var instances = this.workflowInstanceMapper.findSearchFields(null, this.capacity);
+        // 按时间正序写入，容量淘汰时先淘汰较早的实例
+        Collections.reverse(instances);
+        for (int i = 0; i < instances.size(); i += BATCH_SIZE) {
+            this.putAll(instances.subList(i, Math.min(i + BATCH_SIZE, instances.size())));
+        }
+        this.built = true;
+        log.info("流程实例搜索索引已重建，实例数: {}", this.index.size());
+    }
+
+    private void putAll(List<WorkflowInstance> instances) {
+        var triggerIds = instances.stream().map(WorkflowInstance::getTriggerId).collect(Collectors.toList());
+        Map<String, List<String>> values = this.triggerEventParameterMapper.findValueByTriggerIdIn(triggerIds).stream()
+                .collect(Collectors.groupingBy(TriggerParameterValue::getTriggerEventId,
+                        Collectors.mapping(TriggerParameterValue::getValue, Collectors.toList())));
+        instances.forEach(instance -> {
+            var fields = new ArrayList<String>();
+            fields.add(instance.getId());
+            fields.add(instance.getName());
+            fields.add(instance.getWorkflowRef());
+            fields.add(instance.getWorkflowVersion());
+            fields.add(instance.getTriggerId());
+            fields.addAll(values.getOrDefault(instance.getTriggerId(), List.of()));
+            this.index.put(instance.getId(), fields);
+        });
+    }
+}
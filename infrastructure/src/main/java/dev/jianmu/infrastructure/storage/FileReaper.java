@@ -0,0 +1,70 @@
+package dev.jianmu.infrastructure.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * @author Daihw
+ * @class FileReaper
+ * @description 后台删除已清理执行记录的日志与Webhook文件，避免文件操作占用数据库事务
+ * @create 2026/10/18 8:40 下午
+ */
+@Slf4j
+@Component
+public class FileReaper {
+    public static final String COUNTER_NAME = "jianmu.cleanup.files";
+
+    private final StorageService storageService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Counter workflowLogCounter;
+    private final Counter taskLogCounter;
+    private final Counter webhookCounter;
+
+    public FileReaper(
+            StorageService storageService,
+            MeterRegistry meterRegistry,
+            @Qualifier("fileReaperExecutor") ThreadPoolTaskExecutor executor
+    ) {
+        this.storageService = storageService;
+        this.executor = executor;
+        this.workflowLogCounter = Counter.builder(COUNTER_NAME).tag("type", "workflow_log").register(meterRegistry);
+        this.taskLogCounter = Counter.builder(COUNTER_NAME).tag("type", "task_log").register(meterRegistry);
+        this.webhookCounter = Counter.builder(COUNTER_NAME).tag("type", "webhook").register(meterRegistry);
+        meterRegistry.gauge("jianmu.cleanup.files.pending", executor, ThreadPoolTaskExecutor::getQueueSize);
+    }
+
+    public void reapWorkflowLogs(Collection<String> triggerIds) {
+        triggerIds.forEach(triggerId -> this.submit(triggerId, this.storageService::deleteWorkflowLog, this.workflowLogCounter));
+    }
+
+    public void reapTaskLogs(Collection<String> taskInstanceIds) {
+        taskInstanceIds.forEach(taskId -> this.submit(taskId, this.storageService::deleteTaskLog, this.taskLogCounter));
+    }
+
+    public void reapWebhooks(Collection<String> webRequestIds) {
+        webRequestIds.forEach(webRequestId -> this.submit(webRequestId, this.storageService::deleteWebhook, this.webhookCounter));
+    }
+
+    public int getPending() {
+        return this.executor.getQueueSize();
+    }
+
+    // 队列满时由线程池的拒绝策略在调用线程中直接删除
+    private void submit(String id, Consumer<String> delete, Counter counter) {
+        this.executor.execute(() -> {
+            try {
+                delete.accept(id);
+                counter.increment();
+            } catch (Exception e) {
+                log.warn("执行记录文件删除失败: {}", e.getMessage());
+            }
+        });
+    }
+}
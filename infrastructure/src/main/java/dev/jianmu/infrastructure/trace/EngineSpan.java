@@ -0,0 +1,23 @@
+package dev.jianmu.infrastructure.trace;
+
+/**
+ * @author Daihw
+ * @class EngineSpan
+ * @description 一次事件处理的耗时记录，按triggerId与nodeRef归属到流程实例
+ * @create 2026/10/18 4:20 下午
+ */
+public record EngineSpan(
+        String triggerId,
+        String nodeRef,
+        String event,
+        String handler,
+        long startNanos,
+        long startMillis,
+        long durationNanos,
+        String thread,
+        String error
+) {
+    public long endNanos() {
+        return this.startNanos + this.durationNanos;
+    }
+}
@@ -0,0 +1,134 @@
+package dev.jianmu.infrastructure.trace;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @author Daihw
+ * @class EngineTraceRecorder
+ * @description 引擎事件处理耗时记录，写入无锁环形缓冲区并汇总为Micrometer计时器，可按triggerId查询单次运行的关键路径
+ * @create 2026/10/18 4:20 下午
+ */
+@Component
+public class EngineTraceRecorder {
+    public static final String TIMER_NAME = "jianmu.engine.handler";
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReferenceArray<EngineSpan> buffer;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public EngineTraceRecorder(GlobalProperties globalProperties, MeterRegistry meterRegistry) {
+        var properties = globalProperties.getEngineTrace();
+        this.enabled = properties.getEnabled();
+        this.meterRegistry = meterRegistry;
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getCapacity()) - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void record(EngineSpan span) {
+        if (!this.enabled) {
+            return;
+        }
+        long index = this.cursor.getAndIncrement();
+        this.buffer.set((int) (index & this.mask), span);
+        this.timers.computeIfAbsent(span.event() + "#" + span.handler(), key -> Timer.builder(TIMER_NAME)
+                .tag("event", span.event())
+                .tag("handler", span.handler())
+                .register(this.meterRegistry)
+        ).record(span.durationNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 查询单次运行在缓冲区中仍保留的记录，按开始时间排序
+     */
+    public List<EngineSpan> findByTriggerId(String triggerId) {
+        var spans = new ArrayList<EngineSpan>();
+        for (int i = 0; i < this.buffer.length(); i++) {
+            var span = this.buffer.get(i);
+            if (span != null && triggerId.equals(span.triggerId())) {
+                spans.add(span);
+            }
+        }
+        spans.sort(Comparator.comparingLong(EngineSpan::startNanos));
+        return spans;
+    }
+
+    public RunTrace findRun(String triggerId) {
+        var spans = this.findByTriggerId(triggerId);
+        if (spans.isEmpty()) {
+            return new RunTrace(triggerId, 0L, Collections.emptyMap(), Collections.emptyList(), Collections.emptyList());
+        }
+        var nodes = new LinkedHashMap<String, Long>();
+        spans.forEach(span -> nodes.merge(span.nodeRef() == null ? "" : span.nodeRef(), span.durationNanos(), Long::sum));
+        long start = spans.get(0).startNanos();
+        long end = spans.stream().mapToLong(EngineSpan::endNanos).max().orElse(start);
+        return new RunTrace(triggerId, end - start, nodes, spans, criticalPath(spans));
+    }
+
+    /**
+     * 从最晚结束的记录向前回溯，每次选择在当前记录开始前结束得最晚的记录
+     */
+    static List<EngineSpan> criticalPath(List<EngineSpan> spans) {
+        var path = new ArrayList<EngineSpan>();
+        var current = spans.stream().max(Comparator.comparingLong(EngineSpan::endNanos)).orElse(null);
+        while (current != null) {
+            path.add(current);
+            long start = current.startNanos();
+            EngineSpan previous = null;
+            for (EngineSpan span : spans) {
+                if (span.endNanos() <= start && (previous == null || span.endNanos() > previous.endNanos())) {
+                    previous = span;
+                }
+            }
+            current = previous;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public List<HandlerStat> findHandlerStats() {
+        var stats = new ArrayList<HandlerStat>();
+        this.timers.values().forEach(timer -> stats.add(new HandlerStat(
+                timer.getId().getTag("event"),
+                timer.getId().getTag("handler"),
+                timer.count(),
+                timer.mean(TimeUnit.MILLISECONDS),
+                timer.max(TimeUnit.MILLISECONDS)
+        )));
+        stats.sort(Comparator.comparingDouble(HandlerStat::meanMillis).reversed());
+        return stats;
+    }
+
+    public record RunTrace(
+            String triggerId,
+            long durationNanos,
+            Map<String, Long> nodeNanos,
+            List<EngineSpan> spans,
+            List<EngineSpan> criticalPath
+    ) {
+    }
+
+    public record HandlerStat(String event, String handler, long count, double meanMillis, double maxMillis) {
+    }
+}
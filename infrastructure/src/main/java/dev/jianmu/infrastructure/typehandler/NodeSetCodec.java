@@ -0,0 +1,467 @@
+package dev.jianmu.infrastructure.typehandler;
+
+import dev.jianmu.workflow.aggregate.definition.AsyncTask;
+import dev.jianmu.workflow.aggregate.definition.BaseNode;
+import dev.jianmu.workflow.aggregate.definition.Branch;
+import dev.jianmu.workflow.aggregate.definition.Condition;
+import dev.jianmu.workflow.aggregate.definition.End;
+import dev.jianmu.workflow.aggregate.definition.LoopPair;
+import dev.jianmu.workflow.aggregate.definition.Node;
+import dev.jianmu.workflow.aggregate.definition.Start;
+import dev.jianmu.workflow.aggregate.definition.SwitchGateway;
+import dev.jianmu.workflow.aggregate.definition.TaskCache;
+import dev.jianmu.workflow.aggregate.definition.TaskParameter;
+import dev.jianmu.workflow.aggregate.parameter.Parameter;
+import dev.jianmu.workflow.aggregate.process.FailureMode;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Daihw
+ * @class NodeSetCodec
+ * @description 流程节点二进制编码，节点引用、类型与参数名等字符串统一放入字符串表，节点内以变长整数引用
+ * @create 2026/10/18 9:50 下午
+ */
+public class NodeSetCodec {
+    // 编码格式变化时递增版本，读取时拒绝其他版本
+    public static final int VERSION = 1;
+    // 旧数据为JSON数组，首字节为'['，不会与该标识冲突
+    private static final byte MAGIC = (byte) 0xFE;
+
+    private static final int START = 0;
+    private static final int END = 1;
+    private static final int ASYNC_TASK = 2;
+    private static final int CONDITION = 3;
+    private static final int SWITCH_GATEWAY = 4;
+
+    private static final int VALUE_NULL = 0;
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_BOOLEAN = 2;
+    private static final int VALUE_INTEGER = 3;
+    private static final int VALUE_LONG = 4;
+    private static final int VALUE_DOUBLE = 5;
+
+    private NodeSetCodec() {
+    }
+
+    public static boolean isEncoded(byte[] bytes) {
+        return bytes.length > 1 && bytes[0] == MAGIC;
+    }
+
+    public static byte[] encode(Set<Node> nodes) {
+        var strings = new StringTable();
+        var body = new Output();
+        body.writeVarint(nodes.size());
+        nodes.forEach(node -> writeNode(body, strings, node));
+
+        var out = new Output();
+        out.write(MAGIC);
+        out.writeVarint(VERSION);
+        out.writeVarint(strings.values.size());
+        strings.values.forEach(out::writeString);
+        body.writeTo(out);
+        return out.toByteArray();
+    }
+
+    public static Set<Node> decode(byte[] bytes) {
+        if (!isEncoded(bytes)) {
+            throw new IllegalArgumentException("不是流程节点二进制编码");
+        }
+        var in = new Input(bytes, 1);
+        var version = in.readVarint();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("不支持的流程节点编码版本: " + version);
+        }
+        var strings = new String[in.readVarint()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readString();
+        }
+        var size = in.readVarint();
+        var nodes = new HashSet<Node>(size * 2);
+        for (int i = 0; i < size; i++) {
+            nodes.add(readNode(in, strings));
+        }
+        return nodes;
+    }
+
+    private static void writeNode(Output out, StringTable strings, Node node) {
+        if (node instanceof Start) {
+            out.writeVarint(START);
+        } else if (node instanceof End) {
+            out.writeVarint(END);
+        } else if (node instanceof AsyncTask) {
+            out.writeVarint(ASYNC_TASK);
+        } else if (node instanceof Condition) {
+            out.writeVarint(CONDITION);
+        } else if (node instanceof SwitchGateway) {
+            out.writeVarint(SWITCH_GATEWAY);
+        } else {
+            throw new IllegalArgumentException("不支持的流程节点类型: " + node.getClass().getName());
+        }
+        strings.write(out, node.getName());
+        strings.write(out, node.getRef());
+        strings.write(out, node.getDescription());
+        strings.write(out, node.getType());
+        strings.write(out, node.getMetadata());
+        strings.write(out, node.getFailureMode() == null ? null : node.getFailureMode().name());
+        writeStrings(out, strings, node.getSources());
+        writeStrings(out, strings, node.getTargets());
+        var loopPairs = node.getLoopPairs();
+        out.writeVarint(loopPairs.size());
+        loopPairs.forEach(loopPair -> {
+            strings.write(out, loopPair.getSource());
+            strings.write(out, loopPair.getTarget());
+        });
+        var taskParameters = node.getTaskParameters();
+        writeSize(out, taskParameters);
+        if (taskParameters != null) {
+            taskParameters.forEach(taskParameter -> {
+                strings.write(out, taskParameter.getRef());
+                strings.write(out, taskParameter.getType() == null ? null : taskParameter.getType().name());
+                strings.write(out, taskParameter.getExpression());
+            });
+        }
+        var taskCaches = node.getTaskCaches();
+        writeSize(out, taskCaches);
+        if (taskCaches != null) {
+            taskCaches.forEach(taskCache -> {
+                strings.write(out, taskCache.getSource());
+                strings.write(out, taskCache.getTarget());
+            });
+        }
+        if (node instanceof Condition) {
+            var condition = (Condition) node;
+            strings.write(out, condition.getExpression());
+            var targetMap = condition.getTargetMap();
+            out.writeVarint(targetMap.size());
+            targetMap.forEach((key, value) -> {
+                out.write(key ? 1 : 0);
+                strings.write(out, value);
+            });
+            writeBranches(out, strings, condition.getBranches());
+        }
+        if (node instanceof SwitchGateway) {
+            var switchGateway = (SwitchGateway) node;
+            strings.write(out, switchGateway.getExpression());
+            var cases = switchGateway.getCases();
+            writeSize(out, cases == null ? null : cases.keySet());
+            if (cases != null) {
+                cases.forEach((key, value) -> {
+                    strings.write(out, key);
+                    strings.write(out, value);
+                });
+            }
+            writeBranches(out, strings, switchGateway.getBranches());
+        }
+    }
+
+    private static void writeBranches(Output out, StringTable strings, List<Branch> branches) {
+        writeSize(out, branches);
+        if (branches != null) {
+            branches.forEach(branch -> {
+                writeValue(out, strings, branch.getMatchedCondition());
+                strings.write(out, branch.getTarget());
+                out.write(branch.isLoop() ? 1 : 0);
+            });
+        }
+    }
+
+    private static List<Branch> readBranches(Input in, String[] strings) {
+        var size = in.readSize();
+        if (size < 0) {
+            return null;
+        }
+        var branches = new ArrayList<Branch>(size);
+        for (int i = 0; i < size; i++) {
+            var matchedCondition = readValue(in, strings);
+            branches.add(Branch.Builder.aBranch()
+                    .matchedCondition(matchedCondition)
+                    .target(in.readString(strings))
+                    .loop(in.read() == 1)
+                    .build());
+        }
+        return branches;
+    }
+
+    private static Node readNode(Input in, String[] strings) {
+        var kind = in.readVarint();
+        var name = in.readString(strings);
+        var ref = in.readString(strings);
+        var description = in.readString(strings);
+        var type = in.readString(strings);
+        var metadata = in.readString(strings);
+        var failureMode = in.readString(strings);
+        var sources = readStrings(in, strings);
+        var targets = readStrings(in, strings);
+        var loopPairs = new ArrayList<LoopPair>();
+        for (int i = in.readVarint(); i > 0; i--) {
+            loopPairs.add(LoopPair.Builder.aLoopPair()
+                    .source(in.readString(strings))
+                    .target(in.readString(strings))
+                    .build());
+        }
+        Set<TaskParameter> taskParameters = null;
+        var taskParameterSize = in.readSize();
+        if (taskParameterSize >= 0) {
+            taskParameters = new HashSet<>(taskParameterSize * 2);
+            for (int i = 0; i < taskParameterSize; i++) {
+                var parameterRef = in.readString(strings);
+                var parameterType = in.readString(strings);
+                taskParameters.add(TaskParameter.Builder.aTaskParameter()
+                        .ref(parameterRef)
+                        .type(parameterType == null ? null : Parameter.Type.valueOf(parameterType))
+                        .expression(in.readString(strings))
+                        .build());
+            }
+        }
+        List<TaskCache> taskCaches = null;
+        var taskCacheSize = in.readSize();
+        if (taskCacheSize >= 0) {
+            taskCaches = new ArrayList<>(taskCacheSize);
+            for (int i = 0; i < taskCacheSize; i++) {
+                taskCaches.add(TaskCache.Builder.aTaskCache()
+                        .source(in.readString(strings))
+                        .target(in.readString(strings))
+                        .build());
+            }
+        }
+
+        BaseNode node;
+        switch (kind) {
+            case START:
+                node = Start.Builder.aStart().name(name).ref(ref).description(description).build();
+                break;
+            case END:
+                node = End.Builder.anEnd().name(name).ref(ref).description(description).build();
+                break;
+            case ASYNC_TASK:
+                node = AsyncTask.Builder.anAsyncTask()
+                        .name(name)
+                        .ref(ref)
+                        .description(description)
+                        .type(type)
+                        .metadata(metadata)
+                        .build();
+                break;
+            case CONDITION:
+                var expression = in.readString(strings);
+                var targetMap = new HashMap<Boolean, String>();
+                for (int i = in.readVarint(); i > 0; i--) {
+                    var key = in.read() == 1;
+                    targetMap.put(key, in.readString(strings));
+                }
+                var branches = readBranches(in, strings);
+                var condition = Condition.Builder.aCondition()
+                        .name(name)
+                        .ref(ref)
+                        .description(description)
+                        .expression(expression)
+                        .branches(branches)
+                        .build();
+                condition.setTargetMap(targetMap);
+                node = condition;
+                break;
+            case SWITCH_GATEWAY:
+                var switchExpression = in.readString(strings);
+                var caseSize = in.readSize();
+                Map<String, String> cases = caseSize < 0 ? null : new HashMap<>(caseSize * 2);
+                for (int i = 0; i < caseSize; i++) {
+                    var key = in.readString(strings);
+                    cases.put(key, in.readString(strings));
+                }
+                var switchBranches = readBranches(in, strings);
+                node = SwitchGateway.Builder.aSwitchGateway()
+                        .name(name)
+                        .ref(ref)
+                        .description(description)
+                        .expression(switchExpression)
+                        .cases(cases)
+                        .branches(switchBranches)
+                        .build();
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的流程节点类型编码: " + kind);
+        }
+        node.setFailureMode(failureMode == null ? null : FailureMode.valueOf(failureMode));
+        node.setSources(sources);
+        node.setTargets(targets);
+        node.setLoopPairs(loopPairs);
+        node.setTaskParameters(taskParameters);
+        node.setTaskCaches(taskCaches);
+        return node;
+    }
+
+    private static void writeStrings(Output out, StringTable strings, Collection<String> values) {
+        out.writeVarint(values.size());
+        values.forEach(value -> strings.write(out, value));
+    }
+
+    private static Set<String> readStrings(Input in, String[] strings) {
+        var size = in.readVarint();
+        var values = new HashSet<String>(size * 2);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readString(strings));
+        }
+        return values;
+    }
+
+    // 集合为null时写0，否则写元素数+1
+    private static void writeSize(Output out, Collection<?> values) {
+        out.writeVarint(values == null ? 0 : values.size() + 1);
+    }
+
+    private static void writeValue(Output out, StringTable strings, Object value) {
+        if (value == null) {
+            out.writeVarint(VALUE_NULL);
+        } else if (value instanceof String) {
+            out.writeVarint(VALUE_STRING);
+            strings.write(out, (String) value);
+        } else if (value instanceof Boolean) {
+            out.writeVarint(VALUE_BOOLEAN);
+            out.write((Boolean) value ? 1 : 0);
+        } else if (value instanceof Integer) {
+            out.writeVarint(VALUE_INTEGER);
+            out.writeZigZag((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeVarint(VALUE_LONG);
+            out.writeZigZag((Long) value);
+        } else if (value instanceof Double) {
+            out.writeVarint(VALUE_DOUBLE);
+            out.writeZigZag(Double.doubleToRawLongBits((Double) value));
+        } else {
+            throw new IllegalArgumentException("不支持的分支条件类型: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(Input in, String[] strings) {
+        var tag = in.readVarint();
+        switch (tag) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return in.readString(strings);
+            case VALUE_BOOLEAN:
+                return in.read() == 1;
+            case VALUE_INTEGER:
+                return (int) in.readZigZag();
+            case VALUE_LONG:
+                return in.readZigZag();
+            case VALUE_DOUBLE:
+                return Double.longBitsToDouble(in.readZigZag());
+            default:
+                throw new IllegalArgumentException("不支持的分支条件类型编码: " + tag);
+        }
+    }
+
+    // 字符串表，0表示null，其余为下标+1
+    private static class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        void write(Output out, String value) {
+            if (value == null) {
+                out.writeVarint(0);
+                return;
+            }
+            var index = this.indexes.computeIfAbsent(value, k -> {
+                this.values.add(k);
+                return this.values.size();
+            });
+            out.writeVarint(index);
+        }
+    }
+
+    private static class Output extends ByteArrayOutputStream {
+        Output() {
+            super(256);
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                this.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            this.write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            this.writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.writeVarint(bytes.length);
+            this.write(bytes, 0, bytes.length);
+        }
+
+        void writeTo(Output out) {
+            out.write(this.buf, 0, this.count);
+        }
+    }
+
+    private static class Input {
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int read() {
+            if (this.position >= this.bytes.length) {
+                throw new IllegalArgumentException("流程节点编码数据不完整");
+            }
+            return this.bytes[this.position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                var b = this.read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("流程节点编码数据不合法");
+        }
+
+        int readVarint() {
+            return (int) this.readVarLong();
+        }
+
+        long readZigZag() {
+            var value = this.readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        // 与writeSize对应，集合为null时返回-1
+        int readSize() {
+            return this.readVarint() - 1;
+        }
+
+        String readString() {
+            var length = this.readVarint();
+            if (length < 0 || this.position + length > this.bytes.length) {
+                throw new IllegalArgumentException("流程节点编码数据不完整");
+            }
+            var value = new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+            this.position += length;
+            return value;
+        }
+
+        String readString(String[] strings) {
+            var index = this.readVarint();
+            return index == 0 ? null : strings[index - 1];
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package dev.jianmu.infrastructure.typehandler;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
@@ -13,7 +13,6 @@ import org.apache.ibatis.type.JdbcType;
 
 import javax.sql.rowset.serial.SerialBlob;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.Set;
 
@@ -30,6 +29,8 @@ public class NodeSetTypeHandler extends BaseTypeHandler<Set<Node>> {
     public NodeSetTypeHandler() {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        // 旧数据只读不写，忽略节点类新增的只读属性
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         SimpleModule module = new SimpleModule();
         Class type1 = Set.of(Start.Builder.aStart().build()).getClass();
         Class type2 = Set.of().getClass();
@@ -39,25 +40,38 @@ public class NodeSetTypeHandler extends BaseTypeHandler<Set<Node>> {
     }
 
     private Set<Node> toNodeSet(Blob blob) {
-        JavaType javaType = this.objectMapper.getTypeFactory().constructCollectionType(Set.class, Node.class);
+        if (blob == null) {
+            return null;
+        }
         try {
-            Set<Node> nodes = this.objectMapper.readValue(blob.getBytes(1, (int) blob.length()), javaType);
-            return nodes;
-        } catch (IOException | SQLException e) {
+            return this.toNodeSet(blob.getBytes(1, (int) blob.length()));
+        } catch (SQLException e) {
             e.printStackTrace();
         }
         return null;
     }
 
-    @Override
-    public void setNonNullParameter(PreparedStatement ps, int i, Set<Node> parameter, JdbcType jdbcType) throws SQLException {
+    /**
+     * 新数据为二进制编码，旧数据为JSON，读取时自动识别
+     */
+    public Set<Node> toNodeSet(byte[] bytes) {
+        if (NodeSetCodec.isEncoded(bytes)) {
+            return NodeSetCodec.decode(bytes);
+        }
+        JavaType javaType = this.objectMapper.getTypeFactory().constructCollectionType(Set.class, Node.class);
         try {
-            String nodes = this.objectMapper.writerFor(new TypeReference<Set<Node>>() {}).writeValueAsString(parameter);
-            Blob blob = new SerialBlob(nodes.getBytes(StandardCharsets.UTF_8));
-            ps.setBlob(i, blob);
+            Set<Node> nodes = this.objectMapper.readValue(bytes, javaType);
+            return nodes;
         } catch (IOException e) {
             e.printStackTrace();
         }
+        return null;
+    }
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Set<Node> parameter, JdbcType jdbcType) throws SQLException {
+        Blob blob = new SerialBlob(NodeSetCodec.encode(parameter));
+        ps.setBlob(i, blob);
     }
 
     @Override
@@ -0,0 +1,123 @@
+package dev.jianmu.infrastructure.credential;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.jianmu.secret.aggregate.KVPair;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.vault.authentication.TokenAuthentication;
+import org.springframework.vault.client.VaultEndpoint;
+import org.springframework.vault.core.VaultTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Daihw
+ * @class VaultCredentialManagerTest
+ * @description Vault密钥缓存测试，使用本地HTTP服务模拟Vault KV接口
+ * @create 2026/10/18 11:10 下午
+ */
+@DisplayName("Vault密钥缓存测试")
+public class VaultCredentialManagerTest {
+    private static final String ENGINE = "jianmu";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Map<String, Object>> store = new ConcurrentHashMap<>();
+    private final AtomicInteger reads = new AtomicInteger();
+    private HttpServer server;
+    private VaultCredentialManager credentialManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/v1/" + ENGINE + "/", this::handle);
+        this.server.start();
+
+        var vault = new CredentialProperties.VaultProperties();
+        vault.setVaultEngineName(ENGINE);
+        var credentialProperties = new CredentialProperties();
+        credentialProperties.setType("vault");
+        credentialProperties.setVault(vault);
+        var endpoint = VaultEndpoint.from(URI.create("http://127.0.0.1:" + this.server.getAddress().getPort()));
+        this.credentialManager = new VaultCredentialManager(
+                new VaultTemplate(endpoint, new TokenAuthentication("token")),
+                credentialProperties,
+                new SecretCache(credentialProperties, new SimpleMeterRegistry())
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        var namespace = exchange.getRequestURI().getPath().substring(("/v1/" + ENGINE + "/").length());
+        byte[] body = new byte[0];
+        var status = 204;
+        if ("GET".equals(exchange.getRequestMethod())) {
+            this.reads.incrementAndGet();
+            var data = this.store.get(namespace);
+            if (data == null) {
+                status = 404;
+                body = "{\"errors\":[]}".getBytes(StandardCharsets.UTF_8);
+            } else {
+                status = 200;
+                body = this.objectMapper.writeValueAsBytes(Map.of("data", data));
+            }
+        } else if ("DELETE".equals(exchange.getRequestMethod())) {
+            this.store.remove(namespace);
+        } else {
+            this.store.put(namespace, this.objectMapper.readValue(exchange.getRequestBody(), new TypeReference<HashMap<String, Object>>() {}));
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+
+    @Test
+    void testNamespaceLoadedOnce() {
+        var data = new HashMap<String, Object>();
+        for (int i = 0; i < 5; i++) {
+            data.put("key" + i, "value" + i);
+        }
+        this.store.put("ns", data);
+
+        for (int task = 0; task < 40; task++) {
+            for (int i = 0; i < 5; i++) {
+                var kvPair = this.credentialManager.findByNamespaceNameAndKey("ns", "key" + i);
+                Assertions.assertEquals("value" + i, kvPair.map(KVPair::getValue).orElse(null));
+            }
+        }
+        Assertions.assertTrue(this.credentialManager.findByNamespaceNameAndKey("ns", "missing").isEmpty());
+        Assertions.assertEquals(1, this.reads.get());
+    }
+
+    @Test
+    void testInvalidateOnChange() {
+        this.store.put("ns", new HashMap<>(Map.of("key0", "value0")));
+        Assertions.assertTrue(this.credentialManager.findByNamespaceNameAndKey("ns", "key1").isEmpty());
+
+        this.credentialManager.createKVPair(KVPair.Builder.aKVPair().namespaceName("ns").key("key1").value("value1").build());
+        Assertions.assertEquals("value1", this.credentialManager.findByNamespaceNameAndKey("ns", "key1").map(KVPair::getValue).orElse(null));
+
+        this.credentialManager.deleteKVPair("ns", "key0");
+        Assertions.assertTrue(this.credentialManager.findByNamespaceNameAndKey("ns", "key0").isEmpty());
+    }
+}
@@ -0,0 +1,197 @@
+package dev.jianmu.infrastructure.event;
+
+import dev.jianmu.event.impl.WorkerDeferredResultClearEvent;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.redis.RedisEventCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author Daihw
+ * @class RedisPublisherImplTest
+ * @description Redis事件发布测试
+ * @create 2026/10/19 4:10 上午
+ */
+@DisplayName("Redis事件发布测试")
+public class RedisPublisherImplTest {
+    private static final int EVENTS = 200;
+
+    private final List<byte[]> published = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisPublisherImpl publisher;
+
+    @SuppressWarnings("unchecked")
+    private RedisTemplate<String, Object> redisTemplate(AtomicInteger failures) {
+        var connection = Mockito.mock(RedisConnection.class);
+        Mockito.when(connection.publish(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer(invocation -> {
+            this.published.add(invocation.getArgument(1));
+            return 1L;
+        });
+        RedisTemplate<String, Object> redisTemplate = Mockito.mock(RedisTemplate.class);
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Long>>any())).thenAnswer(invocation -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("connection reset");
+            }
+            return invocation.<RedisCallback<Long>>getArgument(0).doInRedis(connection);
+        });
+        Mockito.when(redisTemplate.executePipelined(ArgumentMatchers.<RedisCallback<Object>>any())).thenAnswer(invocation -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("connection reset");
+            }
+            invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+        return redisTemplate;
+    }
+
+    private RedisPublisherImpl publisher(int queueCapacity, boolean envelope, AtomicInteger failures) {
+        return this.publisher(queueCapacity, envelope, failures, new GlobalProperties());
+    }
+
+    private RedisPublisherImpl publisher(int queueCapacity, boolean envelope, AtomicInteger failures, GlobalProperties globalProperties) {
+        globalProperties.getEvent().getRedis().setQueueCapacity(queueCapacity);
+        globalProperties.getEvent().getRedis().setBatchSize(8);
+        globalProperties.getEvent().getRedis().setEnvelope(envelope);
+        return new RedisPublisherImpl(this.redisTemplate(failures), globalProperties, this.meterRegistry);
+    }
+
+    private void publish(String workerId) {
+        this.publisher.publish(WorkerDeferredResultClearEvent.builder().workerId(workerId).build());
+    }
+
+    private void awaitDeadLetters(int count) {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (this.publisher.deadLetterSize() != count) {
+                Thread.sleep(10);
+            }
+        });
+    }
+
+    private List<String> workerIds() {
+        return this.published.stream()
+                .map(body -> RedisEventCodec.<WorkerDeferredResultClearEvent>decode(body, RedisEventCodec.readerFor(WorkerDeferredResultClearEvent.class)))
+                .map(WorkerDeferredResultClearEvent::getWorkerId)
+                .collect(Collectors.toList());
+    }
+
+    private void awaitPublished(int count) {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (this.published.size() < count) {
+                Thread.sleep(10);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        this.publisher.destroy();
+    }
+
+    @Test
+    void testKeepOrderWhenQueueIsFull() {
+        this.publisher = this.publisher(2, true, new AtomicInteger());
+        var expected = IntStream.range(0, EVENTS).mapToObj(i -> "worker-" + i).collect(Collectors.toList());
+        expected.forEach(workerId -> this.publisher.publish(WorkerDeferredResultClearEvent.builder().workerId(workerId).build()));
+
+        this.awaitPublished(EVENTS);
+        Assertions.assertEquals(expected, this.workerIds());
+        Assertions.assertNotNull(RedisEventCodec.decodeType(this.published.get(0)));
+    }
+
+    @Test
+    void testRetryAndLegacyFormatByDefault() {
+        this.publisher = this.publisher(16, false, new AtomicInteger(2));
+        this.publisher.publish(WorkerDeferredResultClearEvent.builder().workerId("worker-1").build());
+
+        this.awaitPublished(1);
+        Assertions.assertEquals(List.of("worker-1"), this.workerIds());
+        // 旧版本节点只能解析Json消息
+        Assertions.assertEquals('{', this.published.get(0)[0]);
+    }
+
+    @Test
+    void testReplayDeadLetters() {
+        var globalProperties = new GlobalProperties();
+        globalProperties.getEvent().getRedis().setRetries(1);
+        this.publisher = this.publisher(16, true, new AtomicInteger(2), globalProperties);
+        this.publish("worker-1");
+        this.awaitDeadLetters(1);
+        Assertions.assertEquals(1.0, this.meterRegistry.get("jianmu.event.redis.dead_letters").gauge().value());
+
+        // 连接恢复后死信先于新事件发布
+        this.publish("worker-2");
+        this.awaitPublished(2);
+        Assertions.assertEquals(List.of("worker-1", "worker-2"), this.workerIds());
+        Assertions.assertEquals(0, this.publisher.deadLetterSize());
+    }
+
+    @Test
+    void testDropOldestDeadLetter() {
+        var globalProperties = new GlobalProperties();
+        globalProperties.getEvent().getRedis().setRetries(0);
+        globalProperties.getEvent().getRedis().setDeadLetterCapacity(1);
+        this.publisher = this.publisher(16, true, new AtomicInteger(2), globalProperties);
+        this.publish("worker-1");
+        this.awaitDeadLetters(1);
+        this.publish("worker-2");
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (this.meterRegistry.get("jianmu.event.redis.dropped").counter().count() < 1) {
+                Thread.sleep(10);
+            }
+        });
+
+        this.publish("worker-3");
+        this.awaitPublished(2);
+        Assertions.assertEquals(List.of("worker-2", "worker-3"), this.workerIds());
+    }
+
+    /**
+     * 每次往返模拟1ms网络延迟，对比逐条发布与Pipeline批量发布的吞吐，mvn test -Djianmu.benchmark=true时运行
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "jianmu.benchmark", matches = "true")
+    void benchmarkPublish() throws InterruptedException {
+        var results = new StringBuilder();
+        for (var batchSize : List.of(1, 64)) {
+            this.published.clear();
+            var globalProperties = new GlobalProperties();
+            globalProperties.getEvent().getRedis().setQueueCapacity(EVENTS * 10);
+            globalProperties.getEvent().getRedis().setBatchSize(batchSize);
+            var delegate = this.redisTemplate(new AtomicInteger());
+            @SuppressWarnings("unchecked")
+            RedisTemplate<String, Object> redisTemplate = Mockito.mock(RedisTemplate.class);
+            Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<Long>>any())).thenAnswer(invocation -> {
+                Thread.sleep(1);
+                return delegate.execute(invocation.<RedisCallback<Long>>getArgument(0));
+            });
+            Mockito.when(redisTemplate.executePipelined(ArgumentMatchers.<RedisCallback<Object>>any())).thenAnswer(invocation -> {
+                Thread.sleep(1);
+                return delegate.executePipelined(invocation.<RedisCallback<Object>>getArgument(0));
+            });
+            this.publisher = new RedisPublisherImpl(redisTemplate, globalProperties, this.meterRegistry);
+            var start = System.nanoTime();
+            IntStream.range(0, EVENTS * 10).forEach(i -> this.publish("worker-" + i));
+            this.awaitPublished(EVENTS * 10);
+            var millis = (System.nanoTime() - start) / 1_000_000;
+            results.append(String.format("batch-size %d: %d events in %d ms; ", batchSize, EVENTS * 10, millis));
+            this.publisher.destroy();
+        }
+        System.out.println(results);
+    }
+}
@@ -0,0 +1,55 @@
+package dev.jianmu.infrastructure.event;
+
+import dev.jianmu.event.impl.WorkerDeferredResultClearEvent;
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.redis.RedisEventCodec;
+import dev.jianmu.infrastructure.redis.RedisStreamContainer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * @author Daihw
+ * @class RedisStreamPublisherImplTest
+ * @description Redis Stream事件发布测试
+ * @create 2026/10/19 4:35 上午
+ */
+@DisplayName("Redis Stream事件发布测试")
+public class RedisStreamPublisherImplTest {
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testPublishToTopicStream() {
+        var commands = Mockito.mock(RedisStreamCommands.class);
+        var connection = Mockito.mock(RedisConnection.class);
+        Mockito.when(connection.streamCommands()).thenReturn(commands);
+        RedisTemplate<String, Object> redisTemplate = Mockito.mock(RedisTemplate.class);
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.<RedisCallback<RecordId>>any()))
+                .thenAnswer(invocation -> invocation.<RedisCallback<RecordId>>getArgument(0).doInRedis(connection));
+        var globalProperties = new GlobalProperties();
+        globalProperties.getEvent().getStream().setMaxLength(500L);
+
+        var event = WorkerDeferredResultClearEvent.builder().workerId("worker-1").build();
+        new RedisStreamPublisherImpl(redisTemplate, globalProperties).publish(event);
+
+        ArgumentCaptor<MapRecord<byte[], byte[], byte[]>> record = ArgumentCaptor.forClass((Class) MapRecord.class);
+        var options = ArgumentCaptor.forClass(RedisStreamCommands.XAddOptions.class);
+        Mockito.verify(commands).xAdd(record.capture(), options.capture());
+        Assertions.assertArrayEquals(RedisStreamContainer.streamKey(event.getTopic()), record.getValue().getStream());
+        Assertions.assertEquals(500L, options.getValue().getMaxlen());
+        Assertions.assertTrue(options.getValue().isApproximateTrimming());
+        var body = record.getValue().getValue().entrySet().iterator().next();
+        Assertions.assertArrayEquals(RedisStreamContainer.FIELD, body.getKey());
+        var decoded = RedisEventCodec.<WorkerDeferredResultClearEvent>decode(body.getValue(), RedisEventCodec.readerFor(WorkerDeferredResultClearEvent.class));
+        Assertions.assertEquals("worker-1", decoded.getWorkerId());
+    }
+}
@@ -0,0 +1,154 @@
+package dev.jianmu.infrastructure.jgit;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import dev.jianmu.infrastructure.storage.StorageProperties;
+import dev.jianmu.project.aggregate.GitRepo;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * @author Daihw
+ * @class JgitServiceTest
+ * @description Git镜像缓存测试，使用本地file://仓库作为远程
+ * @create 2026/10/19 1:00 上午
+ */
+@DisplayName("Git镜像缓存测试")
+public class JgitServiceTest {
+    @TempDir
+    Path tempDir;
+
+    private GlobalProperties globalProperties;
+    private GitMirrorCache gitMirrorCache;
+    private JgitService jgitService;
+
+    @BeforeEach
+    void setUp() {
+        var storageProperties = new StorageProperties();
+        storageProperties.setFilepath(this.tempDir.resolve("ci").toString());
+        this.globalProperties = new GlobalProperties();
+        this.gitMirrorCache = new GitMirrorCache(storageProperties, this.globalProperties);
+        this.jgitService = new JgitService(this.gitMirrorCache);
+    }
+
+    private Git createRemote(String name) throws GitAPIException {
+        return Git.init().setDirectory(this.tempDir.resolve(name).toFile()).setInitialBranch("main").call();
+    }
+
+    private void commit(Git git, Map<String, String> files) throws IOException, GitAPIException {
+        var workTree = git.getRepository().getWorkTree().toPath();
+        for (var entry : files.entrySet()) {
+            var file = workTree.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, entry.getValue(), StandardCharsets.UTF_8);
+        }
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage("update").setAuthor("test", "test@jianmu.dev").setCommitter("test", "test@jianmu.dev").call();
+    }
+
+    private GitRepo gitRepo(Git remote, String branch) {
+        var gitRepo = new GitRepo();
+        gitRepo.setUri(remote.getRepository().getWorkTree().toURI().toString());
+        gitRepo.setBranch(branch);
+        gitRepo.setDslPath("ci/jianmu.yml");
+        return gitRepo;
+    }
+
+    @Test
+    void testReadFromMirror() throws IOException, GitAPIException {
+        try (var remote = this.createRemote("remote")) {
+            this.commit(remote, Map.of("ci/jianmu.yml", "name: v1\n", "README.md", "readme"));
+
+            var gitRepo = this.gitRepo(remote, "main");
+            this.jgitService.cloneRepo(gitRepo);
+            Assertions.assertEquals("name: v1\n", this.jgitService.readDsl(gitRepo.getId(), gitRepo.getDslPath()));
+            Assertions.assertEquals(Map.of("ci", true, "README.md", false), this.jgitService.listFiles(gitRepo.getId()));
+            Assertions.assertEquals(Map.of("jianmu.yml", false), this.jgitService.listFiles(gitRepo.getId() + "/ci"));
+            Assertions.assertEquals(Map.of(), this.jgitService.listFiles(gitRepo.getId() + "/missing"));
+
+            // 远程更新后增量拉取，已有的克隆结果仍读取原提交
+            this.commit(remote, Map.of("ci/jianmu.yml", "name: v2\n"));
+            var synced = this.gitRepo(remote, null);
+            this.jgitService.cloneRepo(synced);
+            Assertions.assertEquals("name: v2\n", this.jgitService.readDsl(synced.getId(), synced.getDslPath()));
+            Assertions.assertEquals("name: v1\n", this.jgitService.readDsl(gitRepo.getId(), gitRepo.getDslPath()));
+
+            try (var mirrors = Files.list(this.tempDir.resolve("ci").resolve("git_mirror"))) {
+                Assertions.assertEquals(1, mirrors.count());
+            }
+
+            this.jgitService.cleanUp(gitRepo.getId());
+            Assertions.assertThrows(RuntimeException.class, () -> this.jgitService.readDsl(gitRepo.getId(), gitRepo.getDslPath()));
+        }
+    }
+
+    @Test
+    void testSyncIds() throws IOException, GitAPIException {
+        try (var remote = this.createRemote("remote")) {
+            this.commit(remote, Map.of("ci/jianmu.yml", "name: v1\n"));
+            var first = this.gitRepo(remote, "main");
+            this.jgitService.cloneRepo(first);
+
+            // 只修改其他文件时提交变更，DSL的Blob ID不变
+            this.commit(remote, Map.of("README.md", "readme"));
+            var second = this.gitRepo(remote, "main");
+            this.jgitService.cloneRepo(second);
+            Assertions.assertNotEquals(this.jgitService.getCommitId(first.getId()), this.jgitService.getCommitId(second.getId()));
+            Assertions.assertEquals(this.jgitService.getDslBlobId(first.getId(), first.getDslPath()),
+                    this.jgitService.getDslBlobId(second.getId(), second.getDslPath()));
+
+            this.commit(remote, Map.of("ci/jianmu.yml", "name: v2\n"));
+            var third = this.gitRepo(remote, "main");
+            this.jgitService.cloneRepo(third);
+            Assertions.assertNotEquals(this.jgitService.getDslBlobId(second.getId(), second.getDslPath()),
+                    this.jgitService.getDslBlobId(third.getId(), third.getDslPath()));
+            Assertions.assertThrows(RuntimeException.class, () -> this.jgitService.getDslBlobId(third.getId(), "missing.yml"));
+        }
+    }
+
+    @Test
+    void testMissingBranch() throws IOException, GitAPIException {
+        try (var remote = this.createRemote("remote")) {
+            this.commit(remote, Map.of("ci/jianmu.yml", "name: v1\n"));
+            Assertions.assertThrows(RuntimeException.class, () -> this.jgitService.cloneRepo(this.gitRepo(remote, "dev")));
+        }
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() throws IOException, GitAPIException {
+        this.globalProperties.getGitMirror().setMaxSizeMb(0L);
+        try (var first = this.createRemote("first"); var second = this.createRemote("second")) {
+            this.commit(first, Map.of("ci/jianmu.yml", "name: first\n"));
+            this.commit(second, Map.of("ci/jianmu.yml", "name: second\n"));
+
+            var firstRepo = this.gitRepo(first, "main");
+            this.jgitService.cloneRepo(firstRepo);
+            var secondRepo = this.gitRepo(second, "main");
+            this.jgitService.cloneRepo(secondRepo);
+            // 使用中的镜像不淘汰
+            Assertions.assertEquals("name: first\n", this.jgitService.readDsl(firstRepo.getId(), firstRepo.getDslPath()));
+
+            this.jgitService.cleanUp(firstRepo.getId());
+            var thirdRepo = this.gitRepo(second, "main");
+            this.jgitService.cloneRepo(thirdRepo);
+            var mirrorRoot = this.tempDir.resolve("ci").resolve("git_mirror");
+            Assertions.assertFalse(Files.exists(mirrorRoot.resolve(GitMirrorCache.mirrorKey(firstRepo.getUri()))));
+            Assertions.assertTrue(Files.exists(mirrorRoot.resolve(GitMirrorCache.mirrorKey(secondRepo.getUri()))));
+            Assertions.assertEquals("name: second\n", this.jgitService.readDsl(thirdRepo.getId(), thirdRepo.getDslPath()));
+            // 增量维护的镜像大小与磁盘占用一致
+            try (var files = Files.walk(mirrorRoot)) {
+                Assertions.assertEquals(files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum(), this.gitMirrorCache.size());
+            }
+        }
+    }
+}
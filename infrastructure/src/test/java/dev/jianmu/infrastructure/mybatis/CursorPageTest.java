@@ -0,0 +1,50 @@
+package dev.jianmu.infrastructure.mybatis;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * @author Daihw
+ * @class CursorPageTest
+ * @description 游标分页测试
+ * @create 2026/10/18 6:30 下午
+ */
+@DisplayName("游标分页测试")
+public class CursorPageTest {
+
+    @Test
+    void testNextCursor() {
+        var page = CursorPage.of(List.of("a", "b", "c"), 2, CursorPage::encode, null);
+        Assertions.assertEquals(List.of("a", "b"), page.getList());
+        Assertions.assertEquals("b", CursorPage.decode(page.getNextCursor(), 1)[0]);
+
+        var last = CursorPage.of(List.of("a", "b"), 2, CursorPage::encode, 2L);
+        Assertions.assertNull(last.getNextCursor());
+        Assertions.assertEquals(2L, last.map(Function.identity()).getTotal());
+    }
+
+    @Test
+    void testDecode() {
+        var requestTime = LocalDateTime.of(2026, 10, 18, 18, 30, 1);
+        var keys = CursorPage.decode(CursorPage.encode(requestTime, "id"), 2);
+        Assertions.assertEquals(requestTime, LocalDateTime.parse(keys[0]));
+        Assertions.assertEquals("id", keys[1]);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CursorPage.decode("!!", 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CursorPage.decode(CursorPage.encode("a"), 2));
+        Assertions.assertEquals(CursorPage.MAX_SIZE, CursorPage.limit(1000));
+    }
+
+    @Test
+    void testInvalidSortKey() {
+        var keys = CursorPage.decode(CursorPage.encode("abc", "id"), 2);
+        Assertions.assertThrows(CursorPage.InvalidCursorException.class, () -> CursorPage.parse(() -> Integer.valueOf(keys[0])));
+        Assertions.assertThrows(CursorPage.InvalidCursorException.class, () -> CursorPage.parse(() -> LocalDateTime.parse(keys[0])));
+        Assertions.assertThrows(CursorPage.InvalidCursorException.class, () -> CursorPage.decode("!!", 1));
+        Assertions.assertEquals(12, CursorPage.parse(() -> Integer.valueOf(CursorPage.decode(CursorPage.encode(12), 1)[0])));
+    }
+}
@@ -0,0 +1,156 @@
+package dev.jianmu.infrastructure.quartz;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * @author Daihw
+ * @class CronFireWheelTest
+ * @description 定时触发时间轮测试，模拟重启后1万个错过的触发同时补偿
+ * @create 2026/10/19 3:20 上午
+ */
+@DisplayName("定时触发时间轮测试")
+public class CronFireWheelTest {
+    private static final int SCHEDULE_SIZE = 10000;
+
+    private final List<String> published = new ArrayList<>();
+    private final List<Long> publishedAt = new ArrayList<>();
+    private final List<Runnable> queued = new ArrayList<>();
+    private Executor executor = Runnable::run;
+    private boolean publishedUnderLock;
+    private GlobalProperties globalProperties;
+    private CronFireWheel wheel;
+    private long now;
+
+    @BeforeEach
+    void setUp() throws SchedulerException {
+        this.globalProperties = new GlobalProperties();
+        this.wheel = new CronFireWheel(event -> {
+            this.published.add(((CronTriggerEvent) event).getTriggerId());
+            this.publishedAt.add(this.now);
+            this.publishedUnderLock |= Thread.holdsLock(this.wheel);
+        }, this.globalProperties, Mockito.mock(Scheduler.class, Mockito.RETURNS_DEEP_STUBS), Mockito.mock(TaskScheduler.class),
+                command -> this.executor.execute(command));
+        this.now = System.currentTimeMillis();
+    }
+
+    private void advanceTo(long millis) {
+        var tickMillis = this.globalProperties.getCron().getTickMillis();
+        while (this.now < millis) {
+            this.now += tickMillis;
+            this.wheel.advance(this.now);
+        }
+    }
+
+    @Test
+    void testOnTimeFire() {
+        // 准时的触发不进入时间轮
+        this.wheel.submit("on-time", false, this.now);
+        Assertions.assertEquals(List.of("on-time"), this.published);
+        Assertions.assertEquals(0, this.wheel.size());
+    }
+
+    @Test
+    void testPublishOutsideLock() {
+        this.executor = this.queued::add;
+        this.globalProperties.getCron().setMisfireJitterMillis(0L);
+        this.wheel.submit("late-1", true, this.now);
+        this.wheel.submit("late-2", true, this.now);
+        this.advanceTo(this.now + 2 * this.globalProperties.getCron().getTickMillis());
+
+        // 刻度线程只取出到期的触发，由线程池发布
+        Assertions.assertTrue(this.published.isEmpty());
+        Assertions.assertEquals(2, this.queued.size());
+        Assertions.assertEquals(0, this.wheel.size());
+        this.queued.forEach(Runnable::run);
+        Assertions.assertEquals(List.of("late-1", "late-2"), this.published);
+        Assertions.assertFalse(this.publishedUnderLock);
+    }
+
+    @Test
+    void testSpreadMisfiresAfterRestart() {
+        var cron = this.globalProperties.getCron();
+        var start = this.now;
+        for (int i = 0; i < SCHEDULE_SIZE; i++) {
+            this.wheel.submit("trigger-" + i, true, start);
+        }
+        Assertions.assertEquals(SCHEDULE_SIZE, this.wheel.size());
+
+        var expectedMillis = Math.max(cron.getMisfireJitterMillis(), SCHEDULE_SIZE * 1000L / cron.getMaxFiresPerSecond());
+        this.advanceTo(start + expectedMillis + 2000);
+
+        Assertions.assertEquals(SCHEDULE_SIZE, this.published.size());
+        Assertions.assertEquals(SCHEDULE_SIZE, new HashSet<>(this.published).size());
+        Assertions.assertEquals(0, this.wheel.size());
+        Assertions.assertFalse(this.publishedUnderLock);
+        // 每秒交给引擎的触发不超过速率限制
+        var perSecond = new HashMap<Long, Integer>();
+        this.publishedAt.forEach(at -> perSecond.merge((at - start - 1) / 1000, 1, Integer::sum));
+        perSecond.values().forEach(count -> Assertions.assertTrue(count <= cron.getMaxFiresPerSecond(), "count: " + count));
+        Assertions.assertTrue(this.publishedAt.get(SCHEDULE_SIZE - 1) - start >= SCHEDULE_SIZE * 1000L / cron.getMaxFiresPerSecond() - 1000);
+    }
+
+    @Test
+    void testJitterWithoutRateLimit() {
+        var cron = this.globalProperties.getCron();
+        cron.setMaxFiresPerSecond(100000);
+        var start = this.now;
+        for (int i = 0; i < 1000; i++) {
+            this.wheel.submit("trigger-" + i, true, start);
+        }
+        this.advanceTo(start + cron.getMisfireJitterMillis() + 1000);
+
+        Assertions.assertEquals(1000, this.published.size());
+        var first = this.publishedAt.get(0) - start;
+        var last = this.publishedAt.get(999) - start;
+        Assertions.assertTrue(last - first > cron.getMisfireJitterMillis() / 2, first + " - " + last);
+        Assertions.assertTrue(last <= cron.getMisfireJitterMillis() + cron.getTickMillis() * 2, "last: " + last);
+    }
+
+    @Test
+    void testIsLate() {
+        var cron = this.globalProperties.getCron();
+        var key = TriggerKey.triggerKey("late");
+        var scheduled = new Date(this.now);
+        Assertions.assertFalse(this.wheel.isLate(key, scheduled, new Date(this.now + cron.getMisfireThresholdMillis())));
+        Assertions.assertTrue(this.wheel.isLate(key, scheduled, new Date(this.now + cron.getMisfireThresholdMillis() + 1)));
+        Assertions.assertFalse(this.wheel.isLate(key, null, null));
+    }
+
+    @Test
+    void testShutdownDrainsPending() {
+        var cron = this.globalProperties.getCron();
+        // 每个刻度只发布一个触发
+        cron.setMaxFiresPerSecond((int) (1000 / cron.getTickMillis()));
+        cron.setMisfireJitterMillis(0L);
+        this.wheel.submit("due", true, this.now);
+        this.wheel.submit("later", true, this.now + 10 * cron.getTickMillis());
+        this.wheel.submit("queued", true, this.now);
+        this.advanceTo(this.now + cron.getTickMillis());
+        this.wheel.submit("inbox", true, this.now);
+        Assertions.assertEquals(List.of("due"), this.published);
+
+        // 槽位、就绪队列与收件箱中的触发全部取出，不再发布
+        var dropped = this.wheel.drain();
+        Assertions.assertEquals(3, dropped.size());
+        Assertions.assertTrue(dropped.containsAll(List.of("queued", "later", "inbox")));
+        Assertions.assertEquals(0, this.wheel.size());
+        this.advanceTo(this.now + 20 * cron.getTickMillis());
+        Assertions.assertEquals(1, this.published.size());
+    }
+}
@@ -0,0 +1,103 @@
+package dev.jianmu.infrastructure.quartz;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+import org.quartz.impl.StdSchedulerFactory;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * @author Daihw
+ * @class NextFireTimeIndexTest
+ * @description 下次触发时间索引测试
+ * @create 2026/10/18 5:40 下午
+ */
+@DisplayName("下次触发时间索引测试")
+public class NextFireTimeIndexTest {
+    private Scheduler quartzScheduler;
+    private Scheduler scheduler;
+    private NextFireTimeIndex index;
+
+    @BeforeEach
+    void setUp() throws SchedulerException {
+        var properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "test-" + UUID.randomUUID());
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, "org.quartz.simpl.RAMJobStore");
+        this.quartzScheduler = new StdSchedulerFactory(properties).getScheduler();
+        this.scheduler = Mockito.mock(Scheduler.class, AdditionalAnswers.delegatesTo(this.quartzScheduler));
+        this.index = new NextFireTimeIndex(this.scheduler);
+    }
+
+    @AfterEach
+    void tearDown() throws SchedulerException {
+        this.quartzScheduler.shutdown();
+    }
+
+    private void schedule(String triggerId, String projectId) throws SchedulerException {
+        var jobDetail = JobBuilder.newJob(NoopJob.class).withIdentity(JobKey.jobKey(triggerId)).build();
+        var trigger = TriggerBuilder.newTrigger()
+                .withIdentity(TriggerKey.triggerKey(triggerId))
+                .usingJobData("triggerId", triggerId)
+                .usingJobData(NextFireTimeIndex.PROJECT_ID, projectId)
+                .withSchedule(CronScheduleBuilder.cronSchedule("0 0 3 * * ?"))
+                .build();
+        this.quartzScheduler.scheduleJob(jobDetail, trigger);
+    }
+
+    @Test
+    void testLookupWithoutScheduler() throws SchedulerException {
+        var projectIds = List.of("p0", "p1", "p2", "p3");
+        for (int i = 0; i < 3; i++) {
+            this.schedule("t" + i, projectIds.get(i));
+        }
+        Mockito.clearInvocations(this.scheduler);
+
+        var nextFireTimes = this.index.findByProjectIds(projectIds);
+        Assertions.assertEquals(3, nextFireTimes.size());
+        Assertions.assertFalse(nextFireTimes.containsKey("p3"));
+        Assertions.assertEquals(3, nextFireTimes.get("p0").getHour());
+        Assertions.assertTrue(this.index.find("p1").isPresent());
+        Mockito.verifyNoInteractions(this.scheduler);
+    }
+
+    @Test
+    void testUnscheduleAndInvalidate() throws SchedulerException {
+        this.schedule("t0", "p0");
+        this.schedule("t1", "p1");
+
+        this.quartzScheduler.pauseTrigger(TriggerKey.triggerKey("t0"));
+        Assertions.assertTrue(this.index.find("p0").isEmpty());
+        this.quartzScheduler.unscheduleJob(TriggerKey.triggerKey("t0"));
+        Assertions.assertTrue(this.index.find("p0").isEmpty());
+
+        Assertions.assertTrue(this.index.contains("p0"));
+        Assertions.assertNull(this.index.findByProjectIds(List.of("p0")).get("p0"));
+
+        this.index.invalidate("p1");
+        Assertions.assertFalse(this.index.contains("p1"));
+        Assertions.assertTrue(this.index.find("p1").isEmpty());
+        Assertions.assertTrue(this.index.findByProjectIds(List.of("p1")).isEmpty());
+    }
+
+    public static class NoopJob implements Job {
+        @Override
+        public void execute(org.quartz.JobExecutionContext context) {
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package dev.jianmu.infrastructure.redis;
+
+import dev.jianmu.event.impl.WorkerDeferredResultClearEvent;
+import dev.jianmu.infrastructure.jackson2.JsonUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Daihw
+ * @class RedisEventCodecTest
+ * @description Redis事件编解码测试
+ * @create 2026/10/18 11:20 上午
+ */
+@DisplayName("Redis事件编解码测试")
+public class RedisEventCodecTest {
+    private static final int ROUNDS = 100_000;
+
+    @Test
+    void testRoundTrip() {
+        var event = WorkerDeferredResultClearEvent.builder().workerId("worker-1").build();
+        var bytes = RedisEventCodec.encode(event);
+
+        Assertions.assertEquals(RedisEventCodec.VERSION, bytes[0]);
+        Assertions.assertEquals(event.getTopic(), RedisEventCodec.decodeType(bytes));
+        WorkerDeferredResultClearEvent decoded = RedisEventCodec.decode(bytes, RedisEventCodec.readerFor(WorkerDeferredResultClearEvent.class));
+        Assertions.assertEquals("worker-1", decoded.getWorkerId());
+    }
+
+    @Test
+    void testLegacyJson() {
+        var json = "{\"@class\":\"dev.jianmu.event.impl.WorkerDeferredResultClearEvent\",\"workerId\":\"worker-1\"}";
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertNull(RedisEventCodec.decodeType(bytes));
+        WorkerDeferredResultClearEvent decoded = RedisEventCodec.decode(bytes, RedisEventCodec.readerFor(WorkerDeferredResultClearEvent.class));
+        Assertions.assertEquals("worker-1", decoded.getWorkerId());
+    }
+
+    @Test
+    void testListenerDispatch() {
+        var received = new ArrayList<WorkerDeferredResultClearEvent>();
+        var event = WorkerDeferredResultClearEvent.builder().workerId("worker-1").build();
+        var listener = new RedisEventMessageListener<>(event.getTopic(), WorkerDeferredResultClearEvent.class, received::add);
+        var channel = event.getTopic().getBytes(StandardCharsets.UTF_8);
+
+        listener.onMessage(new DefaultMessage(channel, RedisEventCodec.encode(event)), null);
+        Assertions.assertEquals(List.of("worker-1"), received.stream().map(WorkerDeferredResultClearEvent::getWorkerId).toList());
+    }
+
+    @Test
+    void testLegacyEncode() {
+        var event = WorkerDeferredResultClearEvent.builder().workerId("worker-1").build();
+        var bytes = RedisEventCodec.encodeLegacy(event);
+
+        Assertions.assertEquals('{', bytes[0]);
+        Assertions.assertTrue(new String(bytes, StandardCharsets.UTF_8).contains("\"@class\""));
+        WorkerDeferredResultClearEvent decoded = RedisEventCodec.decode(bytes, RedisEventCodec.readerFor(WorkerDeferredResultClearEvent.class));
+        Assertions.assertEquals("worker-1", decoded.getWorkerId());
+    }
+
+    /**
+     * 单条消息解码耗时对比，mvn test -Djianmu.benchmark=true时运行
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "jianmu.benchmark", matches = "true")
+    void benchmarkDecode() {
+        var event = WorkerDeferredResultClearEvent.builder().workerId("worker-1").build();
+        var channel = event.getTopic().getBytes(StandardCharsets.UTF_8);
+        var body = RedisEventCodec.encode(event);
+        var legacy = JsonUtil.jsonToString(event);
+        var listener = new RedisEventMessageListener<>(event.getTopic(), WorkerDeferredResultClearEvent.class, e -> {
+        });
+
+        for (int i = 0; i < ROUNDS; i++) {
+            listener.onMessage(new DefaultMessage(channel, body), null);
+            legacyReceive(legacy);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            listener.onMessage(new DefaultMessage(channel, body), null);
+        }
+        long current = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            legacyReceive(legacy);
+        }
+        long reflective = System.nanoTime() - start;
+        System.out.printf("envelope: %d bytes, %d ns/msg; legacy: %d bytes, %d ns/msg%n",
+                body.length, current / ROUNDS, legacy.length(), reflective / ROUNDS);
+    }
+
+    // 旧版本每条消息反射查找subscribe参数类型
+    private void legacyReceive(String message) {
+        Class<?> cla = null;
+        for (var method : RedisEventMessageListener.class.getMethods()) {
+            if (method.getName().equals("onMessage")) {
+                cla = WorkerDeferredResultClearEvent.class;
+                break;
+            }
+        }
+        JsonUtil.stringToJson(message, cla);
+    }
+}
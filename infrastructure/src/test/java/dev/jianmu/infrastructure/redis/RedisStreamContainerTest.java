@@ -0,0 +1,141 @@
+package dev.jianmu.infrastructure.redis;
+
+import dev.jianmu.event.impl.WorkerDeferredResultClearEvent;
+import dev.jianmu.infrastructure.GlobalProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * @author Daihw
+ * @class RedisStreamContainerTest
+ * @description Redis Stream消费测试，处理成功才确认，失败的事件重新认领
+ * @create 2026/10/19 4:30 上午
+ */
+@DisplayName("Redis Stream消费测试")
+public class RedisStreamContainerTest {
+    private static final String NODE_ID = "node-1";
+
+    private final List<String> received = new ArrayList<>();
+    private final RedisStreamCommands commands = Mockito.mock(RedisStreamCommands.class);
+    private final RedisConnection connection = Mockito.mock(RedisConnection.class);
+    private RedisStreamContainer container;
+    private String topic;
+    private byte[] stream;
+    private boolean failing;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(this.connection.streamCommands()).thenReturn(this.commands);
+        var globalProperties = new GlobalProperties();
+        globalProperties.getEvent().getStream().setNodeId(NODE_ID);
+        this.container = new RedisStreamContainer(Mockito.mock(RedisConnectionFactory.class), globalProperties);
+        this.topic = WorkerDeferredResultClearEvent.builder().build().getTopic();
+        this.stream = RedisStreamContainer.streamKey(this.topic);
+        this.container.addListener(this.topic, new RedisEventMessageListener<>(this.topic, WorkerDeferredResultClearEvent.class, event -> {
+            if (this.failing) {
+                throw new IllegalStateException("handler failed");
+            }
+            this.received.add(event.getWorkerId());
+        }));
+    }
+
+    private ByteRecord record(String id, String workerId) {
+        var body = RedisEventCodec.encode(WorkerDeferredResultClearEvent.builder().workerId(workerId).build());
+        return StreamRecords.newRecord()
+                .in(this.stream)
+                .withId(RecordId.of(id))
+                .ofBytes(Map.of(RedisStreamContainer.FIELD, body));
+    }
+
+    private PendingMessage pending(String id, Duration idle, long deliveries) {
+        return new PendingMessage(RecordId.of(id), Consumer.from(NODE_ID, NODE_ID), idle, deliveries);
+    }
+
+    @Test
+    void testAckOnlyOnSuccess() {
+        this.failing = true;
+        Assertions.assertFalse(this.container.dispatch(this.connection, this.record("1-0", "worker-1")));
+        Mockito.verify(this.commands, Mockito.never()).xAck(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.<RecordId[]>any());
+
+        this.failing = false;
+        Assertions.assertTrue(this.container.dispatch(this.connection, this.record("1-0", "worker-1")));
+        Mockito.verify(this.commands).xAck(this.stream, NODE_ID, RecordId.of("1-0"));
+        Assertions.assertEquals(List.of("worker-1"), this.received);
+    }
+
+    @Test
+    void testReclaimPending() {
+        var messages = new PendingMessages(NODE_ID, List.of(
+                this.pending("1-0", Duration.ofMinutes(1), 2),
+                this.pending("2-0", Duration.ofMinutes(1), 5),
+                this.pending("3-0", Duration.ofSeconds(1), 1)));
+        Mockito.when(this.commands.xPending(ArgumentMatchers.eq(this.stream), ArgumentMatchers.eq(NODE_ID), ArgumentMatchers.any(RedisStreamCommands.XPendingOptions.class)))
+                .thenReturn(messages);
+        Mockito.when(this.commands.xClaim(ArgumentMatchers.eq(this.stream), ArgumentMatchers.eq(NODE_ID), ArgumentMatchers.eq(NODE_ID), ArgumentMatchers.any(RedisStreamCommands.XClaimOptions.class)))
+                .thenReturn(List.of(this.record("1-0", "worker-1")));
+
+        this.container.reclaim(this.connection);
+
+        // 空闲超时的事件重新处理后确认，超过最大投递次数的直接确认，未超时的不处理
+        Assertions.assertEquals(List.of("worker-1"), this.received);
+        Mockito.verify(this.commands, Mockito.times(1)).xClaim(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any(RedisStreamCommands.XClaimOptions.class));
+        Mockito.verify(this.commands).xAck(this.stream, NODE_ID, RecordId.of("1-0"));
+        Mockito.verify(this.commands).xAck(this.stream, NODE_ID, RecordId.of("2-0"));
+        Mockito.verify(this.commands, Mockito.never()).xAck(this.stream, NODE_ID, RecordId.of("3-0"));
+    }
+
+    @Test
+    void testRemoveStaleGroups() {
+        var groups = Mockito.mock(StreamInfo.XInfoGroups.class);
+        var own = this.group(NODE_ID, 1L);
+        var stale = this.group("node-stale", 1L);
+        var active = this.group("node-active", 1L);
+        var created = this.group("node-created", 0L);
+        Mockito.when(groups.iterator()).thenAnswer(invocation -> List.of(own, stale, active, created).iterator());
+        Mockito.when(this.commands.xInfoGroups(this.stream)).thenReturn(groups);
+        var staleConsumers = this.consumers(Duration.ofDays(2).toMillis());
+        var activeConsumers = this.consumers(1000L);
+        Mockito.when(this.commands.xInfoConsumers(this.stream, "node-stale")).thenReturn(staleConsumers);
+        Mockito.when(this.commands.xInfoConsumers(this.stream, "node-active")).thenReturn(activeConsumers);
+
+        this.container.removeStaleGroups(this.connection);
+
+        Mockito.verify(this.commands).xGroupDestroy(this.stream, "node-stale");
+        Mockito.verify(this.commands, Mockito.times(1)).xGroupDestroy(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    private StreamInfo.XInfoGroup group(String name, Long consumerCount) {
+        var group = Mockito.mock(StreamInfo.XInfoGroup.class);
+        Mockito.when(group.groupName()).thenReturn(name);
+        Mockito.when(group.consumerCount()).thenReturn(consumerCount);
+        return group;
+    }
+
+    private StreamInfo.XInfoConsumers consumers(long idleTimeMs) {
+        var consumer = Mockito.mock(StreamInfo.XInfoConsumer.class);
+        Mockito.when(consumer.idleTimeMs()).thenReturn(idleTimeMs);
+        var consumers = Mockito.mock(StreamInfo.XInfoConsumers.class);
+        Mockito.when(consumers.stream()).thenAnswer(invocation -> Stream.of(consumer));
+        return consumers;
+    }
+}
@@ -0,0 +1,49 @@
+package dev.jianmu.infrastructure.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * @author Daihw
+ * @class NgramIndexTest
+ * @description 二元分词索引测试
+ * @create 2026/10/18 7:00 下午
+ */
+@DisplayName("二元分词索引测试")
+public class NgramIndexTest {
+
+    @Test
+    void testSearchRanking() {
+        var index = new NgramIndex();
+        index.put("p1", List.of("my-build", "ref1"));
+        index.put("p2", List.of("Build", "ref2"));
+        index.put("p3", List.of("deploy", "builder"));
+        index.put("p4", List.of("test", "nothing"));
+
+        Assertions.assertEquals(List.of("p2", "p3", "p1"), index.search("BUILD", 10));
+        Assertions.assertEquals(List.of("p2"), index.search("build", 1));
+        Assertions.assertEquals(List.of("p4"), index.search("st", 10));
+        Assertions.assertTrue(index.search("bulid", 10).isEmpty());
+        Assertions.assertEquals(4, index.search("e", 10).size());
+    }
+
+    @Test
+    void testReplaceAndEvict() {
+        var index = new NgramIndex(2);
+        index.put("i1", List.of("alpha"));
+        index.put("i2", List.of("beta"));
+        index.put("i1", List.of("gamma"));
+        Assertions.assertTrue(index.search("alpha", 10).isEmpty());
+
+        index.put("i3", List.of("delta"));
+        Assertions.assertEquals(2, index.size());
+        Assertions.assertTrue(index.search("beta", 10).isEmpty());
+        Assertions.assertEquals(List.of("i1"), index.search("gam", 10));
+
+        index.remove("i1");
+        Assertions.assertEquals(List.of("i3"), index.search("ta", 10));
+    }
+}
@@ -0,0 +1,61 @@
+package dev.jianmu.infrastructure.trace;
+
+import dev.jianmu.infrastructure.GlobalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class EngineTraceRecorderTest
+ * @description 引擎执行耗时记录测试
+ * @create 2026/10/18 4:50 下午
+ */
+@DisplayName("引擎执行耗时记录测试")
+public class EngineTraceRecorderTest {
+
+    private static EngineSpan span(String triggerId, String nodeRef, long start, long duration) {
+        return new EngineSpan(triggerId, nodeRef, "Event", "Handler." + nodeRef, start, 0L, duration, "main", null);
+    }
+
+    private static EngineTraceRecorder recorder(int capacity) {
+        var properties = new GlobalProperties();
+        properties.getEngineTrace().setCapacity(capacity);
+        return new EngineTraceRecorder(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testCriticalPath() {
+        var recorder = recorder(16);
+        recorder.record(span("t1", "start", 0, 10));
+        recorder.record(span("t1", "a", 10, 50));
+        recorder.record(span("t1", "b", 12, 20));
+        recorder.record(span("t1", "end", 60, 5));
+        recorder.record(span("t2", "a", 0, 100));
+
+        var run = recorder.findRun("t1");
+        Assertions.assertEquals(65L, run.durationNanos());
+        Assertions.assertEquals(4, run.spans().size());
+        Assertions.assertEquals("start,a,end", run.criticalPath().stream()
+                .map(EngineSpan::nodeRef)
+                .collect(Collectors.joining(",")));
+        Assertions.assertEquals(2L, recorder.findHandlerStats().stream()
+                .filter(stat -> stat.handler().equals("Handler.a"))
+                .findFirst().orElseThrow().count());
+    }
+
+    @Test
+    void testOverwrite() {
+        var recorder = recorder(3);
+        for (int i = 0; i < 10; i++) {
+            recorder.record(span("t" + i, "a", i, 1));
+        }
+        Assertions.assertTrue(recorder.findByTriggerId("t0").isEmpty());
+        Assertions.assertEquals(1, recorder.findByTriggerId("t9").size());
+        Assertions.assertTrue(recorder.findByTriggerId("t5").isEmpty());
+        Assertions.assertEquals(1, recorder.findByTriggerId("t6").size());
+    }
+}
@@ -0,0 +1,189 @@
+package dev.jianmu.infrastructure.typehandler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import dev.jianmu.workflow.aggregate.definition.AsyncTask;
+import dev.jianmu.workflow.aggregate.definition.Branch;
+import dev.jianmu.workflow.aggregate.definition.Condition;
+import dev.jianmu.workflow.aggregate.definition.End;
+import dev.jianmu.workflow.aggregate.definition.LoopPair;
+import dev.jianmu.workflow.aggregate.definition.Node;
+import dev.jianmu.workflow.aggregate.definition.Start;
+import dev.jianmu.workflow.aggregate.definition.SwitchGateway;
+import dev.jianmu.workflow.aggregate.definition.TaskCache;
+import dev.jianmu.workflow.aggregate.definition.TaskParameter;
+import dev.jianmu.workflow.aggregate.parameter.Parameter;
+import dev.jianmu.workflow.aggregate.process.FailureMode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @author Daihw
+ * @class NodeSetCodecTest
+ * @description 流程节点二进制编码测试
+ * @create 2026/10/18 10:20 下午
+ */
+@DisplayName("流程节点二进制编码测试")
+public class NodeSetCodecTest {
+
+    private static Set<Node> workflow(int size) {
+        var nodes = new HashSet<Node>();
+        var start = Start.Builder.aStart().name("start").ref("start").build();
+        var end = End.Builder.anEnd().name("end").ref("end").build();
+        nodes.add(start);
+        nodes.add(end);
+        var previous = "start";
+        for (int i = 0; i < size; i++) {
+            var ref = "task_" + i;
+            var task = AsyncTask.Builder.anAsyncTask()
+                    .name("git_clone")
+                    .ref(ref)
+                    .type("git_clone:1.2.0")
+                    .description("克隆代码仓库")
+                    .metadata("{\"ref\":\"git_clone\",\"version\":\"1.2.0\"}")
+                    .taskParameters(Set.of(
+                            TaskParameter.Builder.aTaskParameter().ref("remote_url").type(Parameter.Type.STRING).expression("https://gitee.com/jianmu-dev/jianmu.git").build(),
+                            TaskParameter.Builder.aTaskParameter().ref("token").type(Parameter.Type.SECRET).expression("((gitee.token))").build()
+                    ))
+                    .taskCaches(List.of(TaskCache.Builder.aTaskCache().source("maven").target("/root/.m2").build()))
+                    .build();
+            task.setFailureMode(FailureMode.IGNORE);
+            task.setSources(Set.of(previous));
+            task.addLoopPair(LoopPair.Builder.aLoopPair().source(previous).target("end").build());
+            nodes.add(task);
+            previous = ref;
+        }
+        var branches = List.of(
+                Branch.Builder.aBranch().matchedCondition(true).target(previous).loop(true).build(),
+                Branch.Builder.aBranch().matchedCondition("false").target("end").build()
+        );
+        var condition = Condition.Builder.aCondition()
+                .name("condition")
+                .ref("condition")
+                .expression("${trigger.branch} == \"master\"")
+                .branches(branches)
+                .sources(Set.of(previous))
+                .build();
+        condition.setTargets(Set.of(previous, "end"));
+        condition.setTargetMap(Map.of(true, previous, false, "end"));
+        nodes.add(condition);
+        return nodes;
+    }
+
+    private static String legacyJson(Set<Node> nodes) throws JsonProcessingException {
+        var objectMapper = new ObjectMapper();
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        return objectMapper.writerFor(new TypeReference<Set<Node>>() {}).writeValueAsString(nodes);
+    }
+
+    private static void assertNodesEquals(Set<Node> expected, Set<Node> actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        var actualByRef = actual.stream().collect(Collectors.toMap(Node::getRef, Function.identity()));
+        expected.forEach(node -> {
+            var other = actualByRef.get(node.getRef());
+            Assertions.assertEquals(node.getClass(), other.getClass());
+            Assertions.assertEquals(node.getName(), other.getName());
+            Assertions.assertEquals(node.getDescription(), other.getDescription());
+            Assertions.assertEquals(node.getType(), other.getType());
+            Assertions.assertEquals(node.getMetadata(), other.getMetadata());
+            Assertions.assertEquals(node.getFailureMode(), other.getFailureMode());
+            Assertions.assertEquals(node.getSources(), other.getSources());
+            Assertions.assertEquals(node.getTargets(), other.getTargets());
+            Assertions.assertEquals(node.getLoopPairs().size(), other.getLoopPairs().size());
+            if (node.getTaskParameters() == null) {
+                Assertions.assertNull(other.getTaskParameters());
+            } else {
+                var parameters = other.getTaskParameters().stream()
+                        .collect(Collectors.toMap(TaskParameter::getRef, p -> p.getType() + p.getExpression()));
+                node.getTaskParameters().forEach(p -> Assertions.assertEquals(p.getType() + p.getExpression(), parameters.get(p.getRef())));
+            }
+            if (node instanceof Condition) {
+                var condition = (Condition) node;
+                var otherCondition = (Condition) other;
+                Assertions.assertEquals(condition.getExpression(), otherCondition.getExpression());
+                Assertions.assertEquals(condition.getTargetMap(), otherCondition.getTargetMap());
+                Assertions.assertEquals(condition.getBranches().get(0).getMatchedCondition(), otherCondition.getBranches().get(0).getMatchedCondition());
+                Assertions.assertEquals(condition.getBranches().get(1).getMatchedCondition(), otherCondition.getBranches().get(1).getMatchedCondition());
+                Assertions.assertTrue(otherCondition.getBranches().get(0).isLoop());
+            }
+        });
+    }
+
+    @Test
+    void testRoundTrip() {
+        var nodes = workflow(5);
+        var bytes = NodeSetCodec.encode(nodes);
+        Assertions.assertTrue(NodeSetCodec.isEncoded(bytes));
+        assertNodesEquals(nodes, NodeSetCodec.decode(bytes));
+    }
+
+    @Test
+    void testRejectUnknownVersion() {
+        var bytes = NodeSetCodec.encode(workflow(1));
+        bytes[1] = (byte) (NodeSetCodec.VERSION + 1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NodeSetCodec.decode(bytes));
+    }
+
+    @Test
+    void testReadLegacyJson() throws JsonProcessingException {
+        var nodes = workflow(5);
+        var json = legacyJson(nodes).getBytes(StandardCharsets.UTF_8);
+        Assertions.assertFalse(NodeSetCodec.isEncoded(json));
+        assertNodesEquals(nodes, new NodeSetTypeHandler().toNodeSet(json));
+    }
+
+    @Test
+    void testJsonOmitsResolvedSecret() throws JsonProcessingException {
+        var json = new ObjectMapper().writeValueAsString(
+                TaskParameter.Builder.aTaskParameter().ref("token").type(Parameter.Type.SECRET).expression("((gitee.token))").build());
+        Assertions.assertEquals("{\"ref\":\"token\",\"type\":\"SECRET\",\"expression\":\"((gitee.token))\"}", json);
+    }
+
+    @Test
+    void testSmallerThanJson() throws JsonProcessingException {
+        for (var size : List.of(50, 200, 1000)) {
+            var nodes = workflow(size);
+            var json = legacyJson(nodes).getBytes(StandardCharsets.UTF_8);
+            var bytes = NodeSetCodec.encode(nodes);
+            Assertions.assertTrue(bytes.length * 3 < json.length, size + "个节点编码后" + bytes.length + "字节，JSON为" + json.length + "字节");
+            assertNodesEquals(nodes, NodeSetCodec.decode(bytes));
+        }
+    }
+
+    @Test
+    void testSwitchGatewayRoundTrip() {
+        var switchGateway = SwitchGateway.Builder.aSwitchGateway()
+                .name("switch")
+                .ref("switch")
+                .expression("${trigger.env}")
+                .cases(Map.of("dev", "deploy_dev", "prod", "deploy_prod"))
+                .branches(List.of(
+                        Branch.Builder.aBranch().matchedCondition("dev").target("deploy_dev").build(),
+                        Branch.Builder.aBranch().matchedCondition("prod").target("deploy_prod").loop(true).build()
+                ))
+                .sources(Set.of("start"))
+                .build();
+        switchGateway.setTargets(Set.of("deploy_dev", "deploy_prod"));
+
+        var decoded = (SwitchGateway) NodeSetCodec.decode(NodeSetCodec.encode(Set.of(switchGateway))).iterator().next();
+        Assertions.assertEquals(switchGateway.getExpression(), decoded.getExpression());
+        Assertions.assertEquals(switchGateway.getCases(), decoded.getCases());
+        Assertions.assertEquals(switchGateway.getTargets(), decoded.getTargets());
+        Assertions.assertEquals(List.of("deploy_dev"), decoded.findNonLoopBranch());
+        Assertions.assertEquals(List.of("deploy_prod"), decoded.findLoopBranch());
+        Assertions.assertEquals(List.of("dev", "prod"), decoded.getBranches().stream()
+                .map(Branch::getMatchedCondition)
+                .collect(Collectors.toList()));
+    }
+}
@@ -1,5 +1,6 @@
 package dev.jianmu.node.definition.repository;
 
+import dev.jianmu.node.definition.aggregate.NodeDefinition;
 import dev.jianmu.node.definition.aggregate.NodeDefinitionVersion;
 
 import java.util.List;
@@ -16,6 +17,8 @@ public interface NodeDefinitionVersionRepository {
 
     List<NodeDefinitionVersion> findByOwnerRefAndRef(String ownerRef, String ref);
 
+    List<NodeDefinitionVersion> findByNodeDefinitions(List<NodeDefinition> nodeDefinitions);
+
     void saveOrUpdate(NodeDefinitionVersion nodeDefinitionVersion);
 
     void deleteByOwnerRefAndRef(String ownerRef, String ref);
@@ -16,6 +16,22 @@ public class GitRepo {
     private String branch;
     private boolean isCloneAllBranches = false;
     private String dslPath;
+    // 最近一次同步的提交与DSL文件的Blob ID，用于跳过未变更的同步
+    private String lastCommitId;
+    private String lastDslBlobId;
+
+    public boolean isSyncedTo(String commitId) {
+        return commitId != null && commitId.equals(this.lastCommitId);
+    }
+
+    public boolean isDslSyncedTo(String dslBlobId) {
+        return dslBlobId != null && dslBlobId.equals(this.lastDslBlobId);
+    }
+
+    public void syncTo(String commitId, String dslBlobId) {
+        this.lastCommitId = commitId;
+        this.lastDslBlobId = dslBlobId;
+    }
 
     public void setId(String id) {
         this.id = id;
@@ -64,4 +80,20 @@ public class GitRepo {
     public void setDslPath(String dslPath) {
         this.dslPath = dslPath;
     }
+
+    public String getLastCommitId() {
+        return lastCommitId;
+    }
+
+    public void setLastCommitId(String lastCommitId) {
+        this.lastCommitId = lastCommitId;
+    }
+
+    public String getLastDslBlobId() {
+        return lastDslBlobId;
+    }
+
+    public void setLastDslBlobId(String lastDslBlobId) {
+        this.lastDslBlobId = lastDslBlobId;
+    }
 }
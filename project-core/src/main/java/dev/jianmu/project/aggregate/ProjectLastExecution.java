@@ -24,6 +24,10 @@ public class ProjectLastExecution {
     private LocalDateTime endTime;
     // 最后执行状态
     private String status;
+    // 下次触发时间
+    private LocalDateTime nextTime;
+    // 版本号，每次变更递增
+    private long version;
 
     public ProjectLastExecution() {
     }
@@ -118,4 +122,12 @@ public class ProjectLastExecution {
     public String getStatus() {
         return status;
     }
+
+    public LocalDateTime getNextTime() {
+        return nextTime;
+    }
+
+    public long getVersion() {
+        return version;
+    }
 }
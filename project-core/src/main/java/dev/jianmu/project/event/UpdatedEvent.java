@@ -0,0 +1,19 @@
+package dev.jianmu.project.event;
+
+/**
+ * @class UpdatedEvent
+ * @description 项目DSL更新或同步后的事件
+ * @author Daihw
+ * @create 2026/10/18 7:00 下午
+*/
+public class UpdatedEvent {
+    private final String projectId;
+
+    public UpdatedEvent(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+}
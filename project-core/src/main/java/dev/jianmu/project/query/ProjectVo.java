@@ -19,6 +19,12 @@ public class ProjectVo extends Project {
     private LocalDateTime latestTime;
     // 最后执行状态
     private String status;
+    // 下次触发时间
+    private LocalDateTime nextTime;
+    // 执行记录版本号
+    private long version;
+    // 项目组内排序
+    private Integer sort;
 
     public String getWorkflowInstanceId() {
         return workflowInstanceId;
@@ -47,4 +53,16 @@ public class ProjectVo extends Project {
     public String getStatus() {
         return status;
     }
+
+    public LocalDateTime getNextTime() {
+        return nextTime;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Integer getSort() {
+        return sort;
+    }
 }
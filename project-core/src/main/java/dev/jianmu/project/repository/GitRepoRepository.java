@@ -15,5 +15,7 @@ public interface GitRepoRepository {
 
     void deleteById(String id);
 
+    void updateSyncState(GitRepo gitRepo);
+
     Optional<GitRepo> findById(String id);
 }
@@ -2,6 +2,8 @@ package dev.jianmu.project.repository;
 
 import dev.jianmu.project.aggregate.ProjectLastExecution;
 
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,6 +17,16 @@ public interface ProjectLastExecutionRepository {
 
     void update(ProjectLastExecution projectLastExecution);
 
+    /**
+     * 下次触发时间未变化时不更新，返回是否已更新
+     */
+    boolean updateNextTime(String workflowRef, LocalDateTime nextTime);
+
+    /**
+     * 按项目ID批量更新下次触发时间
+     */
+    void updateNextTimeByProjectIds(Map<String, LocalDateTime> nextTimes);
+
     void deleteByRef(String workflowRef);
 
     Optional<ProjectLastExecution> findByRef(String workflowRef);
@@ -0,0 +1,13 @@
+package dev.jianmu.project.repository;
+
+/**
+ * @class StartupMarkerRepository
+ * @description 启动升级标记仓储，记录已执行过的升级版本
+ * @author Daihw
+ * @create 2026/10/19 6:00 上午
+ */
+public interface StartupMarkerRepository {
+    boolean isApplied(String name, String version);
+
+    void markApplied(String name, String version);
+}
@@ -2,6 +2,7 @@ package dev.jianmu.project.repository;
 
 import dev.jianmu.project.aggregate.Project;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,4 +17,8 @@ public interface TrashProjectRepository {
     void deleteByWorkflowRef(String workflowRef);
 
     Optional<Project> findById(String id);
+
+    List<String> findIds();
+
+    void deleteById(String id);
 }
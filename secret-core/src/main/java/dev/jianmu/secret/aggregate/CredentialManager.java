@@ -1,7 +1,9 @@
 package dev.jianmu.secret.aggregate;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * @class CredentialManager
@@ -28,4 +30,12 @@ public interface CredentialManager {
     List<Namespace> findAllNamespace();
 
     Optional<KVPair> findByNamespaceNameAndKey(String namespaceName, String key);
+
+    // 批量查询同一命名空间下的密钥，不存在的密钥不返回
+    default List<KVPair> findByNamespaceNameAndKeys(String namespaceName, Collection<String> keys) {
+        return keys.stream()
+                .map(key -> this.findByNamespaceNameAndKey(namespaceName, key))
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,161 @@
+package dev.jianmu.task.aggregate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Daihw
+ * @class DispatchPayload
+ * @description 任务下发载荷，任务创建时生成，密钥只保存引用，领取任务时绑定
+ * @create 2026/10/19 3:40 上午
+ */
+public class DispatchPayload {
+    private String image;
+    private String user;
+    private String host;
+    private String[] entrypoint;
+    private String[] args;
+    private Map<String, String> environment;
+    // 环境变量名 -> 命名空间.密钥名
+    private Map<String, String> secrets;
+    private List<Mount> volumeMounts;
+    private String resultFile;
+
+    private DispatchPayload() {
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public String[] getEntrypoint() {
+        return entrypoint;
+    }
+
+    public String[] getArgs() {
+        return args;
+    }
+
+    public Map<String, String> getEnvironment() {
+        return environment;
+    }
+
+    public Map<String, String> getSecrets() {
+        return secrets;
+    }
+
+    public List<Mount> getVolumeMounts() {
+        return volumeMounts;
+    }
+
+    public String getResultFile() {
+        return resultFile;
+    }
+
+    public static class Mount {
+        private String source;
+        private String target;
+
+        private Mount() {
+        }
+
+        public Mount(String source, String target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+    }
+
+    public static final class Builder {
+        private String image;
+        private String user;
+        private String host;
+        private String[] entrypoint;
+        private String[] args;
+        private Map<String, String> environment;
+        private Map<String, String> secrets;
+        private List<Mount> volumeMounts;
+        private String resultFile;
+
+        private Builder() {
+        }
+
+        public static Builder aDispatchPayload() {
+            return new Builder();
+        }
+
+        public Builder image(String image) {
+            this.image = image;
+            return this;
+        }
+
+        public Builder user(String user) {
+            this.user = user;
+            return this;
+        }
+
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        public Builder entrypoint(String[] entrypoint) {
+            this.entrypoint = entrypoint;
+            return this;
+        }
+
+        public Builder args(String[] args) {
+            this.args = args;
+            return this;
+        }
+
+        public Builder environment(Map<String, String> environment) {
+            this.environment = environment;
+            return this;
+        }
+
+        public Builder secrets(Map<String, String> secrets) {
+            this.secrets = secrets;
+            return this;
+        }
+
+        public Builder volumeMounts(List<Mount> volumeMounts) {
+            this.volumeMounts = volumeMounts;
+            return this;
+        }
+
+        public Builder resultFile(String resultFile) {
+            this.resultFile = resultFile;
+            return this;
+        }
+
+        public DispatchPayload build() {
+            var dispatchPayload = new DispatchPayload();
+            dispatchPayload.image = this.image;
+            dispatchPayload.user = this.user;
+            dispatchPayload.host = this.host;
+            dispatchPayload.entrypoint = this.entrypoint;
+            dispatchPayload.args = this.args;
+            dispatchPayload.environment = this.environment;
+            dispatchPayload.secrets = this.secrets;
+            dispatchPayload.volumeMounts = this.volumeMounts;
+            dispatchPayload.resultFile = this.resultFile;
+            return dispatchPayload;
+        }
+    }
+}
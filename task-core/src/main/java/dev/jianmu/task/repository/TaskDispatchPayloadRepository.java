@@ -0,0 +1,20 @@
+package dev.jianmu.task.repository;
+
+import dev.jianmu.task.aggregate.DispatchPayload;
+
+import java.util.Optional;
+
+/**
+ * @author Daihw
+ * @class TaskDispatchPayloadRepository
+ * @description 任务下发载荷仓储
+ * @create 2026/10/19 6:40 上午
+ */
+public interface TaskDispatchPayloadRepository {
+    void add(String taskInstanceId, String triggerId, DispatchPayload payload);
+
+    /**
+     * 载荷不存在或无法解析时返回空，由调用方现场组装
+     */
+    Optional<DispatchPayload> findByTaskInstanceId(String taskInstanceId);
+}
@@ -31,6 +31,9 @@ public interface TaskInstanceRepository {
 
     Optional<TaskInstance> findByBusinessIdAndMaxSerialNo(String businessId);
 
+    // 摘要不加载节点定义快照
+    Optional<TaskInstance> findSummaryByBusinessIdAndMaxSerialNo(String businessId);
+
     List<TaskInstance> findByTriggerId(String triggerId);
 
     List<TaskInstance> findByWorkerId(String workerId);
@@ -39,6 +42,8 @@ public interface TaskInstanceRepository {
 
     List<TaskInstance> findByBusinessId(String businessId);
 
+    List<TaskInstance> findSummaryByBusinessId(String businessId);
+
     List<TaskInstance> findAll(int pageNum, int pageSize);
 
     void deleteByWorkflowRef(String workflowRef);
@@ -6,7 +6,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -46,8 +45,7 @@ public class AsyncTask extends BaseNode {
     }
 
     private static Parameter.Type findEnvironmentType(String paramValue) {
-        Pattern pattern = Pattern.compile("^\\(\\(([a-zA-Z0-9_-]+\\.*[a-zA-Z0-9_-]+)\\)\\)$");
-        Matcher matcher = pattern.matcher(paramValue);
+        Matcher matcher = TaskParameter.SECRET_PATTERN.matcher(paramValue);
         if (matcher.find()) {
             return Parameter.Type.SECRET;
         }
@@ -31,6 +31,14 @@ public class SwitchGateway extends BaseNode implements Gateway {
         return expression;
     }
 
+    public Map<String, String> getCases() {
+        return cases;
+    }
+
+    public List<Branch> getBranches() {
+        return branches;
+    }
+
     private Branch getNext() {
         // TODO expression 表达式求值返回String类型的Case，应支持number类型
         String expResult = "";
@@ -94,6 +102,7 @@ public class SwitchGateway extends BaseNode implements Gateway {
         private String expression;
         // Switch网关条件Case暂时只支持String类型比较，区分大小写
         private Map<String, String> cases = new HashMap<>();
+        private List<Branch> branches;
 
         private Builder() {
         }
@@ -122,6 +131,11 @@ public class SwitchGateway extends BaseNode implements Gateway {
             return this;
         }
 
+        public Builder branches(List<Branch> branches) {
+            this.branches = branches;
+            return this;
+        }
+
         public Builder description(String description) {
             this.description = description;
             return this;
@@ -138,6 +152,7 @@ public class SwitchGateway extends BaseNode implements Gateway {
             switchGateway.name = this.name;
             switchGateway.ref = this.ref;
             switchGateway.cases = this.cases;
+            switchGateway.branches = this.branches;
             switchGateway.description = this.description;
             switchGateway.sources = this.sources;
             return switchGateway;
@@ -1,7 +1,10 @@
 package dev.jianmu.workflow.aggregate.definition;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import dev.jianmu.workflow.aggregate.parameter.Parameter;
 
+import java.util.regex.Pattern;
+
 /**
  * @author Ethan Liu
  * @class TaskParameter
@@ -9,9 +12,27 @@ import dev.jianmu.workflow.aggregate.parameter.Parameter;
  * @create 2021-09-04 17:10
  */
 public class TaskParameter {
+    // 密钥引用，形如((命名空间.密钥名))
+    public static final Pattern SECRET_PATTERN = Pattern.compile("^\\(\\(([a-zA-Z0-9_-]+\\.*[a-zA-Z0-9_-]+)\\)\\)$");
+
+    public enum Kind {
+        // 字面量
+        LITERAL,
+        // EL表达式
+        EL,
+        // 密钥引用
+        SECRET
+    }
+
     private String ref;
     private Parameter.Type type;
     private String expression;
+    // 以下为根据表达式预先解析的结果，创建时计算一次，不参与序列化
+    private transient volatile boolean resolved;
+    private transient boolean el;
+    private transient String secret;
+    private transient String secretNamespace;
+    private transient String secretKey;
 
     public String getRef() {
         return ref;
@@ -25,6 +46,55 @@ public class TaskParameter {
         return expression;
     }
 
+    @JsonIgnore
+    public Kind getKind() {
+        this.resolve();
+        if ((this.type == Parameter.Type.SECRET || this.type == null) && this.secret != null) {
+            return Kind.SECRET;
+        }
+        return this.el ? Kind.EL : Kind.LITERAL;
+    }
+
+    /**
+     * 表达式为密钥引用时返回"命名空间.密钥名"，否则返回null
+     */
+    @JsonIgnore
+    public String getSecret() {
+        this.resolve();
+        return this.secret;
+    }
+
+    @JsonIgnore
+    public String getSecretNamespace() {
+        this.resolve();
+        return this.secretNamespace;
+    }
+
+    @JsonIgnore
+    public String getSecretKey() {
+        this.resolve();
+        return this.secretKey;
+    }
+
+    private void resolve() {
+        if (this.resolved) {
+            return;
+        }
+        if (this.expression != null) {
+            this.el = this.expression.startsWith("(");
+            var matcher = SECRET_PATTERN.matcher(this.expression);
+            if (matcher.find()) {
+                this.secret = matcher.group(1);
+                var strings = this.secret.split("\\.");
+                if (strings.length == 2) {
+                    this.secretNamespace = strings[0];
+                    this.secretKey = strings[1];
+                }
+            }
+        }
+        this.resolved = true;
+    }
+
     public static final class Builder {
         private String ref;
         private Parameter.Type type;
@@ -57,6 +127,7 @@ public class TaskParameter {
             taskParameter.expression = this.expression;
             taskParameter.type = this.type;
             taskParameter.ref = this.ref;
+            taskParameter.resolve();
             return taskParameter;
         }
     }
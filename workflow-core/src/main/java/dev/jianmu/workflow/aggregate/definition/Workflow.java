@@ -10,8 +10,6 @@ import dev.jianmu.workflow.event.definition.*;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -246,23 +244,14 @@ public class Workflow extends AggregateRoot {
     }
 
     private Parameter<?> calculateTaskParameter(TaskParameter taskParameter) {
-        // 密钥类型单独处理
-        if (taskParameter.getType() == Parameter.Type.SECRET) {
-            var secret = this.findSecret(taskParameter.getExpression());
-            if (secret != null) {
-                return Parameter.Type.SECRET.newParameter(secret);
-            }
-        }
-        // TODO 适配代码，3.x版本需要删除
-        if (taskParameter.getType() == null) {
-            var secret = this.findSecret(taskParameter.getExpression());
-            if (secret != null) {
-                return Parameter.Type.SECRET.newParameter(secret);
-            }
+        // 密钥类型单独处理，类型为空时为适配代码，3.x版本需要删除
+        var kind = taskParameter.getKind();
+        if (kind == TaskParameter.Kind.SECRET) {
+            return Parameter.Type.SECRET.newParameter(taskParameter.getSecret());
         }
         // 表达式计算
         String el;
-        if (isEl(taskParameter.getExpression())) {
+        if (kind == TaskParameter.Kind.EL) {
             el = taskParameter.getExpression();
         } else {
             el = "`" + taskParameter.getExpression() + "`";
@@ -290,21 +279,6 @@ public class Workflow extends AggregateRoot {
         return evaluationResult.getValue();
     }
 
-    private boolean isEl(String paramValue) {
-        Pattern pattern = Pattern.compile("^\\(");
-        Matcher matcher = pattern.matcher(paramValue);
-        return matcher.lookingAt();
-    }
-
-    private String findSecret(String paramValue) {
-        Pattern pattern = Pattern.compile("^\\(\\(([a-zA-Z0-9_-]+\\.*[a-zA-Z0-9_-]+)\\)\\)$");
-        Matcher matcher = pattern.matcher(paramValue);
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        return null;
-    }
-
     private AsyncTask findTask(String taskRef) {
         var node = this.findNode(taskRef);
         if (node instanceof AsyncTask) {
@@ -12,6 +12,14 @@ public interface WorkflowInstanceRepository {
 
     Optional<WorkflowInstance> findByRefAndStatusAndSerialNoMin(String workflowRef, ProcessStatus status);
 
+    List<WorkflowInstance> findByRefAndStatusLimit(String workflowRef, ProcessStatus status, int limit);
+
+    // 待执行(INIT)流程实例数
+    int countInitByRef(String workflowRef);
+
+    // 执行中(RUNNING、SUSPENDED)流程实例数
+    int countRunningByRef(String workflowRef);
+
     List<WorkflowInstance> findByWorkflowRefLimit(String workflowRef, long offset);
 
     Optional<WorkflowInstance> findById(String instanceId);
@@ -32,6 +40,9 @@ public interface WorkflowInstanceRepository {
 
     Optional<WorkflowInstance> findByRefAndSerialNoMax(String workflowRef);
 
+    // 分配下一个流程实例序号，需在事务中调用，序号行锁持有至事务提交
+    int nextSerialNo(String workflowRef);
+
     List<WorkflowInstance> findByRefOffset(String workflowRef, long offset);
 
     void deleteByWorkflowRef(String workflowRef);
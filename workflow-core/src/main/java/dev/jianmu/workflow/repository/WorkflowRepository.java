@@ -3,6 +3,7 @@ package dev.jianmu.workflow.repository;
 import dev.jianmu.workflow.aggregate.definition.Workflow;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface WorkflowRepository {
@@ -12,6 +13,9 @@ public interface WorkflowRepository {
 
     List<Workflow> findByRefVersions(List<String> refVersions);
 
+    // 只查询缓存列，key为流程Ref
+    Map<String, List<String>> findCachesByRefVersions(List<String> refVersions);
+
     List<Workflow> findByRef(String ref);
 
     Workflow add(Workflow workflow);
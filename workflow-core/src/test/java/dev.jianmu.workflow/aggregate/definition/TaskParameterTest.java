@@ -0,0 +1,49 @@
+package dev.jianmu.workflow.aggregate.definition;
+
+import dev.jianmu.workflow.aggregate.parameter.Parameter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Daihw
+ * @class TaskParameterTest
+ * @description 任务参数预解析测试
+ * @create 2026/10/18 11:30 下午
+ */
+@DisplayName("任务参数预解析测试")
+public class TaskParameterTest {
+
+    private static TaskParameter taskParameter(Parameter.Type type, String expression) {
+        return TaskParameter.Builder.aTaskParameter()
+                .ref("param")
+                .type(type)
+                .expression(expression)
+                .build();
+    }
+
+    @Test
+    void testSecret() {
+        var taskParameter = taskParameter(Parameter.Type.SECRET, "((gitee.token))");
+        Assertions.assertEquals(TaskParameter.Kind.SECRET, taskParameter.getKind());
+        Assertions.assertEquals("gitee.token", taskParameter.getSecret());
+        Assertions.assertEquals("gitee", taskParameter.getSecretNamespace());
+        Assertions.assertEquals("token", taskParameter.getSecretKey());
+    }
+
+    @Test
+    void testSecretWithoutKey() {
+        var taskParameter = taskParameter(null, "((gitee))");
+        Assertions.assertEquals(TaskParameter.Kind.SECRET, taskParameter.getKind());
+        Assertions.assertEquals("gitee", taskParameter.getSecret());
+        Assertions.assertNull(taskParameter.getSecretNamespace());
+    }
+
+    @Test
+    void testElAndLiteral() {
+        Assertions.assertEquals(TaskParameter.Kind.EL, taskParameter(Parameter.Type.STRING, "((gitee.token))").getKind());
+        Assertions.assertEquals(TaskParameter.Kind.EL, taskParameter(Parameter.Type.STRING, "(${trigger.branch})").getKind());
+        Assertions.assertEquals(TaskParameter.Kind.EL, taskParameter(Parameter.Type.SECRET, "(${trigger.token})").getKind());
+        Assertions.assertEquals(TaskParameter.Kind.LITERAL, taskParameter(Parameter.Type.STRING, "master").getKind());
+    }
+}